@@ -1,8 +1,24 @@
 package org.common.metrics;
 
+import org.common.service.live.ExpandedUrlCache;
+import org.common.service.live.HostCircuitBreaker;
+import org.common.service.live.HttpLiveService;
+import org.common.service.live.LinkExpansionLiveService;
+import org.common.service.live.LinkResolutionLiveService;
+import org.tweet.meta.component.CandidateBacklog;
+import org.tweet.meta.component.SearchCandidatePool;
+import org.tweet.meta.component.SlotExecutor;
+import org.tweet.meta.component.TweetVerdictCache;
+import org.tweet.meta.component.TwitterUserSnapshotStore;
+import org.tweet.meta.service.CandidateScoringLiveService;
+import org.tweet.meta.service.InteractionLiveService;
 import org.tweet.meta.service.TweetMetaLiveService;
+import org.tweet.twitter.component.TwitterRateLimitGovernor;
+import org.tweet.twitter.service.TwitterTemplateCreator;
 import org.tweet.twitter.service.live.TwitterReadLiveService;
 import org.tweet.twitter.service.live.TwitterWriteLiveService;
+import org.tweet.twitter.service.live.UserLiveService;
+import org.tweet.twitter.service.live.UserTimelineLiveService;
 
 import com.codahale.metrics.MetricRegistry;
 
@@ -20,12 +36,87 @@ public final class MetricsUtil {
 
         public static final String TWITTER_READ_OK = MetricRegistry.name(TwitterReadLiveService.class, READ, OK);
         public static final String TWITTER_READ_ERR = MetricRegistry.name(TwitterReadLiveService.class, READ, ERROR);
+        public static final String SEARCH_CACHE_HIT = MetricRegistry.name(TwitterReadLiveService.class, "search", "cache", "hit");
+        public static final String SEARCH_CACHE_MISS = MetricRegistry.name(TwitterReadLiveService.class, "search", "cache", "miss");
 
         public static final String TWITTER_WRITE_OK = MetricRegistry.name(TwitterWriteLiveService.class, WRITE, OK);
         public static final String TWITTER_WRITE_ERR = MetricRegistry.name(TwitterWriteLiveService.class, WRITE, ERROR);
 
         public static final String HTTP_OK = MetricRegistry.name(TwitterWriteLiveService.class, WRITE, OK);
         public static final String HTTP_ERR = MetricRegistry.name(TwitterWriteLiveService.class, WRITE, "orr");
+        public static final String HTTP_BYTES_SAVED = MetricRegistry.name(HttpLiveService.class, "bytes", "saved");
+        public static final String HTTP_HEAD_REJECTED = MetricRegistry.name(HttpLiveService.class, "head", "rejected");
+        public static final String HOST_CIRCUIT_OPENED = MetricRegistry.name(HostCircuitBreaker.class, "opened");
+        public static final String HOST_CIRCUIT_REJECTED = MetricRegistry.name(HostCircuitBreaker.class, "rejected");
+        public static final String HOST_UNRESOLVED = MetricRegistry.name(HostCircuitBreaker.class, "unresolved");
+
+        public static final String EXPAND_CACHE_MEMORY_HIT = MetricRegistry.name(ExpandedUrlCache.class, "hit", "memory");
+        public static final String EXPAND_CACHE_DISK_HIT = MetricRegistry.name(ExpandedUrlCache.class, "hit", "disk");
+        public static final String EXPAND_CACHE_NEGATIVE_HIT = MetricRegistry.name(ExpandedUrlCache.class, "hit", "negative");
+        public static final String EXPAND_CACHE_MISS = MetricRegistry.name(ExpandedUrlCache.class, "miss");
+        public static final String EXPAND_BATCH_COMPLETED = MetricRegistry.name(LinkExpansionLiveService.class, "completed");
+        public static final String EXPAND_BATCH_DROPPED = MetricRegistry.name(LinkExpansionLiveService.class, "dropped");
+        public static final String LINK_RESOLVED_BY_ENTITY = MetricRegistry.name(LinkResolutionLiveService.class, "resolved", "entity");
+        public static final String LINK_RESOLVED_BY_RULE = MetricRegistry.name(LinkResolutionLiveService.class, "resolved", "rule");
+        public static final String LINK_RESOLVED_BY_CACHE = MetricRegistry.name(LinkResolutionLiveService.class, "resolved", "cache");
+        public static final String LINK_RESOLVED_BY_NETWORK = MetricRegistry.name(LinkResolutionLiveService.class, "resolved", "network");
+
+        public static final String TWITTER_CLIENT_CREATED = MetricRegistry.name(TwitterTemplateCreator.class, "client", "created");
+        public static final String TWITTER_CLIENT_REUSED = MetricRegistry.name(TwitterTemplateCreator.class, "client", "reused");
+        public static final String TWITTER_CLIENT_COUNT = MetricRegistry.name(TwitterTemplateCreator.class, "client", "count");
+        public static final String TWITTER_CLIENT_POOL_LEASED = MetricRegistry.name(TwitterTemplateCreator.class, "pool", "leased");
+        public static final String TWITTER_CLIENT_POOL_AVAILABLE = MetricRegistry.name(TwitterTemplateCreator.class, "pool", "available");
+        public static final String TWITTER_CLIENT_POOL_PENDING = MetricRegistry.name(TwitterTemplateCreator.class, "pool", "pending");
+
+        public static final String TWITTER_GOVERNOR_QUEUED = MetricRegistry.name(TwitterRateLimitGovernor.class, "queued");
+        public static final String TWITTER_GOVERNOR_SHED = MetricRegistry.name(TwitterRateLimitGovernor.class, "shed");
+        public static final String TWITTER_GOVERNOR_REROUTED = MetricRegistry.name(TwitterRateLimitGovernor.class, "rerouted");
+        public static final String TWITTER_GOVERNOR_LIMITED = MetricRegistry.name(TwitterRateLimitGovernor.class, "limited");
+
+        public static final String TIMELINE_CACHE_HIT = MetricRegistry.name(UserTimelineLiveService.class, "cache", "hit");
+        public static final String TIMELINE_CACHE_INCREMENTAL = MetricRegistry.name(UserTimelineLiveService.class, "cache", "incremental");
+        public static final String TIMELINE_CACHE_MISS = MetricRegistry.name(UserTimelineLiveService.class, "cache", "miss");
+
+        public static final String PROFILE_CACHE_HIT = MetricRegistry.name(UserLiveService.class, "profile", "cache", "hit");
+        public static final String PROFILE_CACHE_NEGATIVE_HIT = MetricRegistry.name(UserLiveService.class, "profile", "cache", "negative");
+        public static final String PROFILE_CACHE_MISS = MetricRegistry.name(UserLiveService.class, "profile", "cache", "miss");
+        public static final String FRIENDS_CACHE_HIT = MetricRegistry.name(UserLiveService.class, "friends", "cache", "hit");
+        public static final String FRIENDS_CACHE_MISS = MetricRegistry.name(UserLiveService.class, "friends", "cache", "miss");
+
+        public static final String SEARCH_POOL_INCREMENTAL = MetricRegistry.name(SearchCandidatePool.class, "incremental");
+        public static final String SEARCH_POOL_FULL = MetricRegistry.name(SearchCandidatePool.class, "full");
+        public static final String SEARCH_POOL_RETAINED = MetricRegistry.name(SearchCandidatePool.class, "retained");
+
+        public static final String SNAPSHOT_STORE_HIT = MetricRegistry.name(TwitterUserSnapshotStore.class, "hit");
+        public static final String SNAPSHOT_STORE_MISS = MetricRegistry.name(TwitterUserSnapshotStore.class, "miss");
+
+        public static final String SCORING_COMPLETED = MetricRegistry.name(CandidateScoringLiveService.class, "completed");
+        public static final String SCORING_DROPPED = MetricRegistry.name(CandidateScoringLiveService.class, "dropped");
+        public static final String SCORING_ELIMINATED_BY_AUTHOR_PROFILE = MetricRegistry.name(InteractionLiveService.class, "eliminated", "author", "profile");
+        public static final String SCORING_ELIMINATED_BY_AUTHOR_TIMELINE = MetricRegistry.name(InteractionLiveService.class, "eliminated", "author", "timeline");
+
+        public static final String VERDICT_CACHE_HIT = MetricRegistry.name(TweetVerdictCache.class, "hit");
+        public static final String VERDICT_CACHE_MISS = MetricRegistry.name(TweetVerdictCache.class, "miss");
+
+        public static final String BACKLOG_OFFERED = MetricRegistry.name(CandidateBacklog.class, "offered");
+        public static final String BACKLOG_POPPED = MetricRegistry.name(CandidateBacklog.class, "popped");
+        public static final String BACKLOG_EMPTY = MetricRegistry.name(CandidateBacklog.class, "empty");
+        public static final String BACKLOG_STALE = MetricRegistry.name(CandidateBacklog.class, "stale");
+        public static final String BACKLOG_EXPIRED = MetricRegistry.name(CandidateBacklog.class, "expired");
+
+        /**
+         * - the number of tasks of a scheduler slot that ended with this outcome, on this account
+         */
+        public static String slotOutcome(final String twitterAccount, final SlotExecutor.Outcome outcome) {
+            return MetricRegistry.name(SlotExecutor.class, twitterAccount, outcome.name().toLowerCase());
+        }
+
+        /**
+         * - the time each task of a scheduler slot took, on this account
+         */
+        public static String slotTime(final String twitterAccount) {
+            return MetricRegistry.name(SlotExecutor.class, twitterAccount, "time");
+        }
     }
 
     private MetricsUtil() {
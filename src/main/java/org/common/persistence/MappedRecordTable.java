@@ -0,0 +1,164 @@
+package org.common.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Open addressing hash table laid out as fixed size records in a buffer (usually memory mapped - see {@link #map(File, int)}) <br/>
+ * - no locking - every record carries a checksum of its own fields; a record that was torn by a concurrent write (or by a crash) fails the checksum and simply reads as missing <br/>
+ * - every record starts with its key (0 = empty slot) and a timestamp; when all the probed slots are taken, the one with the lowest timestamp is overwritten <br/>
+ * - the layout of the rest of the record, and its checksum, are up to the table <br/>
+ *
+ * <b>LAYOUT</b> <br/>
+ * - header: magic, version, number of slots <br/>
+ * - record: key, timestamp, the fields of the table <br/>
+ */
+public abstract class MappedRecordTable {
+    public static final int HEADER_SIZE = 16;
+
+    /** the key of a record - 0 marks an empty slot */
+    protected static final int KEY_OFFSET = 0;
+    /** the timestamp of a record - the lowest is evicted first */
+    protected static final int TIMESTAMP_OFFSET = 8;
+    protected static final int MAX_PROBES = 8;
+
+    private static final long CHECKSUM_SEED = 0x9E3779B97F4A7C15l;
+
+    protected final ByteBuffer buffer;
+    private final int recordSize;
+    private final int slots;
+
+    protected MappedRecordTable(final ByteBuffer buffer, final int recordSize, final int magic, final int version) {
+        super();
+
+        this.buffer = buffer;
+        this.recordSize = recordSize;
+        this.slots = (buffer.capacity() - HEADER_SIZE) / recordSize;
+        if (slots <= 0) {
+            throw new IllegalArgumentException("Buffer too small for " + getClass().getSimpleName() + ": " + buffer.capacity());
+        }
+        if (buffer.getInt(0) != magic || buffer.getInt(4) != version || buffer.getInt(8) != slots) {
+            clear(magic, version);
+        }
+    }
+
+    // API
+
+    /**
+     * - the size of the buffer needed for this many slots
+     */
+    public static int sizeInBytes(final int slots, final int recordSize) {
+        return HEADER_SIZE + slots * recordSize;
+    }
+
+    /**
+     * - maps the file (creating it if needed) to a buffer of this size <br/>
+     * - the mapping stays valid after the file is closed
+     */
+    public static ByteBuffer map(final File file, final int sizeInBytes) throws IOException {
+        final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+        try {
+            return randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, sizeInBytes);
+        } finally {
+            randomAccessFile.close();
+        }
+    }
+
+    /**
+     * - writes the changes to a mapped buffer back to its file; does nothing for a buffer kept in memory only
+     */
+    public static void force(final ByteBuffer buffer) {
+        if (buffer instanceof MappedByteBuffer) {
+            ((MappedByteBuffer) buffer).force();
+        }
+    }
+
+    public final int getSlots() {
+        return slots;
+    }
+
+    // for tables
+
+    /**
+     * - the offset of the record holding the key, on this probe - the caller stops probing at the first empty slot
+     */
+    protected final int offsetOf(final long key, final int probe) {
+        final int firstSlot = (int) ((mix(key) & Long.MAX_VALUE) % slots);
+        return HEADER_SIZE + ((firstSlot + probe) % slots) * recordSize;
+    }
+
+    /**
+     * - the offset to write the record of this key to: the slot already holding the key, or the first empty one, or else the probed slot with the lowest timestamp
+     */
+    protected final int offsetToWrite(final long key) {
+        int lowestOffset = offsetOf(key, 0);
+        long lowestTimestamp = Long.MAX_VALUE;
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            final int offset = offsetOf(key, probe);
+            final long keyInSlot = buffer.getLong(offset + KEY_OFFSET);
+            if (keyInSlot == 0 || keyInSlot == key) {
+                return offset;
+            }
+            final long timestampInSlot = buffer.getLong(offset + TIMESTAMP_OFFSET);
+            if (timestampInSlot < lowestTimestamp) {
+                lowestTimestamp = timestampInSlot;
+                lowestOffset = offset;
+            }
+        }
+        return lowestOffset;
+    }
+
+    protected final byte[] getBytes(final int offset, final int length) {
+        final byte[] bytes = new byte[length];
+        final ByteBuffer record = buffer.duplicate();
+        record.position(offset);
+        record.get(bytes);
+        return bytes;
+    }
+
+    protected final void putBytes(final int offset, final byte[] bytes) {
+        final ByteBuffer record = buffer.duplicate();
+        record.position(offset);
+        record.put(bytes);
+    }
+
+    /**
+     * - the checksum of a record starts from its key, and takes in each of its fields in turn - see {@link #checksum(long, long)}
+     */
+    protected static long checksumOf(final long key) {
+        return mix(key ^ CHECKSUM_SEED);
+    }
+
+    protected static long checksum(final long checksum, final long field) {
+        return mix(checksum ^ field);
+    }
+
+    // util
+
+    private final void clear(final int magic, final int version) {
+        for (int offset = 0; offset < buffer.capacity(); offset++) {
+            buffer.put(offset, (byte) 0);
+        }
+        buffer.putInt(0, magic);
+        buffer.putInt(4, version);
+        buffer.putInt(8, slots);
+    }
+
+    /**
+     * - the finalizer of MurmurHash3
+     */
+    private static long mix(final long value) {
+        long mixed = value;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xff51afd7ed558ccdl;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xc4ceb3f97a4a7b87l;
+        mixed ^= mixed >>> 33;
+        return mixed;
+    }
+
+}
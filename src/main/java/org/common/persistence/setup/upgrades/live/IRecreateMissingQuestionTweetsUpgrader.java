@@ -1,6 +1,6 @@
 package org.common.persistence.setup.upgrades.live;
 
-import org.springframework.social.twitter.api.Tweet;
+import org.tweet.twitter.util.TweetRecord;
 
 public interface IRecreateMissingQuestionTweetsUpgrader {
 
@@ -8,6 +8,6 @@ public interface IRecreateMissingQuestionTweetsUpgrader {
 
     void recreateLocalQuestionTweetsOnAccount(final String twitterAccount);
 
-    String extractQuestionIdFromTweet(Tweet tweet);
+    String extractQuestionIdFromTweet(TweetRecord tweet);
 
 }
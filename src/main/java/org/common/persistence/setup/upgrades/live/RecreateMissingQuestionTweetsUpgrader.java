@@ -12,7 +12,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.env.Environment;
-import org.springframework.social.twitter.api.Tweet;
 import org.springframework.stereotype.Component;
 import org.stackexchange.api.constants.StackSite;
 import org.stackexchange.persistence.dao.IQuestionTweetJpaDAO;
@@ -23,7 +22,7 @@ import org.tweet.meta.service.TweetMetaLocalService;
 import org.tweet.spring.util.SpringProfileUtil;
 import org.tweet.twitter.service.TweetService;
 import org.tweet.twitter.service.live.TwitterReadLiveService;
-import org.tweet.twitter.util.TweetUtil;
+import org.tweet.twitter.util.TweetRecord;
 
 import com.google.api.client.util.Preconditions;
 
@@ -83,27 +82,27 @@ public class RecreateMissingQuestionTweetsUpgrader implements ApplicationListene
 
     @Override
     public void recreateLocalQuestionTweetsOnAccount(final String twitterAccount) {
-        final List<Tweet> allTweetsOnAccount = twitterReadLiveService.listTweetsOfAccountMultiRequestRaw(twitterAccount, 3);
+        final List<TweetRecord> allTweetsOnAccount = twitterReadLiveService.listTweetRecordsOfAccountMultiRequest(twitterAccount, 3);
         processAllLiveTweets(allTweetsOnAccount, twitterAccount);
     }
 
-    private final void processAllLiveTweets(final List<Tweet> allTweetsForAccount, final String twitterAccount) {
-        for (final Tweet tweet : allTweetsForAccount) {
+    private final void processAllLiveTweets(final List<TweetRecord> allTweetsForAccount, final String twitterAccount) {
+        for (final TweetRecord tweet : allTweetsForAccount) {
             processLiveTweet(tweet, twitterAccount);
         }
     }
 
-    private final void processLiveTweet(final Tweet tweet, final String twitterAccount) {
+    private final void processLiveTweet(final TweetRecord tweet, final String twitterAccount) {
         try {
             processLiveTweetInternal(tweet, twitterAccount, tweet.getCreatedAt());
         } catch (final RuntimeException ex) {
             final String tweetUrl = "https://twitter.com/" + tweet.getFromUser() + "/status/" + tweet.getId();
-            logger.error("Unable to recreate retweet: " + TweetUtil.getText(tweet) + " from \nlive tweet url= " + tweetUrl, ex);
+            logger.error("Unable to recreate retweet: " + tweet.getText() + " from \nlive tweet url= " + tweetUrl, ex);
         }
     }
 
-    private final void processLiveTweetInternal(final Tweet rawTweet, final String twitterAccount, final Date when) {
-        final String rawTweetText = TweetUtil.getText(rawTweet);
+    private final void processLiveTweetInternal(final TweetRecord rawTweet, final String twitterAccount, final Date when) {
+        final String rawTweetText = rawTweet.getText();
         final boolean linkingToSe = linkLiveService.countLinksToAnyDomain(rawTweet, Technical.seDomains) > 0;
         if (!linkingToSe) {
             logger.debug("Tweet is not linking to Stack Exchange - not a retweet= {}", rawTweetText);
@@ -125,7 +124,7 @@ public class RecreateMissingQuestionTweetsUpgrader implements ApplicationListene
     }
 
     @Override
-    public final String extractQuestionIdFromTweet(final Tweet tweet) {
+    public final String extractQuestionIdFromTweet(final TweetRecord tweet) {
         final List<String> linksToSe = linkLiveService.getLinksToAnyDomain(tweet, Technical.seDomains);
         Preconditions.checkState(linksToSe.size() == 1);
         String linkToSe = linksToSe.get(0);
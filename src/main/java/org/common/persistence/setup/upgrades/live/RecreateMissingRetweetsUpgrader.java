@@ -13,7 +13,6 @@ import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.env.Environment;
 import org.springframework.scheduling.annotation.Async;
-import org.springframework.social.twitter.api.Tweet;
 import org.springframework.stereotype.Component;
 import org.stackexchange.util.IDUtil;
 import org.stackexchange.util.TwitterAccountEnum;
@@ -23,7 +22,7 @@ import org.tweet.meta.service.TweetMetaLocalService;
 import org.tweet.spring.util.SpringProfileUtil;
 import org.tweet.twitter.service.AdvancedTweetService;
 import org.tweet.twitter.service.live.TwitterReadLiveService;
-import org.tweet.twitter.util.TweetUtil;
+import org.tweet.twitter.util.TweetRecord;
 
 @Component
 @Profile(SpringProfileUtil.DEPLOYED)
@@ -84,13 +83,13 @@ public class RecreateMissingRetweetsUpgrader implements ApplicationListener<Afte
     @Override
     @Async
     public void recreateLocalRetweetsFromLiveTweetsOnAccount(final String twitterAccount) {
-        final List<Tweet> allTweetsOnAccount = twitterReadLiveService.listTweetsOfAccountMultiRequestRaw(twitterAccount, 5);
+        final List<TweetRecord> allTweetsOnAccount = twitterReadLiveService.listTweetRecordsOfAccountMultiRequest(twitterAccount, 5);
         processAllLiveTweets(allTweetsOnAccount, twitterAccount);
     }
 
-    private final boolean processAllLiveTweets(final List<Tweet> allTweetsForAccount, final String twitterAccount) {
+    private final boolean processAllLiveTweets(final List<TweetRecord> allTweetsForAccount, final String twitterAccount) {
         int count = 0;
-        for (final Tweet tweet : allTweetsForAccount) {
+        for (final TweetRecord tweet : allTweetsForAccount) {
             if (processLiveTweet(tweet, twitterAccount)) {
                 count++;
             }
@@ -100,18 +99,18 @@ public class RecreateMissingRetweetsUpgrader implements ApplicationListener<Afte
         return count > 0;
     }
 
-    private final boolean processLiveTweet(final Tweet tweet, final String twitterAccount) {
+    private final boolean processLiveTweet(final TweetRecord tweet, final String twitterAccount) {
         try {
             return processLiveTweetInternal(tweet, twitterAccount, tweet.getCreatedAt());
         } catch (final RuntimeException ex) {
             final String tweetUrl = "https://twitter.com/" + tweet.getFromUser() + "/status/" + tweet.getId();
-            logger.error("Unable to recreate retweet: " + TweetUtil.getText(tweet) + " from \nlive tweet url= " + tweetUrl, ex);
+            logger.error("Unable to recreate retweet: " + tweet.getText() + " from \nlive tweet url= " + tweetUrl, ex);
             return false;
         }
     }
 
-    private final boolean processLiveTweetInternal(final Tweet rawTweet, final String twitterAccount, final Date when) {
-        final String rawTweetText = TweetUtil.getText(rawTweet);
+    private final boolean processLiveTweetInternal(final TweetRecord rawTweet, final String twitterAccount, final Date when) {
+        final String rawTweetText = rawTweet.getText();
         final boolean linkingToSe = linkLiveService.countLinksToAnyDomain(rawTweet, Technical.seDomains) > 0;
         if (linkingToSe) {
             logger.debug("Tweet is linking to Stack Exchange - not a retweet= {}", rawTweetText);
@@ -135,7 +134,7 @@ public class RecreateMissingRetweetsUpgrader implements ApplicationListener<Afte
         }
 
         final Retweet newRetweet = new Retweet(IDUtil.randomPositiveLong(), twitterAccount, goodText, when);
-        retweetDao.save(newRetweet);
+        tweetMetaLocalService.markDone(newRetweet);
 
         logger.info("Created on twitterAccount= {}, new retweet= {}", twitterAccount, newRetweet);
         return true;
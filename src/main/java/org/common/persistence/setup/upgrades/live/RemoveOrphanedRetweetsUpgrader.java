@@ -13,7 +13,6 @@ import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.env.Environment;
 import org.springframework.scheduling.annotation.Async;
-import org.springframework.social.twitter.api.Tweet;
 import org.springframework.stereotype.Component;
 import org.stackexchange.util.TwitterAccountEnum;
 import org.tweet.meta.persistence.dao.IRetweetJpaDAO;
@@ -22,7 +21,7 @@ import org.tweet.meta.service.TweetMetaLocalService;
 import org.tweet.spring.util.SpringProfileUtil;
 import org.tweet.twitter.service.AdvancedTweetService;
 import org.tweet.twitter.service.live.TwitterReadLiveService;
-import org.tweet.twitter.util.TweetUtil;
+import org.tweet.twitter.util.TweetRecord;
 
 @Component
 @Profile(SpringProfileUtil.DEPLOYED)
@@ -82,19 +81,19 @@ public class RemoveOrphanedRetweetsUpgrader implements ApplicationListener<After
 
     @Override
     public void removeOrphanedRetweetsOnAccount(final String twitterAccount) {
-        final List<Tweet> allLiveTweetsOnAccount = twitterReadLiveService.listTweetsOfAccountMultiRequestRaw(twitterAccount, 3);
+        final List<TweetRecord> allLiveTweetsOnAccount = twitterReadLiveService.listTweetRecordsOfAccountMultiRequest(twitterAccount, 3);
         final List<Retweet> allLocalRetweetsOnAccount = retweetDao.findAllByTwitterAccount(twitterAccount);
         removeOrphanedRetweetsOnAccount(allLiveTweetsOnAccount, allLocalRetweetsOnAccount, twitterAccount);
     }
 
-    private final void removeOrphanedRetweetsOnAccount(final List<Tweet> allLiveTweetsOnAccount, final List<Retweet> allLocalReweetsOnAccount, final String twitterAccount) {
-        for (final Tweet tweet : allLiveTweetsOnAccount) {
+    private final void removeOrphanedRetweetsOnAccount(final List<TweetRecord> allLiveTweetsOnAccount, final List<Retweet> allLocalReweetsOnAccount, final String twitterAccount) {
+        for (final TweetRecord tweet : allLiveTweetsOnAccount) {
             final boolean linkingToSe = linkLiveService.countLinksToAnyDomain(tweet, Technical.seDomains) > 0;
             if (linkingToSe) {
                 continue;
             }
 
-            final String rawText = TweetUtil.getText(tweet);
+            final String rawText = tweet.getText();
             final String preProcessedText = tweetService.processPreValidity(rawText);
             final String goodText = tweetService.postValidityProcessTweetTextWithUrl(preProcessedText, twitterAccount);
 
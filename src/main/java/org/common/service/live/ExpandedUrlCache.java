@@ -0,0 +1,136 @@
+package org.common.service.live;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.common.metrics.MetricsUtil;
+import org.common.persistence.MappedRecordTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.tweet.spring.util.SpringProfileUtil;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Remembers what each short url expands to (see {@link HttpLiveService#expand(String)}) - the same t.co and bit.ly links show up in tweet after tweet <br/>
+ * - 2 tiers: the most recently used urls in memory, in front of a memory mapped file that survives restarts (see {@link ExpandedUrlTable}) <br/>
+ * - a url that could not be expanded is remembered as well, but for a much shorter time - the target may only be down for a while <br/>
+ * - if the file cannot be mapped, the second tier is kept in memory only
+ */
+@Component
+@Profile(SpringProfileUtil.LIVE)
+public class ExpandedUrlCache implements InitializingBean, DisposableBean {
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private Cache<String, String> expandedUrls;
+    private Cache<String, Boolean> unresolvedUrls;
+    private ByteBuffer buffer;
+    private ExpandedUrlTable table;
+    private long ttlMillis;
+    private long negativeTtlMillis;
+
+    @Autowired
+    private Environment env;
+
+    @Autowired
+    private MetricRegistry metrics;
+
+    public ExpandedUrlCache() {
+        super();
+    }
+
+    // API
+
+    /**
+     * - note: will return null if the url was not expanded yet, or if the expansion expired <br/>
+     * - note: will return {@link ExpandedUrlTable#UNRESOLVED} (empty) if the url could not be expanded recently
+     */
+    public final String get(final String shortUrl) {
+        final String expandedUrl = expandedUrls.getIfPresent(shortUrl);
+        if (expandedUrl != null) {
+            metrics.counter(MetricsUtil.Meta.EXPAND_CACHE_MEMORY_HIT).inc();
+            return expandedUrl;
+        }
+        if (unresolvedUrls.getIfPresent(shortUrl) != null) {
+            metrics.counter(MetricsUtil.Meta.EXPAND_CACHE_NEGATIVE_HIT).inc();
+            return ExpandedUrlTable.UNRESOLVED;
+        }
+
+        final String storedUrl = table.get(shortUrl, System.currentTimeMillis());
+        if (storedUrl == null) {
+            metrics.counter(MetricsUtil.Meta.EXPAND_CACHE_MISS).inc();
+            return null;
+        }
+        if (storedUrl.isEmpty()) {
+            metrics.counter(MetricsUtil.Meta.EXPAND_CACHE_NEGATIVE_HIT).inc();
+            unresolvedUrls.put(shortUrl, Boolean.TRUE);
+        } else {
+            metrics.counter(MetricsUtil.Meta.EXPAND_CACHE_DISK_HIT).inc();
+            expandedUrls.put(shortUrl, storedUrl);
+        }
+        return storedUrl;
+    }
+
+    /**
+     * - expandedUrl is null if the url could not be expanded
+     */
+    public final void put(final String shortUrl, final String expandedUrl) {
+        final long now = System.currentTimeMillis();
+        if (expandedUrl == null) {
+            unresolvedUrls.put(shortUrl, Boolean.TRUE);
+            table.put(shortUrl, ExpandedUrlTable.UNRESOLVED, now + negativeTtlMillis);
+        } else {
+            expandedUrls.put(shortUrl, expandedUrl);
+            table.put(shortUrl, expandedUrl, now + ttlMillis);
+        }
+    }
+
+    // spring
+
+    /**
+     * - http.expand.cache.size - the maximum number of urls in memory (the first tier) - default = 20000 <br/>
+     * - http.expand.cache.file - default = expanded-urls.dat in the home directory of the user <br/>
+     * - http.expand.cache.slots - the maximum number of urls in the file (512 bytes each) - default = 65536 <br/>
+     * - http.expand.cache.ttl - hours an expanded url is remembered for - default = 168 <br/>
+     * - http.expand.cache.negative.ttl - minutes a url that could not be expanded is remembered for - default = 30 <br/>
+     * - note: changing the number of slots resets the file
+     */
+    @Override
+    public final void afterPropertiesSet() {
+        final long maxUrls = env.getProperty("http.expand.cache.size", Long.class, 20000l);
+        final String defaultFile = new File(System.getProperty("user.home"), "expanded-urls.dat").getPath();
+        final File file = new File(env.getProperty("http.expand.cache.file", defaultFile));
+        final int slots = env.getProperty("http.expand.cache.slots", Integer.class, 65536);
+        ttlMillis = TimeUnit.HOURS.toMillis(env.getProperty("http.expand.cache.ttl", Integer.class, 168));
+        negativeTtlMillis = TimeUnit.MINUTES.toMillis(env.getProperty("http.expand.cache.negative.ttl", Integer.class, 30));
+
+        expandedUrls = CacheBuilder.newBuilder().maximumSize(maxUrls).expireAfterWrite(ttlMillis, TimeUnit.MILLISECONDS).build();
+        unresolvedUrls = CacheBuilder.newBuilder().maximumSize(maxUrls).expireAfterWrite(negativeTtlMillis, TimeUnit.MILLISECONDS).build();
+
+        final int sizeInBytes = ExpandedUrlTable.sizeInBytes(slots);
+        try {
+            buffer = MappedRecordTable.map(file, sizeInBytes);
+            logger.info("Mapped the expanded url cache= {} ({} slots)", file, slots);
+        } catch (final IOException ioEx) {
+            logger.error("Unable to map the expanded url cache= " + file + " - keeping expanded urls in memory only", ioEx);
+            buffer = ByteBuffer.allocate(sizeInBytes);
+        }
+        table = new ExpandedUrlTable(buffer);
+    }
+
+    @Override
+    public final void destroy() {
+        MappedRecordTable.force(buffer);
+    }
+
+}
@@ -0,0 +1,138 @@
+package org.common.service.live;
+
+import java.nio.ByteBuffer;
+
+import org.common.persistence.MappedRecordTable;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hashing;
+
+/**
+ * Hash table from short url to expanded url, laid out as fixed size records (see {@link MappedRecordTable}) <br/>
+ * - a url that could not be expanded is stored as {@link #UNRESOLVED} <br/>
+ * - urls too long to fit in a record are not stored <br/>
+ * - when all the probed slots are taken, the one expiring first is overwritten <br/>
+ *
+ * <b>RECORD</b> <br/>
+ * - hash of the short url, expires at, length of the short url, length of the expanded url (-1 = unresolved), checksum, the bytes of the 2 urls <br/>
+ */
+final class ExpandedUrlTable extends MappedRecordTable {
+    static final int RECORD_SIZE = 512;
+
+    /** marks a url that could not be expanded */
+    static final String UNRESOLVED = "";
+
+    private static final int MAGIC = 0x45555254;
+    private static final int VERSION = 1;
+    private static final int URLS_OFFSET = 28;
+    private static final int MAX_URLS_SIZE = RECORD_SIZE - URLS_OFFSET;
+
+    ExpandedUrlTable(final ByteBuffer buffer) {
+        super(buffer, RECORD_SIZE, MAGIC, VERSION);
+    }
+
+    // API
+
+    /**
+     * - the size of the buffer needed for this many slots
+     */
+    static int sizeInBytes(final int slots) {
+        return sizeInBytes(slots, RECORD_SIZE);
+    }
+
+    /**
+     * - note: will return null if the url is not in the table, or if it expired before now <br/>
+     * - note: will return {@link #UNRESOLVED} if the url could not be expanded
+     */
+    final String get(final String shortUrl, final long now) {
+        final long hash = hashOf(shortUrl);
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            final int offset = offsetOf(hash, probe);
+            final long hashInSlot = buffer.getLong(offset + KEY_OFFSET);
+            if (hashInSlot == 0) {
+                return null;
+            }
+            if (hashInSlot != hash) {
+                continue;
+            }
+
+            final long expiresAt = buffer.getLong(offset + TIMESTAMP_OFFSET);
+            final short shortUrlLength = buffer.getShort(offset + 16);
+            final short expandedUrlLength = buffer.getShort(offset + 18);
+            final long checksum = buffer.getLong(offset + 20);
+            if (shortUrlLength < 0 || shortUrlLength + Math.max(0, expandedUrlLength) > MAX_URLS_SIZE) {
+                return null;
+            }
+            final byte[] urls = getBytes(offset + URLS_OFFSET, shortUrlLength + Math.max(0, expandedUrlLength));
+            if (checksum != checksumOf(hashInSlot, expiresAt, shortUrlLength, expandedUrlLength, urls) || expiresAt < now) {
+                return null;
+            }
+            if (!shortUrl.equals(new String(urls, 0, shortUrlLength, Charsets.UTF_8))) {
+                // a different url with the same hash
+                continue;
+            }
+            if (expandedUrlLength < 0) {
+                return UNRESOLVED;
+            }
+            return new String(urls, shortUrlLength, expandedUrlLength, Charsets.UTF_8);
+        }
+        return null;
+    }
+
+    /**
+     * - expandedUrl may be {@link #UNRESOLVED}, if the url could not be expanded <br/>
+     * - note: will return false (and store nothing) if the urls are too long to fit in a record
+     */
+    final boolean put(final String shortUrl, final String expandedUrl, final long expiresAt) {
+        final byte[] shortUrlBytes = shortUrl.getBytes(Charsets.UTF_8);
+        final byte[] expandedUrlBytes = expandedUrl.getBytes(Charsets.UTF_8);
+        if (shortUrlBytes.length + expandedUrlBytes.length > MAX_URLS_SIZE) {
+            return false;
+        }
+
+        final long hash = hashOf(shortUrl);
+        write(offsetToWrite(hash), hash, shortUrlBytes, expandedUrl.isEmpty() ? null : expandedUrlBytes, expiresAt);
+        return true;
+    }
+
+    // util
+
+    /**
+     * - expandedUrlBytes is null for a url that could not be expanded
+     */
+    private final void write(final int offset, final long hash, final byte[] shortUrlBytes, final byte[] expandedUrlBytes, final long expiresAt) {
+        final short shortUrlLength = (short) shortUrlBytes.length;
+        final short expandedUrlLength = (short) ((expandedUrlBytes == null) ? -1 : expandedUrlBytes.length);
+        final byte[] urls = new byte[shortUrlBytes.length + Math.max(0, expandedUrlLength)];
+        System.arraycopy(shortUrlBytes, 0, urls, 0, shortUrlBytes.length);
+        if (expandedUrlBytes != null) {
+            System.arraycopy(expandedUrlBytes, 0, urls, shortUrlBytes.length, expandedUrlBytes.length);
+        }
+
+        buffer.putLong(offset + KEY_OFFSET, hash);
+        buffer.putLong(offset + TIMESTAMP_OFFSET, expiresAt);
+        buffer.putShort(offset + 16, shortUrlLength);
+        buffer.putShort(offset + 18, expandedUrlLength);
+        buffer.putLong(offset + 20, checksumOf(hash, expiresAt, shortUrlLength, expandedUrlLength, urls));
+        putBytes(offset + URLS_OFFSET, urls);
+    }
+
+    /**
+     * - never 0, which marks an empty slot
+     */
+    private static long hashOf(final String shortUrl) {
+        final long hash = Hashing.murmur3_128().hashString(shortUrl, Charsets.UTF_8).asLong();
+        return (hash == 0) ? 1 : hash;
+    }
+
+    private static long checksumOf(final long hash, final long expiresAt, final short shortUrlLength, final short expandedUrlLength, final byte[] urls) {
+        long checksum = checksumOf(hash);
+        checksum = checksum(checksum, expiresAt);
+        checksum = checksum(checksum, (shortUrlLength << 16) | (expandedUrlLength & 0xFFFF));
+        for (final byte urlByte : urls) {
+            checksum = checksum(checksum, urlByte);
+        }
+        return checksum;
+    }
+
+}
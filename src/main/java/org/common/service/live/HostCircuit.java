@@ -0,0 +1,76 @@
+package org.common.service.live;
+
+/**
+ * The circuit of one host (see {@link HostCircuitBreaker}) <br/>
+ * - CLOSED: requests go through; the circuit opens after failureThreshold failures in a row <br/>
+ * - OPEN: requests fail fast; once openMillis have passed, the next request goes through as a probe <br/>
+ * - HALF_OPEN: only the probe goes through - the circuit closes if it succeeds, and opens again if it fails; a probe that never reports back is replaced after openMillis <br/>
+ */
+final class HostCircuit {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+    private int failures;
+    private long openedAt;
+    private long probeStartedAt;
+
+    HostCircuit(final int failureThreshold, final long openMillis) {
+        super();
+
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    // API
+
+    final synchronized boolean allowRequest(final long now) {
+        switch (state) {
+        case CLOSED:
+            return true;
+        case OPEN:
+            if (now - openedAt < openMillis) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probeStartedAt = now;
+            return true;
+        case HALF_OPEN:
+            if (now - probeStartedAt < openMillis) {
+                return false;
+            }
+            probeStartedAt = now;
+            return true;
+        default:
+            throw new IllegalStateException("Unknown state= " + state);
+        }
+    }
+
+    final synchronized void success() {
+        state = State.CLOSED;
+        failures = 0;
+    }
+
+    /**
+     * - note: will return true if this failure opened the circuit
+     */
+    final synchronized boolean failure(final long now) {
+        failures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && failures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAt = now;
+            return true;
+        }
+        return false;
+    }
+
+    final synchronized State getState() {
+        return state;
+    }
+
+}
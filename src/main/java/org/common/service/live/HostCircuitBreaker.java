@@ -0,0 +1,131 @@
+package org.common.service.live;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.HttpHostConnectException;
+import org.common.metrics.MetricsUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.tweet.spring.util.SpringProfileUtil;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Keeps the requests of {@link HttpLiveService} away from the hosts that are down - so that a single dead host cannot stall a whole run <br/>
+ * - a circuit per host (see {@link HostCircuit}) - opened by repeated timeouts, refused connections and missing responses; while open, the requests to the host fail fast <br/>
+ * - a host whose name did not resolve is remembered for a while - the lookup is not retried until then <br/>
+ * - only the failures of the host itself count - not the responses it gives (a 404 is a perfectly healthy answer)
+ */
+@Component
+@Profile(SpringProfileUtil.LIVE)
+public class HostCircuitBreaker implements InitializingBean {
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private ConcurrentMap<String, HostCircuit> circuitsByHost;
+    private Cache<String, Boolean> unresolvedHosts;
+    private int failureThreshold;
+    private long openMillis;
+
+    @Autowired
+    private Environment env;
+
+    @Autowired
+    private MetricRegistry metrics;
+
+    public HostCircuitBreaker() {
+        super();
+    }
+
+    // API
+
+    /**
+     * - throws if the request to the host should not be made at all <br/>
+     * - when the circuit of the host was open long enough, lets a single probe through
+     */
+    public final void checkAvailable(final String host) throws HostUnavailableException {
+        if (unresolvedHosts.getIfPresent(host) != null) {
+            metrics.counter(MetricsUtil.Meta.HOST_UNRESOLVED).inc();
+            throw new HostUnavailableException(host, "its name did not resolve recently");
+        }
+        if (!circuitOf(host).allowRequest(System.currentTimeMillis())) {
+            metrics.counter(MetricsUtil.Meta.HOST_CIRCUIT_REJECTED).inc();
+            throw new HostUnavailableException(host, "its circuit is open");
+        }
+    }
+
+    /**
+     * - the host gave a response - any response
+     */
+    public final void success(final String host) {
+        final HostCircuit circuit = circuitsByHost.get(host);
+        if (circuit != null) {
+            circuit.success();
+        }
+    }
+
+    /**
+     * - the request to the host failed - only the failures of the host itself are counted
+     */
+    public final void failure(final String host, final IOException ex) {
+        if (ex instanceof UnknownHostException) {
+            unresolvedHosts.put(host, Boolean.TRUE);
+            return;
+        }
+        if (!isFailureOfHost(ex)) {
+            return;
+        }
+        if (circuitOf(host).failure(System.currentTimeMillis())) {
+            metrics.counter(MetricsUtil.Meta.HOST_CIRCUIT_OPENED).inc();
+            logger.warn("Circuit of host= {} is open - requests to it fail fast for the next {} seconds", host, TimeUnit.MILLISECONDS.toSeconds(openMillis));
+        }
+    }
+
+    // util
+
+    private final boolean isFailureOfHost(final IOException ex) {
+        return ex instanceof ConnectTimeoutException || ex instanceof SocketTimeoutException || ex instanceof HttpHostConnectException || ex instanceof NoHttpResponseException;
+    }
+
+    private final HostCircuit circuitOf(final String host) {
+        final HostCircuit existingCircuit = circuitsByHost.get(host);
+        if (existingCircuit != null) {
+            return existingCircuit;
+        }
+        final HostCircuit newCircuit = new HostCircuit(failureThreshold, openMillis);
+        final HostCircuit concurrentlyCreatedCircuit = circuitsByHost.putIfAbsent(host, newCircuit);
+        return (concurrentlyCreatedCircuit != null) ? concurrentlyCreatedCircuit : newCircuit;
+    }
+
+    // spring
+
+    /**
+     * - http.circuit.failures - the failures in a row after which the circuit of a host opens - default = 3 <br/>
+     * - http.circuit.open - the time (in seconds) the circuit of a host stays open, before a probe is let through - default = 300 <br/>
+     * - http.dns.negative.ttl - minutes a host whose name did not resolve is remembered for - default = 30 <br/>
+     * - the circuits of the hosts not seen for an hour are forgotten
+     */
+    @Override
+    public final void afterPropertiesSet() {
+        failureThreshold = env.getProperty("http.circuit.failures", Integer.class, 3);
+        openMillis = TimeUnit.SECONDS.toMillis(env.getProperty("http.circuit.open", Integer.class, 300));
+        final int dnsNegativeTtlInMinutes = env.getProperty("http.dns.negative.ttl", Integer.class, 30);
+
+        final Cache<String, HostCircuit> circuits = CacheBuilder.newBuilder().maximumSize(10000).expireAfterAccess(1, TimeUnit.HOURS).build();
+        circuitsByHost = circuits.asMap();
+        unresolvedHosts = CacheBuilder.newBuilder().maximumSize(10000).expireAfterWrite(dnsNegativeTtlInMinutes, TimeUnit.MINUTES).build();
+    }
+
+}
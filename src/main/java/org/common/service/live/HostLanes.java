@@ -0,0 +1,142 @@
+package org.common.service.live;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Queues;
+
+/**
+ * The requests waiting for their host, in one lane per host - at most a few requests to the same host run at the same time, the others wait their turn, in order <br/>
+ * - the waiting requests do not hold any thread; a request is handed to the executor only once a slot of its host frees up <br/>
+ * - the known shorteners (see {@link ShortLinkRules}) get lanes of their own size - they answer every link with a single redirect, and most links go through them <br/>
+ * - a lane is dropped as soon as it is idle - only the hosts with requests running or waiting have one
+ */
+final class HostLanes {
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final ConcurrentMap<String, Lane> lanesByHost = Maps.newConcurrentMap();
+    private final Executor executor;
+    private final int threadsPerHost;
+    private final int threadsPerShortener;
+
+    HostLanes(final Executor executor, final int threadsPerHost, final int threadsPerShortener) {
+        super();
+
+        this.executor = executor;
+        this.threadsPerHost = threadsPerHost;
+        this.threadsPerShortener = threadsPerShortener;
+    }
+
+    // API
+
+    /**
+     * - the request runs on the executor, once a slot of the host is free <br/>
+     * - note: if the executor rejects the request (it is shut down), the request is dropped
+     */
+    final void submit(final String host, final Runnable request) {
+        while (!laneOf(host).add(request)) {
+            // the lane was dropped in the meantime - a new one takes its place
+        }
+    }
+
+    /**
+     * - the number of hosts with requests running or waiting
+     */
+    final int size() {
+        return lanesByHost.size();
+    }
+
+    // util
+
+    private final Lane laneOf(final String host) {
+        final Lane existingLane = lanesByHost.get(host);
+        if (existingLane != null) {
+            return existingLane;
+        }
+        final Lane newLane = new Lane(host, ShortLinkRules.isShortener(host) ? threadsPerShortener : threadsPerHost);
+        final Lane concurrentlyCreatedLane = lanesByHost.putIfAbsent(host, newLane);
+        return (concurrentlyCreatedLane != null) ? concurrentlyCreatedLane : newLane;
+    }
+
+    private final class Lane {
+        private final String host;
+        private final int threads;
+        private final Queue<Runnable> waiting = Queues.newArrayDeque();
+        private int running;
+        private boolean dropped;
+
+        Lane(final String host, final int threads) {
+            super();
+
+            this.host = host;
+            this.threads = threads;
+        }
+
+        /**
+         * - false if the lane was already dropped - the request is not taken
+         */
+        final boolean add(final Runnable request) {
+            synchronized (this) {
+                if (dropped) {
+                    return false;
+                }
+                waiting.add(request);
+            }
+            drain();
+            return true;
+        }
+
+        private final void drain() {
+            while (true) {
+                final Runnable next;
+                synchronized (this) {
+                    if (running >= threads) {
+                        // one of the running requests drains the lane again when it is done
+                        return;
+                    }
+                    next = waiting.poll();
+                    if (next == null) {
+                        if (running == 0) {
+                            dropped = true;
+                            lanesByHost.remove(host, this);
+                        }
+                        return;
+                    }
+                    running++;
+                }
+
+                try {
+                    executor.execute(new Runnable() {
+                        @Override
+                        public final void run() {
+                            try {
+                                next.run();
+                            } finally {
+                                done();
+                            }
+                        }
+                    });
+                } catch (final RejectedExecutionException rejectedEx) {
+                    logger.debug("Dropping a request to host= " + host + " - the executor is shut down");
+                    synchronized (this) {
+                        running--;
+                    }
+                }
+            }
+        }
+
+        private final void done() {
+            synchronized (this) {
+                running--;
+            }
+            drain();
+        }
+    }
+
+}
@@ -0,0 +1,14 @@
+package org.common.service.live;
+
+import java.io.IOException;
+
+/**
+ * The request was not made at all - the host is known to be down, or its name did not resolve recently (see {@link HostCircuitBreaker})
+ */
+public final class HostUnavailableException extends IOException {
+
+    public HostUnavailableException(final String host, final String reason) {
+        super("Host= " + host + " is unavailable - " + reason);
+    }
+
+}
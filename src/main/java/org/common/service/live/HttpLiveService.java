@@ -3,19 +3,19 @@ package org.common.service.live;
 import java.io.IOException;
 import java.net.SocketTimeoutException;
 import java.net.UnknownHostException;
-import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.http.Header;
-import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.NoHttpResponseException;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpHead;
+import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.conn.ConnectTimeoutException;
 import org.apache.http.conn.HttpHostConnectException;
-import org.apache.http.util.EntityUtils;
 import org.common.metrics.MetricsUtil;
 import org.common.service.LinkService;
 import org.slf4j.Logger;
@@ -23,13 +23,15 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
 import org.stackexchange.api.client.HttpFactory;
 import org.tweet.spring.util.SpringProfileUtil;
 
 import com.codahale.metrics.MetricRegistry;
 import com.google.api.client.util.Preconditions;
-import com.google.common.collect.Lists;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.net.HttpHeaders;
 
 @Service
@@ -38,10 +40,20 @@ public class HttpLiveService implements InitializingBean {
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     private HttpClient client;
+    private Cache<String, Boolean> headRejectingHosts;
 
     @Autowired
     private LinkService linkService;
 
+    @Autowired
+    private ExpandedUrlCache expandedUrlCache;
+
+    @Autowired
+    private HostCircuitBreaker hostCircuitBreaker;
+
+    @Autowired
+    private Environment env;
+
     @Autowired
     private MetricRegistry metrics;
 
@@ -53,81 +65,143 @@ public class HttpLiveService implements InitializingBean {
 
     /**
      * - <b>live</b><br/>
-     * - note: will return null (in case of any kind of IO error) or null input
+     * - note: will return null (in case of any kind of IO error) or null input <br/>
+     * - cached - see {@link ExpandedUrlCache}; a url that could not be expanded is not retried until its negative entry expires - unless its host was only known to be down at the time
      */
     public final String expand(final String urlArg) {
         if (urlArg == null) {
             return null;
         }
+        final String cachedUrl = expandedUrlCache.get(urlArg);
+        if (cachedUrl != null) {
+            return cachedUrl.isEmpty() ? null : cachedUrl;
+        }
+
+        return expandUncached(urlArg);
+    }
+
+    /**
+     * - expands the url live, without looking it up in the cache first - but caches the result (see {@link #cacheFailure(String, Exception)} for the failures) <br/>
+     * - note: will return null in case of any kind of IO error
+     */
+    final String expandUncached(final String urlArg) {
         try {
-            final String expandedInternal = expandInternal(urlArg);
-            return expandedInternal;
+            final String expandedUrl = expandInternal(urlArg);
+            expandedUrlCache.put(urlArg, expandedUrl);
+            return expandedUrl;
         } catch (final IOException | IllegalStateException ex) {
-            final Throwable cause = ex.getCause();
-            if (cause != null && cause instanceof UnknownHostException) {
-                // target may be down is a valid option - the stack should be hidden if not debuggin
-                logger.info("Target host may be down - error when expanding the url: " + urlArg);
-                logger.debug("Target host may be down - error when expanding the url: " + urlArg, ex);
-                return null;
-            }
-            if (cause != null && cause instanceof ConnectTimeoutException) {
-                // keep at warn or below - no need to know when this happens all the time
-                logger.warn("Target host may be timing out - error when expanding the url: " + urlArg, ex);
-                return null;
-            }
-            if (cause != null && cause instanceof SocketTimeoutException) {
-                // keep at warn or below - no need to know when this happens all the time
-                logger.warn("Target host socket data may be timing out - error when expanding the url: " + urlArg);
-                logger.debug("Target host socket data may be timing out - error when expanding the url: " + urlArg, ex);
-                return null;
-            }
-            // connection refused
-            if (cause != null && cause instanceof HttpHostConnectException) {
-                // keep at warn or below - no need to know when this happens all the time
-                logger.warn("Connection to target host was refused - error when expanding the url: " + urlArg, ex);
-                return null;
-            }
-            if (cause != null && cause instanceof NoHttpResponseException) {
-                // keep at warn or below - no need to know when this happens all the time
-                logger.warn("No response from connection to target host was refused - error when expanding the url: " + urlArg, ex);
-                return null;
-            }
-
-            logger.error("Error when expanding the url: " + urlArg, ex);
+            logFailure(urlArg, ex);
+            cacheFailure(urlArg, ex);
             return null;
         }
     }
 
+    /**
+     * - the url could not be expanded - it gets a negative entry, unless the failure is only temporary (see {@link #isWorthNegativeEntry(Exception)})
+     */
+    final void cacheFailure(final String urlArg, final Exception ex) {
+        if (isWorthNegativeEntry(ex)) {
+            expandedUrlCache.put(urlArg, null);
+        }
+    }
+
     final String expandInternal(final String urlArg) throws IOException {
-        final String originalUrlWithParams = urlArg;
-        String originalUrl = linkService.removeUrlParameters(originalUrlWithParams);
-        String newUrl = expandSingleLevel(originalUrl).getRight();
-        final List<String> alreadyVisited = Lists.newArrayList(originalUrl, newUrl);
-        while (!originalUrl.equals(newUrl)) {
-            originalUrl = newUrl;
-            final Pair<Integer, String> statusAndUrl = expandSingleLevel(originalUrl);
-            newUrl = statusAndUrl.getRight();
-            if ((statusAndUrl.getLeft() == 301 || statusAndUrl.getLeft() == 302) && alreadyVisited.contains(newUrl)) {
-                throw new IllegalStateException("Likely a redirect loop");
-            }
-            alreadyVisited.add(newUrl);
+        final RedirectChain redirectChain = startRedirectChain(urlArg);
+        while (!redirectChain.isDone()) {
+            final Pair<Integer, String> statusAndUrl = expandSingleLevel(redirectChain.getUrl());
+            redirectChain.hopped(statusAndUrl.getLeft(), statusAndUrl.getRight());
         }
 
-        return newUrl;
+        return redirectChain.getUrl();
+    }
+
+    /**
+     * - the chain of hops to follow to expand the url - for the callers resolving the hops themselves, see {@link LinkExpansionLiveService}
+     */
+    final RedirectChain startRedirectChain(final String urlArg) {
+        return new RedirectChain(linkService.removeUrlParameters(urlArg));
+    }
+
+    /**
+     * - logs why the url could not be expanded - as briefly as the kind of error allows
+     */
+    final void logFailure(final String urlArg, final Exception ex) {
+        if (ex instanceof HostUnavailableException) {
+            // the host is known to be down - failing fast is the point, so no need to log more than that
+            logger.debug("Skipping the url: " + urlArg + " - " + ex.getMessage());
+            return;
+        }
+        final Throwable cause = ex.getCause();
+        if (cause != null && cause instanceof UnknownHostException) {
+            // target may be down is a valid option - the stack should be hidden if not debuggin
+            logger.info("Target host may be down - error when expanding the url: " + urlArg);
+            logger.debug("Target host may be down - error when expanding the url: " + urlArg, ex);
+            return;
+        }
+        if (cause != null && cause instanceof ConnectTimeoutException) {
+            // keep at warn or below - no need to know when this happens all the time
+            logger.warn("Target host may be timing out - error when expanding the url: " + urlArg, ex);
+            return;
+        }
+        if (cause != null && cause instanceof SocketTimeoutException) {
+            // keep at warn or below - no need to know when this happens all the time
+            logger.warn("Target host socket data may be timing out - error when expanding the url: " + urlArg);
+            logger.debug("Target host socket data may be timing out - error when expanding the url: " + urlArg, ex);
+            return;
+        }
+        // connection refused
+        if (cause != null && cause instanceof HttpHostConnectException) {
+            // keep at warn or below - no need to know when this happens all the time
+            logger.warn("Connection to target host was refused - error when expanding the url: " + urlArg, ex);
+            return;
+        }
+        if (cause != null && cause instanceof NoHttpResponseException) {
+            // keep at warn or below - no need to know when this happens all the time
+            logger.warn("No response from connection to target host was refused - error when expanding the url: " + urlArg, ex);
+            return;
+        }
+
+        logger.error("Error when expanding the url: " + urlArg, ex);
     }
 
     // util
 
+    /**
+     * - a url that failed fast because its host is known to be down (see {@link HostCircuitBreaker}) gets no negative entry - the host is only skipped until its circuit closes, well before the entry would expire
+     */
+    static boolean isWorthNegativeEntry(final Exception ex) {
+        return !(ex instanceof HostUnavailableException);
+    }
+
+    /**
+     * - resolves a single hop with a HEAD - falls back to a ranged GET on the hosts that reject HEAD <br/>
+     * - the body of the response is never read - the bytes that saves are counted, see {@link MetricsUtil.Meta#HTTP_BYTES_SAVED} <br/>
+     * - fails fast (with {@link HostUnavailableException}) if the host is known to be down - see {@link HostCircuitBreaker}
+     */
     final Pair<Integer, String> expandSingleLevel(final String url) throws IOException {
-        HttpGet request = null;
-        HttpEntity httpEntity = null;
+        final String host = LinkExpansionLiveService.hostOf(url);
+        hostCircuitBreaker.checkAvailable(host);
+        if (headRejectingHosts.getIfPresent(host) == null) {
+            final Pair<Integer, String> statusAndUrl = expandSingleLevel(url, host, true);
+            final int statusCode = statusAndUrl.getLeft();
+            if (statusCode != 405 && statusCode != 501) {
+                return statusAndUrl;
+            }
+            metrics.counter(MetricsUtil.Meta.HTTP_HEAD_REJECTED).inc();
+            headRejectingHosts.put(host, Boolean.TRUE);
+        }
+        return expandSingleLevel(url, host, false);
+    }
+
+    private final Pair<Integer, String> expandSingleLevel(final String url, final String host, final boolean head) throws IOException {
+        HttpRequestBase request = null;
 
         try {
-            request = new HttpGet(url);
+            request = head ? new HttpHead(url) : rangedGet(url);
             final HttpResponse httpResponse = client.execute(request);
+            hostCircuitBreaker.success(host);
             metrics.counter(MetricsUtil.Meta.HTTP_OK);
-
-            httpEntity = httpResponse.getEntity();
+            metrics.counter(MetricsUtil.Meta.HTTP_BYTES_SAVED).inc(bodySizeOf(httpResponse));
 
             final int statusCode = httpResponse.getStatusLine().getStatusCode();
             if (statusCode != 301 && statusCode != 302) {
@@ -144,18 +218,60 @@ public class HttpLiveService implements InitializingBean {
             metrics.counter(MetricsUtil.Meta.HTTP_ERR);
             return new ImmutablePair<Integer, String>(500, url);
         } catch (final IOException ex) {
+            hostCircuitBreaker.failure(host, ex);
             metrics.counter(MetricsUtil.Meta.HTTP_ERR);
             throw new IllegalStateException(ex);
         } finally {
-            if (httpEntity != null) {
-                EntityUtils.consume(httpEntity);
-            }
             if (request != null) {
-                request.releaseConnection();
+                if (head) {
+                    // no body - the connection goes back to the pool
+                    request.releaseConnection();
+                } else {
+                    // drops the connection instead of draining whatever part of the body the host sends anyway
+                    request.abort();
+                }
             }
         }
     }
 
+    private final HttpGet rangedGet(final String url) {
+        final HttpGet request = new HttpGet(url);
+        request.setHeader(HttpHeaders.RANGE, "bytes=0-0");
+        return request;
+    }
+
+    private final long bodySizeOf(final HttpResponse httpResponse) {
+        final Header contentRange = httpResponse.getFirstHeader(HttpHeaders.CONTENT_RANGE);
+        final Header contentLength = httpResponse.getFirstHeader(HttpHeaders.CONTENT_LENGTH);
+        return bodySizeOf((contentRange == null) ? null : contentRange.getValue(), (contentLength == null) ? null : contentLength.getValue());
+    }
+
+    /**
+     * - the size of the full body of the response, as announced by its headers - the bytes a plain GET would have downloaded <br/>
+     * - a ranged response announces the full size in its Content-Range, a HEAD in its Content-Length <br/>
+     * - note: will return 0 if the size is not announced (chunked responses for example)
+     */
+    static long bodySizeOf(final String contentRange, final String contentLength) {
+        if (contentRange != null) {
+            final String completeLength = contentRange.substring(contentRange.lastIndexOf('/') + 1).trim();
+            if (!completeLength.isEmpty() && !completeLength.equals("*")) {
+                return parseSize(completeLength);
+            }
+        }
+        if (contentLength != null) {
+            return parseSize(contentLength.trim());
+        }
+        return 0;
+    }
+
+    private static long parseSize(final String size) {
+        try {
+            return Math.max(0, Long.parseLong(size));
+        } catch (final NumberFormatException numberEx) {
+            return 0;
+        }
+    }
+
     private final String processNewUrl(final String url, final String newUrl) {
         if (newUrl.startsWith("/")) {
             final String referenfeHost = linkService.getFullHostOfUrl(url).toString();
@@ -166,8 +282,14 @@ public class HttpLiveService implements InitializingBean {
 
     // spring
 
+    /**
+     * - http.head.rejected.ttl - hours a host that rejects HEAD is resolved with a ranged GET instead, before HEAD is tried again - default = 24
+     */
     @Override
     public final void afterPropertiesSet() {
+        final int headRejectedTtlInHours = env.getProperty("http.head.rejected.ttl", Integer.class, 24);
+        headRejectingHosts = CacheBuilder.newBuilder().maximumSize(10000).expireAfterWrite(headRejectedTtlInHours, TimeUnit.HOURS).build();
+
         client = HttpFactory.httpClient(false);
         // client = HttpFactory.httpClientOld(false);
     }
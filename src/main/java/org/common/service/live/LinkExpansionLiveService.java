@@ -0,0 +1,234 @@
+package org.common.service.live;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.common.metrics.MetricsUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.tweet.spring.util.SpringProfileUtil;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Expands batches of links in parallel (see {@link HttpLiveService#expand(String)}) <br/>
+ * - bounded: a shared pool of threads, and a cap on how many requests go to the same host at the same time (see {@link HostLanes}) - a host that is slow or down only holds up the links that lead to it <br/>
+ * - each hop of a link is resolved on its own, in the lane of the host it goes to - a link leaves the lane of its shortener as soon as the shortener answered <br/>
+ * - each batch has a deadline - the links not expanded by then are left out, and the batch returns with the ones that were <br/>
+ * - the links already in the cache (see {@link ExpandedUrlCache}) are answered on the calling thread, without waiting for a thread
+ */
+@Service
+@Profile(SpringProfileUtil.LIVE)
+public class LinkExpansionLiveService implements InitializingBean, DisposableBean {
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private ExecutorService expansionExecutor;
+    private HostLanes hostLanes;
+    private long deadlineMillis;
+
+    @Autowired
+    private HttpLiveService httpLiveService;
+
+    @Autowired
+    private ExpandedUrlCache expandedUrlCache;
+
+    @Autowired
+    private Environment env;
+
+    @Autowired
+    private MetricRegistry metrics;
+
+    public LinkExpansionLiveService() {
+        super();
+    }
+
+    // API
+
+    /**
+     * - <b>live</b><br/>
+     * - the expanded url of each of the urls that could be expanded before the deadline, keyed by the url <br/>
+     * - the urls that could not be expanded (or not in time) are not in the result; null urls are ignored <br/>
+     * - note: will NOT return null
+     */
+    public final Map<String, String> expandAll(final Iterable<String> urls) {
+        final Map<String, String> expandedUrls = Maps.newHashMap();
+        final Set<String> urlsToExpand = Sets.newLinkedHashSet();
+        for (final String url : urls) {
+            if (url == null || expandedUrls.containsKey(url) || urlsToExpand.contains(url)) {
+                continue;
+            }
+            final String cachedUrl = expandedUrlCache.get(url);
+            if (cachedUrl == null) {
+                urlsToExpand.add(url);
+            } else if (!cachedUrl.isEmpty()) {
+                expandedUrls.put(url, cachedUrl);
+            }
+        }
+
+        expandedUrls.putAll(expandAllUncached(urlsToExpand));
+        return expandedUrls;
+    }
+
+    /**
+     * - <b>live</b><br/>
+     * - same as {@link #expandAll(Iterable)}, but without looking the urls up in the cache first - for the callers that just did
+     */
+    final Map<String, String> expandAllUncached(final Collection<String> urls) {
+        final long deadline = System.currentTimeMillis() + deadlineMillis;
+
+        final Map<String, Future<String>> futures = Maps.newLinkedHashMap();
+        for (final String url : urls) {
+            if (url != null && !futures.containsKey(url)) {
+                futures.put(url, expand(url));
+            }
+        }
+
+        return waitForAll(futures, deadline);
+    }
+
+    /**
+     * - the expanded url of each of the expansions done before the deadline, keyed by the url <br/>
+     * - the expansions not done by then are cancelled, and counted as dropped
+     */
+    final Map<String, String> waitForAll(final Map<String, Future<String>> futures, final long deadline) {
+        final Map<String, String> expandedUrls = Maps.newHashMap();
+        int dropped = 0;
+        for (final Map.Entry<String, Future<String>> future : futures.entrySet()) {
+            final String expandedUrl = waitForExpansion(future.getValue(), deadline, future.getKey());
+            if (expandedUrl != null) {
+                expandedUrls.put(future.getKey(), expandedUrl);
+            } else if (future.getValue().isCancelled()) {
+                dropped++;
+            }
+        }
+
+        metrics.counter(MetricsUtil.Meta.EXPAND_BATCH_COMPLETED).inc(futures.size() - dropped);
+        if (dropped > 0) {
+            metrics.counter(MetricsUtil.Meta.EXPAND_BATCH_DROPPED).inc(dropped);
+            logger.warn("Expanded {} out of {} links before the deadline - the rest were dropped", futures.size() - dropped, futures.size());
+        }
+        return expandedUrls;
+    }
+
+    // util
+
+    private final Future<String> expand(final String url) {
+        final SettableFuture<String> expansion = SettableFuture.create();
+        resolveNextHop(url, httpLiveService.startRedirectChain(url), expansion);
+        return expansion;
+    }
+
+    /**
+     * - the next hop is resolved in the lane of the host it goes to - the slot of the previous host is already free by then <br/>
+     * - the rest of the chain is abandoned once the expansion is cancelled (at the deadline) <br/>
+     * - the result is cached - as {@link HttpLiveService#expandUncached(String)} does
+     */
+    private final void resolveNextHop(final String url, final RedirectChain redirectChain, final SettableFuture<String> expansion) {
+        if (redirectChain.isDone()) {
+            expandedUrlCache.put(url, redirectChain.getUrl());
+            expansion.set(redirectChain.getUrl());
+            return;
+        }
+
+        hostLanes.submit(hostOf(redirectChain.getUrl()), new Runnable() {
+            @Override
+            public final void run() {
+                if (expansion.isDone()) {
+                    return;
+                }
+                try {
+                    final Pair<Integer, String> statusAndUrl = httpLiveService.expandSingleLevel(redirectChain.getUrl());
+                    redirectChain.hopped(statusAndUrl.getLeft(), statusAndUrl.getRight());
+                } catch (final IOException | IllegalStateException ex) {
+                    httpLiveService.logFailure(url, ex);
+                    httpLiveService.cacheFailure(url, ex);
+                    expansion.set(null);
+                    return;
+                } catch (final RuntimeException runtimeEx) {
+                    expansion.setException(runtimeEx);
+                    return;
+                }
+                resolveNextHop(url, redirectChain, expansion);
+            }
+        });
+    }
+
+    /**
+     * - note: will return null if the link was not expanded before the deadline (the expansion is then cancelled), or could not be expanded
+     */
+    private final String waitForExpansion(final Future<String> future, final long deadline, final String url) {
+        try {
+            return future.get(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException timeoutEx) {
+            future.cancel(true);
+            return null;
+        } catch (final ExecutionException executionEx) {
+            logger.error("Unable to expand url= " + url, executionEx.getCause());
+            return null;
+        } catch (final InterruptedException interruptedEx) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * - the host the url points to - the urls that cannot be parsed all share the empty host
+     */
+    static String hostOf(final String url) {
+        try {
+            final String host = URI.create(url.trim()).getHost();
+            return (host == null) ? "" : host.toLowerCase();
+        } catch (final IllegalArgumentException uriEx) {
+            return "";
+        }
+    }
+
+    // spring
+
+    /**
+     * - http.expand.threads - the number of threads expanding links, across all hosts - default = 16 <br/>
+     * - http.expand.host.threads - the maximum number of requests to the same host at the same time - default = 4 <br/>
+     * - http.expand.shortener.threads - the same, for the known shorteners - default = 8 <br/>
+     * - http.expand.deadline - the maximum time (in seconds) a batch waits for its links to be expanded - default = 60 <br/>
+     * - the queue of the pool is not bounded - it never holds more than http.expand.host.threads requests of each host
+     */
+    @Override
+    public final void afterPropertiesSet() {
+        final int threads = env.getProperty("http.expand.threads", Integer.class, 16);
+        final int threadsPerHost = env.getProperty("http.expand.host.threads", Integer.class, 4);
+        final int threadsPerShortener = env.getProperty("http.expand.shortener.threads", Integer.class, 8);
+        deadlineMillis = TimeUnit.SECONDS.toMillis(env.getProperty("http.expand.deadline", Integer.class, 60));
+
+        final ThreadFactoryBuilder threadFactory = new ThreadFactoryBuilder().setNameFormat("http-expand-%d").setDaemon(true);
+        expansionExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), threadFactory.build());
+        hostLanes = new HostLanes(expansionExecutor, threadsPerHost, threadsPerShortener);
+    }
+
+    @Override
+    public final void destroy() {
+        expansionExecutor.shutdownNow();
+    }
+
+}
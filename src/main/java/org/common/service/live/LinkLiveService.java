@@ -1,6 +1,8 @@
 package org.common.service.live;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.common.service.LinkService;
@@ -12,18 +14,22 @@ import org.springframework.social.twitter.api.Tweet;
 import org.springframework.social.twitter.api.UrlEntity;
 import org.springframework.stereotype.Service;
 import org.tweet.spring.util.SpringProfileUtil;
+import org.tweet.twitter.util.TweetRecord;
 import org.tweet.twitter.util.TweetUtil;
 
 import com.google.common.base.Function;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 
 @Service
 @Profile(SpringProfileUtil.LIVE)
 public class LinkLiveService {
+    private static final Map<String, String> NO_ENTITIES = Collections.emptyMap();
+
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     @Autowired
-    private HttpLiveService httpLiveService;
+    private LinkResolutionLiveService linkResolutionLiveService;
 
     @Autowired
     private LinkService linkService;
@@ -41,7 +47,7 @@ public class LinkLiveService {
      */
     public final boolean containsLinkToDomain(final String tweet, final String domain) {
         final String mainUrl = linkService.extractUrl(tweet);
-        final String mainUrlExpanded = httpLiveService.expand(mainUrl);
+        final String mainUrlExpanded = resolveMainUrls(Collections.singletonList(tweet), NO_ENTITIES).get(mainUrl);
         if (mainUrlExpanded == null) {
             return false;
         }
@@ -54,12 +60,15 @@ public class LinkLiveService {
 
     /**
      * - <b>live</b><br/>
+     * - the links are resolved as one batch - see {@link LinkResolutionLiveService#resolveAll(Iterable, Map)}
      */
     public final int countLinksToDomain(final Iterable<String> tweets, final String domain) {
+        final Map<String, String> expandedUrls = resolveMainUrls(tweets, NO_ENTITIES);
+
         int count = 0;
         for (final String tweet : tweets) {
             final String mainUrl = linkService.extractUrl(tweet);
-            final String mainUrlExpanded = httpLiveService.expand(mainUrl);
+            final String mainUrlExpanded = expandedUrls.get(mainUrl);
             if (mainUrlExpanded == null) {
                 continue;
             }
@@ -73,12 +82,15 @@ public class LinkLiveService {
 
     /**
      * - <b>live</b><br/>
+     * - the links are resolved as one batch - see {@link LinkResolutionLiveService#resolveAll(Iterable, Map)}
      */
     final int countLinksToAnyDomain(final Iterable<String> tweets, final Iterable<String> domains) {
+        final Map<String, String> expandedUrls = resolveMainUrls(tweets, NO_ENTITIES);
+
         int count = 0;
         for (final String tweet : tweets) {
             final String mainUrl = linkService.extractUrl(tweet);
-            final String mainUrlExpanded = httpLiveService.expand(mainUrl);
+            final String mainUrlExpanded = expandedUrls.get(mainUrl);
             if (mainUrlExpanded == null) {
                 // temporary error - go to debug when I'm done
                 // it does happen and it may be worth investigating why - for example:
@@ -97,12 +109,23 @@ public class LinkLiveService {
     }
 
     /**
-     * - <b>live</b><br/>
+     * - <b>live</b> only for the tweets without url entities<br/>
+     * - the links of these tweets are resolved as one batch - see {@link LinkResolutionLiveService#resolveAll(Iterable, Map)}
      */
     public final int countLinksToAnyDomainRaw(final Iterable<Tweet> tweets, final Iterable<String> domains) {
+        final List<String> textsToExpand = Lists.newArrayList();
+        final Map<String, String> expandedByEntities = Maps.newHashMap();
+        for (final Tweet tweet : tweets) {
+            if (!hasUrlEntities(tweet)) {
+                textsToExpand.add(TweetUtil.getText(tweet));
+                expandedByEntities.putAll(linkResolutionLiveService.expandedByEntities(tweet));
+            }
+        }
+        final Map<String, String> expandedUrls = resolveMainUrls(textsToExpand, expandedByEntities);
+
         int count = 0;
         for (final Tweet tweet : tweets) {
-            final int linkCount = countLinksToAnyDomain(tweet, domains);
+            final int linkCount = hasUrlEntities(tweet) ? countLinksToAnyDomain(tweet, domains) : countLinksToAnyDomainRaw(TweetUtil.getText(tweet), domains, expandedUrls);
             if (linkCount > 0) {
                 count++;
             } else if (linkCount > 1) {
@@ -113,9 +136,13 @@ public class LinkLiveService {
         return count;
     }
 
+    /**
+     * - <b>live</b> only if the tweet has no url entities<br/>
+     */
     public final int countLinksToAnyDomain(final Tweet tweet, final Iterable<String> domains) {
-        if (tweet.getEntities() == null || tweet.getEntities().getUrls() == null) {
-            return countLinksToAnyDomain(tweet, domains);
+        if (!hasUrlEntities(tweet)) {
+            final String text = TweetUtil.getText(tweet);
+            return countLinksToAnyDomainRaw(text, domains, resolveMainUrls(Collections.singletonList(text), linkResolutionLiveService.expandedByEntities(tweet)));
         }
 
         final List<UrlEntity> urls = tweet.getEntities().getUrls();
@@ -140,9 +167,45 @@ public class LinkLiveService {
         return count;
     }
 
+    /**
+     * - <b>live</b> only if the record has no expanded urls, but its text does contain links <br/>
+     */
+    public final int countLinksToAnyDomain(final TweetRecord tweet, final Iterable<String> domains) {
+        return getLinksToAnyDomain(tweet, domains).size();
+    }
+
+    /**
+     * - the number of records that link to any of the domains <br/>
+     * - <b>live</b> only for the records that have no expanded urls, but whose text does contain links <br/>
+     * - the links of these records are resolved as one batch - see {@link LinkResolutionLiveService#resolveAll(Iterable, Map)}
+     */
+    public final int countLinksToAnyDomainInRecords(final Iterable<TweetRecord> tweets, final Iterable<String> domains) {
+        final List<String> textsToExpand = Lists.newArrayList();
+        for (final TweetRecord tweet : tweets) {
+            if (tweet.getExpandedUrls().isEmpty()) {
+                textsToExpand.add(tweet.getText());
+            }
+        }
+        final Map<String, String> expandedUrls = resolveAllUrls(textsToExpand, NO_ENTITIES);
+
+        int count = 0;
+        for (final TweetRecord tweet : tweets) {
+            final List<String> links = tweet.getExpandedUrls().isEmpty() ? getLinksToAnyDomainRaw(tweet.getText(), domains, expandedUrls) : getLinksToAnyDomain(tweet, domains);
+            if (!links.isEmpty()) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * - <b>live</b> only if the tweet has no url entities<br/>
+     */
     public final List<String> getLinksToAnyDomain(final Tweet tweet, final Iterable<String> domains) {
-        if (tweet.getEntities() == null || tweet.getEntities().getUrls() == null) {
-            return getLinksToAnyDomainRaw(TweetUtil.getText(tweet), domains);
+        if (!hasUrlEntities(tweet)) {
+            final String text = TweetUtil.getText(tweet);
+            return getLinksToAnyDomainRaw(text, domains, resolveAllUrls(Collections.singletonList(text), linkResolutionLiveService.expandedByEntities(tweet)));
         }
 
         final List<UrlEntity> urls = tweet.getEntities().getUrls();
@@ -167,13 +230,103 @@ public class LinkLiveService {
         return collector;
     }
 
+    /**
+     * - <b>live</b> only if the record has no expanded urls, but its text does contain links <br/>
+     */
+    public final List<String> getLinksToAnyDomain(final TweetRecord tweet, final Iterable<String> domains) {
+        final List<String> expandedUrls = tweet.getExpandedUrls();
+        if (expandedUrls.isEmpty()) {
+            return getLinksToAnyDomainRaw(tweet.getText(), domains);
+        }
+
+        final List<String> collector = Lists.newArrayList();
+        for (final String domain : domains) {
+            for (final String expandedUrl : expandedUrls) {
+                if (expandedUrl.contains(domain)) {
+                    collector.add(expandedUrl);
+                }
+            }
+        }
+
+        return collector;
+    }
+
     /**
      * - <b>live</b><br/>
      */
     public final int countLinksToAnyDomainRaw(final String tweet, final Iterable<String> domains) {
+        return countLinksToAnyDomainRaw(tweet, domains, resolveMainUrls(Collections.singletonList(tweet), NO_ENTITIES));
+    }
+
+    /**
+     * - <b>live</b><br/>
+     * - the links of the tweet are resolved as one batch - see {@link LinkResolutionLiveService#resolveAll(Iterable, Map)}
+     */
+    final List<String> getLinksToAnyDomainRaw(final String tweet, final Iterable<String> domains) {
+        return getLinksToAnyDomainRaw(tweet, domains, resolveAllUrls(Collections.singletonList(tweet), NO_ENTITIES));
+    }
+
+    /**
+     * - <b>live</b><br/>
+     * - the links of the tweet are resolved as one batch - see {@link LinkResolutionLiveService#resolveAll(Iterable, Map)}
+     */
+    public final boolean hasLinksToAnyDomain(final String tweetText, final Iterable<String> domains) {
+        final Set<String> mainUrls = linkService.extractUrls(tweetText);
+        final Map<String, String> expandedUrls = linkResolutionLiveService.resolveAll(mainUrls, NO_ENTITIES);
+        for (final String mainUrl : mainUrls) {
+            final String mainUrlExpanded = expandedUrls.get(mainUrl);
+            if (mainUrlExpanded == null) {
+                // temporary error - go to debug when I'm done
+                // it does happen and it may be worth investigating why - for example:
+                logger.error("Unable to expand link= {} \nfrom tweet: {}", mainUrl, tweetText);
+                return false;
+            }
+
+            for (final String domain : domains) {
+                if (mainUrlExpanded.contains(domain)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    // util
+
+    private final boolean hasUrlEntities(final Tweet tweet) {
+        return tweet.getEntities() != null && tweet.getEntities().getUrls() != null;
+    }
+
+    /**
+     * - the main link of each of the texts, resolved as one batch
+     */
+    private final Map<String, String> resolveMainUrls(final Iterable<String> texts, final Map<String, String> expandedByEntities) {
+        final List<String> mainUrls = Lists.newArrayList();
+        for (final String text : texts) {
+            mainUrls.add(linkService.extractUrl(text));
+        }
+        return linkResolutionLiveService.resolveAll(mainUrls, expandedByEntities);
+    }
+
+    /**
+     * - all the links of each of the texts, resolved as one batch
+     */
+    private final Map<String, String> resolveAllUrls(final Iterable<String> texts, final Map<String, String> expandedByEntities) {
+        final List<String> urls = Lists.newArrayList();
+        for (final String text : texts) {
+            urls.addAll(linkService.extractUrls(text));
+        }
+        return linkResolutionLiveService.resolveAll(urls, expandedByEntities);
+    }
+
+    /**
+     * - expandedUrls - the links already expanded, keyed by the original link
+     */
+    private final int countLinksToAnyDomainRaw(final String tweet, final Iterable<String> domains, final Map<String, String> expandedUrls) {
         int count = 0;
         final String mainUrl = linkService.extractUrl(tweet);
-        final String mainUrlExpanded = httpLiveService.expand(mainUrl);
+        final String mainUrlExpanded = expandedUrls.get(mainUrl);
         if (mainUrlExpanded == null) {
             // temporary error - go to debug when I'm done
             // it does happen and it may be worth investigating why - for example:
@@ -191,13 +344,13 @@ public class LinkLiveService {
     }
 
     /**
-     * - <b>live</b><br/>
+     * - expandedUrls - the links already expanded, keyed by the original link
      */
-    final List<String> getLinksToAnyDomainRaw(final String tweet, final Iterable<String> domains) {
+    private final List<String> getLinksToAnyDomainRaw(final String tweet, final Iterable<String> domains, final Map<String, String> expandedUrls) {
         final List<String> collector = Lists.newArrayList();
         final Set<String> mainUrls = linkService.extractUrls(tweet);
         for (final String mainUrl : mainUrls) {
-            final String mainUrlExpanded = httpLiveService.expand(mainUrl);
+            final String mainUrlExpanded = expandedUrls.get(mainUrl);
             if (mainUrlExpanded == null) {
                 // temporary error - go to debug when I'm done
                 // it does happen and it may be worth investigating why - for example:
@@ -215,30 +368,4 @@ public class LinkLiveService {
         return collector;
     }
 
-    /**
-     * - <b>live</b><br/>
-     */
-    public final boolean hasLinksToAnyDomain(final String tweetText, final Iterable<String> domains) {
-        final Set<String> mainUrls = linkService.extractUrls(tweetText);
-        for (final String mainUrl : mainUrls) {
-            final String mainUrlExpanded = httpLiveService.expand(mainUrl);
-            if (mainUrlExpanded == null) {
-                // temporary error - go to debug when I'm done
-                // it does happen and it may be worth investigating why - for example:
-                logger.error("Unable to expand link= {} \nfrom tweet: {}", mainUrl, tweetText);
-                return false;
-            }
-
-            for (final String domain : domains) {
-                if (mainUrlExpanded.contains(domain)) {
-                    return true;
-                }
-            }
-        }
-
-        return false;
-    }
-
-    // util
-
 }
@@ -0,0 +1,125 @@
+package org.common.service.live;
+
+import java.util.Map;
+
+import org.common.metrics.MetricsUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.social.twitter.api.Tweet;
+import org.springframework.social.twitter.api.UrlEntity;
+import org.springframework.stereotype.Service;
+import org.tweet.spring.util.SpringProfileUtil;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.Maps;
+
+/**
+ * Resolves links to where they point to, going over the network only when nothing local can tell <br/>
+ * - each link is resolved by the first tier that can: the entities of the tweet, the rules of the known shorteners (see {@link ShortLinkRules}), the cache of expanded urls (see {@link ExpandedUrlCache}), and only then the network (see {@link LinkExpansionLiveService}) <br/>
+ * - an entity that only points to another shortener (a t.co wrapping a bit.ly) is resolved further, by the next tiers <br/>
+ * - the tier that answered each link is counted - see {@link MetricsUtil.Meta#LINK_RESOLVED_BY_ENTITY} and the other tiers
+ */
+@Service
+@Profile(SpringProfileUtil.LIVE)
+public class LinkResolutionLiveService {
+
+    @Autowired
+    private LinkExpansionLiveService linkExpansionLiveService;
+
+    @Autowired
+    private ExpandedUrlCache expandedUrlCache;
+
+    @Autowired
+    private MetricRegistry metrics;
+
+    public LinkResolutionLiveService() {
+        super();
+    }
+
+    // API
+
+    /**
+     * - <b>live</b> only for the links none of the local tiers can resolve<br/>
+     * - expandedByEntities - the expanded url of each link, as given by the entities of the tweets (see {@link #expandedByEntities(Tweet)}) - may be empty <br/>
+     * - the links that could not be resolved are not in the result; null links are ignored <br/>
+     * - note: will NOT return null
+     */
+    public final Map<String, String> resolveAll(final Iterable<String> urls, final Map<String, String> expandedByEntities) {
+        final Map<String, String> resolvedUrls = Maps.newHashMap();
+        final Map<String, String> urlsToExpand = Maps.newHashMap();
+        for (final String url : urls) {
+            if (url == null || resolvedUrls.containsKey(url) || urlsToExpand.containsKey(url)) {
+                continue;
+            }
+
+            String urlToResolve = url;
+            final String expandedByEntity = expandedByEntities.get(url);
+            if (expandedByEntity != null) {
+                if (!ShortLinkRules.isShortened(expandedByEntity)) {
+                    metrics.counter(MetricsUtil.Meta.LINK_RESOLVED_BY_ENTITY).inc();
+                    resolvedUrls.put(url, expandedByEntity);
+                    continue;
+                }
+                urlToResolve = expandedByEntity;
+            }
+
+            final String resolvedByRule = ShortLinkRules.resolveLocally(urlToResolve);
+            if (resolvedByRule != null) {
+                metrics.counter(MetricsUtil.Meta.LINK_RESOLVED_BY_RULE).inc();
+                resolvedUrls.put(url, resolvedByRule);
+                continue;
+            }
+
+            final String cachedUrl = expandedUrlCache.get(urlToResolve);
+            if (cachedUrl != null) {
+                // a url that recently could not be expanded is answered by the cache as well - it stays unresolved
+                metrics.counter(MetricsUtil.Meta.LINK_RESOLVED_BY_CACHE).inc();
+                if (!cachedUrl.isEmpty()) {
+                    resolvedUrls.put(url, cachedUrl);
+                }
+                continue;
+            }
+
+            urlsToExpand.put(url, urlToResolve);
+        }
+
+        if (!urlsToExpand.isEmpty()) {
+            metrics.counter(MetricsUtil.Meta.LINK_RESOLVED_BY_NETWORK).inc(urlsToExpand.size());
+            final Map<String, String> expandedUrls = linkExpansionLiveService.expandAllUncached(urlsToExpand.values());
+            for (final Map.Entry<String, String> urlToExpand : urlsToExpand.entrySet()) {
+                final String expandedUrl = expandedUrls.get(urlToExpand.getValue());
+                if (expandedUrl != null) {
+                    resolvedUrls.put(urlToExpand.getKey(), expandedUrl);
+                }
+            }
+        }
+        return resolvedUrls;
+    }
+
+    /**
+     * - the expanded url of each link of the tweet (and of the tweet it retweets), keyed by the link as it appears in the text <br/>
+     * - note: will NOT return null
+     */
+    public final Map<String, String> expandedByEntities(final Tweet tweet) {
+        final Map<String, String> expandedUrls = Maps.newHashMap();
+        collectExpandedByEntities(tweet, expandedUrls);
+        if (tweet.getRetweetedStatus() != null) {
+            collectExpandedByEntities(tweet.getRetweetedStatus(), expandedUrls);
+        }
+        return expandedUrls;
+    }
+
+    // util
+
+    private final void collectExpandedByEntities(final Tweet tweet, final Map<String, String> collector) {
+        if (tweet.getEntities() == null || tweet.getEntities().getUrls() == null) {
+            return;
+        }
+        for (final UrlEntity urlEntity : tweet.getEntities().getUrls()) {
+            if (urlEntity.getUrl() != null && urlEntity.getExpandedUrl() != null) {
+                collector.put(urlEntity.getUrl(), urlEntity.getExpandedUrl());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+package org.common.service.live;
+
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+/**
+ * The hops followed so far while expanding a single url - each hop is resolved separately (see {@link HttpLiveService#expandSingleLevel(String)}), possibly on a different thread <br/>
+ * - done once a hop resolves to itself (no more redirects) <br/>
+ * - not thread safe - the hops of a chain are resolved one after the other, never at the same time
+ */
+final class RedirectChain {
+
+    private final List<String> alreadyVisited;
+    private String url;
+    private int hops;
+    private boolean done;
+
+    RedirectChain(final String firstUrl) {
+        super();
+
+        this.url = firstUrl;
+        this.alreadyVisited = Lists.newArrayList(firstUrl);
+    }
+
+    // API
+
+    /**
+     * - the url the chain reached so far - the one to resolve next, or the expanded url once the chain is done
+     */
+    final String getUrl() {
+        return url;
+    }
+
+    final boolean isDone() {
+        return done;
+    }
+
+    /**
+     * - the current url was resolved to this status and url <br/>
+     * - throws if a redirect leads back to a url already visited - likely a redirect loop
+     */
+    final void hopped(final int statusCode, final String newUrl) {
+        if (hops > 0 && (statusCode == 301 || statusCode == 302) && alreadyVisited.contains(newUrl)) {
+            throw new IllegalStateException("Likely a redirect loop");
+        }
+        hops++;
+        alreadyVisited.add(newUrl);
+        done = url.equals(newUrl);
+        url = newUrl;
+    }
+
+}
@@ -0,0 +1,82 @@
+package org.common.service.live;
+
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * The links that can be resolved locally, without going over the network (see {@link LinkResolutionLiveService}) <br/>
+ * - the links of a few shorteners carry their target in the link itself - these are rewritten <br/>
+ * - the links to a few well known sites are already final - these sites never redirect to another domain <br/>
+ * - the links of the known shorteners always need to be expanded <br/>
+ * - anything else is unknown - it may or may not redirect
+ */
+final class ShortLinkRules {
+
+    private static final Set<String> SHORTENERS = ImmutableSet.of(// @formatter:off
+        "t.co", "bit.ly", "j.mp", "goo.gl", "ow.ly", "buff.ly", "dlvr.it", "fb.me", "tinyurl.com", "is.gd", "lnkd.in", "wp.me", "trib.al", "ift.tt", "feedproxy.google.com", "feeds.feedburner.com"
+    );// @formatter:on
+
+    private static final Set<String> FINAL_DOMAINS = ImmutableSet.of(// @formatter:off
+        "stackoverflow.com", "stackexchange.com", "serverfault.com", "superuser.com", "askubuntu.com", "mathoverflow.net", "github.com", "youtube.com", "wikipedia.org"
+    );// @formatter:on
+
+    private static final Pattern YOUTU_BE = Pattern.compile("^https?://youtu\\.be/([\\w-]+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern REDD_IT = Pattern.compile("^https?://redd\\.it/(\\w+)", Pattern.CASE_INSENSITIVE);
+
+    private ShortLinkRules() {
+        throw new AssertionError();
+    }
+
+    // API
+
+    /**
+     * - note: will return null if the link cannot be resolved locally
+     */
+    static String resolveLocally(final String url) {
+        final Matcher youtuBe = YOUTU_BE.matcher(url);
+        if (youtuBe.find()) {
+            return "https://www.youtube.com/watch?v=" + youtuBe.group(1);
+        }
+        final Matcher reddIt = REDD_IT.matcher(url);
+        if (reddIt.find()) {
+            return "https://www.reddit.com/comments/" + reddIt.group(1);
+        }
+
+        if (isOnAnyDomain(LinkExpansionLiveService.hostOf(url), FINAL_DOMAINS)) {
+            return url;
+        }
+        return null;
+    }
+
+    static boolean isShortened(final String url) {
+        return isShortener(LinkExpansionLiveService.hostOf(url));
+    }
+
+    static boolean isShortener(final String host) {
+        return isOnAnyDomain(host, SHORTENERS);
+    }
+
+    // util
+
+    /**
+     * - the host is one of the domains, or a subdomain of one of them
+     */
+    private static boolean isOnAnyDomain(final String host, final Set<String> domains) {
+        String domain = host;
+        while (!domain.isEmpty()) {
+            if (domains.contains(domain)) {
+                return true;
+            }
+            final int dot = domain.indexOf('.');
+            if (dot < 0) {
+                return false;
+            }
+            domain = domain.substring(dot + 1);
+        }
+        return false;
+    }
+
+}
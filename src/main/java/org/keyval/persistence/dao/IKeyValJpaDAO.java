@@ -1,5 +1,7 @@
 package org.keyval.persistence.dao;
 
+import java.util.List;
+
 import org.common.persistence.IOperations;
 import org.keyval.persistence.model.KeyVal;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,4 +10,6 @@ public interface IKeyValJpaDAO extends JpaRepository<KeyVal, Long>, IOperations<
 
     KeyVal findByKey(final String key);
 
+    List<KeyVal> findByKeyStartingWith(final String keyPrefix);
+
 }
@@ -0,0 +1,131 @@
+package org.tweet.meta;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.tweet.meta.component.CandidateBacklog;
+import org.tweet.meta.persistence.model.BacklogRefill;
+import org.tweet.meta.service.TweetMetaLiveService;
+import org.tweet.spring.util.SpringProfileUtil;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Refills the candidate backlogs that are running low, off-peak - so the retweet slots mostly just pop the best candidate of the backlog (see {@link CandidateBacklog}) <br/>
+ * - only a few accounts are refilled per run, the lowest backlog first - which spreads the searching and scoring evenly over the day <br/>
+ * - each run has a time budget, so it never holds up the scheduler thread the slots run on - the refills are done on a thread of their own, and the run stops waiting for them once over budget
+ */
+@Component
+@Profile(SpringProfileUtil.WRITE_PRODUCTION)
+public class CandidateBacklogPrefetcher implements InitializingBean, DisposableBean {
+    private static final String MODE_MAINTAINANCE_KEY = "mode.maintainance.rt";
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private ExecutorService refillExecutor;
+
+    @Autowired
+    private TweetMetaLiveService service;
+
+    @Autowired
+    private CandidateBacklog candidateBacklog;
+
+    @Autowired
+    private Environment env;
+
+    public CandidateBacklogPrefetcher() {
+        super();
+    }
+
+    // API
+
+    /**
+     * - runs at the top of the hour - the retweet and follow slots run between :10 and :50 <br/>
+     * - twitter.backlog.prefetch.accounts - the maximum number of accounts refilled per run - default = 4 <br/>
+     * - twitter.backlog.prefetch.time - the time budget (in seconds) of a run; the refills left over wait for the next run - default = 480
+     */
+    @Scheduled(cron = "0 0 * * * *")
+    public void prefetch() {
+        if (env.getProperty(MODE_MAINTAINANCE_KEY, Boolean.class)) {
+            logger.warn("Maintainance Mode Active - skipping prefetch");
+            return;
+        }
+
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(env.getProperty("twitter.backlog.prefetch.time", Integer.class, 480));
+        candidateBacklog.removeExpired();
+
+        final int maxRefills = env.getProperty("twitter.backlog.prefetch.accounts", Integer.class, 4);
+        final List<BacklogRefill> refills = candidateBacklog.refillsNeeded();
+        for (final BacklogRefill refill : refills.subList(0, Math.min(maxRefills, refills.size()))) {
+            if (!refill(refill, deadline)) {
+                break;
+            }
+        }
+    }
+
+    // util
+
+    /**
+     * - returns false if the run is over budget, and should stop
+     */
+    private final boolean refill(final BacklogRefill refill, final long deadline) {
+        final long timeLeft = deadline - System.currentTimeMillis();
+        if (timeLeft <= 0) {
+            logger.warn("Prefetch over budget - twitterAccount= {} is left for the next run", refill.getTwitterAccount());
+            return false;
+        }
+
+        final Future<Integer> prefetched = refillExecutor.submit(new Callable<Integer>() {
+            @Override
+            public final Integer call() {
+                return service.prefetch(refill);
+            }
+        });
+        try {
+            logger.info("Prefetched {} candidates on twitterAccount= {}", prefetched.get(timeLeft, TimeUnit.MILLISECONDS), refill.getTwitterAccount());
+            return true;
+        } catch (final TimeoutException timeoutEx) {
+            prefetched.cancel(true);
+            logger.warn("Prefetch over budget - gave up on twitterAccount= {}", refill.getTwitterAccount());
+            return false;
+        } catch (final ExecutionException executionEx) {
+            logger.error("Unable to prefetch candidates on twitterAccount= " + refill.getTwitterAccount(), executionEx.getCause());
+            return true;
+        } catch (final InterruptedException interruptedEx) {
+            prefetched.cancel(true);
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // spring
+
+    /**
+     * - a single thread - a refill the run gave up on, but that could not be interrupted, holds back the refills after it, not the scheduler
+     */
+    @Override
+    public final void afterPropertiesSet() {
+        refillExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("twitter-backlog-prefetch-%d").setDaemon(true).build());
+    }
+
+    @Override
+    public final void destroy() {
+        refillExecutor.shutdownNow();
+    }
+
+}
@@ -1,6 +1,6 @@
 package org.tweet.meta;
 
-import java.io.IOException;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,10 +11,12 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.stackexchange.util.TwitterAccountEnum;
 import org.stackexchange.util.TwitterTag;
+import org.tweet.meta.component.SlotExecutor;
+import org.tweet.meta.component.SlotTask;
 import org.tweet.meta.service.FollowLiveService;
 import org.tweet.spring.util.SpringProfileUtil;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.collect.Lists;
 
 @Component
 @Profile(SpringProfileUtil.WRITE_PRODUCTION)
@@ -26,6 +28,9 @@ public class FollowMetaScheduler {
     @Autowired
     private FollowLiveService service;
 
+    @Autowired
+    private SlotExecutor slotExecutor;
+
     @Autowired
     private Environment env;
 
@@ -36,7 +41,7 @@ public class FollowMetaScheduler {
     // API
 
     @Scheduled(cron = "0 20 2,6,10,14,18,22 * * *")
-    public void processLargeAccounts() throws JsonProcessingException, IOException {
+    public void processLargeAccounts() {
         logger.info("Starting new retweet schedule - large accounts");
 
         if (env.getProperty(MODE_MAINTAINANCE_KEY, Boolean.class)) {
@@ -44,21 +49,25 @@ public class FollowMetaScheduler {
             return;
         }
 
+        final List<SlotTask> tasks = Lists.newArrayList();
+
         // 7
-        service.followBestUser(TwitterAccountEnum.ThinkJavaScript.name(), TwitterTag.javascript.name());
-        service.followBestUser(TwitterAccountEnum.ClojureFact.name(), TwitterTag.clojure.name());
-        service.followBestUser(TwitterAccountEnum.ScalaFact.name(), TwitterTag.scala.name());
-        service.followBestUser(TwitterAccountEnum.JavaFact.name(), TwitterTag.java.name());
+        tasks.add(followBestUser(TwitterAccountEnum.ThinkJavaScript, TwitterTag.javascript.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.ClojureFact, TwitterTag.clojure.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.ScalaFact, TwitterTag.scala.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.JavaFact, TwitterTag.java.name()));
         // service.followBestUser(TwitterAccountEnum.PythonDaily.name());
-        service.followBestUser(TwitterAccountEnum.SpringTip.name(), TwitterTag.springsecurity.name());
-        service.followBestUser(TwitterAccountEnum.BestGit.name(), "git programming");
-        service.followBestUser(TwitterAccountEnum.BestAlgorithms.name(), TwitterTag.algorithms.name());
+        tasks.add(followBestUser(TwitterAccountEnum.SpringTip, TwitterTag.springsecurity.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.BestGit, "git programming"));
+        tasks.add(followBestUser(TwitterAccountEnum.BestAlgorithms, TwitterTag.algorithms.name()));
+
+        slotExecutor.run("follow - large accounts", tasks);
 
         logger.info("Finished new retweet schedule - large accounts");
     }
 
     @Scheduled(cron = "0 40 1,5,9,13,17,21 * * *")
-    public void processMediumAccounts() throws JsonProcessingException, IOException {
+    public void processMediumAccounts() {
         logger.info("Starting new retweet schedule - medium accounts");
 
         if (env.getProperty(MODE_MAINTAINANCE_KEY, Boolean.class)) {
@@ -66,24 +75,28 @@ public class FollowMetaScheduler {
             return;
         }
 
+        final List<SlotTask> tasks = Lists.newArrayList();
+
         // 11
-        service.followBestUser(TwitterAccountEnum.HadoopDaily.name(), TwitterTag.hadoop.name());
-        service.followBestUser(TwitterAccountEnum.BestOfHTML5.name(), TwitterTag.html5.name());
-        service.followBestUser(TwitterAccountEnum.BestRubyOnRails.name(), TwitterTag.rubyonrails.name());
-        service.followBestUser(TwitterAccountEnum.LispDaily.name(), TwitterTag.lisp.name());
-        service.followBestUser(TwitterAccountEnum.ObjectiveCDaily.name(), TwitterTag.objectivec.name());
-        service.followBestUser(TwitterAccountEnum.jQueryDaily.name(), TwitterTag.jquery.name());
-        service.followBestUser(TwitterAccountEnum.CryptoFact.name(), TwitterTag.cryptography.name());
-        service.followBestUser(TwitterAccountEnum.BestSQL.name(), TwitterTag.sql.name());
-        service.followBestUser(TwitterAccountEnum.BestPHP.name(), TwitterTag.php.name());
-        service.followBestUser(TwitterAccountEnum.MysqlDaily.name(), TwitterTag.mysql.name());
-        service.followBestUser(TwitterAccountEnum.LinuxFact.name(), TwitterTag.linux.name());
+        tasks.add(followBestUser(TwitterAccountEnum.HadoopDaily, TwitterTag.hadoop.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.BestOfHTML5, TwitterTag.html5.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.BestRubyOnRails, TwitterTag.rubyonrails.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.LispDaily, TwitterTag.lisp.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.ObjectiveCDaily, TwitterTag.objectivec.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.jQueryDaily, TwitterTag.jquery.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.CryptoFact, TwitterTag.cryptography.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.BestSQL, TwitterTag.sql.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.BestPHP, TwitterTag.php.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.MysqlDaily, TwitterTag.mysql.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.LinuxFact, TwitterTag.linux.name()));
+
+        slotExecutor.run("follow - medium accounts", tasks);
 
         logger.info("Finished new retweet schedule - medium accounts");
     }
 
     @Scheduled(cron = "0 40 0,4,8,12,16,20 * * *")
-    public void processSmallAccounts1() throws JsonProcessingException, IOException {
+    public void processSmallAccounts1() {
         logger.info("Starting new retweet schedule - small accounts 1");
 
         if (env.getProperty(MODE_MAINTAINANCE_KEY, Boolean.class)) {
@@ -91,28 +104,32 @@ public class FollowMetaScheduler {
             return;
         }
 
-        service.followBestUser(TwitterAccountEnum.CssFact.name(), TwitterTag.css.name());
-        service.followBestUser(TwitterAccountEnum.BestOfCloud.name(), TwitterTag.ec2.name());
-        service.followBestUser(TwitterAccountEnum.SecurityFact.name(), TwitterTag.security.name());
-        service.followBestUser(TwitterAccountEnum.LandOfSeo.name(), TwitterTag.seo.name());
-        service.followBestUser(TwitterAccountEnum.LandOfWordpress.name(), TwitterTag.wordpress.name());
-        service.followBestUser(TwitterAccountEnum.BestJSON.name(), TwitterTag.json.name());
-        service.followBestUser(TwitterAccountEnum.DotNetFact.name(), TwitterTag.dotnet.name());
-        service.followBestUser(TwitterAccountEnum.BestNoSQL.name(), TwitterTag.nosql.name());
-        service.followBestUser(TwitterAccountEnum.MultithreadFact.name(), TwitterTag.multithreading.name());
-        service.followBestUser(TwitterAccountEnum.ParsingDaily.name(), "parsing programming");
-        service.followBestUser(TwitterAccountEnum.BestXML.name(), TwitterTag.xml.name());
-        service.followBestUser(TwitterAccountEnum.iOSdigest.name(), TwitterTag.ios.name());
-        service.followBestUser(TwitterAccountEnum.RegexDaily.name(), TwitterTag.regex.name());
-        service.followBestUser(TwitterAccountEnum.AndroidFact.name(), TwitterTag.android.name());
-        service.followBestUser(TwitterAccountEnum.PerlDaily.name(), TwitterTag.perl.name());
-        service.followBestUser(TwitterAccountEnum.BestAWS.name(), TwitterTag.aws.name());
+        final List<SlotTask> tasks = Lists.newArrayList();
+
+        tasks.add(followBestUser(TwitterAccountEnum.CssFact, TwitterTag.css.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.BestOfCloud, TwitterTag.ec2.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.SecurityFact, TwitterTag.security.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.LandOfSeo, TwitterTag.seo.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.LandOfWordpress, TwitterTag.wordpress.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.BestJSON, TwitterTag.json.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.DotNetFact, TwitterTag.dotnet.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.BestNoSQL, TwitterTag.nosql.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.MultithreadFact, TwitterTag.multithreading.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.ParsingDaily, "parsing programming"));
+        tasks.add(followBestUser(TwitterAccountEnum.BestXML, TwitterTag.xml.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.iOSdigest, TwitterTag.ios.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.RegexDaily, TwitterTag.regex.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.AndroidFact, TwitterTag.android.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.PerlDaily, TwitterTag.perl.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.BestAWS, TwitterTag.aws.name()));
+
+        slotExecutor.run("follow - small accounts 1", tasks);
 
         logger.info("Finished new retweet schedule - small accounts 1");
     }
 
     @Scheduled(cron = "0 40 3,7,11,15,19,23 * * *")
-    public void processSmallAccounts2() throws JsonProcessingException, IOException {
+    public void processSmallAccounts2() {
         logger.info("Starting new retweet schedule - small accounts 2");
 
         if (env.getProperty(MODE_MAINTAINANCE_KEY, Boolean.class)) {
@@ -120,14 +137,16 @@ public class FollowMetaScheduler {
             return;
         }
 
-        service.followBestUser(TwitterAccountEnum.FacebookDigest.name(), TwitterTag.facebook.name());
-        service.followBestUser(TwitterAccountEnum.HTMLdaily.name(), TwitterTag.html5.name());
-        service.followBestUser(TwitterAccountEnum.BestAWS.name(), TwitterTag.ec2.name());
-        service.followBestUser(TwitterAccountEnum.ScalaFact.name(), TwitterTag.akka.name());
-        service.followBestUser(TwitterAccountEnum.FacebookDigest.name(), TwitterTag.facebook.name());
-        service.followBestUser(TwitterAccountEnum.HTMLdaily.name(), TwitterTag.html.name());
-        service.followBestUser(TwitterAccountEnum.MathDaily.name(), TwitterTag.math.name());
-        service.followBestUser(TwitterAccountEnum.HTMLdaily.name(), TwitterTag.html5.name());
+        final List<SlotTask> tasks = Lists.newArrayList();
+
+        tasks.add(followBestUser(TwitterAccountEnum.FacebookDigest, TwitterTag.facebook.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.HTMLdaily, TwitterTag.html5.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.BestAWS, TwitterTag.ec2.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.ScalaFact, TwitterTag.akka.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.FacebookDigest, TwitterTag.facebook.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.HTMLdaily, TwitterTag.html.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.MathDaily, TwitterTag.math.name()));
+        tasks.add(followBestUser(TwitterAccountEnum.HTMLdaily, TwitterTag.html5.name()));
 
         // service.followBestUser(TwitterAccountEnum.HttpClient4.name(), TwitterTag.springsecurity.name());
         // service.followBestUser(TwitterAccountEnum.AspnetDaily.name(), TwitterTag.aspnet.name());
@@ -136,9 +155,22 @@ public class FollowMetaScheduler {
         // service.followBestUser(TwitterAccountEnum.PerformanceTip.name(), TwitterTag.springsecurity.name());
         // service.followBestUser(TwitterAccountEnum.InTheAppleWorld.name(), TwitterTag.apple.name());
 
+        slotExecutor.run("follow - small accounts 2", tasks);
+
         logger.info("Finished new retweet schedule - small accounts 2");
     }
 
+    // util
+
+    private final SlotTask followBestUser(final TwitterAccountEnum twitterAccount, final String keyword) {
+        return new SlotTask(twitterAccount.name()) {
+            @Override
+            public final Boolean call() {
+                return service.followBestUser(twitterAccount.name(), keyword);
+            }
+        };
+    }
+
     // for accounts - not yet: BestBash,EclipseFacts,BestJPA,MavenFact,BestOfRuby,SpringTip,ServerFaultBest,JavaTopSO,RESTDaily,BestOfCocoa
 
 }
@@ -1,6 +1,6 @@
 package org.tweet.meta;
 
-import java.io.IOException;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,10 +11,12 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.stackexchange.util.TwitterAccountEnum;
 import org.stackexchange.util.TwitterTag;
+import org.tweet.meta.component.SlotExecutor;
+import org.tweet.meta.component.SlotTask;
 import org.tweet.meta.service.TweetMetaLiveService;
 import org.tweet.spring.util.SpringProfileUtil;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.collect.Lists;
 
 @Component
 @Profile(SpringProfileUtil.WRITE_PRODUCTION)
@@ -26,6 +28,9 @@ public class TweetMetaScheduler {
     @Autowired
     private TweetMetaLiveService service;
 
+    @Autowired
+    private SlotExecutor slotExecutor;
+
     @Autowired
     private Environment env;
 
@@ -36,7 +41,7 @@ public class TweetMetaScheduler {
     // API
 
     @Scheduled(cron = "0 10 10,14,18,22,2,6 * * *")
-    public void processLargeAccounts() throws JsonProcessingException, IOException {
+    public void processLargeAccounts() {
         logger.info("Starting new retweet schedule - large accounts");
 
         if (env.getProperty(MODE_MAINTAINANCE_KEY, Boolean.class)) {
@@ -44,23 +49,27 @@ public class TweetMetaScheduler {
             return;
         }
 
+        final List<SlotTask> tasks = Lists.newArrayList();
+
         // large accounts - 8
-        service.retweetAnyByHashtag(TwitterAccountEnum.ScalaFact.name());
+        tasks.add(byHashtag(TwitterAccountEnum.ScalaFact));
 
-        service.retweetAnyByHashtag(TwitterAccountEnum.ThinkJavaScript.name());
-        service.retweetAnyByHashtag(TwitterAccountEnum.ClojureFact.name());
+        tasks.add(byHashtag(TwitterAccountEnum.ThinkJavaScript));
+        tasks.add(byHashtag(TwitterAccountEnum.ClojureFact));
 
-        service.retweetAnyByHashtag(TwitterAccountEnum.JavaFact.name());
-        service.retweetAnyByHashtag(TwitterAccountEnum.PythonDaily.name());
-        service.retweetAnyByHashtag(TwitterAccountEnum.SpringTip.name());
-        service.retweetAnyByHashtag(TwitterAccountEnum.BestGit.name()); // new and experimentally active
-        service.retweetAnyByHashtag(TwitterAccountEnum.BestAlgorithms.name());
+        tasks.add(byHashtag(TwitterAccountEnum.JavaFact));
+        tasks.add(byHashtag(TwitterAccountEnum.PythonDaily));
+        tasks.add(byHashtag(TwitterAccountEnum.SpringTip));
+        tasks.add(byHashtag(TwitterAccountEnum.BestGit)); // new and experimentally active
+        tasks.add(byHashtag(TwitterAccountEnum.BestAlgorithms));
+
+        slotExecutor.run("retweet - large accounts", tasks);
 
         logger.info("Finished new retweet schedule - large accounts");
     }
 
     @Scheduled(cron = "0 30 10,14,18,22,2,6 * * *")
-    public void processMediumAccounts() throws JsonProcessingException, IOException {
+    public void processMediumAccounts() {
         logger.info("Starting new retweet schedule - medium accounts");
 
         if (env.getProperty(MODE_MAINTAINANCE_KEY, Boolean.class)) {
@@ -68,24 +77,28 @@ public class TweetMetaScheduler {
             return;
         }
 
+        final List<SlotTask> tasks = Lists.newArrayList();
+
         // medium accounts - 11
-        service.retweetAnyByHashtag(TwitterAccountEnum.HadoopDaily.name());
-        service.retweetAnyByHashtag(TwitterAccountEnum.BestOfHTML5.name());
-        service.retweetAnyByHashtag(TwitterAccountEnum.BestRubyOnRails.name());
-        service.retweetAnyByHashtag(TwitterAccountEnum.LispDaily.name()); // already 2
-        service.retweetAnyByHashtag(TwitterAccountEnum.ObjectiveCDaily.name()); // already 2
-        service.retweetAnyByWord(TwitterAccountEnum.jQueryDaily.name()); // (26.10)
-        service.retweetAnyByHashtag(TwitterAccountEnum.CryptoFact.name());
-        service.retweetAnyByHashtag(TwitterAccountEnum.BestSQL.name());
-        service.retweetAnyByHashtag(TwitterAccountEnum.BestPHP.name());
-        service.retweetAnyByHashtag(TwitterAccountEnum.MysqlDaily.name());
-        service.retweetAnyByHashtag(TwitterAccountEnum.LinuxFact.name());
+        tasks.add(byHashtag(TwitterAccountEnum.HadoopDaily));
+        tasks.add(byHashtag(TwitterAccountEnum.BestOfHTML5));
+        tasks.add(byHashtag(TwitterAccountEnum.BestRubyOnRails));
+        tasks.add(byHashtag(TwitterAccountEnum.LispDaily)); // already 2
+        tasks.add(byHashtag(TwitterAccountEnum.ObjectiveCDaily)); // already 2
+        tasks.add(byWord(TwitterAccountEnum.jQueryDaily)); // (26.10)
+        tasks.add(byHashtag(TwitterAccountEnum.CryptoFact));
+        tasks.add(byHashtag(TwitterAccountEnum.BestSQL));
+        tasks.add(byHashtag(TwitterAccountEnum.BestPHP));
+        tasks.add(byHashtag(TwitterAccountEnum.MysqlDaily));
+        tasks.add(byHashtag(TwitterAccountEnum.LinuxFact));
+
+        slotExecutor.run("retweet - medium accounts", tasks);
 
         logger.info("Finished new retweet schedule - medium accounts");
     }
 
     @Scheduled(cron = "0 10 9,13,17,21,1,5 * * *")
-    public void processSmallAccounts1() throws JsonProcessingException, IOException {
+    public void processSmallAccounts1() {
         logger.info("Starting new retweet schedule - small accounts 1");
 
         if (env.getProperty(MODE_MAINTAINANCE_KEY, Boolean.class)) {
@@ -93,30 +106,34 @@ public class TweetMetaScheduler {
             return;
         }
 
+        final List<SlotTask> tasks = Lists.newArrayList();
+
         // 16
-        service.retweetAnyByHashtag(TwitterAccountEnum.CssFact.name());
-        service.retweetAnyByHashtag(TwitterAccountEnum.BestOfCloud.name());
-        service.retweetAnyByHashtag(TwitterAccountEnum.AspnetDaily.name(), TwitterTag.aspnet.name());
-        service.retweetAnyByHashtag(TwitterAccountEnum.SecurityFact.name());
-        service.retweetAnyByHashtag(TwitterAccountEnum.GoogleDigest.name());
-        service.retweetAnyByHashtag(TwitterAccountEnum.LandOfSeo.name());
-        service.retweetAnyByHashtag(TwitterAccountEnum.LandOfWordpress.name());
-        service.retweetAnyByHashtag(TwitterAccountEnum.BestJSON.name());
-        service.retweetAnyByHashtag(TwitterAccountEnum.DotNetFact.name());
-        service.retweetAnyByHashtag(TwitterAccountEnum.BestNoSQL.name());
-        service.retweetAnyByHashtag(TwitterAccountEnum.BestXML.name()); // already 2
-        service.retweetAnyByHashtag(TwitterAccountEnum.InTheAppleWorld.name());
-        service.retweetAnyByHashtag(TwitterAccountEnum.iOSdigest.name()); // already 2
-        service.retweetAnyByHashtag(TwitterAccountEnum.RegexDaily.name()); // already 2
-        service.retweetAnyByWord(TwitterAccountEnum.HttpClient4.name()); // newly moved to word
-        service.retweetAnyByWord(TwitterAccountEnum.MultithreadFact.name());
+        tasks.add(byHashtag(TwitterAccountEnum.CssFact));
+        tasks.add(byHashtag(TwitterAccountEnum.BestOfCloud));
+        tasks.add(byHashtag(TwitterAccountEnum.AspnetDaily, TwitterTag.aspnet));
+        tasks.add(byHashtag(TwitterAccountEnum.SecurityFact));
+        tasks.add(byHashtag(TwitterAccountEnum.GoogleDigest));
+        tasks.add(byHashtag(TwitterAccountEnum.LandOfSeo));
+        tasks.add(byHashtag(TwitterAccountEnum.LandOfWordpress));
+        tasks.add(byHashtag(TwitterAccountEnum.BestJSON));
+        tasks.add(byHashtag(TwitterAccountEnum.DotNetFact));
+        tasks.add(byHashtag(TwitterAccountEnum.BestNoSQL));
+        tasks.add(byHashtag(TwitterAccountEnum.BestXML)); // already 2
+        tasks.add(byHashtag(TwitterAccountEnum.InTheAppleWorld));
+        tasks.add(byHashtag(TwitterAccountEnum.iOSdigest)); // already 2
+        tasks.add(byHashtag(TwitterAccountEnum.RegexDaily)); // already 2
+        tasks.add(byWord(TwitterAccountEnum.HttpClient4)); // newly moved to word
+        tasks.add(byWord(TwitterAccountEnum.MultithreadFact));
         // service.retweetAnyByWord(TwitterAccountEnum.ParsingDaily.name()); // no - not good results - activate it only after the programming recommender is up and running
 
+        slotExecutor.run("retweet - small accounts 1", tasks);
+
         logger.info("Finished new retweet schedule - small accounts 1");
     }
 
     @Scheduled(cron = "0 30 9,13,17,21,1,5 * * *")
-    public void processSmallAccounts2() throws JsonProcessingException, IOException {
+    public void processSmallAccounts2() {
         logger.info("Starting new retweet schedule - small accounts 2");
 
         if (env.getProperty(MODE_MAINTAINANCE_KEY, Boolean.class)) {
@@ -124,16 +141,20 @@ public class TweetMetaScheduler {
             return;
         }
 
+        final List<SlotTask> tasks = Lists.newArrayList();
+
         // 9
-        service.retweetAnyByHashtag(TwitterAccountEnum.HTMLdaily.name());
-        service.retweetAnyByHashtag(TwitterAccountEnum.BestAWS.name());
-        service.retweetAnyByWord(TwitterAccountEnum.AndroidFact.name(), TwitterTag.android.name()); // already 2
-        service.retweetAnyByWord(TwitterAccountEnum.PerlDaily.name()); // (26.10) before moving to byWord, I was getting emails about to few = 5
-        service.retweetAnyByHashtag(TwitterAccountEnum.MathDaily.name());
-        service.retweetAnyByHashtag(TwitterAccountEnum.MathDaily.name());
-        service.retweetAnyByHashtag(TwitterAccountEnum.MathDaily.name());
-        service.retweetAnyByWord(TwitterAccountEnum.BestJPA.name()); // new
-        service.retweetAnyByHashtag(TwitterAccountEnum.PerformanceTip.name()); // new
+        tasks.add(byHashtag(TwitterAccountEnum.HTMLdaily));
+        tasks.add(byHashtag(TwitterAccountEnum.BestAWS));
+        tasks.add(byWord(TwitterAccountEnum.AndroidFact, TwitterTag.android)); // already 2
+        tasks.add(byWord(TwitterAccountEnum.PerlDaily)); // (26.10) before moving to byWord, I was getting emails about to few = 5
+        tasks.add(byHashtag(TwitterAccountEnum.MathDaily));
+        tasks.add(byHashtag(TwitterAccountEnum.MathDaily));
+        tasks.add(byHashtag(TwitterAccountEnum.MathDaily));
+        tasks.add(byWord(TwitterAccountEnum.BestJPA)); // new
+        tasks.add(byHashtag(TwitterAccountEnum.PerformanceTip)); // new
+
+        slotExecutor.run("retweet - small accounts 2", tasks);
 
         logger.info("Finished new retweet schedule - small accounts 2");
     }
@@ -141,7 +162,7 @@ public class TweetMetaScheduler {
     // repeated
 
     @Scheduled(cron = "0 50 3,7,11,15,19,23 * * *")
-    public void processAccountsRepeated1() throws JsonProcessingException, IOException {
+    public void processAccountsRepeated1() {
         logger.info("Starting new retweet schedule - repeated 1");
 
         if (env.getProperty(MODE_MAINTAINANCE_KEY, Boolean.class)) {
@@ -149,21 +170,25 @@ public class TweetMetaScheduler {
             return;
         }
 
+        final List<SlotTask> tasks = Lists.newArrayList();
+
         // large account
-        service.retweetAnyByHashtag(TwitterAccountEnum.ScalaFact.name(), TwitterTag.akka.name());
+        tasks.add(byHashtag(TwitterAccountEnum.ScalaFact, TwitterTag.akka));
 
         // medium account
 
         // small account
-        service.retweetAnyByHashtag(TwitterAccountEnum.BestAWS.name(), TwitterTag.ec2.name());
+        tasks.add(byHashtag(TwitterAccountEnum.BestAWS, TwitterTag.ec2));
 
-        service.retweetAnyByHashtag(TwitterAccountEnum.HTMLdaily.name(), TwitterTag.html.name());
+        tasks.add(byHashtag(TwitterAccountEnum.HTMLdaily, TwitterTag.html));
+
+        slotExecutor.run("retweet - repeated 1", tasks);
 
         logger.info("Finished new retweet schedule - repeated 1");
     }
 
     @Scheduled(cron = "0 50 1,5,9,13,17,21 * * *")
-    public void processAccountsRepeated2() throws JsonProcessingException, IOException {
+    public void processAccountsRepeated2() {
         logger.info("Starting new retweet schedule - repeated 2");
 
         if (env.getProperty(MODE_MAINTAINANCE_KEY, Boolean.class)) {
@@ -171,19 +196,61 @@ public class TweetMetaScheduler {
             return;
         }
 
+        final List<SlotTask> tasks = Lists.newArrayList();
+
         // large account
-        service.retweetAnyByWord(TwitterAccountEnum.ScalaFact.name(), TwitterTag.scala.name()); // newly moved to by word (11.11)
+        tasks.add(byWord(TwitterAccountEnum.ScalaFact, TwitterTag.scala)); // newly moved to by word (11.11)
 
         // medium account
 
         // small account
-        service.retweetAnyByHashtag(TwitterAccountEnum.BestAWS.name(), TwitterTag.aws.name());
+        tasks.add(byHashtag(TwitterAccountEnum.BestAWS, TwitterTag.aws));
 
-        service.retweetAnyByHashtag(TwitterAccountEnum.HTMLdaily.name(), TwitterTag.html5.name());
+        tasks.add(byHashtag(TwitterAccountEnum.HTMLdaily, TwitterTag.html5));
+
+        slotExecutor.run("retweet - repeated 2", tasks);
 
         logger.info("Finished new retweet schedule - repeated 2");
     }
 
+    // util
+
+    private final SlotTask byHashtag(final TwitterAccountEnum twitterAccount) {
+        return new SlotTask(twitterAccount.name()) {
+            @Override
+            public final Boolean call() throws Exception {
+                return service.retweetAnyByHashtag(twitterAccount.name());
+            }
+        };
+    }
+
+    private final SlotTask byHashtag(final TwitterAccountEnum twitterAccount, final TwitterTag hashtag) {
+        return new SlotTask(twitterAccount.name()) {
+            @Override
+            public final Boolean call() throws Exception {
+                return service.retweetAnyByHashtag(twitterAccount.name(), hashtag.name());
+            }
+        };
+    }
+
+    private final SlotTask byWord(final TwitterAccountEnum twitterAccount) {
+        return new SlotTask(twitterAccount.name()) {
+            @Override
+            public final Boolean call() throws Exception {
+                return service.retweetAnyByWord(twitterAccount.name());
+            }
+        };
+    }
+
+    private final SlotTask byWord(final TwitterAccountEnum twitterAccount, final TwitterTag word) {
+        return new SlotTask(twitterAccount.name()) {
+            @Override
+            public final Boolean call() throws Exception {
+                return service.retweetAnyByWord(twitterAccount.name(), word.name());
+            }
+        };
+    }
+
     // for accounts - not yet: EclipseFacts,MavenFact,BestOfRuby,ServerFaultBest,JavaTopSO,RESTDaily,BestOfCocoa
     // abandoned: FacebookDigest
 
@@ -0,0 +1,97 @@
+package org.tweet.meta.analysis;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.tweet.twitter.util.TweetRecord;
+
+/**
+ * All the counts that go into a TwitterUserSnapshot, collected in a single pass over the timeline of the user <br/>
+ * - each tweet is classified once - the verdict of the content checks and the mentions were already computed when the tweet was decoded <br/>
+ */
+public final class TimelineCounts {
+    private int goodRetweets;
+    private int goodRetweetsOfNonLargeAccounts;
+    private int retweetsOfSelfMentions;
+    private int mentionsOutsideOfRetweets;
+    private long[] authorIdsOfGoodRetweets;
+
+    private TimelineCounts() {
+        super();
+    }
+
+    // API
+
+    /**
+     * - userHandle - the user the timeline belongs to; with or without the @ <br/>
+     * - largeAccountDefinition - the follower count from which the author of a retweet is no longer considered a small account
+     */
+    public static TimelineCounts of(final List<TweetRecord> tweetsOfAccount, final String userHandle, final int largeAccountDefinition) {
+        final String userHandleAsMentioned = userHandle.startsWith("@") ? userHandle : "@" + userHandle;
+
+        final TimelineCounts counts = new TimelineCounts();
+        final long[] authorIdsOfGoodRetweets = new long[tweetsOfAccount.size()];
+        for (final TweetRecord tweet : tweetsOfAccount) {
+            if (!tweet.isRetweet()) {
+                if (tweet.getText().contains("@")) {
+                    counts.mentionsOutsideOfRetweets++;
+                }
+                continue;
+            }
+
+            if (tweet.getMentions().contains(userHandleAsMentioned)) {
+                counts.retweetsOfSelfMentions++;
+            }
+            if (tweet.isGoodRetweet()) {
+                authorIdsOfGoodRetweets[counts.goodRetweets] = tweet.getRetweetedFromUserId();
+                counts.goodRetweets++;
+                if (tweet.getRetweetedFromUserFollowersCount() < largeAccountDefinition) {
+                    counts.goodRetweetsOfNonLargeAccounts++;
+                }
+            }
+        }
+        counts.authorIdsOfGoodRetweets = Arrays.copyOf(authorIdsOfGoodRetweets, counts.goodRetweets);
+        return counts;
+    }
+
+    /**
+     * - retweets that pass the content checks for analysis
+     */
+    public final int getGoodRetweets() {
+        return goodRetweets;
+    }
+
+    public final int getGoodRetweetsOfNonLargeAccounts() {
+        return goodRetweetsOfNonLargeAccounts;
+    }
+
+    /**
+     * - retweets (good or not) of tweets that mention the user
+     */
+    public final int getRetweetsOfSelfMentions() {
+        return retweetsOfSelfMentions;
+    }
+
+    /**
+     * - tweets that are not retweets, and mention anyone
+     */
+    public final int getMentionsOutsideOfRetweets() {
+        return mentionsOutsideOfRetweets;
+    }
+
+    /**
+     * - the id of the original author of each good retweet - one entry per retweet, so the same author may be there more than once
+     */
+    public final long[] getAuthorIdsOfGoodRetweets() {
+        return authorIdsOfGoodRetweets.clone();
+    }
+
+    @Override
+    public final String toString() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("TimelineCounts [goodRetweets=").append(goodRetweets).append(", goodRetweetsOfNonLargeAccounts=").append(goodRetweetsOfNonLargeAccounts).append(", retweetsOfSelfMentions=").append(retweetsOfSelfMentions).append(", mentionsOutsideOfRetweets=")
+                .append(mentionsOutsideOfRetweets).append("]");
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,190 @@
+package org.tweet.meta.component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.common.metrics.MetricsUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.tweet.meta.persistence.dao.IBacklogCandidateJpaDAO;
+import org.tweet.meta.persistence.dao.IBacklogRefillJpaDAO;
+import org.tweet.meta.persistence.model.BacklogCandidate;
+import org.tweet.meta.persistence.model.BacklogRefill;
+import org.tweet.spring.util.SpringProfileUtil;
+import org.tweet.twitter.service.TweetType;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * The candidates that were found and scored for each account, but not yet tried - best first <br/>
+ * - persisted, so that a slot can pop the best candidate instead of searching and scoring from scratch <br/>
+ * - each candidate expires after a while - a tweet that was good a few hours ago is no longer worth retweeting <br/>
+ * - also remembers (persisted) how the backlog of each account is refilled (see {@link BacklogRefill}) - so the prefetcher refills the accounts the slots actually draw from, even right after a restart
+ */
+@Component
+@Profile(SpringProfileUtil.LIVE)
+public class CandidateBacklog {
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final ConcurrentMap<String, BacklogRefill> refillsByKey = Maps.newConcurrentMap();
+    private boolean refillsLoaded;
+
+    @Autowired
+    IBacklogCandidateJpaDAO backlogCandidateApi;
+
+    @Autowired
+    IBacklogRefillJpaDAO backlogRefillApi;
+
+    @Autowired
+    Environment env;
+
+    @Autowired
+    MetricRegistry metrics;
+
+    public CandidateBacklog() {
+        super();
+    }
+
+    // API
+
+    /**
+     * - removes the best candidate of the account that has not expired, and returns it <br/>
+     * - note: will return null if the backlog of the account is empty
+     */
+    public final synchronized BacklogCandidate pop(final String twitterAccount, final TweetType tweetType) {
+        final List<BacklogCandidate> candidates = backlogCandidateApi.findAllByTwitterAccountAndTweetTypeAndExpiresAfterOrderByValueDesc(twitterAccount, tweetType, new Date());
+        if (candidates.isEmpty()) {
+            metrics.counter(MetricsUtil.Meta.BACKLOG_EMPTY).inc();
+            return null;
+        }
+
+        final BacklogCandidate best = candidates.get(0);
+        backlogCandidateApi.delete(best);
+        metrics.counter(MetricsUtil.Meta.BACKLOG_POPPED).inc();
+        return best;
+    }
+
+    /**
+     * - adds the candidates to the backlog of their account - a candidate already in the backlog is replaced by the newer score <br/>
+     * - only the best candidates of each account are kept - see twitter.backlog.size
+     */
+    public final synchronized void offer(final String twitterAccount, final TweetType tweetType, final Collection<BacklogCandidate> newCandidates) {
+        if (newCandidates.isEmpty()) {
+            return;
+        }
+
+        for (final BacklogCandidate newCandidate : newCandidates) {
+            final BacklogCandidate existingCandidate = backlogCandidateApi.findOneByTweetIdAndTwitterAccount(newCandidate.getTweetId(), twitterAccount);
+            if (existingCandidate != null) {
+                newCandidate.setId(existingCandidate.getId());
+            }
+            backlogCandidateApi.save(newCandidate);
+        }
+        metrics.counter(MetricsUtil.Meta.BACKLOG_OFFERED).inc(newCandidates.size());
+
+        final int maxSize = env.getProperty("twitter.backlog.size", Integer.class, 30);
+        final List<BacklogCandidate> candidates = backlogCandidateApi.findAllByTwitterAccountAndTweetTypeAndExpiresAfterOrderByValueDesc(twitterAccount, tweetType, new Date());
+        if (candidates.size() > maxSize) {
+            backlogCandidateApi.delete(candidates.subList(maxSize, candidates.size()));
+        }
+        logger.debug("Backlog of twitterAccount= {}: {} offered, {} in total", twitterAccount, newCandidates.size(), Math.min(maxSize, candidates.size()));
+    }
+
+    public final long size(final String twitterAccount, final TweetType tweetType) {
+        return backlogCandidateApi.countByTwitterAccountAndTweetTypeAndExpiresAfter(twitterAccount, tweetType, new Date());
+    }
+
+    public final synchronized void removeExpired() {
+        final List<BacklogCandidate> expired = backlogCandidateApi.findAllByExpiresBefore(new Date());
+        if (!expired.isEmpty()) {
+            backlogCandidateApi.delete(expired);
+            metrics.counter(MetricsUtil.Meta.BACKLOG_EXPIRED).inc(expired.size());
+        }
+    }
+
+    /**
+     * - the time a candidate scored now stays in the backlog - see twitter.backlog.ttl
+     */
+    public final Date expiryOfNewCandidates() {
+        final int ttlInHours = env.getProperty("twitter.backlog.ttl", Integer.class, 6);
+        return new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(ttlInHours));
+    }
+
+    // refills
+
+    /**
+     * - saved only when new, or when the account changed the way it searches
+     */
+    public final synchronized void registerRefill(final BacklogRefill refill) {
+        loadRefills();
+
+        final String key = keyOf(refill);
+        final BacklogRefill existingRefill = refillsByKey.get(key);
+        if (existingRefill != null) {
+            if (existingRefill.isByWord() == refill.isByWord()) {
+                return;
+            }
+            refill.setId(existingRefill.getId());
+        }
+        backlogRefillApi.save(refill);
+        refillsByKey.put(key, refill);
+    }
+
+    /**
+     * - the refills of the accounts whose backlog is running low - the lowest first
+     */
+    public final List<BacklogRefill> refillsNeeded() {
+        loadRefills();
+        final int minSize = env.getProperty("twitter.backlog.min", Integer.class, 5);
+
+        final Map<BacklogRefill, Long> sizes = Maps.newIdentityHashMap();
+        for (final BacklogRefill refill : refillsByKey.values()) {
+            final long size = size(refill.getTwitterAccount(), refill.getTweetType());
+            if (size < minSize) {
+                sizes.put(refill, size);
+            }
+        }
+
+        final List<BacklogRefill> refills = Lists.newArrayList(sizes.keySet());
+        Collections.sort(refills, new Comparator<BacklogRefill>() {
+            @Override
+            public final int compare(final BacklogRefill o1, final BacklogRefill o2) {
+                return Long.compare(sizes.get(o1), sizes.get(o2));
+            }
+        });
+        return refills;
+    }
+
+    // util
+
+    /**
+     * - the refills registered before the last restart are loaded once, the first time they are needed
+     */
+    private final synchronized void loadRefills() {
+        if (refillsLoaded) {
+            return;
+        }
+        for (final BacklogRefill refill : backlogRefillApi.findAll()) {
+            refillsByKey.putIfAbsent(keyOf(refill), refill);
+        }
+        refillsLoaded = true;
+        logger.info("Loaded {} backlog refills", refillsByKey.size());
+    }
+
+    private static String keyOf(final BacklogRefill refill) {
+        return refill.getTwitterAccount() + "." + refill.getTweetType();
+    }
+
+}
@@ -0,0 +1,110 @@
+package org.tweet.meta.component;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+
+import org.keyval.persistence.dao.IKeyValJpaDAO;
+import org.keyval.persistence.model.KeyVal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.tweet.spring.util.SpringProfileUtil;
+
+import com.google.common.collect.Maps;
+
+/**
+ * In memory view of the interaction history of each account with each author (the <i>interaction.account.author</i> entries in KeyVal) <br/>
+ * - loaded with a single prefix query on startup, then kept up to date by the {@link InteractionHistoryPoller} as it writes <br/>
+ * - a lookup never touches the database <br/>
+ * - one packed table per account, holding a primitive value per author - see {@link InteractionValueTable}
+ */
+@Component
+@Profile(SpringProfileUtil.LIVE)
+public class InteractionHistoryIndex implements InitializingBean {
+    static final String KEY_PREFIX = "interaction.";
+    private static final String LAST_ID_SUFFIX = ".lastId";
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final ConcurrentMap<String, InteractionValueTable> tablesByAccount = Maps.newConcurrentMap();
+
+    @Autowired
+    private IKeyValJpaDAO keyValApi;
+
+    public InteractionHistoryIndex() {
+        super();
+    }
+
+    // API
+
+    /**
+     * - note: will return null if the account has no interaction history with the author
+     */
+    public final Integer getInteractionValue(final String twitterAccount, final String author) {
+        final InteractionValueTable table = tablesByAccount.get(twitterAccount);
+        return (table == null) ? null : table.get(author);
+    }
+
+    /**
+     * - to be called after the new value was persisted
+     */
+    public final void update(final String twitterAccount, final String author, final int interactionValue) {
+        tableOf(twitterAccount).put(author, interactionValue);
+    }
+
+    public static String keyOf(final String twitterAccount, final String author) {
+        return KEY_PREFIX + twitterAccount + "." + author;
+    }
+
+    // util
+
+    final void load(final List<KeyVal> interactionEntries) {
+        for (final KeyVal interactionEntry : interactionEntries) {
+            final String key = interactionEntry.getKey();
+            if (key.endsWith(LAST_ID_SUFFIX)) {
+                continue; // the cursor of the poller - not an interaction
+            }
+            final int accountEnd = key.indexOf('.', KEY_PREFIX.length());
+            if (accountEnd < 0) {
+                logger.warn("Ignoring interaction history entry with invalid key; key= {}", key);
+                continue;
+            }
+            try {
+                final int interactionValue = Integer.parseInt(interactionEntry.getValue());
+                tableOf(key.substring(KEY_PREFIX.length(), accountEnd)).put(key.substring(accountEnd + 1), interactionValue);
+            } catch (final NumberFormatException numberFormatEx) {
+                logger.warn("Ignoring interaction history entry with invalid value; key= {}, value= {}", key, interactionEntry.getValue());
+            }
+        }
+    }
+
+    final int size() {
+        int size = 0;
+        for (final InteractionValueTable table : tablesByAccount.values()) {
+            size += table.size();
+        }
+        return size;
+    }
+
+    private final InteractionValueTable tableOf(final String twitterAccount) {
+        final InteractionValueTable existingTable = tablesByAccount.get(twitterAccount);
+        if (existingTable != null) {
+            return existingTable;
+        }
+        final InteractionValueTable newTable = new InteractionValueTable();
+        final InteractionValueTable concurrentlyCreatedTable = tablesByAccount.putIfAbsent(twitterAccount, newTable);
+        return (concurrentlyCreatedTable != null) ? concurrentlyCreatedTable : newTable;
+    }
+
+    // spring
+
+    @Override
+    public final void afterPropertiesSet() {
+        load(keyValApi.findByKeyStartingWith(KEY_PREFIX));
+        logger.info("Loaded the interaction history of {} authors", size());
+    }
+
+}
@@ -41,6 +41,9 @@ public class InteractionHistoryPoller {
     @Autowired
     private IKeyValJpaDAO keyValueApi;
 
+    @Autowired
+    private InteractionHistoryIndex interactionHistoryIndex;
+
     public InteractionHistoryPoller() {
         super();
     }
@@ -99,7 +102,7 @@ public class InteractionHistoryPoller {
     }
 
     private void processMention(final String twitterAccount, final List<String> usersWhoRetweeted, final MentionEntity mention) {
-        final String key = "interaction." + twitterAccount + "." + mention.getScreenName();
+        final String key = InteractionHistoryIndex.keyOf(twitterAccount, mention.getScreenName());
 
         final KeyVal interactionStatus = getOrCreateCurrentInteractionStatus(key);
 
@@ -128,6 +131,7 @@ public class InteractionHistoryPoller {
         interactionStatus.setValue(currentInteractionValue.toString());
 
         keyValueApi.save(interactionStatus);
+        interactionHistoryIndex.update(twitterAccount, mention.getScreenName(), currentInteractionValue);
 
         logger.info("Good interaction found on twitterAccount= {}, with= {}", twitterAccount, mention.getScreenName());
     }
@@ -138,6 +142,7 @@ public class InteractionHistoryPoller {
         interactionStatus.setValue(currentInteractionValue.toString());
 
         keyValueApi.save(interactionStatus);
+        interactionHistoryIndex.update(twitterAccount, mention.getScreenName(), currentInteractionValue);
 
         logger.debug("No interaction found on twitterAccount= {}, with= {}", twitterAccount, mention.getScreenName());
     }
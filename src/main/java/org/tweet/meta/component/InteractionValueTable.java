@@ -0,0 +1,89 @@
+package org.tweet.meta.component;
+
+/**
+ * The interaction values of a single account with its authors - open addressing over parallel arrays <br/>
+ * - one slot per author: the screen name and a primitive int - no map entry and no boxed value per author <br/>
+ * - grows (doubles) once half full; entries are never removed <br/>
+ * - safe to share between threads - written by the poller only, read by the scoring threads
+ */
+final class InteractionValueTable {
+
+    private String[] authors;
+    private int[] values;
+    private int size;
+
+    InteractionValueTable() {
+        super();
+
+        authors = new String[64];
+        values = new int[64];
+    }
+
+    // API
+
+    /**
+     * - note: will return null if there is no value for the author
+     */
+    final synchronized Integer get(final String author) {
+        final int slot = slotOf(authors, author);
+        return (authors[slot] == null) ? null : values[slot];
+    }
+
+    final synchronized void put(final String author, final int value) {
+        final int slot = slotOf(authors, author);
+        if (authors[slot] == null) {
+            if ((size + 1) * 2 > authors.length) {
+                grow();
+                put(author, value);
+                return;
+            }
+            authors[slot] = author;
+            size++;
+        }
+        values[slot] = value;
+    }
+
+    final synchronized int size() {
+        return size;
+    }
+
+    // util
+
+    private final void grow() {
+        final String[] oldAuthors = authors;
+        final int[] oldValues = values;
+        authors = new String[oldAuthors.length * 2];
+        values = new int[oldValues.length * 2];
+        for (int i = 0; i < oldAuthors.length; i++) {
+            if (oldAuthors[i] != null) {
+                final int slot = slotOf(authors, oldAuthors[i]);
+                authors[slot] = oldAuthors[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * - the slot holding the author, or the free slot where it goes - the table always has free slots
+     */
+    private static int slotOf(final String[] authors, final String author) {
+        final int mask = authors.length - 1;
+        int slot = spread(author.hashCode()) & mask;
+        while (authors[slot] != null && !authors[slot].equals(author)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int spread(final int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    @Override
+    public final synchronized String toString() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("InteractionValueTable [size=").append(size).append(", capacity=").append(authors.length).append("]");
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,150 @@
+package org.tweet.meta.component;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.common.metrics.MetricsUtil;
+import org.keyval.persistence.dao.IKeyValJpaDAO;
+import org.keyval.persistence.model.KeyVal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.social.twitter.api.Tweet;
+import org.springframework.stereotype.Component;
+import org.tweet.spring.util.SpringProfileUtil;
+import org.tweet.twitter.service.live.TwitterReadLiveService;
+import org.tweet.twitter.util.TweetIdRange;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * Keeps a since id cursor per searched tag, plus a pool of the candidates that are still eligible <br/>
+ * - so that each run only retrieves the tweets that are new since the previous run, and merges them with the retained candidates <br/>
+ * - the retained candidates are retrieved again (in bulk) on each run - so they are judged by their current retweet count, and no tweet is shared between the accounts scoring it <br/>
+ * - a search from the cursor never sees a tweet older than the cursor again - even if it becomes popular later; so each tag is still searched in full every now and then <br/>
+ * - the cursors are persisted; the candidates are only kept in memory - so after a restart, a tag starts with an empty pool, and a full search <br/>
+ */
+@Component
+@Profile(SpringProfileUtil.LIVE)
+public class SearchCandidatePool {
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final ConcurrentMap<String, TagCandidates> candidatesByKey = Maps.newConcurrentMap();
+
+    @Autowired
+    private IKeyValJpaDAO keyValApi;
+
+    @Autowired
+    private TwitterReadLiveService twitterReadLiveService;
+
+    @Autowired
+    private Environment env;
+
+    @Autowired
+    private MetricRegistry metrics;
+
+    public SearchCandidatePool() {
+        super();
+    }
+
+    // API
+
+    /**
+     * - the since id to search the tag from - incrementally <br/>
+     * - 0 if the tag must be searched in full - it was never searched, its cursor is older than the candidates that would be retained anyway, or it was not searched in full for a while
+     */
+    public final long sinceId(final String tag, final boolean asHashtags) {
+        final TagCandidates candidates = candidates(tag, asHashtags);
+        final long sinceId = candidates.sinceId();
+        if (sinceId > 0 && TweetIdRange.timestampOf(sinceId) >= oldestAllowed() && candidates.lastFullSearch() >= lastFullSearchAllowed()) {
+            metrics.counter(MetricsUtil.Meta.SEARCH_POOL_INCREMENTAL).inc();
+            return sinceId;
+        }
+        metrics.counter(MetricsUtil.Meta.SEARCH_POOL_FULL).inc();
+        return 0;
+    }
+
+    /**
+     * - merges the newly retrieved tweets of the tag into its pool, and moves the cursor of the tag forward <br/>
+     * - sinceId - the since id the tag was searched with (see {@link #sinceId(String, boolean)}) - 0 if it was searched in full <br/>
+     * - note: only to be called once the search completed - a shed search throws instead of returning, so the tag stays due for its full search <br/>
+     * - returns all the candidates of the tag: the new ones first, then the retained ones - retrieved again, with their current state
+     */
+    public final List<Tweet> merge(final String tag, final List<Tweet> newTweets, final long sinceId, final boolean asHashtags) {
+        final TagCandidates candidates = candidates(tag, asHashtags);
+        final long previousSinceId = candidates.sinceId();
+        if (sinceId == 0) {
+            candidates.searchedInFull(System.currentTimeMillis());
+        }
+
+        final int maxSize = env.getProperty("twitter.search.pool.size", Integer.class, 200);
+        final List<Long> retainedIds = candidates.merge(newTweets, oldestAllowed(), maxSize);
+        final List<Tweet> retainedTweets = retainedIds.isEmpty() ? Lists.<Tweet> newArrayList() : twitterReadLiveService.findAll(retainedIds);
+        metrics.counter(MetricsUtil.Meta.SEARCH_POOL_RETAINED).inc(retainedTweets.size());
+
+        final List<Tweet> allCandidates = Lists.newArrayList(newTweets);
+        allCandidates.addAll(retainedTweets);
+
+        if (candidates.sinceId() > previousSinceId) {
+            persistSinceId(key(tag, asHashtags), candidates.sinceId());
+        }
+        logger.debug("Candidates for tag= {}: {} new, {} in total", tag, newTweets.size(), allCandidates.size());
+        return allCandidates;
+    }
+
+    // util
+
+    private final TagCandidates candidates(final String tag, final boolean asHashtags) {
+        final String key = key(tag, asHashtags);
+        final TagCandidates existingCandidates = candidatesByKey.get(key);
+        if (existingCandidates != null) {
+            return existingCandidates;
+        }
+        final TagCandidates newCandidates = new TagCandidates(loadSinceId(key));
+        final TagCandidates concurrentlyCreatedCandidates = candidatesByKey.putIfAbsent(key, newCandidates);
+        return (concurrentlyCreatedCandidates != null) ? concurrentlyCreatedCandidates : newCandidates;
+    }
+
+    private final String key(final String tag, final boolean asHashtags) {
+        return "search.cursor." + (asHashtags ? "hashtag." : "word.") + tag;
+    }
+
+    private final long loadSinceId(final String key) {
+        final KeyVal sinceIdKeyVal = keyValApi.findByKey(key);
+        return (sinceIdKeyVal == null) ? 0 : Long.valueOf(sinceIdKeyVal.getValue());
+    }
+
+    private final void persistSinceId(final String key, final long sinceId) {
+        final KeyVal sinceIdKeyVal = keyValApi.findByKey(key);
+        if (sinceIdKeyVal == null) {
+            keyValApi.save(new KeyVal(key, Long.toString(sinceId)));
+        } else {
+            sinceIdKeyVal.setValue(Long.toString(sinceId));
+            keyValApi.save(sinceIdKeyVal);
+        }
+    }
+
+    /**
+     * - twitter.search.pool.age <br/>
+     * - candidates older than this (in hours) are no longer retained <br/>
+     * - default = 24
+     */
+    private final long oldestAllowed() {
+        return System.currentTimeMillis() - TimeUnit.HOURS.toMillis(env.getProperty("twitter.search.pool.age", Integer.class, 24));
+    }
+
+    /**
+     * - twitter.search.pool.full <br/>
+     * - a tag not searched in full for this long (in hours) is searched in full again - the popular tweets older than its cursor are only found that way <br/>
+     * - default = 3
+     */
+    private final long lastFullSearchAllowed() {
+        return System.currentTimeMillis() - TimeUnit.HOURS.toMillis(env.getProperty("twitter.search.pool.full", Integer.class, 3));
+    }
+
+}
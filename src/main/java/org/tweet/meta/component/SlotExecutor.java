@@ -0,0 +1,240 @@
+package org.tweet.meta.component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.common.metrics.MetricsUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.tweet.spring.util.SpringProfileUtil;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Runs the tasks of a scheduler slot, the accounts in parallel <br/>
+ * - bulkhead: the tasks of the same account run one after the other, in order; an account still busy from an earlier slot is skipped <br/>
+ * - each account has a timeout, counted from when its work starts - once over, the account is cancelled and the slot moves on without it <br/>
+ * - the timeout is best-effort: cancelling interrupts the thread, but a blocking HTTP call does not react to that - the account keeps its permit until that call returns, and later slots skip it as BUSY until then <br/>
+ * - the outcome and the duration of every task are reported per account - see {@link MetricsUtil.Meta#slotOutcome(String, Outcome)}
+ */
+@Component
+@Profile(SpringProfileUtil.LIVE)
+public class SlotExecutor implements InitializingBean, DisposableBean {
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    public enum Outcome {
+        /** the task did something */
+        DONE,
+        /** the task ran, but found nothing to do */
+        NOTHING_DONE,
+        ERROR,
+        TIMEOUT,
+        /** the account was still busy from an earlier slot */
+        BUSY
+    }
+
+    private ExecutorService accountExecutor;
+    private ScheduledExecutorService timeoutExecutor;
+    private final ConcurrentMap<String, Semaphore> permitsByAccount = Maps.newConcurrentMap();
+    private long accountTimeoutMillis;
+
+    @Autowired
+    Environment env;
+
+    @Autowired
+    MetricRegistry metrics;
+
+    public SlotExecutor() {
+        super();
+    }
+
+    // API
+
+    /**
+     * - blocks until every account of the slot is done, or timed out
+     */
+    public final void run(final String slot, final List<SlotTask> tasks) {
+        final long start = System.currentTimeMillis();
+
+        final Map<String, List<SlotTask>> tasksByAccount = Maps.newLinkedHashMap();
+        for (final SlotTask task : tasks) {
+            List<SlotTask> tasksOfAccount = tasksByAccount.get(task.getTwitterAccount());
+            if (tasksOfAccount == null) {
+                tasksOfAccount = Lists.newArrayList();
+                tasksByAccount.put(task.getTwitterAccount(), tasksOfAccount);
+            }
+            tasksOfAccount.add(task);
+        }
+
+        final List<AccountRun> runs = Lists.newArrayList();
+        for (final Map.Entry<String, List<SlotTask>> tasksOfAccount : tasksByAccount.entrySet()) {
+            final AccountRun run = new AccountRun(tasksOfAccount.getKey(), workOf(tasksOfAccount.getKey(), tasksOfAccount.getValue()));
+            accountExecutor.execute(run);
+            runs.add(run);
+        }
+
+        for (final AccountRun run : runs) {
+            try {
+                run.get();
+            } catch (final CancellationException cancellationEx) {
+                metrics.counter(MetricsUtil.Meta.slotOutcome(run.getTwitterAccount(), Outcome.TIMEOUT)).inc();
+                logger.warn("Slot {} - twitterAccount= {} timed out and was cancelled", slot, run.getTwitterAccount());
+            } catch (final ExecutionException executionEx) {
+                logger.error("Slot " + slot + " - unexpected failure on twitterAccount= " + run.getTwitterAccount(), executionEx.getCause());
+            } catch (final InterruptedException interruptedEx) {
+                for (final AccountRun runToCancel : runs) {
+                    runToCancel.cancel(true);
+                }
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+
+        logger.info("Slot {} - {} accounts done in {} ms", slot, runs.size(), System.currentTimeMillis() - start);
+    }
+
+    // util
+
+    private final Callable<Boolean> workOf(final String twitterAccount, final List<SlotTask> tasksOfAccount) {
+        return new Callable<Boolean>() {
+            @Override
+            public final Boolean call() {
+                final Semaphore permit = permitOf(twitterAccount);
+                if (!permit.tryAcquire()) {
+                    metrics.counter(MetricsUtil.Meta.slotOutcome(twitterAccount, Outcome.BUSY)).inc(tasksOfAccount.size());
+                    logger.warn("Skipping twitterAccount= {} - still busy from an earlier slot", twitterAccount);
+                    return false;
+                }
+
+                try {
+                    boolean didSomething = false;
+                    for (final SlotTask task : tasksOfAccount) {
+                        if (Thread.currentThread().isInterrupted()) {
+                            break;
+                        }
+                        didSomething |= runTask(task);
+                    }
+                    return didSomething;
+                } finally {
+                    permit.release();
+                }
+            }
+        };
+    }
+
+    private final boolean runTask(final SlotTask task) {
+        final String twitterAccount = task.getTwitterAccount();
+        final Timer.Context timer = metrics.timer(MetricsUtil.Meta.slotTime(twitterAccount)).time();
+        try {
+            final boolean didSomething = task.call();
+            metrics.counter(MetricsUtil.Meta.slotOutcome(twitterAccount, didSomething ? Outcome.DONE : Outcome.NOTHING_DONE)).inc();
+            return didSomething;
+        } catch (final InterruptedException interruptedEx) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (final Exception ex) {
+            if (!Thread.currentThread().isInterrupted()) {
+                metrics.counter(MetricsUtil.Meta.slotOutcome(twitterAccount, Outcome.ERROR)).inc();
+                logger.error("Unable to run task on twitterAccount= " + twitterAccount, ex);
+            }
+            return false;
+        } finally {
+            timer.stop();
+        }
+    }
+
+    private final Semaphore permitOf(final String twitterAccount) {
+        final Semaphore existingPermit = permitsByAccount.get(twitterAccount);
+        if (existingPermit != null) {
+            return existingPermit;
+        }
+        final Semaphore newPermit = new Semaphore(1);
+        final Semaphore concurrentlyCreatedPermit = permitsByAccount.putIfAbsent(twitterAccount, newPermit);
+        return (concurrentlyCreatedPermit != null) ? concurrentlyCreatedPermit : newPermit;
+    }
+
+    /**
+     * The work of one account in a slot - cancels itself (interrupting the thread doing it) once over the timeout <br/>
+     * - the slot stops waiting right away; the work itself only stops at its next interruptible point - see {@link SlotExecutor}
+     */
+    private final class AccountRun extends FutureTask<Boolean> {
+        private final String twitterAccount;
+
+        AccountRun(final String twitterAccount, final Callable<Boolean> work) {
+            super(work);
+
+            this.twitterAccount = twitterAccount;
+        }
+
+        final String getTwitterAccount() {
+            return twitterAccount;
+        }
+
+        @Override
+        public final void run() {
+            final ScheduledFuture<?> timeout = timeoutExecutor.schedule(new Runnable() {
+                @Override
+                public final void run() {
+                    AccountRun.this.cancel(true);
+                }
+            }, accountTimeoutMillis, TimeUnit.MILLISECONDS);
+
+            try {
+                super.run();
+            } finally {
+                timeout.cancel(false);
+            }
+        }
+    }
+
+    // spring
+
+    /**
+     * - twitter.slot.threads - the number of accounts of a slot worked on at the same time - default = 4 <br/>
+     * - twitter.slot.account.timeout - the maximum time (in seconds) the work of an account in a slot may take - default = 600 <br/>
+     * - all the accounts of a slot are queued up front - slots are small, so the queue is not bounded
+     */
+    @Override
+    public final void afterPropertiesSet() {
+        final int threads = env.getProperty("twitter.slot.threads", Integer.class, 4);
+        accountTimeoutMillis = TimeUnit.SECONDS.toMillis(env.getProperty("twitter.slot.account.timeout", Integer.class, 600));
+
+        final ThreadFactoryBuilder threadFactory = new ThreadFactoryBuilder().setNameFormat("twitter-slot-%d").setDaemon(true);
+        accountExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), threadFactory.build());
+
+        final ThreadFactoryBuilder timeoutThreadFactory = new ThreadFactoryBuilder().setNameFormat("twitter-slot-timeout-%d").setDaemon(true);
+        final ScheduledThreadPoolExecutor timeoutPool = new ScheduledThreadPoolExecutor(1, timeoutThreadFactory.build());
+        timeoutPool.setRemoveOnCancelPolicy(true);
+        timeoutExecutor = timeoutPool;
+    }
+
+    @Override
+    public final void destroy() {
+        accountExecutor.shutdownNow();
+        timeoutExecutor.shutdownNow();
+    }
+
+}
@@ -0,0 +1,30 @@
+package org.tweet.meta.component;
+
+import java.util.concurrent.Callable;
+
+/**
+ * One unit of work of a scheduler slot, done on behalf of one account (see {@link SlotExecutor}) <br/>
+ * - returns true if it did something (retweeted, followed), false otherwise
+ */
+public abstract class SlotTask implements Callable<Boolean> {
+
+    private final String twitterAccount;
+
+    protected SlotTask(final String twitterAccount) {
+        super();
+
+        this.twitterAccount = twitterAccount;
+    }
+
+    // API
+
+    public final String getTwitterAccount() {
+        return twitterAccount;
+    }
+
+    @Override
+    public final String toString() {
+        return "SlotTask [twitterAccount=" + twitterAccount + "]";
+    }
+
+}
@@ -0,0 +1,105 @@
+package org.tweet.meta.component;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.social.twitter.api.Tweet;
+import org.tweet.twitter.util.TweetUtil;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * The candidates found by searching a single tag, retained between runs <br/>
+ * - only the id and the creation time of each candidate are retained - never the tweet itself: the same tweets are scored by other accounts at the same time, and their retweet counts go stale <br/>
+ * - the retained candidates are retrieved again, with their current state, before they are used - see {@link SearchCandidatePool}; the ones that no longer exist age out <br/>
+ */
+final class TagCandidates {
+
+    /** creation time by id - of the original tweet, for retweets */
+    private final Map<Long, Long> createdAtById = Maps.newHashMap();
+    private long sinceId;
+    private long lastFullSearch;
+
+    TagCandidates(final long sinceId) {
+        super();
+
+        this.sinceId = sinceId;
+    }
+
+    // API
+
+    /**
+     * - the newly retrieved tweets are added to the retained candidates <br/>
+     * - candidates created before oldestAllowed are dropped, and only the newest maxSize candidates are retained <br/>
+     * - returns the ids of the retained candidates that did not come back with the new tweets, newest first
+     */
+    final synchronized List<Long> merge(final List<Tweet> newTweets, final long oldestAllowed, final int maxSize) {
+        final Set<Long> newIds = Sets.newHashSet();
+        for (final Tweet newTweet : newTweets) {
+            final Tweet originalTweet = TweetUtil.getTweet(newTweet);
+            final long createdAt = (originalTweet.getCreatedAt() == null) ? System.currentTimeMillis() : originalTweet.getCreatedAt().getTime();
+            createdAtById.put(originalTweet.getId(), createdAt);
+            newIds.add(originalTweet.getId());
+            sinceId = Math.max(sinceId, newTweet.getId());
+        }
+
+        final Iterator<Long> iterator = createdAtById.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() < oldestAllowed) {
+                iterator.remove();
+            }
+        }
+
+        final List<Long> idsNewestFirst = Lists.newArrayList(createdAtById.keySet());
+        Collections.sort(idsNewestFirst, Collections.reverseOrder());
+        for (final Long idToEvict : idsNewestFirst.subList(Math.min(maxSize, idsNewestFirst.size()), idsNewestFirst.size())) {
+            createdAtById.remove(idToEvict);
+        }
+
+        final List<Long> retainedIds = Lists.newArrayList();
+        for (final Long id : idsNewestFirst.subList(0, Math.min(maxSize, idsNewestFirst.size()))) {
+            if (!newIds.contains(id)) {
+                retainedIds.add(id);
+            }
+        }
+        return retainedIds;
+    }
+
+    /**
+     * - the id of the newest tweet seen so far
+     */
+    final synchronized long sinceId() {
+        return sinceId;
+    }
+
+    /**
+     * - the tag was just searched without a since id
+     */
+    final synchronized void searchedInFull(final long now) {
+        lastFullSearch = now;
+    }
+
+    /**
+     * - 0 if the tag was not searched in full since the start
+     */
+    final synchronized long lastFullSearch() {
+        return lastFullSearch;
+    }
+
+    final synchronized int size() {
+        return createdAtById.size();
+    }
+
+    @Override
+    public final synchronized String toString() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("TagCandidates [size=").append(createdAtById.size()).append(", sinceId=").append(sinceId).append(", lastFullSearch=").append(lastFullSearch).append("]");
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,52 @@
+package org.tweet.meta.component;
+
+import org.tweet.twitter.util.TwitterInteractionWithValue;
+
+/**
+ * What a run already concluded about a candidate tweet, on a specific account: either the best interaction with it (and its score), or the reason it was rejected
+ */
+public final class TweetVerdict {
+    private final TwitterInteractionWithValue interaction;
+    private final String rejectionReason;
+
+    private TweetVerdict(final TwitterInteractionWithValue interaction, final String rejectionReason) {
+        super();
+
+        this.interaction = interaction;
+        this.rejectionReason = rejectionReason;
+    }
+
+    // API
+
+    public static TweetVerdict scored(final TwitterInteractionWithValue interaction) {
+        return new TweetVerdict(interaction, null);
+    }
+
+    public static TweetVerdict rejected(final String rejectionReason) {
+        return new TweetVerdict(null, rejectionReason);
+    }
+
+    public final boolean isRejected() {
+        return rejectionReason != null;
+    }
+
+    /**
+     * - note: will return null if the tweet was rejected
+     */
+    public final TwitterInteractionWithValue getInteraction() {
+        return interaction;
+    }
+
+    /**
+     * - note: will return null if the tweet was not rejected
+     */
+    public final String getRejectionReason() {
+        return rejectionReason;
+    }
+
+    @Override
+    public final String toString() {
+        return isRejected() ? "rejected: " + rejectionReason : "scored: " + interaction.getTwitterInteraction() + "=" + interaction.getVal();
+    }
+
+}
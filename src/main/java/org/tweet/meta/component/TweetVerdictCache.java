@@ -0,0 +1,83 @@
+package org.tweet.meta.component;
+
+import java.util.concurrent.TimeUnit;
+
+import org.common.metrics.MetricsUtil;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.tweet.spring.util.SpringProfileUtil;
+import org.tweet.twitter.util.TwitterInteractionWithValue;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Remembers the {@link TweetVerdict} of each candidate tweet, per account <br/>
+ * - popular tweets come back from search over and over, across runs - once judged, they are not scored, expanded or classified again until the verdict expires <br/>
+ * - only verdicts that depend on nothing but the tweet and the account are recorded - not the ones that depend on the tag the tweet was found by
+ */
+@Component
+@Profile(SpringProfileUtil.LIVE)
+public class TweetVerdictCache implements InitializingBean {
+
+    private Cache<String, TweetVerdict> verdicts;
+
+    @Autowired
+    private Environment env;
+
+    @Autowired
+    private MetricRegistry metrics;
+
+    public TweetVerdictCache() {
+        super();
+    }
+
+    // API
+
+    /**
+     * - note: will return null if the tweet was not judged on this account yet, or the verdict expired
+     */
+    public final TweetVerdict get(final long tweetId, final String twitterAccount) {
+        final TweetVerdict verdict = verdicts.getIfPresent(keyOf(tweetId, twitterAccount));
+        metrics.counter((verdict == null) ? MetricsUtil.Meta.VERDICT_CACHE_MISS : MetricsUtil.Meta.VERDICT_CACHE_HIT).inc();
+        return verdict;
+    }
+
+    public final boolean isRejected(final long tweetId, final String twitterAccount) {
+        final TweetVerdict verdict = get(tweetId, twitterAccount);
+        return verdict != null && verdict.isRejected();
+    }
+
+    public final void scored(final long tweetId, final String twitterAccount, final TwitterInteractionWithValue interaction) {
+        verdicts.put(keyOf(tweetId, twitterAccount), TweetVerdict.scored(interaction));
+    }
+
+    public final void rejected(final long tweetId, final String twitterAccount, final String rejectionReason) {
+        verdicts.put(keyOf(tweetId, twitterAccount), TweetVerdict.rejected(rejectionReason));
+    }
+
+    // util
+
+    private static String keyOf(final long tweetId, final String twitterAccount) {
+        return twitterAccount + "." + tweetId;
+    }
+
+    // spring
+
+    /**
+     * - twitter.verdict.cache.size - the maximum number of remembered verdicts, across all accounts - default = 50000 <br/>
+     * - twitter.verdict.cache.ttl - hours a verdict is remembered for - default = 6
+     */
+    @Override
+    public final void afterPropertiesSet() {
+        final long maxVerdicts = env.getProperty("twitter.verdict.cache.size", Long.class, 50000l);
+        final int ttlInHours = env.getProperty("twitter.verdict.cache.ttl", Integer.class, 6);
+
+        verdicts = CacheBuilder.newBuilder().maximumSize(maxVerdicts).expireAfterWrite(ttlInHours, TimeUnit.HOURS).build();
+    }
+
+}
@@ -76,6 +76,17 @@ public class TwitterInteractionValuesRetriever {
         return value;
     }
 
+    /**
+     * - twitter.value.friendpagestoanalyze <br/>
+     * - 5000 friend ids per page; the friends of users that follow more accounts are not analyzed <br/>
+     * - default = 4
+     */
+    public int getFriendPagesToAnalyze() {
+        final Integer value = env.getProperty("twitter.value.friendpagestoanalyze", Integer.class, 4);
+        Preconditions.checkState(value > 0);
+        return value;
+    }
+
     /**
      * - twitter.value.largeaccount <br/>
      * - default = 3000
@@ -16,7 +16,9 @@ import org.springframework.stereotype.Component;
 import org.stackexchange.util.GenericUtil;
 import org.stackexchange.util.TwitterAccountEnum;
 import org.tweet.spring.util.SpringProfileUtil;
+import org.tweet.twitter.component.TwitterRateLimitGovernor;
 import org.tweet.twitter.service.live.TwitterReadLiveService;
+import org.tweet.twitter.util.TwitterEndpointFamily;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 
@@ -28,6 +30,9 @@ public class TwitterQuotaStatusPoller {
     @Autowired
     private TwitterReadLiveService twitterReadLiveService;
 
+    @Autowired
+    private TwitterRateLimitGovernor twitterRateLimitGovernor;
+
     public TwitterQuotaStatusPoller() {
         super();
     }
@@ -42,6 +47,7 @@ public class TwitterQuotaStatusPoller {
         final TwitterAccountEnum account2 = GenericUtil.pickOneGeneric(TwitterAccountEnum.values());
         checkTwitterApiQuotaOnOneAccount(account1.name());
         checkTwitterApiQuotaOnOneAccount(account2.name());
+        logRemainingQuotaOnAllAccounts();
 
         logger.info("Finished checking status of Twitter API Quotas for the 2 random accounts");
     }
@@ -71,6 +77,18 @@ public class TwitterQuotaStatusPoller {
         final List<RateLimitStatus> accountRateLimitStatusList = accountRateLimitStatusMap.values().iterator().next();
         final RateLimitStatus accountRate = accountRateLimitStatusList.get(0);
         logger.warn("Account= {} - remaining API hits= {} out of= {}; reset in {} mins", twitterAccount, accountRate.getRemainingHits(), accountRate.getQuarterOfHourLimit(), appRate.getResetTimeInSeconds() / 216000000);
+
+        // the governor is normally fed by the response headers - this corrects it for the endpoints that have not been used recently
+        final Map<ResourceFamily, List<RateLimitStatus>> governedRateLimitStatusMap = userOperations.getRateLimitStatus(ResourceFamily.SEARCH, ResourceFamily.STATUSES, ResourceFamily.USERS, ResourceFamily.FRIENDS, ResourceFamily.FOLLOWERS);
+        twitterRateLimitGovernor.seed(twitterAccount, governedRateLimitStatusMap);
+    }
+
+    final void logRemainingQuotaOnAllAccounts() {
+        for (final TwitterEndpointFamily family : TwitterEndpointFamily.values()) {
+            if (family.isGoverned()) {
+                logger.info("Endpoint family= {} - remaining API hits on all accounts= {}", family, twitterRateLimitGovernor.remainingOnAllAccounts(family));
+            }
+        }
     }
 
 }
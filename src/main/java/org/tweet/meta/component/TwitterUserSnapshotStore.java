@@ -0,0 +1,94 @@
+package org.tweet.meta.component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.common.metrics.MetricsUtil;
+import org.common.persistence.MappedRecordTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.tweet.meta.TwitterUserSnapshot;
+import org.tweet.spring.util.SpringProfileUtil;
+
+import com.codahale.metrics.MetricRegistry;
+
+/**
+ * Persistent store of the computed {@link TwitterUserSnapshot}s, keyed by user id <br/>
+ * - the same authors show up across many accounts and many runs - a snapshot is only recomputed once it is stale <br/>
+ * - backed by a memory mapped file, so it survives restarts; shared by all the scoring threads without locking - see {@link TwitterUserSnapshotTable} <br/>
+ * - if the file cannot be mapped, the store falls back to memory only
+ */
+@Component
+@Profile(SpringProfileUtil.LIVE)
+public class TwitterUserSnapshotStore implements InitializingBean, DisposableBean {
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private ByteBuffer buffer;
+    private TwitterUserSnapshotTable table;
+    private long maxAgeMillis;
+
+    @Autowired
+    private Environment env;
+
+    @Autowired
+    private MetricRegistry metrics;
+
+    public TwitterUserSnapshotStore() {
+        super();
+    }
+
+    // API
+
+    /**
+     * - note: will return null if there is no snapshot of the user, or if it is stale
+     */
+    public final TwitterUserSnapshot get(final long userId) {
+        final TwitterUserSnapshot snapshot = table.get(userId, System.currentTimeMillis() - maxAgeMillis);
+        metrics.counter((snapshot == null) ? MetricsUtil.Meta.SNAPSHOT_STORE_MISS : MetricsUtil.Meta.SNAPSHOT_STORE_HIT).inc();
+        return snapshot;
+    }
+
+    public final void put(final long userId, final TwitterUserSnapshot snapshot) {
+        table.put(userId, snapshot, System.currentTimeMillis());
+    }
+
+    // spring
+
+    /**
+     * - twitter.snapshot.store.file - default = twitter-user-snapshots.dat in the home directory of the user <br/>
+     * - twitter.snapshot.store.slots - the maximum number of users in the store (48 bytes each) - default = 65536 <br/>
+     * - twitter.snapshot.store.ttl - hours after which the snapshot of a user is recomputed - default = 24 <br/>
+     * - note: changing the number of slots resets the store
+     */
+    @Override
+    public final void afterPropertiesSet() {
+        final String defaultFile = new File(System.getProperty("user.home"), "twitter-user-snapshots.dat").getPath();
+        final File file = new File(env.getProperty("twitter.snapshot.store.file", defaultFile));
+        final int slots = env.getProperty("twitter.snapshot.store.slots", Integer.class, 65536);
+        maxAgeMillis = TimeUnit.HOURS.toMillis(env.getProperty("twitter.snapshot.store.ttl", Integer.class, 24));
+
+        final int sizeInBytes = TwitterUserSnapshotTable.sizeInBytes(slots);
+        try {
+            buffer = MappedRecordTable.map(file, sizeInBytes);
+            logger.info("Mapped the user snapshot store= {} ({} slots)", file, slots);
+        } catch (final IOException ioEx) {
+            logger.error("Unable to map the user snapshot store= " + file + " - keeping snapshots in memory only", ioEx);
+            buffer = ByteBuffer.allocate(sizeInBytes);
+        }
+        table = new TwitterUserSnapshotTable(buffer);
+    }
+
+    @Override
+    public final void destroy() {
+        MappedRecordTable.force(buffer);
+    }
+
+}
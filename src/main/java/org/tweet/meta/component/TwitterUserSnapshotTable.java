@@ -0,0 +1,100 @@
+package org.tweet.meta.component;
+
+import java.nio.ByteBuffer;
+
+import org.common.persistence.MappedRecordTable;
+import org.tweet.meta.TwitterUserSnapshot;
+
+/**
+ * Hash table of {@link TwitterUserSnapshot}s keyed by user id, laid out as fixed size records (see {@link MappedRecordTable}) <br/>
+ * - when all the probed slots are taken, the oldest of them is overwritten <br/>
+ *
+ * <b>RECORD</b> <br/>
+ * - user id, computed at, the 5 percentages of the snapshot, checksum <br/>
+ */
+final class TwitterUserSnapshotTable extends MappedRecordTable {
+    static final int RECORD_SIZE = 48;
+
+    private static final int MAGIC = 0x54555354;
+    private static final int VERSION = 1;
+
+    TwitterUserSnapshotTable(final ByteBuffer buffer) {
+        super(buffer, RECORD_SIZE, MAGIC, VERSION);
+    }
+
+    // API
+
+    /**
+     * - the size of the buffer needed for this many slots
+     */
+    static int sizeInBytes(final int slots) {
+        return sizeInBytes(slots, RECORD_SIZE);
+    }
+
+    /**
+     * - note: will return null if there is no snapshot of the user, or if it was computed before computedNotBefore
+     */
+    final TwitterUserSnapshot get(final long userId, final long computedNotBefore) {
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            final int offset = offsetOf(userId, probe);
+            final long userIdInSlot = buffer.getLong(offset + KEY_OFFSET);
+            if (userIdInSlot == 0) {
+                return null;
+            }
+            if (userIdInSlot != userId) {
+                continue;
+            }
+
+            final long computedAt = buffer.getLong(offset + TIMESTAMP_OFFSET);
+            final float goodRetweetPercentage = buffer.getFloat(offset + 16);
+            final float retweetsOfSmallAccountsPercentage = buffer.getFloat(offset + 20);
+            final float retweetsOfSelfMentionsPercentage = buffer.getFloat(offset + 24);
+            final float mentionsOutsideOfRetweetsPercentage = buffer.getFloat(offset + 28);
+            final float retweetsOfNonFollowedUsersPercentage = buffer.getFloat(offset + 32);
+            final long checksum = buffer.getLong(offset + 40);
+            final long expectedChecksum = checksumOf(userIdInSlot, computedAt, goodRetweetPercentage, retweetsOfSmallAccountsPercentage, retweetsOfSelfMentionsPercentage, mentionsOutsideOfRetweetsPercentage, retweetsOfNonFollowedUsersPercentage);
+            if (checksum != expectedChecksum || computedAt < computedNotBefore) {
+                return null;
+            }
+            return new TwitterUserSnapshot(goodRetweetPercentage, retweetsOfSmallAccountsPercentage, retweetsOfSelfMentionsPercentage, mentionsOutsideOfRetweetsPercentage, retweetsOfNonFollowedUsersPercentage);
+        }
+        return null;
+    }
+
+    final void put(final long userId, final TwitterUserSnapshot snapshot, final long computedAt) {
+        if (userId == 0) {
+            return;
+        }
+
+        write(offsetToWrite(userId), userId, snapshot, computedAt);
+    }
+
+    // util
+
+    private final void write(final int offset, final long userId, final TwitterUserSnapshot snapshot, final long computedAt) {
+        final float goodRetweetPercentage = snapshot.getGoodRetweetPercentage();
+        final float retweetsOfSmallAccountsPercentage = snapshot.getRetweetsOfSmallAccountsOutOfAllGoodRetweetsPercentage();
+        final float retweetsOfSelfMentionsPercentage = snapshot.getRetweetsOfSelfMentionsPercentage();
+        final float mentionsOutsideOfRetweetsPercentage = snapshot.getMentionsOutsideOfRetweetsPercentage();
+        final float retweetsOfNonFollowedUsersPercentage = snapshot.getRetweetsOfNonFollowedUsersOutOfGoodRetweetsPercentage();
+
+        buffer.putLong(offset + KEY_OFFSET, userId);
+        buffer.putLong(offset + TIMESTAMP_OFFSET, computedAt);
+        buffer.putFloat(offset + 16, goodRetweetPercentage);
+        buffer.putFloat(offset + 20, retweetsOfSmallAccountsPercentage);
+        buffer.putFloat(offset + 24, retweetsOfSelfMentionsPercentage);
+        buffer.putFloat(offset + 28, mentionsOutsideOfRetweetsPercentage);
+        buffer.putFloat(offset + 32, retweetsOfNonFollowedUsersPercentage);
+        buffer.putLong(offset + 40, checksumOf(userId, computedAt, goodRetweetPercentage, retweetsOfSmallAccountsPercentage, retweetsOfSelfMentionsPercentage, mentionsOutsideOfRetweetsPercentage, retweetsOfNonFollowedUsersPercentage));
+    }
+
+    private static long checksumOf(final long userId, final long computedAt, final float... percentages) {
+        long checksum = checksumOf(userId);
+        checksum = checksum(checksum, computedAt);
+        for (final float percentage : percentages) {
+            checksum = checksum(checksum, Float.floatToRawIntBits(percentage));
+        }
+        return checksum;
+    }
+
+}
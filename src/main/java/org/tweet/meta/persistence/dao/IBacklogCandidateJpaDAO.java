@@ -0,0 +1,28 @@
+package org.tweet.meta.persistence.dao;
+
+import java.util.Date;
+import java.util.List;
+
+import org.common.persistence.IOperations;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.tweet.meta.persistence.model.BacklogCandidate;
+import org.tweet.twitter.service.TweetType;
+
+public interface IBacklogCandidateJpaDAO extends JpaRepository<BacklogCandidate, Long>, IOperations<BacklogCandidate> {
+
+    // find - one
+
+    BacklogCandidate findOneByTweetIdAndTwitterAccount(final long tweetId, final String twitterAccount);
+
+    // find - all
+
+    /** best first */
+    List<BacklogCandidate> findAllByTwitterAccountAndTweetTypeAndExpiresAfterOrderByValueDesc(final String twitterAccount, final TweetType tweetType, final Date now);
+
+    List<BacklogCandidate> findAllByExpiresBefore(final Date now);
+
+    // count
+
+    long countByTwitterAccountAndTweetTypeAndExpiresAfter(final String twitterAccount, final TweetType tweetType, final Date now);
+
+}
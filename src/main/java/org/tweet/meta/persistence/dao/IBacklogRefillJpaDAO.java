@@ -0,0 +1,9 @@
+package org.tweet.meta.persistence.dao;
+
+import org.common.persistence.IOperations;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.tweet.meta.persistence.model.BacklogRefill;
+
+public interface IBacklogRefillJpaDAO extends JpaRepository<BacklogRefill, Long>, IOperations<BacklogRefill> {
+    //
+}
@@ -1,5 +1,6 @@
 package org.tweet.meta.persistence.dao;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.common.persistence.IOperations;
@@ -35,6 +36,14 @@ public interface IRetweetJpaDAO extends JpaRepository<Retweet, Long>, IOperation
 
     List<Retweet> findAllByTwitterAccount(final String twitterAccount);
 
+    // find - ids
+
+    @Query("select r.tweetId from Retweet r where r.twitterAccount = ?1")
+    List<Long> findTweetIdsByTwitterAccount(final String twitterAccount);
+
+    @Query("select r.tweetId from Retweet r where r.twitterAccount = ?1 and r.tweetId in ?2")
+    List<Long> findTweetIdsByTwitterAccountAndTweetIdIn(final String twitterAccount, final Collection<Long> tweetIds);
+
     // count
 
     @Query("select count(r) from Retweet r where r.twitterAccount = ?1")
@@ -0,0 +1,182 @@
+package org.tweet.meta.persistence.model;
+
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+import org.common.persistence.IEntity;
+import org.tweet.twitter.service.TweetType;
+import org.tweet.twitter.util.TwitterInteraction;
+
+/**
+ * A candidate tweet that was found and scored for an account, but not yet tried - kept until it is tried, or expires
+ */
+@Entity
+@Table(name = "backlog_candidate", uniqueConstraints = @UniqueConstraint(columnNames = { "tweetId", "twitterAccount" }))
+public class BacklogCandidate implements IEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(name = "BC_ID")
+    private long id;
+
+    @Column(nullable = false)
+    private long tweetId;
+
+    @Column(nullable = false)
+    private String twitterAccount;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private TweetType tweetType;
+
+    /** the hashtag or word the tweet was found by */
+    @Column(nullable = false)
+    private String tag;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private TwitterInteraction interaction;
+
+    @Column(nullable = false)
+    private float value;
+
+    @Column(nullable = false)
+    private Date expires;
+
+    public BacklogCandidate() {
+        super();
+    }
+
+    public BacklogCandidate(final long tweetId, final String twitterAccount, final TweetType tweetType, final String tag, final TwitterInteraction interaction, final float value, final Date expires) {
+        super();
+
+        this.tweetId = tweetId;
+        this.twitterAccount = twitterAccount;
+        this.tweetType = tweetType;
+        this.tag = tag;
+        this.interaction = interaction;
+        this.value = value;
+        this.expires = expires;
+    }
+
+    // API
+
+    @Override
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public void setId(final long id) {
+        this.id = id;
+    }
+
+    public long getTweetId() {
+        return tweetId;
+    }
+
+    public void setTweetId(final long tweetId) {
+        this.tweetId = tweetId;
+    }
+
+    public String getTwitterAccount() {
+        return twitterAccount;
+    }
+
+    public void setTwitterAccount(final String twitterAccount) {
+        this.twitterAccount = twitterAccount;
+    }
+
+    public TweetType getTweetType() {
+        return tweetType;
+    }
+
+    public void setTweetType(final TweetType tweetType) {
+        this.tweetType = tweetType;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public void setTag(final String tag) {
+        this.tag = tag;
+    }
+
+    public TwitterInteraction getInteraction() {
+        return interaction;
+    }
+
+    public void setInteraction(final TwitterInteraction interaction) {
+        this.interaction = interaction;
+    }
+
+    public float getValue() {
+        return value;
+    }
+
+    public void setValue(final float value) {
+        this.value = value;
+    }
+
+    public Date getExpires() {
+        return expires;
+    }
+
+    public void setExpires(final Date expires) {
+        this.expires = expires;
+    }
+
+    //
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + (int) (tweetId ^ (tweetId >>> 32));
+        result = prime * result + ((twitterAccount == null) ? 0 : twitterAccount.hashCode());
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final BacklogCandidate other = (BacklogCandidate) obj;
+        if (tweetId != other.tweetId) {
+            return false;
+        }
+        if (twitterAccount == null) {
+            if (other.twitterAccount != null) {
+                return false;
+            }
+        } else if (!twitterAccount.equals(other.twitterAccount)) {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("BacklogCandidate [tweetId=").append(tweetId).append(", twitterAccount=").append(twitterAccount).append(", tag=").append(tag).append(", value=").append(value).append(", expires=").append(expires).append("]");
+        return builder.toString();
+    }
+
+}
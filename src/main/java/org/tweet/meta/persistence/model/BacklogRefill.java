@@ -0,0 +1,130 @@
+package org.tweet.meta.persistence.model;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+import org.common.persistence.IEntity;
+import org.tweet.twitter.service.TweetType;
+
+/**
+ * How the backlog of an account is refilled - the same way its slot searches: all the tags of the account, as hashtags or as words <br/>
+ * - persisted, so the prefetcher knows the accounts to refill right after a restart, before their slots run again
+ */
+@Entity
+@Table(name = "backlog_refill", uniqueConstraints = @UniqueConstraint(columnNames = { "twitterAccount", "tweetType" }))
+public class BacklogRefill implements IEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(name = "BR_ID")
+    private long id;
+
+    @Column(nullable = false)
+    private String twitterAccount;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private TweetType tweetType;
+
+    @Column(nullable = false)
+    private boolean byWord;
+
+    public BacklogRefill() {
+        super();
+    }
+
+    public BacklogRefill(final String twitterAccount, final TweetType tweetType, final boolean byWord) {
+        super();
+
+        this.twitterAccount = twitterAccount;
+        this.tweetType = tweetType;
+        this.byWord = byWord;
+    }
+
+    // API
+
+    @Override
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public void setId(final long id) {
+        this.id = id;
+    }
+
+    public String getTwitterAccount() {
+        return twitterAccount;
+    }
+
+    public void setTwitterAccount(final String twitterAccount) {
+        this.twitterAccount = twitterAccount;
+    }
+
+    public TweetType getTweetType() {
+        return tweetType;
+    }
+
+    public void setTweetType(final TweetType tweetType) {
+        this.tweetType = tweetType;
+    }
+
+    public boolean isByWord() {
+        return byWord;
+    }
+
+    public void setByWord(final boolean byWord) {
+        this.byWord = byWord;
+    }
+
+    //
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((twitterAccount == null) ? 0 : twitterAccount.hashCode());
+        result = prime * result + ((tweetType == null) ? 0 : tweetType.hashCode());
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final BacklogRefill other = (BacklogRefill) obj;
+        if (tweetType != other.tweetType) {
+            return false;
+        }
+        if (twitterAccount == null) {
+            if (other.twitterAccount != null) {
+                return false;
+            }
+        } else if (!twitterAccount.equals(other.twitterAccount)) {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("BacklogRefill [twitterAccount=").append(twitterAccount).append(", tweetType=").append(tweetType).append(", byWord=").append(byWord).append("]");
+        return builder.toString();
+    }
+
+}
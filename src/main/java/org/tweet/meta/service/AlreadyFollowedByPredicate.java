@@ -1,19 +1,18 @@
 package org.tweet.meta.service;
 
-import java.util.Set;
-
 import javax.annotation.Nullable;
 
 import org.springframework.social.twitter.api.TwitterProfile;
+import org.tweet.twitter.util.FriendIds;
 
 import com.google.api.client.util.Preconditions;
 import com.google.common.base.Predicate;
 
 public class AlreadyFollowedByPredicate implements Predicate<TwitterProfile> {
 
-    private final Set<Long> alreadyFollowedAccounts;
+    private final FriendIds alreadyFollowedAccounts;
 
-    public AlreadyFollowedByPredicate(final Set<Long> alreadyFollowedAccounts) {
+    public AlreadyFollowedByPredicate(final FriendIds alreadyFollowedAccounts) {
         super();
 
         this.alreadyFollowedAccounts = Preconditions.checkNotNull(alreadyFollowedAccounts);
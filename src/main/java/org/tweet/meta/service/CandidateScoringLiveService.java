@@ -0,0 +1,200 @@
+package org.tweet.meta.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.common.metrics.MetricsUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.social.twitter.api.Tweet;
+import org.springframework.stereotype.Service;
+import org.tweet.meta.component.TweetVerdict;
+import org.tweet.meta.component.TweetVerdictCache;
+import org.tweet.spring.util.SpringProfileUtil;
+import org.tweet.twitter.util.TwitterInteractionWithValue;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Scores candidate tweets (see {@link InteractionLiveService#determineBestInteraction(Tweet, String)}) in parallel <br/>
+ * - bounded: a shared pool of threads, and a cap on how many candidates of the same account are scored at the same time - see {@link PermitHoldingTask} <br/>
+ * - each run has a deadline - the candidates not scored by then are dropped, and the run goes on with the ones that were <br/>
+ * - the candidates of a run are scored as one batch - see {@link InteractionBatch} <br/>
+ */
+@Service
+@Profile(SpringProfileUtil.LIVE)
+public class CandidateScoringLiveService implements InitializingBean, DisposableBean {
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private ExecutorService scoringExecutor;
+    private final ConcurrentMap<String, Semaphore> permitsByAccount = Maps.newConcurrentMap();
+    private int threadsPerAccount;
+    private long deadlineMillis;
+
+    @Autowired
+    private InteractionLiveService interactionLiveService;
+
+    @Autowired
+    private TweetVerdictCache tweetVerdictCache;
+
+    @Autowired
+    private Environment env;
+
+    @Autowired
+    private MetricRegistry metrics;
+
+    public CandidateScoringLiveService() {
+        super();
+    }
+
+    // API
+
+    /**
+     * - the candidates that were scored before the deadline, each with its score - in the original order <br/>
+     * - a candidate already scored on this account by an earlier run keeps that score, and is not scored again - see {@link TweetVerdictCache} <br/>
+     * - note: will NOT return null
+     */
+    public final List<Pair<TwitterInteractionWithValue, Tweet>> score(final List<Tweet> candidates, final String twitterAccount) {
+        final long deadline = System.currentTimeMillis() + deadlineMillis;
+        final Semaphore permits = permitsOf(twitterAccount);
+
+        final Map<Tweet, TwitterInteractionWithValue> alreadyScored = Maps.newIdentityHashMap();
+        final List<Tweet> toScore = Lists.newArrayList();
+        for (final Tweet candidate : candidates) {
+            final TweetVerdict verdict = tweetVerdictCache.get(candidate.getId(), twitterAccount);
+            if (verdict == null) {
+                toScore.add(candidate);
+            } else if (!verdict.isRejected()) {
+                alreadyScored.put(candidate, verdict.getInteraction());
+            }
+        }
+
+        final InteractionBatch batch = interactionLiveService.newBatch(toScore, twitterAccount);
+        final Map<Tweet, Future<TwitterInteractionWithValue>> futures = Maps.newIdentityHashMap();
+        for (final Tweet candidate : toScore) {
+            if (!acquire(permits, deadline)) {
+                break;
+            }
+            final PermitHoldingTask<TwitterInteractionWithValue> task = new PermitHoldingTask<TwitterInteractionWithValue>(new Callable<TwitterInteractionWithValue>() {
+                @Override
+                public final TwitterInteractionWithValue call() {
+                    return interactionLiveService.determineBestInteraction(candidate, batch);
+                }
+            }, permits);
+            try {
+                scoringExecutor.execute(task);
+            } catch (final RuntimeException submitEx) {
+                task.cancel(false);
+                throw submitEx;
+            }
+            futures.put(candidate, task);
+        }
+
+        final List<Pair<TwitterInteractionWithValue, Tweet>> valuesAndTweets = Lists.newArrayList();
+        for (final Tweet candidate : candidates) {
+            TwitterInteractionWithValue interactionValue = alreadyScored.get(candidate);
+            final Future<TwitterInteractionWithValue> future = futures.get(candidate);
+            if (future != null) {
+                interactionValue = waitForScore(future, deadline, candidate);
+                if (interactionValue != null) {
+                    tweetVerdictCache.scored(candidate.getId(), twitterAccount, interactionValue);
+                }
+            }
+            if (interactionValue != null) {
+                valuesAndTweets.add(new ImmutablePair<TwitterInteractionWithValue, Tweet>(interactionValue, candidate));
+            }
+        }
+
+        final int dropped = candidates.size() - valuesAndTweets.size();
+        metrics.counter(MetricsUtil.Meta.SCORING_COMPLETED).inc(valuesAndTweets.size() - alreadyScored.size());
+        if (dropped > 0) {
+            metrics.counter(MetricsUtil.Meta.SCORING_DROPPED).inc(dropped);
+            logger.warn("Scored {} out of {} candidates on twitterAccount= {} - the rest were dropped", valuesAndTweets.size(), candidates.size(), twitterAccount);
+        }
+        return valuesAndTweets;
+    }
+
+    // util
+
+    private final Semaphore permitsOf(final String twitterAccount) {
+        final Semaphore existingPermits = permitsByAccount.get(twitterAccount);
+        if (existingPermits != null) {
+            return existingPermits;
+        }
+        final Semaphore newPermits = new Semaphore(threadsPerAccount);
+        final Semaphore concurrentlyCreatedPermits = permitsByAccount.putIfAbsent(twitterAccount, newPermits);
+        return (concurrentlyCreatedPermits != null) ? concurrentlyCreatedPermits : newPermits;
+    }
+
+    private final boolean acquire(final Semaphore permits, final long deadline) {
+        try {
+            return permits.tryAcquire(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException interruptedEx) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * - note: will return null if the candidate was not scored before the deadline, or could not be scored
+     */
+    private final TwitterInteractionWithValue waitForScore(final Future<TwitterInteractionWithValue> future, final long deadline, final Tweet candidate) {
+        try {
+            return future.get(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException timeoutEx) {
+            future.cancel(true);
+            return null;
+        } catch (final ExecutionException executionEx) {
+            logger.error("Unable to score candidate tweet= " + candidate.getId(), executionEx.getCause());
+            return null;
+        } catch (final InterruptedException interruptedEx) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    // spring
+
+    /**
+     * - twitter.scoring.threads - the number of threads scoring candidates, across all accounts - default = 8 <br/>
+     * - twitter.scoring.account.threads - the maximum number of candidates of the same account scored at the same time - default = 4 <br/>
+     * - twitter.scoring.deadline - the maximum time (in seconds) a run waits for its candidates to be scored - default = 90 <br/>
+     * - when all threads are busy, the calling thread scores the candidate itself
+     */
+    @Override
+    public final void afterPropertiesSet() {
+        final int threads = env.getProperty("twitter.scoring.threads", Integer.class, 8);
+        threadsPerAccount = env.getProperty("twitter.scoring.account.threads", Integer.class, 4);
+        deadlineMillis = TimeUnit.SECONDS.toMillis(env.getProperty("twitter.scoring.deadline", Integer.class, 90));
+
+        final ThreadFactoryBuilder threadFactory = new ThreadFactoryBuilder().setNameFormat("twitter-scoring-%d").setDaemon(true);
+        scoringExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(threads * 4), threadFactory.build(), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Override
+    public final void destroy() {
+        scoringExecutor.shutdownNow();
+    }
+
+}
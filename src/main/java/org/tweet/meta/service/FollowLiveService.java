@@ -2,7 +2,7 @@ package org.tweet.meta.service;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
@@ -15,6 +15,7 @@ import org.springframework.stereotype.Service;
 import org.stackexchange.util.TwitterAccountEnum;
 import org.tweet.spring.util.SpringProfileUtil;
 import org.tweet.twitter.service.live.UserLiveService;
+import org.tweet.twitter.util.FriendIds;
 import org.tweet.twitter.util.TwitterInteractionWithValue;
 
 import com.google.common.base.Predicates;
@@ -36,22 +37,25 @@ public class FollowLiveService {
 
     // API
 
-    public final void followBestUser(final String myAccount, final String keyword) {
+    /**
+     * - returns true if a user was followed, false if none was worth following
+     */
+    public final boolean followBestUser(final String myAccount, final String keyword) {
         final List<TwitterProfile> usersByKeyword = userLiveService.searchForUsers(keyword);
-        final Set<Long> alreadyFollowedAccounts = userLiveService.getIdsOfAccountsFollowedByMyAccount(myAccount);
+        final FriendIds alreadyFollowedAccounts = userLiveService.getIdsOfAccountsFollowedByMyAccount(myAccount);
         final Iterable<TwitterProfile> newAccountsToFollow = Iterables.filter(usersByKeyword, Predicates.not(new AlreadyFollowedByPredicate(alreadyFollowedAccounts)));
         final Iterable<TwitterProfile> newAccountsToFollowWithoutMyself = Iterables.filter(newAccountsToFollow, Predicates.not(new IsMyselfPredicate(myAccount)));
 
         final List<Pair<String, TwitterInteractionWithValue>> interactionValues = Lists.newArrayList();
 
-        for (final TwitterProfile twitterProfile : newAccountsToFollowWithoutMyself) {
-            final TwitterInteractionWithValue interactionWithAuthor = interactionLiveService.determineBestInteractionWithAuthorLive(twitterProfile, twitterProfile.getScreenName(), TwitterAccountEnum.ScalaFact.name());
-            interactionValues.add(new ImmutablePair<String, TwitterInteractionWithValue>(twitterProfile.getScreenName(), interactionWithAuthor));
+        final Map<String, TwitterInteractionWithValue> interactionsWithAuthors = interactionLiveService.determineBestInteractionsWithAuthorsLive(newAccountsToFollowWithoutMyself, TwitterAccountEnum.ScalaFact.name());
+        for (final Map.Entry<String, TwitterInteractionWithValue> interactionWithAuthor : interactionsWithAuthors.entrySet()) {
+            interactionValues.add(new ImmutablePair<String, TwitterInteractionWithValue>(interactionWithAuthor.getKey(), interactionWithAuthor.getValue()));
         }
 
         if (interactionValues.isEmpty()) {
             logger.warn("Found no user to follow for account= {} and keyword= {}", myAccount, keyword);
-            return;
+            return false;
         }
 
         class OrderingByValue extends Ordering<Pair<String, TwitterInteractionWithValue>> {
@@ -65,6 +69,7 @@ public class FollowLiveService {
 
         final String screenNameOfBestValueUser = interactionValues.get(0).getLeft();
         userLiveService.followUser(myAccount, screenNameOfBestValueUser);
+        return true;
     }
 
 }
@@ -0,0 +1,85 @@
+package org.tweet.meta.service;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.springframework.social.twitter.api.TwitterProfile;
+import org.tweet.meta.TwitterUserSnapshot;
+import org.tweet.twitter.util.TwitterInteractionWithValue;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.Maps;
+
+/**
+ * The live work shared by all the candidates scored together (see {@link InteractionLiveService#newBatch(java.util.Collection, String)}) <br/>
+ * - the profiles of all the mentioned users, resolved in bulk up front <br/>
+ * - the snapshot of each user, and the best interaction with each user - each computed once per batch, no matter how many candidates need it <br/>
+ * - safe to share between threads - a thread that needs a user already being analyzed by another thread waits for that result instead of redoing the work
+ */
+public final class InteractionBatch {
+
+    private final String twitterAccount;
+    private final Map<String, TwitterProfile> profilesOfMentionedUsers;
+    private final ConcurrentMap<String, FutureTask<TwitterUserSnapshot>> snapshotsByUser = Maps.newConcurrentMap();
+    private final ConcurrentMap<String, FutureTask<TwitterInteractionWithValue>> interactionsByUser = Maps.newConcurrentMap();
+
+    InteractionBatch(final String twitterAccount, final Map<String, TwitterProfile> profilesOfMentionedUsers) {
+        super();
+
+        this.twitterAccount = twitterAccount;
+        this.profilesOfMentionedUsers = profilesOfMentionedUsers;
+    }
+
+    // API
+
+    public final String getTwitterAccount() {
+        return twitterAccount;
+    }
+
+    /**
+     * - note: will return null if the mentioned user does not exist, or was not mentioned in any of the candidates of the batch
+     */
+    final TwitterProfile getProfileOfMentionedUser(final String mention) {
+        return profilesOfMentionedUsers.get(mention);
+    }
+
+    final TwitterUserSnapshot snapshotOf(final String userHandle, final Callable<TwitterUserSnapshot> analysis) {
+        return computeOnce(snapshotsByUser, keyOf(userHandle), analysis);
+    }
+
+    final TwitterInteractionWithValue interactionWith(final String userHandle, final Callable<TwitterInteractionWithValue> scoring) {
+        return computeOnce(interactionsByUser, keyOf(userHandle), scoring);
+    }
+
+    // util
+
+    private static <V> V computeOnce(final ConcurrentMap<String, FutureTask<V>> results, final String key, final Callable<V> computation) {
+        FutureTask<V> result = results.get(key);
+        if (result == null) {
+            final FutureTask<V> newResult = new FutureTask<V>(computation);
+            result = results.putIfAbsent(key, newResult);
+            if (result == null) {
+                result = newResult;
+                newResult.run();
+            }
+        }
+
+        try {
+            return result.get();
+        } catch (final InterruptedException interruptedEx) {
+            Thread.currentThread().interrupt();
+            throw Throwables.propagate(interruptedEx);
+        } catch (final ExecutionException executionEx) {
+            throw Throwables.propagate(executionEx.getCause());
+        }
+    }
+
+    private static String keyOf(final String userHandle) {
+        final String handle = userHandle.startsWith("@") ? userHandle.substring(1) : userHandle;
+        return handle.toLowerCase();
+    }
+
+}
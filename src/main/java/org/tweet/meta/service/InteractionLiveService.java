@@ -1,12 +1,14 @@
 package org.tweet.meta.service;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 import org.apache.commons.lang3.math.NumberUtils;
-import org.keyval.persistence.dao.IKeyValJpaDAO;
-import org.keyval.persistence.model.KeyVal;
+import org.common.metrics.MetricsUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,27 +17,28 @@ import org.springframework.social.twitter.api.Tweet;
 import org.springframework.social.twitter.api.TwitterProfile;
 import org.springframework.stereotype.Service;
 import org.tweet.meta.TwitterUserSnapshot;
-import org.tweet.meta.analysis.TweetPassesSet1ChecksPredicate;
-import org.tweet.meta.analysis.TweetPassesSet2ChecksPredicate;
-import org.tweet.meta.analysis.TweetPassesSet3ChecksPredicate;
+import org.tweet.meta.analysis.TimelineCounts;
+import org.tweet.meta.component.InteractionHistoryIndex;
 import org.tweet.meta.component.TwitterInteractionValuesRetriever;
-import org.tweet.meta.util.TweetIsRetweetPredicate;
+import org.tweet.meta.component.TwitterUserSnapshotStore;
 import org.tweet.spring.util.SpringProfileUtil;
 import org.tweet.twitter.component.DiscouragedExpressionRetriever;
 import org.tweet.twitter.service.TweetMentionService;
 import org.tweet.twitter.service.TweetService;
 import org.tweet.twitter.service.live.TwitterReadLiveService;
 import org.tweet.twitter.service.live.UserLiveService;
+import org.tweet.twitter.service.live.UserTimelineLiveService;
+import org.tweet.twitter.util.FriendIds;
+import org.tweet.twitter.util.TweetRecord;
 import org.tweet.twitter.util.TweetUtil;
 import org.tweet.twitter.util.TwitterInteraction;
 import org.tweet.twitter.util.TwitterInteractionWithValue;
 
+import com.codahale.metrics.MetricRegistry;
 import com.google.api.client.util.Preconditions;
-import com.google.common.base.Function;
-import com.google.common.base.Predicate;
-import com.google.common.base.Predicates;
-import com.google.common.collect.Collections2;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 @Service
 @Profile(SpringProfileUtil.LIVE)
@@ -48,6 +51,9 @@ public class InteractionLiveService {
     @Autowired
     UserLiveService userLiveService;
 
+    @Autowired
+    UserTimelineLiveService userTimelineLiveService;
+
     @Autowired
     TweetService tweetService;
 
@@ -61,7 +67,13 @@ public class InteractionLiveService {
     DiscouragedExpressionRetriever discouragedExpressionRetriever;
 
     @Autowired
-    IKeyValJpaDAO keyValApi;
+    InteractionHistoryIndex interactionHistoryIndex;
+
+    @Autowired
+    MetricRegistry metrics;
+
+    @Autowired
+    TwitterUserSnapshotStore twitterUserSnapshotStore;
 
     public InteractionLiveService() {
         super();
@@ -74,6 +86,13 @@ public class InteractionLiveService {
      * <b>1. THE DATA</b> <br/>
      * - calculate all the data that goes into calculating the type of interaction and the score <br/>
      * - at this stage, no decision about either the best type of interaction, or the score of that interaction is made <br/>
+     * - gathered stage by stage, cheapest first - each stage with its cost: <br/>
+     *  -- the author profile (local) - language, follower and tweet counts - eliminates the author <br/>
+     *  -- the tweet (local) - popularity, self mention, discouraged hashtags - only adjusts the scores <br/>
+     *  -- the mentions (live) - the best interaction with each mentioned user <br/>
+     *  -- the author timeline (live) - eliminates the author <br/>
+     * - an author eliminated by a stage is not analyzed any further - the tweet is then only worth the mentions within it <br/>
+     * - note: so the mentions are analyzed for every candidate, even when the author is eliminated locally - they are what such a tweet is still worth <br/>
      * 
      * <b>2. The SCORES</b> <br/>
      * - calculate the scores for each type of interaction <br/>
@@ -82,18 +101,29 @@ public class InteractionLiveService {
      * - based on these scores, decide what the interaction should be  <br/>
      */
     public final TwitterInteractionWithValue determineBestInteraction(final Tweet tweet, final String twitterAccount) {
+        return determineBestInteraction(tweet, newBatch(Collections.singletonList(tweet), twitterAccount));
+    }
+
+    /**
+     * - live <br/>
+     * - same as {@link #determineBestInteraction(Tweet, String)}, sharing the live work with the other candidates of the batch
+     */
+    public final TwitterInteractionWithValue determineBestInteraction(final Tweet tweet, final InteractionBatch batch) {
         Preconditions.checkState(tweet.getRetweetedStatus() == null);
+        final String twitterAccount = batch.getTwitterAccount();
 
-        // 1. THE DATA
+        // 1. THE DATA - by stage, cheapest first
 
         final String tweetUrl = "https://twitter.com/" + tweet.getFromUser() + "/status/" + tweet.getId();
         final TwitterProfile user = tweet.getUser();
         final String userHandle = tweet.getFromUser();
         final String text = TweetUtil.getText(tweet);
 
-        final TwitterUserSnapshot userSnapshot = analyzeUserInteractionsLive(user, userHandle);
+        // the author profile - local
 
-        final List<Float> valueOfMentions = analyzeValueOfMentionsLive(tweet.getText(), twitterAccount);
+        final boolean authorPassesProfileChecks = passEliminatoryChecksBasedOnUser(user);
+
+        // the tweet - local
 
         final boolean tweetAlreadyMentionsTheAuthor = text.contains("@" + tweet.getFromUser());
 
@@ -102,12 +132,6 @@ public class InteractionLiveService {
         final boolean shouldNotMention = tweetAlreadyMentionsTheAuthor;
         final boolean shouldNotRetweet = isTweetToPopular(tweet);
 
-        // 2. THE SCORES
-
-        float valueWithinMentions = valueOfMentions(valueOfMentions);
-        float valueOfMention = calculateUserMentionInteractionScore(userSnapshot, user);
-        float valueOfRetweet = calculateUserRetweetInteractionScore(userSnapshot, user);
-
         // + scores (augment scores with some uumf based on how popular the tweet was to begin with) - it does so simply to (later on) hike the retweet count if necessary - not to differentiate between the 3 scores
         final int addToScoreBasedOnHowPopularTheRetweetIs;
         if (tweet.getRetweetCount() == 0) {
@@ -115,40 +139,38 @@ public class InteractionLiveService {
         } else {
             addToScoreBasedOnHowPopularTheRetweetIs = (int) Math.log(tweet.getRetweetCount() * tweet.getRetweetCount());
         }
-        valueWithinMentions = valueWithinMentions + addToScoreBasedOnHowPopularTheRetweetIs;
-        valueOfMention = valueOfMention + addToScoreBasedOnHowPopularTheRetweetIs;
-        valueOfRetweet = valueOfRetweet + addToScoreBasedOnHowPopularTheRetweetIs;
 
-        // newest
-        final String author = tweet.getFromUser();
-        valueOfMention = modifyValueBasedOnHistory(author, twitterAccount, valueOfMention);
-        valueOfRetweet = modifyValueBasedOnHistory(author, twitterAccount, valueOfRetweet);
+        final boolean foundDiscouraged = containsDiscouragedHashtag(tweet, twitterAccount);
 
-        // new
-        boolean foundDiscouraged = false;
-        final List<String> hashtags = tweetService.getHashtags(tweet);
-        final List<String> discouraged = discouragedExpressionRetriever.discouraged(twitterAccount);
-        for (final String hashtag : hashtags) {
-            if (discouraged.contains(hashtag)) {
-                foundDiscouraged = true;
-                break;
-            }
+        // the mentions - live
+
+        final List<Float> valueOfMentions = analyzeValueOfMentionsLive(tweet.getText(), batch);
+        final float valueWithinMentions = adjustValueBasedOnTweet(valueOfMentions(valueOfMentions), addToScoreBasedOnHowPopularTheRetweetIs, foundDiscouraged);
+
+        // deal with None - the author is out; the tweet is only worth the mentions within it
+
+        if (!authorPassesProfileChecks) {
+            return eliminatedBy(MetricsUtil.Meta.SCORING_ELIMINATED_BY_AUTHOR_PROFILE, "author profile", tweet, valueWithinMentions);
         }
-        if (foundDiscouraged) {
-            final int percentageToDecrease = 75;
-            valueWithinMentions = valueWithinMentions * percentageToDecrease / 100;
-            valueOfMention = valueOfMention * percentageToDecrease / 100;
-            valueOfRetweet = valueOfRetweet * percentageToDecrease / 100;
+
+        // the author timeline - live
+
+        final TwitterUserSnapshot userSnapshot = analyzeUserInteractionsLive(user, userHandle, batch);
+        if (!passEliminatoryChecksBasedOnUserStats(userSnapshot, userHandle)) {
+            return eliminatedBy(MetricsUtil.Meta.SCORING_ELIMINATED_BY_AUTHOR_TIMELINE, "author timeline", tweet, valueWithinMentions);
         }
 
-        // 3. THE INTERACTION
+        // 2. THE SCORES
 
-        // deal with None
+        float valueOfMention = calculateUserMentionInteractionScore(userSnapshot, user) + addToScoreBasedOnHowPopularTheRetweetIs;
+        float valueOfRetweet = calculateUserRetweetInteractionScore(userSnapshot, user) + addToScoreBasedOnHowPopularTheRetweetIs;
 
-        if (!passEliminatoryChecksBasedOnUser(user) || !passEliminatoryChecksBasedOnUserStats(userSnapshot, userHandle)) {
-            logger.info("No value in interacting with the user= {} - should not retweet tweet= {}", tweet.getFromUser(), text);
-            return new TwitterInteractionWithValue(TwitterInteraction.None, valueWithinMentions);
-        }
+        // newest
+        final String author = tweet.getFromUser();
+        valueOfMention = adjustValueBasedOnTweet(modifyValueBasedOnHistory(author, twitterAccount, valueOfMention), 0, foundDiscouraged);
+        valueOfRetweet = adjustValueBasedOnTweet(modifyValueBasedOnHistory(author, twitterAccount, valueOfRetweet), 0, foundDiscouraged);
+
+        // 3. THE INTERACTION
 
         // determine the interaction
 
@@ -176,14 +198,49 @@ public class InteractionLiveService {
         }
     }
 
+    /**
+     * - live <br/>
+     * - scores all these candidates together - each distinct author and mentioned user is analyzed once, no matter how many of the candidates they show up in <br/>
+     * - the result holds the interaction with each candidate, in the order of the candidates
+     */
+    public final List<TwitterInteractionWithValue> determineBestInteractions(final List<Tweet> tweets, final String twitterAccount) {
+        final InteractionBatch batch = newBatch(tweets, twitterAccount);
+        final List<TwitterInteractionWithValue> interactions = Lists.newArrayListWithCapacity(tweets.size());
+        for (final Tweet tweet : tweets) {
+            interactions.add(determineBestInteraction(tweet, batch));
+        }
+        return interactions;
+    }
+
+    /**
+     * - live <br/>
+     * - starts a batch of candidates to be scored together: resolves the profiles of all the users mentioned in these tweets in as few requests as possible <br/>
+     * - note: the tweets of authors that fail the local checks are included - they are still scored by the mentions within them
+     */
+    public final InteractionBatch newBatch(final Collection<Tweet> tweets, final String twitterAccount) {
+        final Set<String> mentions = Sets.newHashSet();
+        for (final Tweet tweet : tweets) {
+            mentions.addAll(tweetMentionService.extractMentions(tweet.getText()));
+        }
+        if (mentions.isEmpty()) {
+            return new InteractionBatch(twitterAccount, Collections.<String, TwitterProfile> emptyMap());
+        }
+        return new InteractionBatch(twitterAccount, userLiveService.getProfilesOfUsers(mentions));
+    }
+
     /**
      * - live
      */
-    private final List<Float> analyzeValueOfMentionsLive(final String text, final String twitterAccount) {
+    private final List<Float> analyzeValueOfMentionsLive(final String text, final InteractionBatch batch) {
         final List<Float> mentionsAnalyzed = Lists.newArrayList();
         final List<String> mentions = tweetMentionService.extractMentions(text);
-        for (final String mentionedUser : mentions) {
-            final TwitterInteractionWithValue interactionWithAuthor = determineBestInteractionWithAuthorLive(mentionedUser, twitterAccount);
+        for (final String mention : mentions) {
+            final TwitterProfile mentionedUser = batch.getProfileOfMentionedUser(mention);
+            if (mentionedUser == null) {
+                mentionsAnalyzed.add(0f);
+                continue;
+            }
+            final TwitterInteractionWithValue interactionWithAuthor = determineBestInteractionWithAuthorLive(mentionedUser, mentionedUser.getScreenName(), batch);
             mentionsAnalyzed.add(interactionWithAuthor.getVal());
         }
 
@@ -201,6 +258,38 @@ public class InteractionLiveService {
         return score;
     }
 
+    /**
+     * - local
+     */
+    private final boolean containsDiscouragedHashtag(final Tweet tweet, final String twitterAccount) {
+        final List<String> hashtags = tweetService.getHashtags(tweet);
+        final List<String> discouraged = discouragedExpressionRetriever.discouraged(twitterAccount);
+        for (final String hashtag : hashtags) {
+            if (discouraged.contains(hashtag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * - local
+     */
+    private final float adjustValueBasedOnTweet(final float value, final int addToScoreBasedOnHowPopularTheRetweetIs, final boolean foundDiscouraged) {
+        final float valueOfPopularTweet = value + addToScoreBasedOnHowPopularTheRetweetIs;
+        if (foundDiscouraged) {
+            final int percentageToDecrease = 75;
+            return valueOfPopularTweet * percentageToDecrease / 100;
+        }
+        return valueOfPopularTweet;
+    }
+
+    private final TwitterInteractionWithValue eliminatedBy(final String eliminatedMetric, final String stage, final Tweet tweet, final float valueWithinMentions) {
+        metrics.counter(eliminatedMetric).inc();
+        logger.info("No value in interacting with the user= {} (stage= {}) - should not retweet tweet= {}", tweet.getFromUser(), stage, TweetUtil.getText(tweet));
+        return new TwitterInteractionWithValue(TwitterInteraction.None, valueWithinMentions);
+    }
+
     // util
 
     final float modifyValueBasedOnHistory(final float valueToModify, final int valueOfAuthorInteraction) {
@@ -228,16 +317,39 @@ public class InteractionLiveService {
      * - <b>local</b>: everything else
      */
     public TwitterInteractionWithValue determineBestInteractionWithAuthorLive(final TwitterProfile user, final String userHandle, final String twitterAccount) {
-        if (!passEliminatoryChecksBasedOnUser(user)) {
-            return new TwitterInteractionWithValue(TwitterInteraction.None, 0);
-        }
+        return determineBestInteractionWithAuthorLive(user, userHandle, newBatch(Collections.<Tweet> emptyList(), twitterAccount));
+    }
 
-        final TwitterUserSnapshot userSnapshot = analyzeUserInteractionsLive(user, userHandle);
-        if (!passEliminatoryChecksBasedOnUserStats(userSnapshot, userHandle)) {
-            return new TwitterInteractionWithValue(TwitterInteraction.None, 0);
+    /**
+     * - live <br/>
+     * - scores all these users together, sharing the live work between them <br/>
+     * - the keys of the result are the screen names of the users, in the order of the users
+     */
+    public final Map<String, TwitterInteractionWithValue> determineBestInteractionsWithAuthorsLive(final Iterable<TwitterProfile> users, final String twitterAccount) {
+        final InteractionBatch batch = newBatch(Collections.<Tweet> emptyList(), twitterAccount);
+        final Map<String, TwitterInteractionWithValue> interactionsByUser = Maps.newLinkedHashMap();
+        for (final TwitterProfile user : users) {
+            interactionsByUser.put(user.getScreenName(), determineBestInteractionWithAuthorLive(user, user.getScreenName(), batch));
         }
+        return interactionsByUser;
+    }
+
+    final TwitterInteractionWithValue determineBestInteractionWithAuthorLive(final TwitterProfile user, final String userHandle, final InteractionBatch batch) {
+        return batch.interactionWith(userHandle, new Callable<TwitterInteractionWithValue>() {
+            @Override
+            public final TwitterInteractionWithValue call() {
+                if (!passEliminatoryChecksBasedOnUser(user)) {
+                    return new TwitterInteractionWithValue(TwitterInteraction.None, 0);
+                }
+
+                final TwitterUserSnapshot userSnapshot = analyzeUserInteractionsLive(user, userHandle, batch);
+                if (!passEliminatoryChecksBasedOnUserStats(userSnapshot, userHandle)) {
+                    return new TwitterInteractionWithValue(TwitterInteraction.None, 0);
+                }
 
-        return decideAndScoreBestInteractionWithUser(userSnapshot, user, twitterAccount);
+                return decideAndScoreBestInteractionWithUser(userSnapshot, user, batch.getTwitterAccount());
+            }
+        });
     }
 
     private final boolean passEliminatoryChecksBasedOnUser(final TwitterProfile user) {
@@ -323,10 +435,8 @@ public class InteractionLiveService {
 
     private final float modifyValueBasedOnHistory(final String author, final String twitterAccount, final float valueToModify) {
         float result = valueToModify;
-        final String keyOfAuthorInteractionHistory = "interaction." + twitterAccount + "." + author;
-        final KeyVal authorInteractionHistory = keyValApi.findByKey(keyOfAuthorInteractionHistory);
-        if (authorInteractionHistory != null) {
-            final int valueOfAuthorInteraction = Integer.valueOf(authorInteractionHistory.getValue());
+        final Integer valueOfAuthorInteraction = interactionHistoryIndex.getInteractionValue(twitterAccount, author);
+        if (valueOfAuthorInteraction != null) {
             logger.info("Based on the interaction history with twitterAccount= {}, all values are modified with= {}", author, valueOfAuthorInteraction);
 
             // valueWithinMentions is not affected
@@ -419,46 +529,63 @@ public class InteractionLiveService {
     }
 
     /**
-     * - <b>live</b>: interacts with the twitter API <br/>
+     * - <b>live</b>: interacts with the twitter API - unless the user was already analyzed in this batch, or a recent enough snapshot of the user is already stored <br/>
      */
+    private final TwitterUserSnapshot analyzeUserInteractionsLive(final TwitterProfile user, final String userHandle, final InteractionBatch batch) {
+        return batch.snapshotOf(userHandle, new Callable<TwitterUserSnapshot>() {
+            @Override
+            public final TwitterUserSnapshot call() {
+                return analyzeUserInteractionsLive(user, userHandle);
+            }
+        });
+    }
+
     private final TwitterUserSnapshot analyzeUserInteractionsLive(final TwitterProfile user, final String userHandle) {
+        final TwitterUserSnapshot storedSnapshot = twitterUserSnapshotStore.get(user.getId());
+        if (storedSnapshot != null) {
+            return storedSnapshot;
+        }
+
+        return analyzeUserInteractionsLiveInternal(user, userHandle);
+    }
+
+    private final TwitterUserSnapshot analyzeUserInteractionsLiveInternal(final TwitterProfile user, final String userHandle) {
         final int pagesToAnalyze = twitterInteractionValuesRetriever.getPagesToAnalyze();
-        final List<Tweet> tweetsOfAccount = twitterReadLiveService.listTweetsOfAccountMultiRequestRaw(userHandle, pagesToAnalyze);
+        final List<TweetRecord> tweetsOfAccount = userTimelineLiveService.listTweetsOfAccount(userHandle, pagesToAnalyze);
 
-        final int goodRetweets = countGoodRetweets(tweetsOfAccount);
+        final TimelineCounts counts = TimelineCounts.of(tweetsOfAccount, userHandle, twitterInteractionValuesRetriever.getLargeAccountDefinition());
+
+        final int goodRetweets = counts.getGoodRetweets();
         final float goodRetweetsPercentage = (goodRetweets * 100.0f) / (pagesToAnalyze * 200);
 
-        final int goodRetweetsOfSmallAccounts;
         final float retweetsOfSmallAccountsOutOfAllGoodRetweetsPercentage;
         if (goodRetweets > 0) {
-            goodRetweetsOfSmallAccounts = countRetweetsOfNonLargeAccounts(tweetsOfAccount);
-            retweetsOfSmallAccountsOutOfAllGoodRetweetsPercentage = (goodRetweetsOfSmallAccounts * 100.0f) / goodRetweets;
+            retweetsOfSmallAccountsOutOfAllGoodRetweetsPercentage = (counts.getGoodRetweetsOfNonLargeAccounts() * 100.0f) / goodRetweets;
         } else {
-            goodRetweetsOfSmallAccounts = 0;
             retweetsOfSmallAccountsOutOfAllGoodRetweetsPercentage = 0;
         }
 
-        final int retweetsOfSelfMentions = countRetweetsOfTweetsThatMentionsSelf(tweetsOfAccount, userHandle);
-        final float retweetsOfSelfMentionsPercentage = (retweetsOfSelfMentions * 100.0f) / (pagesToAnalyze * 200);
-
-        final int mentions = countMentionsOutsideOfRetweets(tweetsOfAccount);
-        final float mentionsPercentage = (mentions * 100.0f) / (pagesToAnalyze * 200);
+        final float retweetsOfSelfMentionsPercentage = (counts.getRetweetsOfSelfMentions() * 100.0f) / (pagesToAnalyze * 200);
+        final float mentionsPercentage = (counts.getMentionsOutsideOfRetweets() * 100.0f) / (pagesToAnalyze * 200);
 
-        final int retweetsOfNonFollowedUsers;
         final float retweetsOfNonFollowedUsersOutOfGoodRetweetsPercentage;
         if (goodRetweets > 0) {
-            retweetsOfNonFollowedUsers = countRetweetsOfAccountsTheyDoNotFollow(tweetsOfAccount, user);
+            final int retweetsOfNonFollowedUsers = countRetweetsOfAccountsTheyDoNotFollow(counts.getAuthorIdsOfGoodRetweets(), user);
             if (retweetsOfNonFollowedUsers > 0) {
                 retweetsOfNonFollowedUsersOutOfGoodRetweetsPercentage = (retweetsOfNonFollowedUsers * 100.0f) / goodRetweets;
             } else {
                 retweetsOfNonFollowedUsersOutOfGoodRetweetsPercentage = 0;
             }
         } else {
-            retweetsOfNonFollowedUsers = 0;
             retweetsOfNonFollowedUsersOutOfGoodRetweetsPercentage = 0;
         }
 
-        return new TwitterUserSnapshot(goodRetweetsPercentage, retweetsOfSmallAccountsOutOfAllGoodRetweetsPercentage, retweetsOfSelfMentionsPercentage, mentionsPercentage, retweetsOfNonFollowedUsersOutOfGoodRetweetsPercentage);
+        final TwitterUserSnapshot userSnapshot = new TwitterUserSnapshot(goodRetweetsPercentage, retweetsOfSmallAccountsOutOfAllGoodRetweetsPercentage, retweetsOfSelfMentionsPercentage, mentionsPercentage, retweetsOfNonFollowedUsersOutOfGoodRetweetsPercentage);
+        if (!tweetsOfAccount.isEmpty()) {
+            // an empty timeline is (almost always) a failed retrieval - not worth remembering
+            twitterUserSnapshotStore.put(user.getId(), userSnapshot);
+        }
+        return userSnapshot;
     }
 
     private final boolean isWorthInteractingWithBasedOnFollowerCount(final TwitterProfile user) {
@@ -481,118 +608,27 @@ public class InteractionLiveService {
         return false;
     }
 
-    // local counts
-
-    /**
-     * - local
-     */
-    @SuppressWarnings("unchecked")
-    private final int countGoodRetweets(final List<Tweet> tweetsOfAccount) {
-        final Collection<Tweet> retweets = Collections2.filter(tweetsOfAccount, new TweetIsRetweetPredicate());
-
-        final Predicate<Tweet> predicate = Predicates.and(new TweetPassesSet1ChecksPredicate(tweetService), new TweetPassesSet2ChecksPredicate(tweetService), new TweetPassesSet3ChecksPredicate(tweetService));
-        final Collection<Tweet> retweetsPassingChecks123 = Collections2.filter(retweets, predicate);
-        return retweetsPassingChecks123.size();
-    }
-
-    /**
-     * - local
-     */
-    private final int countRetweetsOfNonLargeAccounts(final List<Tweet> tweetsOfAccount) {
-        int count = 0;
-        for (final Tweet tweet : tweetsOfAccount) {
-            if (tweet.isRetweet()) {
-                if (isTweetGoodRetweet(tweet) && tweet.getRetweetedStatus().getUser().getFollowersCount() < twitterInteractionValuesRetriever.getLargeAccountDefinition()) {
-                    count++;
-                }
-            }
-        }
-        return count;
-    }
-
-    /**
-     * - local
-     */
-    private int countRetweetsOfTweetsThatMentionsSelf(final List<Tweet> tweetsOfAccount, final String userHandle) {
-        int count = 0;
-        final String userHandleAsMentioned;
-        if (userHandle.startsWith("@")) {
-            userHandleAsMentioned = userHandle;
-        } else {
-            userHandleAsMentioned = "@" + userHandle;
-        }
-        for (final Tweet tweet : tweetsOfAccount) {
-            if (tweet.isRetweet()) {
-                if (tweetMentionService.extractMentions(tweet.getText()).contains(userHandleAsMentioned)) {
-                    count++;
-                }
-            }
-        }
-        return count;
-    }
+    // counts
 
     /**
-     * - local
+     * - live - the local counts are all collected in a single pass - see {@link TimelineCounts}
      */
-    private boolean isTweetGoodRetweet(final Tweet tweet) {
-        if (!tweet.isRetweet()) {
-            return false;
-        }
-
-        if (!tweetService.passesSet1OfChecks(tweet, null)) {
-            return false;
-        }
-
-        if (!tweetService.passesLanguageChecksForAnalysis(tweet, null)) {
-            return false;
-        }
-
-        final String text = TweetUtil.getText(tweet);
-        if (!tweetService.passesSet3OfChecksForAnalysis(text)) {
-            return false;
+    private final int countRetweetsOfAccountsTheyDoNotFollow(final long[] authorIdsOfGoodRetweets, final TwitterProfile account) {
+        final int pages = twitterInteractionValuesRetriever.getFriendPagesToAnalyze();
+        if (account.getFriendsCount() > (pages * 5000)) {
+            return -1;
         }
-
-        return true;
-    }
-
-    /**
-     * - local
-     */
-    private final int countMentionsOutsideOfRetweets(final List<Tweet> tweetsOfAccount) {
-        int count = 0;
-        for (final Tweet tweet : tweetsOfAccount) {
-            if (!tweet.isRetweet() && TweetUtil.getText(tweet).contains("@")) {
-                Preconditions.checkState(tweet.getRetweetedStatus() == null);
-                count++;
-            }
+        if (authorIdsOfGoodRetweets.length == 0) {
+            return 0;
         }
-        return count;
-    }
-
-    /**
-     * - live
-     */
-    @SuppressWarnings("unchecked")
-    private final int countRetweetsOfAccountsTheyDoNotFollow(final List<Tweet> tweetsOfAccount, final TwitterProfile account) {
-        final int pages = 2;
-        if (account.getFriendsCount() > (pages * 5000)) {
+        final FriendIds friendIds = userLiveService.getFriendIdsOfAccount(account, pages);
+        if (friendIds == null || !friendIds.isComplete()) {
+            // not retrieved, or only partly - every id missing from a partial list would count as not followed
             return -1;
         }
-        final Collection<Tweet> retweets = Collections2.filter(tweetsOfAccount, new TweetIsRetweetPredicate());
-        final Predicate<Tweet> predicate = Predicates.and(new TweetPassesSet1ChecksPredicate(tweetService), new TweetPassesSet2ChecksPredicate(tweetService), new TweetPassesSet3ChecksPredicate(tweetService));
-        final Collection<Tweet> retweetsPassingChecks123 = Collections2.filter(retweets, predicate);
-
-        final Collection<Long> originalUserIds = Collections2.transform(retweetsPassingChecks123, new Function<Tweet, Long>() {
-            @Override
-            public final Long apply(final Tweet input) {
-                return input.getRetweetedStatus().getFromUserId();
-            }
-        });
-
-        final Set<Long> friendIds = userLiveService.getIdsOfAccountsFollowedByThisAccount(account, pages);
 
         int count = 0;
-        for (final long userIdOfRetweet : originalUserIds) {
+        for (final long userIdOfRetweet : authorIdsOfGoodRetweets) {
             if (!friendIds.contains(userIdOfRetweet)) {
                 count++;
             }
@@ -0,0 +1,29 @@
+package org.tweet.meta.service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+
+/**
+ * A task holding one permit, acquired before it was submitted <br/>
+ * - the permit is given back however the task ends: done, failed, or cancelled - even when it is cancelled while still queued, and never runs <br/>
+ * - note: a task cancelled while running gives its permit back right away, without waiting for it to notice the interrupt
+ */
+final class PermitHoldingTask<V> extends FutureTask<V> {
+
+    private final Semaphore permits;
+
+    PermitHoldingTask(final Callable<V> callable, final Semaphore permits) {
+        super(callable);
+
+        this.permits = permits;
+    }
+
+    // API
+
+    @Override
+    protected final void done() {
+        permits.release();
+    }
+
+}
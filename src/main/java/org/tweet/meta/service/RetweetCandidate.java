@@ -0,0 +1,65 @@
+package org.tweet.meta.service;
+
+import org.springframework.social.twitter.api.Tweet;
+import org.tweet.twitter.util.TwitterInteractionWithValue;
+
+/**
+ * A candidate tweet that passed pruning and was scored - ready to be tried on an account <br/>
+ * - the retweet count is adjusted by the value of the candidate; it is kept here rather than set on the tweet, since the same tweet may be a candidate on several accounts at the same time
+ */
+final class RetweetCandidate {
+
+    private final Tweet tweet;
+    private final String tag;
+    private final TwitterInteractionWithValue interaction;
+    private final int retweetCount;
+
+    RetweetCandidate(final Tweet tweet, final String tag, final TwitterInteractionWithValue interaction, final int minRt) {
+        super();
+
+        this.tweet = tweet;
+        this.tag = tag;
+        this.interaction = interaction;
+        this.retweetCount = adjustedRetweetCount(tweet, interaction.getVal(), minRt);
+    }
+
+    // API
+
+    final Tweet getTweet() {
+        return tweet;
+    }
+
+    /**
+     * - the hashtag or word the tweet was found by
+     */
+    final String getTag() {
+        return tag;
+    }
+
+    final TwitterInteractionWithValue getInteraction() {
+        return interaction;
+    }
+
+    final int getRetweetCount() {
+        return retweetCount;
+    }
+
+    // util
+
+    /**
+     * - slightly adjusts the retweet count by adding some fraction of the overall value <br/>
+     * - rule of thumb: a value of 15 should cover minRt/2
+     */
+    static int adjustedRetweetCount(final Tweet tweet, final float value, final int minRt) {
+        final int retweetCount = (tweet.getRetweetCount() == null) ? 0 : tweet.getRetweetCount();
+        return (int) (retweetCount + value / (15f * 2f / minRt));
+    }
+
+    @Override
+    public final String toString() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("RetweetCandidate [tweetId=").append(tweet.getId()).append(", tag=").append(tag).append(", interaction=").append(interaction).append(", retweetCount=").append(retweetCount).append("]");
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,56 @@
+package org.tweet.meta.service;
+
+import java.util.Collection;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+
+/**
+ * Bloom filter of the ids of the tweets already retweeted by one account <br/>
+ * - no false negatives: a tweet that is not in the filter has definitely not been retweeted, and needs no database check <br/>
+ * - a tweet that is in the filter may still not have been retweeted (~1% of the time) - that needs confirming <br/>
+ * - sized for twice the ids it was loaded with; once more ids than that were added, it reports itself as full and should be reloaded
+ */
+final class RetweetedIds {
+    private static final int MIN_CAPACITY = 10000;
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    private final BloomFilter<Long> filter;
+    private final int capacity;
+    private int size;
+
+    private RetweetedIds(final int capacity) {
+        super();
+
+        this.capacity = capacity;
+        this.filter = BloomFilter.create(Funnels.longFunnel(), capacity, FALSE_POSITIVE_PROBABILITY);
+    }
+
+    // API
+
+    static RetweetedIds of(final Collection<Long> tweetIds) {
+        final RetweetedIds retweetedIds = new RetweetedIds(Math.max(MIN_CAPACITY, tweetIds.size() * 2));
+        for (final Long tweetId : tweetIds) {
+            retweetedIds.add(tweetId);
+        }
+        return retweetedIds;
+    }
+
+    /**
+     * - false: the tweet has definitely not been retweeted <br/>
+     * - true: the tweet has probably been retweeted
+     */
+    final synchronized boolean mightContain(final long tweetId) {
+        return filter.mightContain(tweetId);
+    }
+
+    final synchronized void add(final long tweetId) {
+        filter.put(tweetId);
+        size++;
+    }
+
+    final synchronized boolean isFull() {
+        return size > capacity;
+    }
+
+}
@@ -9,7 +9,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.classification.service.ClassificationService;
 import org.common.metrics.MetricsUtil;
@@ -21,12 +20,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
 import org.springframework.social.twitter.api.Tweet;
 import org.springframework.stereotype.Service;
 import org.stackexchange.util.TwitterAccountEnum;
 import org.stackexchange.util.TwitterTag;
+import org.tweet.meta.component.CandidateBacklog;
 import org.tweet.meta.component.PredefinedAccountRetriever;
+import org.tweet.meta.component.SearchCandidatePool;
+import org.tweet.meta.component.TweetVerdictCache;
 import org.tweet.meta.persistence.dao.IRetweetJpaDAO;
+import org.tweet.meta.persistence.model.BacklogCandidate;
+import org.tweet.meta.persistence.model.BacklogRefill;
 import org.tweet.meta.persistence.model.Retweet;
 import org.tweet.spring.util.SpringProfileUtil;
 import org.tweet.twitter.component.MinRtRetriever;
@@ -41,7 +46,6 @@ import org.tweet.twitter.util.TwitterInteractionWithValue;
 import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.api.client.util.Preconditions;
-import com.google.common.base.Function;
 import com.google.common.base.Predicate;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.Lists;
@@ -72,15 +76,27 @@ public class TweetMetaLiveService extends BaseTweetFromSourceLiveService<Retweet
     @Autowired
     private PredefinedAccountRetriever predefinedAccountRetriever;
 
-    @Autowired
-    private InteractionLiveService interactionLiveService;
-
     @Autowired
     private TweetMetaLocalService tweetMetaLocalService;
 
     @Autowired
     private TweetMentionService tweetMentionService;
 
+    @Autowired
+    private SearchCandidatePool searchCandidatePool;
+
+    @Autowired
+    private CandidateScoringLiveService candidateScoringLiveService;
+
+    @Autowired
+    private TweetVerdictCache tweetVerdictCache;
+
+    @Autowired
+    private CandidateBacklog candidateBacklog;
+
+    @Autowired
+    private Environment env;
+
     // metrics
 
     @Autowired
@@ -96,9 +112,18 @@ public class TweetMetaLiveService extends BaseTweetFromSourceLiveService<Retweet
         return retweetAnyByHashtag(twitterAccount, TweetType.Standard);
     }
 
+    /**
+     * - the best candidates of the backlog of the account are tried first - see {@link CandidateBacklog} <br/>
+     * - if none of them yields a retweet: a single tag of the account, picked at random, is searched - incrementally, see {@link SearchCandidatePool}
+     */
     public final boolean retweetAnyByHashtag(final String twitterAccount, final TweetType tweetType) throws JsonProcessingException, IOException {
         String twitterTag = null;
         try {
+            candidateBacklog.registerRefill(new BacklogRefill(twitterAccount, tweetType, false));
+            if (retweetFromBacklog(twitterAccount, tweetType)) {
+                return true;
+            }
+
             twitterTag = tagRetrieverService.pickTwitterTag(twitterAccount);
             final boolean success = retweetAnyByHashtagInternal(twitterAccount, twitterTag, tweetType);
             if (!success) {
@@ -120,9 +145,18 @@ public class TweetMetaLiveService extends BaseTweetFromSourceLiveService<Retweet
         return retweetAnyByWord(twitterAccount, TweetType.Standard);
     }
 
+    /**
+     * - the best candidates of the backlog of the account are tried first - see {@link CandidateBacklog} <br/>
+     * - if none of them yields a retweet: a single tag of the account, picked at random, is searched (as a word) - incrementally, see {@link SearchCandidatePool}
+     */
     public final boolean retweetAnyByWord(final String twitterAccount, final TweetType tweetType) throws JsonProcessingException, IOException {
         String word = null;
         try {
+            candidateBacklog.registerRefill(new BacklogRefill(twitterAccount, tweetType, true));
+            if (retweetFromBacklog(twitterAccount, tweetType)) {
+                return true;
+            }
+
             word = tagRetrieverService.pickTwitterTag(twitterAccount);
             final boolean success = retweetAnyByWordInternal(twitterAccount, word, tweetType);
             if (!success) {
@@ -184,29 +218,122 @@ public class TweetMetaLiveService extends BaseTweetFromSourceLiveService<Retweet
         }
     }
 
+    // API - backlog
+
+    /**
+     * - searches, prunes and scores candidates for the account the same way its slot does (a single tag, picked at random), but does not retweet any of them - they all go into the backlog of the account <br/>
+     * - returns the number of candidates that went into the backlog
+     */
+    public final int prefetch(final BacklogRefill refill) {
+        final String twitterAccount = refill.getTwitterAccount();
+        final boolean asHashtags = !refill.isByWord();
+        final String tag = tagRetrieverService.pickTwitterTag(twitterAccount);
+        logger.info("Begin prefetching candidates on twitterAccount= {}, by tag= {}, byWord= {}", twitterAccount, tag, refill.isByWord());
+
+        final List<Tweet> tweets = searchIncrementally(twitterAccount, tag, asHashtags);
+        final Collection<Tweet> prunedTweetsLocal = asHashtags ? tweets : pruneTweetsLocal(tweets, tag, twitterAccount);
+        final List<RetweetCandidate> candidates = pruneTweets(prunedTweetsLocal, tag, twitterAccount, refill.getTweetType());
+
+        offerToBacklog(twitterAccount, refill.getTweetType(), candidates);
+        return candidates.size();
+    }
+
+    // util - backlog
+
+    /**
+     * - pops the best candidates of the backlog of the account, and tries them - until one yields a retweet, or twitter.backlog.attempts candidates were tried
+     */
+    private final boolean retweetFromBacklog(final String twitterAccount, final TweetType tweetType) {
+        final int maxAttempts = env.getProperty("twitter.backlog.attempts", Integer.class, 3);
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            final BacklogCandidate backlogCandidate = candidateBacklog.pop(twitterAccount, tweetType);
+            if (backlogCandidate == null) {
+                return false;
+            }
+
+            final RetweetCandidate candidate = restore(backlogCandidate);
+            if (candidate == null) {
+                metrics.counter(MetricsUtil.Meta.BACKLOG_STALE).inc();
+                continue;
+            }
+            if (tryTweetOneWrap(candidate, twitterAccount, tweetType)) {
+                logger.info("Successfully retweeted on twitterAccount= {}, from the backlog, tweetId= {}", twitterAccount, backlogCandidate.getTweetId());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * - the tweet is retrieved again, so the candidate is tried with its current state (text, retweet count) <br/>
+     * - note: will return null if the candidate is no longer valid - already retweeted, rejected since, or the tweet is gone
+     */
+    private final RetweetCandidate restore(final BacklogCandidate backlogCandidate) {
+        final long tweetId = backlogCandidate.getTweetId();
+        final String twitterAccount = backlogCandidate.getTwitterAccount();
+        if (hasThisAlreadyBeenTweetedById(new Retweet(tweetId, twitterAccount, null, null)) || tweetVerdictCache.isRejected(tweetId, twitterAccount)) {
+            return null;
+        }
+
+        final Tweet tweet;
+        try {
+            tweet = twitterReadLiveService.findOne(tweetId);
+        } catch (final RuntimeException ex) {
+            logger.debug("Unable to retrieve backlog candidate tweetId= {} - {}", tweetId, ex.getMessage());
+            return null;
+        }
+        if (tweet == null) {
+            return null;
+        }
+
+        final TwitterInteractionWithValue interaction = new TwitterInteractionWithValue(backlogCandidate.getInteraction(), backlogCandidate.getValue());
+        return new RetweetCandidate(TweetUtil.getTweet(tweet), backlogCandidate.getTag(), interaction, minRtRetriever.minRt(backlogCandidate.getTag()));
+    }
+
+    private final void offerToBacklog(final String twitterAccount, final TweetType tweetType, final List<RetweetCandidate> candidates) {
+        final Date expires = candidateBacklog.expiryOfNewCandidates();
+        final List<BacklogCandidate> backlogCandidates = Lists.newArrayList();
+        for (final RetweetCandidate candidate : candidates) {
+            final TwitterInteractionWithValue interaction = candidate.getInteraction();
+            backlogCandidates.add(new BacklogCandidate(candidate.getTweet().getId(), twitterAccount, tweetType, candidate.getTag(), interaction.getTwitterInteraction(), interaction.getVal(), expires));
+        }
+        candidateBacklog.offer(twitterAccount, tweetType, backlogCandidates);
+    }
+
     // util - any
 
     /**any*/
     private final boolean retweetAnyByWordInternal(final String twitterAccount, final String word, final TweetType tweetType) throws JsonProcessingException, IOException {
         logger.info("Begin trying to retweet on twitterAccount= {}, by word= {}", twitterAccount, word);
 
-        final List<Tweet> tweetsOfHashtag = twitterReadLiveService.listTweetsByWord(twitterAccount, word);
+        final List<Tweet> tweetsOfHashtag = searchIncrementally(twitterAccount, word, false);
 
         final Collection<Tweet> prunedTweetsLocal = pruneTweetsLocal(tweetsOfHashtag, word, twitterAccount);
-        final Collection<Tweet> prunedTweets = pruneTweets(prunedTweetsLocal, word, twitterAccount, tweetType);
+        final List<RetweetCandidate> candidates = pruneTweets(prunedTweetsLocal, word, twitterAccount, tweetType);
 
-        return retweetAnyByWordInternal(twitterAccount, prunedTweets, word, tweetType);
+        return retweetAnyByWordInternal(twitterAccount, candidates, word, tweetType);
     }
 
     /**any*/
     private final boolean retweetAnyByHashtagInternal(final String twitterAccount, final String hashtag, final TweetType tweetType) throws JsonProcessingException, IOException {
         logger.info("Begin trying to retweet on twitterAccount= {}, by hashtag= {}", twitterAccount, hashtag);
 
-        final List<Tweet> tweetsOfHashtag = twitterReadLiveService.listTweetsByHashtag(twitterAccount, hashtag);
+        final List<Tweet> tweetsOfHashtag = searchIncrementally(twitterAccount, hashtag, true);
+
+        final List<RetweetCandidate> candidates = pruneTweets(tweetsOfHashtag, hashtag, twitterAccount, tweetType);
 
-        final Collection<Tweet> prunedTweets = pruneTweets(tweetsOfHashtag, hashtag, twitterAccount, tweetType);
+        return retweetAnyByHashtagInternal(twitterAccount, candidates, hashtag, tweetType);
+    }
 
-        return retweetAnyByHashtagInternal(twitterAccount, prunedTweets, hashtag, tweetType);
+    /**
+     * - only the tweets newer than the cursor of the tag are retrieved - they are merged with the candidates retained from the previous searches of the tag (see {@link SearchCandidatePool}) <br/>
+     * - a single query - the same search made for other accounts within a short time is only sent once <br/>
+     * - a shed search throws before anything is merged - the cursor stays where it was, and a tag due for its full search is still due
+     */
+    private final List<Tweet> searchIncrementally(final String twitterAccount, final String tag, final boolean asHashtags) {
+        final long sinceId = searchCandidatePool.sinceId(tag, asHashtags);
+        final List<Tweet> newTweets = asHashtags ? twitterReadLiveService.listTweetsByHashtag(twitterAccount, tag, sinceId) : twitterReadLiveService.listTweetsByWord(twitterAccount, tag, sinceId);
+        return searchCandidatePool.merge(tag, newTweets, sinceId, asHashtags);
     }
 
     /**
@@ -218,12 +345,21 @@ public class TweetMetaLiveService extends BaseTweetFromSourceLiveService<Retweet
         return filtered;
     }
 
-    private final Collection<Tweet> pruneTweets(final Collection<Tweet> tweetsOfHashtag, final String hashtag, final String twitterAccount, final TweetType tweetType) {
+    /**
+     * - the candidates that pass pruning, scored - best first
+     */
+    private final List<RetweetCandidate> pruneTweets(final Collection<Tweet> tweetsOfHashtag, final String hashtag, final String twitterAccount, final TweetType tweetType) {
         final Set<Tweet> tweetsSet = Sets.newHashSet();
         for (final Tweet tweet : tweetsOfHashtag) {
             tweetsSet.add(TweetUtil.getTweet(tweet));
         }
 
+        final Set<Long> tweetIds = Sets.newHashSet();
+        for (final Tweet tweet : tweetsSet) {
+            tweetIds.add(tweet.getId());
+        }
+        final Set<Long> alreadyTweetedIds = tweetMetaLocalService.findAlreadyTweetedIds(tweetIds, twitterAccount);
+
         final int minRt = minRtRetriever.minRt(hashtag);
         final Collection<Tweet> tweetSetFiltered = Collections2.filter(tweetsSet, new Predicate<Tweet>() {
             @Override
@@ -231,7 +367,10 @@ public class TweetMetaLiveService extends BaseTweetFromSourceLiveService<Retweet
                 if (tweet.getRetweetCount() <= (minRt / 1.75)) {
                     return false;
                 }
-                if (hasThisAlreadyBeenTweetedById(new Retweet(tweet.getId(), twitterAccount, null, null))) {
+                if (tweetVerdictCache.isRejected(tweet.getId(), twitterAccount)) {
+                    return false;
+                }
+                if (alreadyTweetedIds.contains(tweet.getId())) {
                     return false;
                 }
                 if (!tweetService.isTweetWorthRetweetingByTextWithLink(tweet.getText(), tweetType)) {
@@ -264,12 +403,8 @@ public class TweetMetaLiveService extends BaseTweetFromSourceLiveService<Retweet
             }
         }
 
-        //
-        final List<Pair<TwitterInteractionWithValue, Tweet>> valuesAndTweets = Lists.newArrayList();
-        for (final Tweet tweet : tweets) {
-            final TwitterInteractionWithValue interactionValue = interactionLiveService.determineBestInteraction(tweet, twitterAccount);
-            valuesAndTweets.add(new ImmutablePair<TwitterInteractionWithValue, Tweet>(interactionValue, tweet));
-        }
+        // only the candidates scored before the deadline go on
+        final List<Pair<TwitterInteractionWithValue, Tweet>> valuesAndTweets = candidateScoringLiveService.score(tweets, twitterAccount);
         Collections.sort(valuesAndTweets, new Comparator<Pair<TwitterInteractionWithValue, Tweet>>() {
             @Override
             public final int compare(final Pair<TwitterInteractionWithValue, Tweet> o1, final Pair<TwitterInteractionWithValue, Tweet> o2) {
@@ -277,42 +412,37 @@ public class TweetMetaLiveService extends BaseTweetFromSourceLiveService<Retweet
             }
         });
 
-        // slightly adjust the RT counts by adding some fraction of the overall value
-        // rule of thumb: 15 should cover minRt/2 =>
+        // the RT counts are slightly adjusted by the value - see RetweetCandidate
+        final List<RetweetCandidate> candidates = Lists.newArrayList();
         for (final Pair<TwitterInteractionWithValue, Tweet> interactionAndTweet : valuesAndTweets) {
-            final Tweet theTweet = interactionAndTweet.getValue();
-            final int newRtCount = (int) (theTweet.getRetweetCount() + interactionAndTweet.getKey().getVal() / (15f * 2f / minRt));
-            theTweet.setRetweetCount(newRtCount);
+            candidates.add(new RetweetCandidate(interactionAndTweet.getRight(), hashtag, interactionAndTweet.getLeft(), minRt));
         }
-
-        final List<Tweet> tweetsOrdered = Lists.transform(valuesAndTweets, new Function<Pair<TwitterInteractionWithValue, Tweet>, Tweet>() {
-            @Override
-            public final Tweet apply(final Pair<TwitterInteractionWithValue, Tweet> input) {
-                return input.getRight();
-            }
-        });
-
-        return tweetsOrdered;
+        return candidates;
     }
 
-    /**any*/
-    private final boolean retweetAnyByHashtagInternal(final String twitterAccount, final Collection<Tweet> potentialTweetsSorted, final String hashtag, final TweetType tweetType) throws IOException, JsonProcessingException {
+    /**
+     * any <br/>
+     * - the candidates left untried after a successful retweet go into the backlog of the account
+     */
+    private final boolean retweetAnyByHashtagInternal(final String twitterAccount, final List<RetweetCandidate> candidates, final String hashtag, final TweetType tweetType) throws IOException, JsonProcessingException {
         if (!TwitterAccountEnum.valueOf(twitterAccount).isRt()) {
             logger.error("Should not retweet on twitterAccount= {}", twitterAccount);
         }
-        for (final Tweet potentialTweetUnprocessed : potentialTweetsSorted) {
-            final Tweet potentialTweet = TweetUtil.getTweet(potentialTweetUnprocessed);
+        for (int i = 0; i < candidates.size(); i++) {
+            final RetweetCandidate candidate = candidates.get(i);
+            final Tweet potentialTweet = candidate.getTweet();
             final long tweetId = potentialTweet.getId();
             logger.trace("Considering to retweet on twitterAccount= {}, from hashtag= {}, tweetId= {}", twitterAccount, hashtag, tweetId);
             if (!hasThisAlreadyBeenTweetedById(new Retweet(tweetId, twitterAccount, null, null))) {
                 logger.debug("Attempting to tweet on twitterAccount= {}, from hashtag= {}, tweetId= {}", twitterAccount, hashtag, tweetId);
-                final boolean success = tryTweetOneWrap(potentialTweet, hashtag, twitterAccount, tweetType);
+                final boolean success = tryTweetOneWrap(candidate, twitterAccount, tweetType);
                 if (!success) {
                     logger.trace("Didn't retweet on twitterAccount= {}, from hashtag= {}, tweet text= {}", twitterAccount, hashtag, TweetUtil.getText(potentialTweet));
                     continue;
                 } else {
                     final String tweetUrl = "https://twitter.com/" + potentialTweet.getFromUser() + "/status/" + potentialTweet.getId();
                     logger.info("Successfully retweeted on twitterAccount= {}, from hashtag= {}, tweet text= {}\n --- Additional meta info: tweet url= {}", twitterAccount, hashtag, TweetUtil.getText(potentialTweet), tweetUrl);
+                    offerToBacklog(twitterAccount, tweetType, candidates.subList(i + 1, candidates.size()));
                     return true;
                 }
             }
@@ -321,24 +451,29 @@ public class TweetMetaLiveService extends BaseTweetFromSourceLiveService<Retweet
         return false;
     }
 
-    /**any*/
-    private final boolean retweetAnyByWordInternal(final String twitterAccount, final Collection<Tweet> potentialTweetsSorted, final String word, final TweetType tweetType) throws IOException, JsonProcessingException {
+    /**
+     * any <br/>
+     * - the candidates left untried after a successful retweet go into the backlog of the account
+     */
+    private final boolean retweetAnyByWordInternal(final String twitterAccount, final List<RetweetCandidate> candidates, final String word, final TweetType tweetType) throws IOException, JsonProcessingException {
         if (!TwitterAccountEnum.valueOf(twitterAccount).isRt()) {
             logger.error("Should not retweet on twitterAccount= {}", twitterAccount);
         }
-        for (final Tweet potentialTweetUnprocessed : potentialTweetsSorted) {
-            final Tweet potentialTweet = TweetUtil.getTweet(potentialTweetUnprocessed);
+        for (int i = 0; i < candidates.size(); i++) {
+            final RetweetCandidate candidate = candidates.get(i);
+            final Tweet potentialTweet = candidate.getTweet();
             final long tweetId = potentialTweet.getId();
             logger.trace("Considering to retweet on twitterAccount= {}, from word= {}, tweetId= {}", twitterAccount, word, tweetId);
             if (!hasThisAlreadyBeenTweetedById(new Retweet(tweetId, twitterAccount, null, null))) {
                 logger.debug("Attempting to tweet on twitterAccount= {}, from word= {}, tweetId= {}", twitterAccount, word, tweetId);
-                final boolean success = tryTweetOneWrap(potentialTweet, word, twitterAccount, tweetType);
+                final boolean success = tryTweetOneWrap(candidate, twitterAccount, tweetType);
                 if (!success) {
                     logger.trace("Didn't retweet on twitterAccount= {}, from word= {}, tweet text= {}", twitterAccount, word, TweetUtil.getText(potentialTweet));
                     continue;
                 } else {
                     final String tweetUrl = "https://twitter.com/" + potentialTweet.getFromUser() + "/status/" + potentialTweet.getId();
                     logger.info("Successfully retweeted on twitterAccount= {}, from word= {}, tweet text= {}\n --- Additional meta info: tweet url= {}", twitterAccount, word, TweetUtil.getText(potentialTweet), tweetUrl);
+                    offerToBacklog(twitterAccount, tweetType, candidates.subList(i + 1, candidates.size()));
                     return true;
                 }
             }
@@ -350,19 +485,20 @@ public class TweetMetaLiveService extends BaseTweetFromSourceLiveService<Retweet
     // util - one
 
     /**one*/
-    private final boolean tryTweetOneWrap(final Tweet potentialTweet, final String hashtag, final String twitterAccount, final TweetType tweetType) {
+    private final boolean tryTweetOneWrap(final RetweetCandidate candidate, final String twitterAccount, final TweetType tweetType) {
         try {
-            return tryTweetOnePrepare(potentialTweet, hashtag, twitterAccount, tweetType);
+            return tryTweetOnePrepare(candidate, twitterAccount, tweetType);
         } catch (final RuntimeException runEx) {
             // this is new - the point it to recover, log and keep analyzing
-            logger.error("Unexpected exception trying to tweet on twitterAccount= " + twitterAccount + ", tweetText= " + potentialTweet.getText(), runEx);
+            logger.error("Unexpected exception trying to tweet on twitterAccount= " + twitterAccount + ", tweetText= " + candidate.getTweet().getText(), runEx);
             metrics.counter(MetricsUtil.Meta.RETWEET_ONE_ERROR).inc();
             return false;
         }
     }
 
     /**one*/
-    private final boolean tryTweetOnePrepare(final Tweet potentialTweet, final String hashtag, final String twitterAccount, final TweetType tweetType) {
+    private final boolean tryTweetOnePrepare(final RetweetCandidate candidate, final String twitterAccount, final TweetType tweetType) {
+        final Tweet potentialTweet = candidate.getTweet();
         Preconditions.checkState(potentialTweet.getRetweetedStatus() == null, "By the `one` level - this should be the original tweet");
         final String text = potentialTweet.getText();
         final long tweetId = potentialTweet.getId();
@@ -370,9 +506,11 @@ public class TweetMetaLiveService extends BaseTweetFromSourceLiveService<Retweet
 
         final Map<String, Object> customDetails = Maps.newHashMap();
         customDetails.put("tweetId", tweetId);
-        customDetails.put("hashtag", hashtag);
+        customDetails.put("hashtag", candidate.getTag());
         customDetails.put("potentialTweet", potentialTweet);
         customDetails.put("tweetType", tweetType);
+        customDetails.put("retweetCount", candidate.getRetweetCount());
+        customDetails.put("interaction", candidate.getInteraction());
 
         return tryTweetOne(text, null, twitterAccount, customDetails);
     }
@@ -384,17 +522,20 @@ public class TweetMetaLiveService extends BaseTweetFromSourceLiveService<Retweet
         final String hashtag = (String) customDetails.get("hashtag");
         final Tweet potentialTweet = (Tweet) customDetails.get("potentialTweet");
         final TweetType tweetType = (TweetType) customDetails.get("tweetType");
+        final int retweetCount = (int) customDetails.get("retweetCount");
+        final TwitterInteractionWithValue interaction = (TwitterInteractionWithValue) customDetails.get("interaction");
 
         logger.trace("Considering to retweet on twitterAccount= {}, tweetId= {}, tweetText= {}", twitterAccount, tweetId, fullTweet);
 
         // is it worth it by text only?
         if (!tweetService.isTweetWorthRetweetingByTextWithLink(fullTweet)) {
             logger.debug("Tweet not worth retweeting (by text only) on twitterAccount= {}, tweet text= {}", twitterAccount, fullTweet);
+            tweetVerdictCache.rejected(tweetId, twitterAccount, "not worth retweeting by text");
             return false;
         }
 
         // is it worth it by full tweet?
-        if (!advancedTweetService.isTweetWorthRetweetingByRawTweet(potentialTweet, hashtag)) {
+        if (!advancedTweetService.isTweetWorthRetweetingByRawTweet(potentialTweet, hashtag, retweetCount)) {
             logger.debug("Tweet not worth retweeting (by full tweet) on twitterAccount= {}, tweet text= {}", twitterAccount, fullTweet);
             return false;
         }
@@ -405,6 +546,7 @@ public class TweetMetaLiveService extends BaseTweetFromSourceLiveService<Retweet
         if (!tweetService.isTweetFullValid(fullTweetProcessedPreValidity)) {
             final String tweetUrl = "https://twitter.com/" + potentialTweet.getFromUser() + "/status/" + potentialTweet.getId();
             logger.debug("Tweet invalid (size, link count) on twitterAccount= {}, tweet text= {}\n- url={}", twitterAccount, fullTweetProcessedPreValidity, tweetUrl);
+            tweetVerdictCache.rejected(tweetId, twitterAccount, "invalid");
             return false;
         }
         // post-validity processing
@@ -415,33 +557,42 @@ public class TweetMetaLiveService extends BaseTweetFromSourceLiveService<Retweet
         if (alreadyExistingRetweetByText != null) {
             // was warn, but an already existing tweet is likely OK so - debug
             logger.debug("Tweet with retweet mention already exists:\n-original tweet= {}\n-new tweet (not retweeted)= {}", alreadyExistingRetweetByText.getText(), fullTweetProcessed);
+            tweetVerdictCache.rejected(tweetId, twitterAccount, "already tweeted by text");
             return false;
         }
 
         // is this tweet pointing to something good?
+        if (tweetType != TweetType.Standard && tweetType != TweetType.NonTech) {
+            throw new UnsupportedOperationException();
+        }
+        final String singleMainUrl = expandMainUrl(fullTweetProcessed);
+        if (singleMainUrl == null) {
+            // not remembered - the url may well expand on the next run
+            logger.debug("Tweet main url could not be expanded on twitterAccount= {}, tweet text= {}", twitterAccount, fullTweetProcessed);
+            return false;
+        }
+        final boolean pointingToSomethingGood;
         if (tweetType == TweetType.Standard) {
-            if (!isTweetPointingToSomethingGoodTechnical(fullTweetProcessed)) {
-                logger.debug("Tweet not pointing to something good on twitterAccount= {}, tweet text= {}", twitterAccount, fullTweetProcessed);
-                return false;
-            }
-        } else if (tweetType == TweetType.NonTech) {
-            if (!isTweetPointingToSomethingGoodNonTechnical(fullTweetProcessed)) {
-                logger.debug("Tweet not pointing to something good on twitterAccount= {}, tweet text= {}", twitterAccount, fullTweetProcessed);
-                return false;
-            }
+            pointingToSomethingGood = isUrlPointingToSomethingGoodTechnical(singleMainUrl, fullTweetProcessed);
         } else {
-            throw new UnsupportedOperationException();
+            pointingToSomethingGood = isUrlPointingToSomethingGoodNonTechnical(singleMainUrl, fullTweetProcessed);
+        }
+        if (!pointingToSomethingGood) {
+            logger.debug("Tweet not pointing to something good on twitterAccount= {}, tweet text= {}", twitterAccount, fullTweetProcessed);
+            tweetVerdictCache.rejected(tweetId, twitterAccount, "not pointing to something good");
+            return false;
         }
 
         // is the tweet rejected by some classifier?
         if (isTweetRejectedByClassifier(fullTweetProcessed)) {
             ErrorUtil.registerError(ErrorUtil.rejectedByClassifierJob, fullTweetProcessed);
+            tweetVerdictCache.rejected(tweetId, twitterAccount, "rejected by classifier");
             // logger.error("Tweet rejected by a classifier on twitterAccount= " + twitterAccount + "\n--tweet text= \n" + fullTweetProcessed);
             return false;
         }
 
         boolean success = false;
-        final TwitterInteraction bestInteraction = interactionLiveService.determineBestInteraction(potentialTweet, twitterAccount).getTwitterInteraction();
+        final TwitterInteraction bestInteraction = interaction.getTwitterInteraction();
         switch (bestInteraction) {
         case None:
             success = twitterWriteLiveService.tweet(twitterAccount, fullTweetProcessed, potentialTweet);
@@ -485,23 +636,45 @@ public class TweetMetaLiveService extends BaseTweetFromSourceLiveService<Retweet
      * - it points to a <b>banned domain</b><br/>
      */
     final boolean isTweetPointingToSomethingGoodTechnical(final String potentialTweet) {
+        final String singleMainUrl = expandMainUrl(potentialTweet);
+        return singleMainUrl != null && isUrlPointingToSomethingGoodTechnical(singleMainUrl, potentialTweet);
+    }
+
+    /**
+     * Tweet is <b>not</b> pointing to something good if: <br/>
+     * - it has <b>no url</b><br/>
+     * - it points to a <b>homepage</b><br/>
+     * - it points to a <b>banned domain</b><br/>
+     */
+    final boolean isTweetPointingToSomethingGoodNonTechnical(final String potentialTweet) {
+        final String singleMainUrl = expandMainUrl(potentialTweet);
+        return singleMainUrl != null && isUrlPointingToSomethingGoodNonTechnical(singleMainUrl, potentialTweet);
+    }
+
+    /**
+     * - note: will return null if the tweet has no url, or its main url could not be expanded - which may be transient (timeout, open circuit, recent failure)
+     */
+    private final String expandMainUrl(final String potentialTweet) {
         final Set<String> extractedUrls = linkService.extractUrls(potentialTweet);
         if (extractedUrls.isEmpty()) {
             logger.trace("Tweet rejected because the it contains no urls\n- potentialTweet= {} ", potentialTweet);
-            return false;
+            return null;
         }
         String singleMainUrl = linkService.determineMainUrl(extractedUrls);
         try {
             singleMainUrl = httpLiveService.expand(singleMainUrl);
         } catch (final RuntimeException ex) {
             logger.error("Unexpected error from URL expansion: " + singleMainUrl, ex);
-            return false;
+            return null;
         }
         if (singleMainUrl == null) {
             logger.trace("Tweet rejected because the main url couldn't be identified\n- potentialTweet= {} ", potentialTweet);
-            return false;
+            return null;
         }
+        return singleMainUrl;
+    }
 
+    private final boolean isUrlPointingToSomethingGoodTechnical(final String singleMainUrl, final String potentialTweet) {
         if (linkService.isHomepageUrl(singleMainUrl)) {
             // note: this will experience high bursts when a popular tweet is returned (and analyzed) 20-30 times at once (do not set on error)
             logger.trace("Tweet rejected because the it is pointing to a homepage= {}\n- potentialTweet= {} ", singleMainUrl, potentialTweet);
@@ -516,30 +689,7 @@ public class TweetMetaLiveService extends BaseTweetFromSourceLiveService<Retweet
         return true;
     }
 
-    /**
-     * Tweet is <b>not</b> pointing to something good if: <br/>
-     * - it has <b>no url</b><br/>
-     * - it points to a <b>homepage</b><br/>
-     * - it points to a <b>banned domain</b><br/>
-     */
-    final boolean isTweetPointingToSomethingGoodNonTechnical(final String potentialTweet) {
-        final Set<String> extractedUrls = linkService.extractUrls(potentialTweet);
-        if (extractedUrls.isEmpty()) {
-            logger.trace("Tweet rejected because the it contains no urls\n- potentialTweet= {} ", potentialTweet);
-            return false;
-        }
-        String singleMainUrl = linkService.determineMainUrl(extractedUrls);
-        try {
-            singleMainUrl = httpLiveService.expand(singleMainUrl);
-        } catch (final RuntimeException ex) {
-            logger.error("Unexpected error from URL expansion: " + singleMainUrl, ex);
-            return false;
-        }
-        if (singleMainUrl == null) {
-            logger.trace("Tweet rejected because the main url couldn't be identified\n- potentialTweet= {} ", potentialTweet);
-            return false;
-        }
-
+    private final boolean isUrlPointingToSomethingGoodNonTechnical(final String singleMainUrl, final String potentialTweet) {
         if (linkService.isHomepageUrl(singleMainUrl)) {
             // note: this will experience high bursts when a popular tweet is returned (and analyzed) 20-30 times at once (do not set on error)
             logger.trace("Tweet rejected because the it is pointing to a homepage= {}\n- potentialTweet= {} ", singleMainUrl, potentialTweet);
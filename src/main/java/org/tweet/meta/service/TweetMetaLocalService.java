@@ -1,6 +1,9 @@
 package org.tweet.meta.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.common.service.LinkService;
@@ -15,11 +18,15 @@ import org.tweet.twitter.util.TwitterUtil;
 
 import com.google.api.client.util.Preconditions;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 @Service
 public class TweetMetaLocalService {
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
+    private final ConcurrentMap<String, RetweetedIds> retweetedIdsByAccount = Maps.newConcurrentMap();
+
     @Autowired
     private IRetweetJpaDAO retweetApi;
 
@@ -174,17 +181,66 @@ public class TweetMetaLocalService {
     // template
 
     /**
-     * Checks the local database for an exact match Retweet entity (by tweet id) 
+     * Checks the local database for an exact match Retweet entity (by tweet id) <br/>
+     * - only if the tweet may have been retweeted at all - see {@link RetweetedIds}
      */
     protected final boolean hasThisAlreadyBeenTweetedById(final Retweet retweet) {
+        if (!retweetedIdsOf(retweet.getTwitterAccount()).mightContain(retweet.getTweetId())) {
+            return false;
+        }
         final Retweet existingTweetById = retweetApi.findOneByTweetIdAndTwitterAccount(retweet.getTweetId(), retweet.getTwitterAccount());
         return existingTweetById != null;
     }
 
-    protected final void markDone(final Retweet entity) {
+    /**
+     * - the ids, out of these, of the tweets already retweeted by the account <br/>
+     * - a single query for all the tweets that may have been retweeted; none if there are no such tweets <br/>
+     * - note: will NOT return null
+     */
+    public final Set<Long> findAlreadyTweetedIds(final Collection<Long> tweetIds, final String twitterAccount) {
+        final RetweetedIds retweetedIds = retweetedIdsOf(twitterAccount);
+        final List<Long> possiblyTweetedIds = Lists.newArrayList();
+        for (final Long tweetId : tweetIds) {
+            if (retweetedIds.mightContain(tweetId)) {
+                possiblyTweetedIds.add(tweetId);
+            }
+        }
+        if (possiblyTweetedIds.isEmpty()) {
+            return Sets.newHashSet();
+        }
+        return Sets.newHashSet(retweetApi.findTweetIdsByTwitterAccountAndTweetIdIn(twitterAccount, possiblyTweetedIds));
+    }
+
+    /**
+     * - every new retweet is saved through here, so the ids already retweeted by the account (see {@link RetweetedIds}) stay complete
+     */
+    public final void markDone(final Retweet entity) {
         retweetApi.save(entity);
+        final RetweetedIds retweetedIds = retweetedIdsOf(entity.getTwitterAccount());
+        retweetedIds.add(entity.getTweetId());
+        if (retweetedIds.isFull()) {
+            retweetedIdsByAccount.remove(entity.getTwitterAccount(), retweetedIds);
+        }
     }
 
     // util
 
+    /**
+     * - loaded from the database the first time the account is checked, and whenever it fills up
+     */
+    private final RetweetedIds retweetedIdsOf(final String twitterAccount) {
+        final RetweetedIds existingRetweetedIds = retweetedIdsByAccount.get(twitterAccount);
+        if (existingRetweetedIds != null) {
+            return existingRetweetedIds;
+        }
+        final List<Long> tweetIds = retweetApi.findTweetIdsByTwitterAccount(twitterAccount);
+        final RetweetedIds newRetweetedIds = RetweetedIds.of(tweetIds);
+        final RetweetedIds concurrentlyLoadedRetweetedIds = retweetedIdsByAccount.putIfAbsent(twitterAccount, newRetweetedIds);
+        if (concurrentlyLoadedRetweetedIds != null) {
+            return concurrentlyLoadedRetweetedIds;
+        }
+        logger.info("Loaded the ids of {} tweets already retweeted on twitterAccount= {}", tweetIds.size(), twitterAccount);
+        return newRetweetedIds;
+    }
+
 }
@@ -0,0 +1,98 @@
+package org.tweet.twitter.component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket for a single (account, endpoint family) pair <br/>
+ * - Twitter uses fixed windows, so the bucket is refilled entirely when the window resets <br/>
+ * - the bucket is corrected by the rate limit headers of every response - local accounting only covers the calls in flight <br/>
+ */
+final class RateLimitBucket {
+    static final long WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(15);
+
+    private int limit;
+    private int remaining;
+    /** 0 means the window has not started yet */
+    private long resetAtMillis;
+    /** the window was started locally, before any response came back - its reset time is only a guess, and the first response wins over it */
+    private boolean resetGuessed;
+
+    RateLimitBucket(final int defaultLimit) {
+        super();
+
+        this.limit = defaultLimit;
+        this.remaining = defaultLimit;
+        this.resetAtMillis = 0;
+    }
+
+    // API
+
+    final synchronized boolean tryAcquire(final long now) {
+        refillIfWindowExpired(now);
+        if (remaining <= 0) {
+            return false;
+        }
+        if (resetAtMillis == 0) {
+            resetAtMillis = now + WINDOW_MILLIS;
+            resetGuessed = true;
+        }
+        remaining--;
+        return true;
+    }
+
+    final synchronized int remaining(final long now) {
+        refillIfWindowExpired(now);
+        return remaining;
+    }
+
+    /**
+     * - note: 0 if the window has not started yet
+     */
+    final synchronized long resetAtMillis() {
+        return resetAtMillis;
+    }
+
+    /**
+     * - responses may come back out of order - within the same window, the lowest remaining value wins <br/>
+     * - a guessed reset time is always replaced - the actual window of the server usually resets earlier than the guess
+     */
+    final synchronized void update(final int newLimit, final int newRemaining, final long newResetAtMillis) {
+        if (resetGuessed) {
+            remaining = newRemaining;
+            resetAtMillis = newResetAtMillis;
+            resetGuessed = false;
+        } else if (newResetAtMillis == resetAtMillis) {
+            remaining = Math.min(remaining, newRemaining);
+        } else if (newResetAtMillis > resetAtMillis) {
+            remaining = newRemaining;
+            resetAtMillis = newResetAtMillis;
+        } else {
+            return; // stale - from a previous window
+        }
+        limit = newLimit;
+    }
+
+    final synchronized void exhaust(final long newResetAtMillis) {
+        remaining = 0;
+        resetAtMillis = resetGuessed ? newResetAtMillis : Math.max(resetAtMillis, newResetAtMillis);
+        resetGuessed = false;
+    }
+
+    // util
+
+    private final void refillIfWindowExpired(final long now) {
+        if (resetAtMillis != 0 && now >= resetAtMillis) {
+            remaining = limit;
+            resetAtMillis = 0;
+            resetGuessed = false;
+        }
+    }
+
+    @Override
+    public final synchronized String toString() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("RateLimitBucket [limit=").append(limit).append(", remaining=").append(remaining).append(", resetAtMillis=").append(resetAtMillis).append(", resetGuessed=").append(resetGuessed).append("]");
+        return builder.toString();
+    }
+
+}
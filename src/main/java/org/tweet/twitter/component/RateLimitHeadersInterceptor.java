@@ -0,0 +1,73 @@
+package org.tweet.twitter.component;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.tweet.twitter.util.TwitterEndpointFamily;
+
+/**
+ * Feeds the rate limit headers of every response of an account into the {@link TwitterRateLimitGovernor}
+ */
+public final class RateLimitHeadersInterceptor implements ClientHttpRequestInterceptor {
+    private static final String LIMIT = "x-rate-limit-limit";
+    private static final String REMAINING = "x-rate-limit-remaining";
+    private static final String RESET = "x-rate-limit-reset";
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final String twitterAccount;
+    private final TwitterRateLimitGovernor twitterRateLimitGovernor;
+
+    public RateLimitHeadersInterceptor(final String twitterAccount, final TwitterRateLimitGovernor twitterRateLimitGovernor) {
+        super();
+
+        this.twitterAccount = twitterAccount;
+        this.twitterRateLimitGovernor = twitterRateLimitGovernor;
+    }
+
+    // API
+
+    @Override
+    public final ClientHttpResponse intercept(final HttpRequest request, final byte[] body, final ClientHttpRequestExecution execution) throws IOException {
+        final ClientHttpResponse response = execution.execute(request, body);
+        try {
+            record(TwitterEndpointFamily.fromPath(request.getURI().getPath()), response);
+        } catch (final RuntimeException ex) {
+            // the rate limit accounting should never break the actual call
+            logger.debug("Unable to process the rate limit headers of the response for twitterAccount= " + twitterAccount, ex);
+        }
+        return response;
+    }
+
+    // util
+
+    private final void record(final TwitterEndpointFamily family, final ClientHttpResponse response) throws IOException {
+        final HttpHeaders headers = response.getHeaders();
+        final String reset = headers.getFirst(RESET);
+        if (reset == null) {
+            return;
+        }
+        final long resetAtEpochSeconds = Long.parseLong(reset);
+
+        if (response.getRawStatusCode() == TOO_MANY_REQUESTS) {
+            twitterRateLimitGovernor.exhausted(twitterAccount, family, resetAtEpochSeconds);
+            return;
+        }
+
+        final String limit = headers.getFirst(LIMIT);
+        final String remaining = headers.getFirst(REMAINING);
+        if (limit == null || remaining == null) {
+            return;
+        }
+        twitterRateLimitGovernor.update(twitterAccount, family, Integer.parseInt(limit), Integer.parseInt(remaining), resetAtEpochSeconds);
+    }
+
+}
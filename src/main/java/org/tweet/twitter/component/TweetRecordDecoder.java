@@ -0,0 +1,76 @@
+package org.tweet.twitter.component;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.social.twitter.api.Tweet;
+import org.springframework.stereotype.Component;
+import org.tweet.twitter.service.TweetMentionService;
+import org.tweet.twitter.service.TweetService;
+import org.tweet.twitter.util.TweetRecord;
+import org.tweet.twitter.util.TweetUtil;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Decodes tweets, as retrieved from the API, into {@link TweetRecord}s <br/>
+ * - the content checks and the mention extraction run here, once per tweet - so analyzing the same (cached) records again is only a matter of reading fields <br/>
+ * - the full tweets can be dropped as soon as they are decoded
+ */
+@Component
+public class TweetRecordDecoder {
+
+    @Autowired
+    private TweetService tweetService;
+
+    @Autowired
+    private TweetMentionService tweetMentionService;
+
+    public TweetRecordDecoder() {
+        super();
+    }
+
+    // API
+
+    /**
+     * - note: will NOT return null
+     */
+    public final List<TweetRecord> decode(final List<Tweet> tweets) {
+        final List<TweetRecord> records = Lists.newArrayListWithCapacity(tweets.size());
+        for (final Tweet tweet : tweets) {
+            records.add(decode(tweet));
+        }
+        return records;
+    }
+
+    public final TweetRecord decode(final Tweet tweet) {
+        return TweetRecord.of(tweet, isGoodRetweet(tweet), tweetMentionService.extractMentions(tweet.getText()));
+    }
+
+    // util
+
+    /**
+     * - the set 1, 2 (language) and 3 checks for analysis
+     */
+    private final boolean isGoodRetweet(final Tweet tweet) {
+        if (!tweet.isRetweet()) {
+            return false;
+        }
+
+        if (!tweetService.passesSet1OfChecks(tweet, null)) {
+            return false;
+        }
+
+        if (!tweetService.passesLanguageChecksForAnalysis(tweet, null)) {
+            return false;
+        }
+
+        final String text = TweetUtil.getText(tweet);
+        if (!tweetService.passesSet3OfChecksForAnalysis(text)) {
+            return false;
+        }
+
+        return true;
+    }
+
+}
@@ -0,0 +1,242 @@
+package org.tweet.twitter.component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.common.metrics.MetricsUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.social.twitter.api.RateLimitStatus;
+import org.springframework.social.twitter.api.ResourceFamily;
+import org.springframework.stereotype.Component;
+import org.stackexchange.util.GenericUtil;
+import org.stackexchange.util.TwitterAccountEnum;
+import org.tweet.twitter.util.TwitterEndpointFamily;
+import org.tweet.twitter.util.TwitterQuotaExceededException;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * Governs all read calls to the Twitter API: <br/>
+ * - keeps a token bucket per account and per endpoint family, fed by the rate limit headers of each response <br/>
+ * - picks the account with the most remaining budget for a call <br/>
+ * - when no account has budget left, waits (up to a maximum) for the next window, and otherwise sheds the call <br/>
+ * - note: this is under .twitter (and not under .meta) because is core twitter functionality
+ */
+@Component
+public class TwitterRateLimitGovernor {
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final ConcurrentMap<String, RateLimitBucket> buckets = Maps.newConcurrentMap();
+
+    @Autowired
+    private Environment env;
+
+    @Autowired
+    private MetricRegistry metrics;
+
+    public TwitterRateLimitGovernor() {
+        super();
+    }
+
+    // API
+
+    /**
+     * - picks the account with the most remaining budget for this endpoint family and takes one call out of its budget <br/>
+     * - note: will NOT return null - throws {@link TwitterQuotaExceededException} when the call is shed
+     */
+    public final String acquire(final TwitterEndpointFamily family) {
+        return acquire(family, null);
+    }
+
+    /**
+     * - the preferred account is used if it still has budget; otherwise, any other account may be used <br/>
+     * - note: will NOT return null - throws {@link TwitterQuotaExceededException} when the call is shed
+     */
+    public final String acquire(final TwitterEndpointFamily family, final String preferredAccount) {
+        if (!family.isGoverned()) {
+            return (preferredAccount != null) ? preferredAccount : pickAnyAccount();
+        }
+
+        final long deadline = System.currentTimeMillis() + maxWaitMillis();
+        while (true) {
+            final long now = System.currentTimeMillis();
+            if (preferredAccount != null && bucket(preferredAccount, family).tryAcquire(now)) {
+                return preferredAccount;
+            }
+
+            final String bestAccount = pickAccountWithMostRemaining(family, now);
+            if (bestAccount != null) {
+                if (bucket(bestAccount, family).tryAcquire(now)) {
+                    if (preferredAccount != null) {
+                        metrics.counter(MetricsUtil.Meta.TWITTER_GOVERNOR_REROUTED).inc();
+                    }
+                    return bestAccount;
+                }
+                continue; // lost the last token to another thread - pick again
+            }
+
+            waitForNextWindowOrShed(family, earliestReset(family), deadline);
+        }
+    }
+
+    /**
+     * - for calls that can only be made on a specific account (for example, on the timeline of that account) <br/>
+     * - throws {@link TwitterQuotaExceededException} when the call is shed
+     */
+    public final void acquireOn(final String twitterAccount, final TwitterEndpointFamily family) {
+        if (!family.isGoverned()) {
+            return;
+        }
+
+        final long deadline = System.currentTimeMillis() + maxWaitMillis();
+        final RateLimitBucket bucket = bucket(twitterAccount, family);
+        while (!bucket.tryAcquire(System.currentTimeMillis())) {
+            waitForNextWindowOrShed(family, bucket.resetAtMillis(), deadline);
+        }
+    }
+
+    /**
+     * - same as {@link #acquireOn(String, TwitterEndpointFamily)}, for the next page of a multi-page read - the pages already retrieved are worth keeping <br/>
+     * - note: returns false (instead of throwing) when the call is shed
+     */
+    public final boolean tryAcquireOn(final String twitterAccount, final TwitterEndpointFamily family) {
+        try {
+            acquireOn(twitterAccount, family);
+            return true;
+        } catch (final TwitterQuotaExceededException quotaEx) {
+            // keep at warn or below - shedding is the expected behavior when the quota runs out
+            logger.warn("Read shed - {} - keeping the pages retrieved so far", quotaEx.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * - fed from the rate limit headers of a response
+     */
+    public final void update(final String twitterAccount, final TwitterEndpointFamily family, final int limit, final int remaining, final long resetAtEpochSeconds) {
+        if (!family.isGoverned()) {
+            return;
+        }
+        bucket(twitterAccount, family).update(limit, remaining, TimeUnit.SECONDS.toMillis(resetAtEpochSeconds));
+    }
+
+    /**
+     * - the API responded with 429 (Too Many Requests)
+     */
+    public final void exhausted(final String twitterAccount, final TwitterEndpointFamily family, final long resetAtEpochSeconds) {
+        if (!family.isGoverned()) {
+            return;
+        }
+        metrics.counter(MetricsUtil.Meta.TWITTER_GOVERNOR_LIMITED).inc();
+        logger.warn("Rate limited by the Twitter API on twitterAccount= {}, endpoint family= {}", twitterAccount, family);
+        bucket(twitterAccount, family).exhaust(TimeUnit.SECONDS.toMillis(resetAtEpochSeconds));
+    }
+
+    /**
+     * - seeds the buckets of an account from an explicit rate limit status call <br/>
+     * - each family is seeded only from its own seed endpoint (see {@link TwitterEndpointFamily#getSeedEndpoint()}) - the other endpoints of the family would overwrite it with their own limits
+     */
+    public final void seed(final String twitterAccount, final Map<ResourceFamily, List<RateLimitStatus>> rateLimitStatusMap) {
+        for (final List<RateLimitStatus> rateLimitStatusList : rateLimitStatusMap.values()) {
+            for (final RateLimitStatus rateLimitStatus : rateLimitStatusList) {
+                final TwitterEndpointFamily family = TwitterEndpointFamily.fromPath(rateLimitStatus.getEndpoint());
+                if (!family.isSeedEndpoint(rateLimitStatus.getEndpoint())) {
+                    continue;
+                }
+                update(twitterAccount, family, rateLimitStatus.getQuarterOfHourLimit(), rateLimitStatus.getRemainingHits(), rateLimitStatus.getResetTimeInSeconds());
+            }
+        }
+    }
+
+    public final int remaining(final String twitterAccount, final TwitterEndpointFamily family) {
+        return bucket(twitterAccount, family).remaining(System.currentTimeMillis());
+    }
+
+    public final int remainingOnAllAccounts(final TwitterEndpointFamily family) {
+        final long now = System.currentTimeMillis();
+        int total = 0;
+        for (final TwitterAccountEnum twitterAccount : TwitterAccountEnum.values()) {
+            total += bucket(twitterAccount.name(), family).remaining(now);
+        }
+        return total;
+    }
+
+    // util
+
+    final String pickAccountWithMostRemaining(final TwitterEndpointFamily family, final long now) {
+        final List<TwitterAccountEnum> accounts = Lists.newArrayList(TwitterAccountEnum.values());
+        Collections.shuffle(accounts); // spread the load between accounts with the same budget
+
+        String bestAccount = null;
+        int bestRemaining = 0;
+        for (final TwitterAccountEnum twitterAccount : accounts) {
+            final int remaining = bucket(twitterAccount.name(), family).remaining(now);
+            if (remaining > bestRemaining) {
+                bestRemaining = remaining;
+                bestAccount = twitterAccount.name();
+            }
+        }
+        return bestAccount;
+    }
+
+    private final long earliestReset(final TwitterEndpointFamily family) {
+        long earliestReset = Long.MAX_VALUE;
+        for (final TwitterAccountEnum twitterAccount : TwitterAccountEnum.values()) {
+            final long resetAtMillis = bucket(twitterAccount.name(), family).resetAtMillis();
+            if (resetAtMillis != 0) {
+                earliestReset = Math.min(earliestReset, resetAtMillis);
+            }
+        }
+        return earliestReset;
+    }
+
+    private final void waitForNextWindowOrShed(final TwitterEndpointFamily family, final long resetAtMillis, final long deadline) {
+        final long now = System.currentTimeMillis();
+        if (resetAtMillis == 0 || resetAtMillis > deadline || now >= deadline) {
+            metrics.counter(MetricsUtil.Meta.TWITTER_GOVERNOR_SHED).inc();
+            throw new TwitterQuotaExceededException(family);
+        }
+
+        metrics.counter(MetricsUtil.Meta.TWITTER_GOVERNOR_QUEUED).inc();
+        logger.debug("No Twitter API quota left for endpoint family= {} - waiting {} ms for the next window", family, resetAtMillis - now);
+        try {
+            Thread.sleep(Math.max(1, resetAtMillis - now));
+        } catch (final InterruptedException interruptedEx) {
+            Thread.currentThread().interrupt();
+            throw new TwitterQuotaExceededException(family);
+        }
+    }
+
+    private final RateLimitBucket bucket(final String twitterAccount, final TwitterEndpointFamily family) {
+        final String key = twitterAccount + "." + family.name();
+        final RateLimitBucket existingBucket = buckets.get(key);
+        if (existingBucket != null) {
+            return existingBucket;
+        }
+        final RateLimitBucket newBucket = new RateLimitBucket(family.getDefaultLimit());
+        final RateLimitBucket concurrentlyCreatedBucket = buckets.putIfAbsent(key, newBucket);
+        return (concurrentlyCreatedBucket != null) ? concurrentlyCreatedBucket : newBucket;
+    }
+
+    private final String pickAnyAccount() {
+        return GenericUtil.pickOneGeneric(TwitterAccountEnum.values()).name();
+    }
+
+    /**
+     * - twitter.governor.wait.max <br/>
+     * - the maximum time (in seconds) a call waits for the next rate limit window before it is shed <br/>
+     * - default = 30
+     */
+    private final long maxWaitMillis() {
+        return TimeUnit.SECONDS.toMillis(env.getProperty("twitter.governor.wait.max", Integer.class, 30));
+    }
+
+}
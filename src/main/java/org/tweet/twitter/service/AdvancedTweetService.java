@@ -56,6 +56,13 @@ public class AdvancedTweetService {
      * - favorites are not yet considered <br/>
      */
     public final boolean isTweetWorthRetweetingByRawTweet(final Tweet tweet, final String hashtag) {
+        return isTweetWorthRetweetingByRawTweet(tweet, hashtag, tweet.getRetweetCount());
+    }
+
+    /**
+     * - same as {@link #isTweetWorthRetweetingByRawTweet(Tweet, String)}, but with the retweet count given separately (for example, adjusted by the value of the tweet) instead of taken from the tweet
+     */
+    public final boolean isTweetWorthRetweetingByRawTweet(final Tweet tweet, final String hashtag, final int retweetCount) {
         if (!tweetService.passesSet1OfChecks(tweet, hashtag)) {
             return false;
         }
@@ -65,9 +72,9 @@ public class AdvancedTweetService {
         }
 
         final int requiredMinRts = minRtRetriever.minRt(hashtag);
-        if (tweet.getRetweetCount() < requiredMinRts) {
+        if (retweetCount < requiredMinRts) {
             // TODO: this is a problem now that the tweets are no longer strictly sorted by RT count
-            logger.trace("tweet= {} on twitterTag= {} \nrejected because it only has= {} retweets and it needs= {}", tweet, hashtag, tweet.getRetweetCount(), requiredMinRts);
+            logger.trace("tweet= {} on twitterTag= {} \nrejected because it only has= {} retweets and it needs= {}", tweet, hashtag, retweetCount, requiredMinRts);
             return false;
         }
 
@@ -22,6 +22,8 @@ import com.google.api.client.util.Preconditions;
  */
 @Service
 public class TweetMentionService {
+    private static final Pattern MENTION_PATTERN = Pattern.compile("(?<!\\w)@[\\w]+");
+
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     @Autowired
@@ -44,9 +46,7 @@ public class TweetMentionService {
     public final List<String> extractMentions(final String tweet) {
         final List<String> result = new ArrayList<String>();
 
-        final Pattern pattern = Pattern.compile("(?<!\\w)@[\\w]+");
-
-        final Matcher matcher = pattern.matcher(tweet);
+        final Matcher matcher = MENTION_PATTERN.matcher(tweet);
         while (matcher.find()) {
             result.add(matcher.group());
         }
@@ -1,33 +1,163 @@
 package org.tweet.twitter.service;
 
+import java.io.IOException;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.common.metrics.MetricsUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.env.Environment;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.social.twitter.api.Twitter;
 import org.springframework.social.twitter.api.impl.TwitterTemplate;
 import org.springframework.stereotype.Component;
+import org.tweet.twitter.component.RateLimitHeadersInterceptor;
+import org.tweet.twitter.component.TwitterRateLimitGovernor;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
 
+/**
+ * Registry of Twitter API clients - one client per account, built once and then reused <br/>
+ * - all clients share the same pool of HTTP connections, so keep-alive connections to the Twitter API are reused across accounts <br/>
+ * - when the credentials of an account change, the client of that account should be invalidated <br/>
+ * - the rate limit headers of every response are fed into the {@link TwitterRateLimitGovernor} <br/>
+ */
 @Component
-public class TwitterTemplateCreator {
+public class TwitterTemplateCreator implements InitializingBean, DisposableBean {
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final ConcurrentMap<String, Twitter> twitterTemplatesByAccount = Maps.newConcurrentMap();
+
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private HttpComponentsClientHttpRequestFactory requestFactory;
 
     @Autowired
     private Environment env;
 
+    @Autowired
+    private MetricRegistry metrics;
+
+    @Autowired
+    private TwitterRateLimitGovernor twitterRateLimitGovernor;
+
     public TwitterTemplateCreator() {
         super();
     }
 
     // API
 
-    public synchronized final Twitter createTwitterTemplate(final String twitterAccount) {
+    /**
+     * - note: will NOT return null - if the credentials of the account are not found, this will throw an exception <br/>
+     * - the client is created on first use and then reused for all subsequent calls on the same account
+     */
+    public final Twitter createTwitterTemplate(final String twitterAccount) {
+        final Twitter existingTwitterTemplate = twitterTemplatesByAccount.get(twitterAccount);
+        if (existingTwitterTemplate != null) {
+            metrics.counter(MetricsUtil.Meta.TWITTER_CLIENT_REUSED).inc();
+            return existingTwitterTemplate;
+        }
+
+        final Twitter newTwitterTemplate = createTwitterTemplateInternal(twitterAccount);
+        final Twitter concurrentlyCreatedTwitterTemplate = twitterTemplatesByAccount.putIfAbsent(twitterAccount, newTwitterTemplate);
+        if (concurrentlyCreatedTwitterTemplate != null) {
+            return concurrentlyCreatedTwitterTemplate;
+        }
+
+        metrics.counter(MetricsUtil.Meta.TWITTER_CLIENT_CREATED).inc();
+        logger.debug("Created new Twitter client for twitterAccount= {}", twitterAccount);
+        return newTwitterTemplate;
+    }
+
+    /**
+     * - to be used when the credentials of the account change - the next call will build a new client with the new credentials
+     */
+    public final void invalidate(final String twitterAccount) {
+        if (twitterTemplatesByAccount.remove(twitterAccount) != null) {
+            logger.info("Invalidated the Twitter client for twitterAccount= {}", twitterAccount);
+        }
+    }
+
+    public final void invalidateAll() {
+        twitterTemplatesByAccount.clear();
+        logger.info("Invalidated all Twitter clients");
+    }
+
+    // util
+
+    private final Twitter createTwitterTemplateInternal(final String twitterAccount) {
         final String consumerKey = Preconditions.checkNotNull(env.getProperty(twitterAccount + ".consumerKey"), "consumerKey not found for " + twitterAccount);
         final String consumerSecret = Preconditions.checkNotNull(env.getProperty(twitterAccount + ".consumerSecret"), "consumerSecret not found for " + twitterAccount);
         final String accessToken = Preconditions.checkNotNull(env.getProperty(twitterAccount + ".accessToken"), "accessToken not found for " + twitterAccount);
         final String accessTokenSecret = Preconditions.checkNotNull(env.getProperty(twitterAccount + ".accessTokenSecret"), "accessTokenSecret not found for " + twitterAccount);
 
         final TwitterTemplate twitterTemplate = new TwitterTemplate(consumerKey, consumerSecret, accessToken, accessTokenSecret);
+        twitterTemplate.setRequestFactory(requestFactory);
+        twitterTemplate.getRestTemplate().getInterceptors().add(new RateLimitHeadersInterceptor(twitterAccount, twitterRateLimitGovernor));
         return twitterTemplate;
     }
 
+    private final void registerPoolMetrics() {
+        metrics.register(MetricsUtil.Meta.TWITTER_CLIENT_POOL_LEASED, new Gauge<Integer>() {
+            @Override
+            public final Integer getValue() {
+                return connectionManager.getTotalStats().getLeased();
+            }
+        });
+        metrics.register(MetricsUtil.Meta.TWITTER_CLIENT_POOL_AVAILABLE, new Gauge<Integer>() {
+            @Override
+            public final Integer getValue() {
+                return connectionManager.getTotalStats().getAvailable();
+            }
+        });
+        metrics.register(MetricsUtil.Meta.TWITTER_CLIENT_POOL_PENDING, new Gauge<Integer>() {
+            @Override
+            public final Integer getValue() {
+                return connectionManager.getTotalStats().getPending();
+            }
+        });
+        metrics.register(MetricsUtil.Meta.TWITTER_CLIENT_COUNT, new Gauge<Integer>() {
+            @Override
+            public final Integer getValue() {
+                return twitterTemplatesByAccount.size();
+            }
+        });
+    }
+
+    // spring
+
+    @Override
+    public final void afterPropertiesSet() {
+        final int maxConnections = env.getProperty("twitter.client.pool.max", Integer.class, 40);
+        final int maxConnectionsPerRoute = env.getProperty("twitter.client.pool.perroute.max", Integer.class, 20);
+        final int connectTimeout = env.getProperty("twitter.client.timeout.connect", Integer.class, 5 * 1000);
+        final int readTimeout = env.getProperty("twitter.client.timeout.read", Integer.class, 20 * 1000);
+
+        connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute); // all calls go to api.twitter.com - so effectively a single route
+        httpClient = HttpClients.custom().setConnectionManager(connectionManager).build();
+
+        requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+
+        registerPoolMetrics();
+    }
+
+    @Override
+    public final void destroy() throws IOException {
+        twitterTemplatesByAccount.clear();
+        httpClient.close();
+    }
+
 }
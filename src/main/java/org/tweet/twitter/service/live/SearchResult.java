@@ -0,0 +1,52 @@
+package org.tweet.twitter.service.live;
+
+import java.util.List;
+
+import org.springframework.social.twitter.api.Tweet;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * The tweets found by a search, together with the since id the search was sent with <br/>
+ * - immutable - shared by all the accounts running the same search within a short time <br/>
+ * - the same search with a higher since id is answered by filtering these tweets - the search does not need to be sent again <br/>
+ */
+final class SearchResult {
+
+    private final long sinceId;
+    private final List<Tweet> tweets;
+
+    SearchResult(final long sinceId, final List<Tweet> tweets) {
+        super();
+
+        this.sinceId = sinceId;
+        this.tweets = ImmutableList.copyOf(tweets);
+    }
+
+    // API
+
+    /**
+     * - true if these tweets hold all the tweets a search with this since id would find - sinceId = 0 means no since id
+     */
+    final boolean covers(final long otherSinceId) {
+        return sinceId == 0 || (otherSinceId != 0 && otherSinceId >= sinceId);
+    }
+
+    /**
+     * - only the tweets newer than the since id, in their original order - sinceId = 0 means all the tweets <br/>
+     * - note: will NOT return null
+     */
+    final List<Tweet> newerThan(final long otherSinceId) {
+        if (otherSinceId <= sinceId) {
+            return tweets;
+        }
+        final ImmutableList.Builder<Tweet> newerTweets = ImmutableList.builder();
+        for (final Tweet tweet : tweets) {
+            if (tweet.getId() > otherSinceId) {
+                newerTweets.add(tweet);
+            }
+        }
+        return newerTweets.build();
+    }
+
+}
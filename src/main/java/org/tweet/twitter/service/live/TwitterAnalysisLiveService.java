@@ -13,6 +13,7 @@ import org.springframework.social.twitter.api.Twitter;
 import org.springframework.stereotype.Service;
 import org.tweet.meta.persistence.dao.IRetweetJpaDAO;
 import org.tweet.spring.util.SpringProfileUtil;
+import org.tweet.twitter.util.TweetRecord;
 
 import com.google.common.collect.Maps;
 
@@ -59,8 +60,8 @@ public class TwitterAnalysisLiveService {
             analyzeMention(mention);
         }
 
-        final List<Tweet> tweetsOfAccount = twitterReadLiveService.listTweetsOfInternalAccountRaw(twitterAccount, 600);
-        for (final Tweet tweet : tweetsOfAccount) {
+        final List<TweetRecord> tweetsOfAccount = twitterReadLiveService.listTweetRecordsOfInternalAccount(twitterAccount, 600);
+        for (final TweetRecord tweet : tweetsOfAccount) {
             analyzeGenericTweet(tweet);
         }
 
@@ -68,8 +69,8 @@ public class TwitterAnalysisLiveService {
     }
 
     public final int calculateAbsDifferenceBetweenLocalAndLiveRetweetsOnAccount(final String twitterAccount) {
-        final List<Tweet> tweetsOnAccount = twitterReadLiveService.listTweetsOfInternalAccountRaw(twitterAccount, 3 * 200);
-        final int linkingToSo = linkLiveService.countLinksToAnyDomainRaw(tweetsOnAccount, Technical.seDomains);
+        final List<TweetRecord> tweetsOnAccount = twitterReadLiveService.listTweetRecordsOfInternalAccount(twitterAccount, 3 * 200);
+        final int linkingToSo = linkLiveService.countLinksToAnyDomainInRecords(tweetsOnAccount, Technical.seDomains);
 
         final int liveRetweetsOnAccount = tweetsOnAccount.size() - linkingToSo;
         final int localRetweetsOnAccount = (int) retweetLocalApi.countAllByTwitterAccount(twitterAccount);
@@ -93,12 +94,12 @@ public class TwitterAnalysisLiveService {
         // not yet defined
     }
 
-    private final void analyzeGenericTweet(final Tweet tweet) {
+    private final void analyzeGenericTweet(final TweetRecord tweet) {
         if (tweet.isFavorited()) {
             System.out.println();
         }
-        // if (tweet.getEntities() != null) {
-        // final Entities entities = tweet.getEntities();
+        // if (!tweet.getExpandedUrls().isEmpty()) {
+        // final List<String> expandedUrls = tweet.getExpandedUrls();
         // System.out.println();
         // }
     }
@@ -1,12 +1,25 @@
 package org.tweet.twitter.service.live;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.common.metrics.MetricsUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
 import org.springframework.social.NotAuthorizedException;
 import org.springframework.social.twitter.api.SearchOperations;
 import org.springframework.social.twitter.api.SearchParameters;
@@ -19,21 +32,50 @@ import org.springframework.stereotype.Service;
 import org.stackexchange.util.GenericUtil;
 import org.stackexchange.util.TwitterAccountEnum;
 import org.tweet.spring.util.SpringProfileUtil;
+import org.tweet.twitter.component.TweetRecordDecoder;
+import org.tweet.twitter.component.TwitterRateLimitGovernor;
 import org.tweet.twitter.service.TwitterTemplateCreator;
+import org.tweet.twitter.util.TweetIdRange;
+import org.tweet.twitter.util.TweetRecord;
+import org.tweet.twitter.util.TwitterEndpointFamily;
+import org.tweet.twitter.util.TwitterQuotaExceededException;
+import org.tweet.twitter.util.TwitterSearchQueries;
 
 import com.codahale.metrics.MetricRegistry;
 import com.google.api.client.util.Preconditions;
 import com.google.common.base.Function;
+import com.google.common.base.Joiner;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 
 @Service
 @Profile(SpringProfileUtil.LIVE)
-public class TwitterReadLiveService {
+public class TwitterReadLiveService implements InitializingBean, DisposableBean {
+    private static final int MAX_TWEETS_PER_LOOKUP = 100;
+
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
+    /** retrieves the older pages of multi-page requests in parallel */
+    private ExecutorService pageExecutor;
+    /** the recent search results, by query - shared by all the accounts */
+    private Cache<String, SearchResult> searchResults;
+
     @Autowired
     private TwitterTemplateCreator twitterCreator;
 
+    @Autowired
+    private Environment env;
+
+    @Autowired
+    private TwitterRateLimitGovernor twitterRateLimitGovernor;
+
+    @Autowired
+    private TweetRecordDecoder tweetRecordDecoder;
+
     @Autowired
     private MetricRegistry metrics;
 
@@ -51,6 +93,8 @@ public class TwitterReadLiveService {
     public List<String> listTweetsOfInternalAccount(final String twitterAccount) {
         try {
             return listTweetsOfInternalAccountInternal(twitterAccount);
+        } catch (final TwitterQuotaExceededException quotaEx) {
+            return shed(quotaEx);
         } catch (final RuntimeException ex) {
             metrics.counter(MetricsUtil.Meta.TWITTER_READ_ERR).inc();
             logger.error("1 - Unable to list tweets on twitterAccount= " + twitterAccount, ex);
@@ -71,6 +115,8 @@ public class TwitterReadLiveService {
     public List<String> listTweetsOfInternalAccount(final String twitterAccount, final int howmany) {
         try {
             return listTweetsOfInternalAccountInternal(twitterAccount, howmany);
+        } catch (final TwitterQuotaExceededException quotaEx) {
+            return shed(quotaEx);
         } catch (final RuntimeException ex) {
             metrics.counter(MetricsUtil.Meta.TWITTER_READ_ERR).inc();
             logger.error("2 - Unable to list tweets on twitterAccount= " + twitterAccount, ex);
@@ -89,6 +135,8 @@ public class TwitterReadLiveService {
     public List<Tweet> listTweetsOfInternalAccountRaw(final String twitterAccount, final int howmany) {
         try {
             return listTweetsOfInternalAccountRawInternal(twitterAccount, howmany);
+        } catch (final TwitterQuotaExceededException quotaEx) {
+            return shed(quotaEx);
         } catch (final RuntimeException ex) {
             metrics.counter(MetricsUtil.Meta.TWITTER_READ_ERR).inc();
             logger.error("3 - Unable to list tweets on twitterAccount= " + twitterAccount, ex);
@@ -96,7 +144,16 @@ public class TwitterReadLiveService {
         }
     }
 
+    /**
+     * - same as {@link #listTweetsOfInternalAccountRaw(String, int)}, decoded into records <br/>
+     * - note: will NOT return null
+     */
+    public List<TweetRecord> listTweetRecordsOfInternalAccount(final String twitterAccount, final int howmany) {
+        return tweetRecordDecoder.decode(listTweetsOfInternalAccountRaw(twitterAccount, howmany));
+    }
+
     private final List<Tweet> listTweetsOfInternalAccountRawInternal(final String twitterAccount, final int howmany) {
+        twitterRateLimitGovernor.acquireOn(twitterAccount, TwitterEndpointFamily.TIMELINE);
         final Twitter twitterTemplate = twitterCreator.createTwitterTemplate(twitterAccount);
 
         final List<Tweet> userTimeline = twitterTemplate.timelineOperations().getUserTimeline(howmany);
@@ -110,6 +167,8 @@ public class TwitterReadLiveService {
     public List<String> listTweetsOfAccount(final String twitterAccount, final int howmany) {
         try {
             return listTweetsOfAccountInternal(twitterAccount, howmany);
+        } catch (final TwitterQuotaExceededException quotaEx) {
+            return shed(quotaEx);
         } catch (final RuntimeException ex) {
             metrics.counter(MetricsUtil.Meta.TWITTER_READ_ERR).inc();
             logger.error("4 - Unable to list tweets on twitterAccount= " + twitterAccount, ex);
@@ -120,6 +179,8 @@ public class TwitterReadLiveService {
     public List<Tweet> listTweetsOfAccountRaw(final String twitterAccount, final int howmany) {
         try {
             return listTweetsOfAccountRawInternal(twitterAccount, howmany);
+        } catch (final TwitterQuotaExceededException quotaEx) {
+            return shed(quotaEx);
         } catch (final RuntimeException ex) {
             metrics.counter(MetricsUtil.Meta.TWITTER_READ_ERR).inc();
             logger.error("5 - Unable to list tweets on twitterAccount= " + twitterAccount, ex);
@@ -134,8 +195,8 @@ public class TwitterReadLiveService {
     }
 
     private final List<Tweet> listTweetsOfAccountRawInternal(final String twitterAccount, final int howmany) {
-        final String randomAccount = GenericUtil.pickOneGeneric(TwitterAccountEnum.values()).name();
-        final Twitter readOnlyTwitterTemplate = twitterCreator.createTwitterTemplate(randomAccount);
+        final String readOnlyAccount = twitterRateLimitGovernor.acquire(TwitterEndpointFamily.TIMELINE);
+        final Twitter readOnlyTwitterTemplate = twitterCreator.createTwitterTemplate(readOnlyAccount);
 
         final List<Tweet> userTimeline = readOnlyTwitterTemplate.timelineOperations().getUserTimeline(twitterAccount, howmany);
         metrics.counter(MetricsUtil.Meta.TWITTER_READ_OK).inc();
@@ -148,6 +209,8 @@ public class TwitterReadLiveService {
     public List<Tweet> listTweetsOfAccountMultiRequestRaw(final String twitterAccount, final int howManyPages) {
         try {
             return listTweetsOfAccountMultiRequestRawInternal(twitterAccount, howManyPages);
+        } catch (final TwitterQuotaExceededException quotaEx) {
+            return shed(quotaEx);
         } catch (final RuntimeException ex) {
             metrics.counter(MetricsUtil.Meta.TWITTER_READ_ERR).inc();
             if (ex instanceof NotAuthorizedException) {
@@ -160,6 +223,19 @@ public class TwitterReadLiveService {
         }
     }
 
+    /**
+     * - same as {@link #listTweetsOfAccountMultiRequestRaw(String, int)}, decoded into records <br/>
+     * - note: will NOT return null
+     */
+    public List<TweetRecord> listTweetRecordsOfAccountMultiRequest(final String twitterAccount, final int howManyPages) {
+        return tweetRecordDecoder.decode(listTweetsOfAccountMultiRequestRaw(twitterAccount, howManyPages));
+    }
+
+    /**
+     * - the first page is retrieved on its own; the older pages are then retrieved in parallel, one page per range of ids extrapolated from the first page <br/>
+     * - a range that holds more than its page is continued in place, before the next range is added - so no tweets are skipped between ranges <br/>
+     * - stops early once enough tweets are collected, when the deadline passes or when the quota runs out - the result is always the newest tweets, without gaps
+     */
     private final List<Tweet> listTweetsOfAccountMultiRequestRawInternal(final String twitterAccount, final int howManyPages) {
         if (howManyPages <= 1) {
             return listTweetsOfAccountRawInternal(twitterAccount, 200);
@@ -168,33 +244,199 @@ public class TwitterReadLiveService {
             throw new IllegalStateException();
         }
 
-        final int reqCount = howManyPages;
-        int pageIndex = reqCount;
-
-        final String randomAccount = GenericUtil.pickOneGeneric(TwitterAccountEnum.values()).name();
-        final Twitter readOnlyTwitterTemplate = twitterCreator.createTwitterTemplate(randomAccount);
-        final TimelineOperations timelineOperations = readOnlyTwitterTemplate.timelineOperations();
+        final long deadline = System.currentTimeMillis() + deadlineMillis();
+        final int maxTweets = howManyPages * 200;
 
-        final List<Tweet> collector = Lists.newArrayList();
-        List<Tweet> currentPage = timelineOperations.getUserTimeline(twitterAccount, 200);
+        final String readOnlyAccount = twitterRateLimitGovernor.acquire(TwitterEndpointFamily.TIMELINE);
+        final List<Tweet> firstPage = twitterCreator.createTwitterTemplate(readOnlyAccount).timelineOperations().getUserTimeline(twitterAccount, 200);
         metrics.counter(MetricsUtil.Meta.TWITTER_READ_OK).inc();
 
-        collector.addAll(currentPage);
-        if (collector.size() < 200) {
+        final List<Tweet> collector = Lists.newArrayList(firstPage);
+        if (firstPage.size() < 200) {
             // done - under 200 tweets (1 page)
             return collector;
         }
-        long lastId = currentPage.get(currentPage.size() - 1).getId();
-        while (pageIndex > 1) {
-            currentPage = timelineOperations.getUserTimeline(twitterAccount, 200, 01, lastId);
-            metrics.counter(MetricsUtil.Meta.TWITTER_READ_OK).inc();
 
+        final long newestId = firstPage.get(0).getId();
+        final long oldestId = firstPage.get(firstPage.size() - 1).getId();
+        final List<TweetIdRange> ranges = TweetIdRange.rangesOlderThan(newestId, oldestId, howManyPages - 1);
+        if (ranges.isEmpty()) {
+            collector.addAll(listTweetsOfAccountInRange(twitterAccount, oldestId - 1, 0, maxTweets - collector.size(), deadline).tweets);
+            return collector;
+        }
+
+        final List<Future<TweetsInRange>> futures = Lists.newArrayList();
+        for (final TweetIdRange range : ranges) {
+            futures.add(pageExecutor.submit(new Callable<TweetsInRange>() {
+                @Override
+                public final TweetsInRange call() {
+                    // each range gets its own slice of the budget - a single page
+                    return listTweetsOfAccountInRange(twitterAccount, range.getMaxId(), range.getSinceId(), 200, deadline);
+                }
+            }));
+        }
+
+        boolean complete = true;
+        for (int i = 0; i < futures.size(); i++) {
+            final Future<TweetsInRange> future = futures.get(i);
+            if (!complete || collector.size() >= maxTweets) {
+                future.cancel(true);
+                continue;
+            }
+            final TweetsInRange tweetsInRange = waitForPages(future, deadline, twitterAccount);
+            if (tweetsInRange == null) {
+                complete = false;
+                continue;
+            }
+            collector.addAll(tweetsInRange.tweets);
+            if (tweetsInRange.exhausted || collector.size() >= maxTweets) {
+                continue;
+            }
+            if (tweetsInRange.tweets.isEmpty()) {
+                // shed before the first page of the range
+                complete = false;
+                continue;
+            }
+            // the range held more than its page - continue it before adding the next range
+            final long oldestIdInRange = tweetsInRange.tweets.get(tweetsInRange.tweets.size() - 1).getId();
+            final TweetsInRange restOfRange = listTweetsOfAccountInRange(twitterAccount, oldestIdInRange - 1, ranges.get(i).getSinceId(), maxTweets - collector.size(), deadline);
+            collector.addAll(restOfRange.tweets);
+            complete = restOfRange.exhausted;
+        }
+
+        // the ranges were too short for this user - only the last range continues, from the oldest tweet
+        final TweetIdRange oldestRange = ranges.get(ranges.size() - 1);
+        if (complete && collector.size() < maxTweets && oldestRange.getSinceId() > 0) {
+            collector.addAll(listTweetsOfAccountInRange(twitterAccount, oldestRange.getSinceId(), 0, maxTweets - collector.size(), deadline).tweets);
+        }
+
+        return (collector.size() > maxTweets) ? Lists.newArrayList(collector.subList(0, maxTweets)) : collector;
+    }
+
+    /**
+     * - retrieves the tweets between maxId (inclusive) and sinceId (exclusive; 0 = no lower bound), page by page, newest first <br/>
+     * - stops when the range is exhausted, when maxTweets are collected, when the deadline passes, or when the quota runs out <br/>
+     * - note: will NOT return null
+     */
+    private final TweetsInRange listTweetsOfAccountInRange(final String twitterAccount, final long maxId, final long sinceId, final int maxTweets, final long deadline) {
+        final List<Tweet> collector = Lists.newArrayList();
+        final String readOnlyAccount;
+        try {
+            readOnlyAccount = twitterRateLimitGovernor.acquire(TwitterEndpointFamily.TIMELINE);
+        } catch (final TwitterQuotaExceededException quotaEx) {
+            shed(quotaEx);
+            return new TweetsInRange(collector, false);
+        }
+        final TimelineOperations timelineOperations = twitterCreator.createTwitterTemplate(readOnlyAccount).timelineOperations();
+
+        long currentMaxId = maxId;
+        while (true) {
+            final List<Tweet> currentPage = timelineOperations.getUserTimeline(twitterAccount, 200, sinceId, currentMaxId);
+            metrics.counter(MetricsUtil.Meta.TWITTER_READ_OK).inc();
             collector.addAll(currentPage);
-            if (currentPage.isEmpty()) {
-                logger.error("This should not happen but weirdly does when retrieving {} pages for twitterAccount= {}", howManyPages, twitterAccount);
-                return collector;
+
+            if (currentPage.size() < 200) {
+                return new TweetsInRange(collector, true);
             }
-            lastId = currentPage.get(currentPage.size() - 1).getId();
+            if (collector.size() >= maxTweets) {
+                return new TweetsInRange(collector, false);
+            }
+            if (System.currentTimeMillis() > deadline) {
+                logger.warn("Deadline passed while retrieving tweets of twitterAccount= {} - returning {} tweets", twitterAccount, collector.size());
+                return new TweetsInRange(collector, false);
+            }
+            currentMaxId = currentPage.get(currentPage.size() - 1).getId() - 1;
+            if (!twitterRateLimitGovernor.tryAcquireOn(readOnlyAccount, TwitterEndpointFamily.TIMELINE)) {
+                return new TweetsInRange(collector, false);
+            }
+        }
+    }
+
+    /**
+     * - note: will return null if the pages did not arrive before the deadline, or could not be retrieved
+     */
+    private final TweetsInRange waitForPages(final Future<TweetsInRange> future, final long deadline, final String twitterAccount) {
+        try {
+            return future.get(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException timeoutEx) {
+            future.cancel(true);
+            logger.warn("Deadline passed while retrieving tweets of twitterAccount= {}", twitterAccount);
+            return null;
+        } catch (final ExecutionException executionEx) {
+            metrics.counter(MetricsUtil.Meta.TWITTER_READ_ERR).inc();
+            logger.error("Unable to retrieve older tweets of twitterAccount= " + twitterAccount, executionEx.getCause());
+            return null;
+        } catch (final InterruptedException interruptedEx) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * - only the tweets strictly newer than sinceId - newest first <br/>
+     * - stops at the first page that is not full, or after howManyPages pages - so if exactly howManyPages full pages come back, there may be a gap <br/>
+     * - note: will NOT return null
+     */
+    public List<Tweet> listTweetsOfAccountNewerThanRaw(final String twitterAccount, final long sinceId, final int howManyPages) {
+        final List<Tweet> tweets = tryListTweetsOfAccountNewerThanRaw(twitterAccount, sinceId, howManyPages);
+        return (tweets == null) ? Lists.<Tweet> newArrayList() : tweets;
+    }
+
+    /**
+     * - same as {@link #listTweetsOfAccountNewerThanRaw(String, long, int)}, decoded into records <br/>
+     * - note: will return null if the tweets could not be retrieved, or the read was shed - so that it can be told apart from no newer tweets at all
+     */
+    public List<TweetRecord> listTweetRecordsOfAccountNewerThan(final String twitterAccount, final long sinceId, final int howManyPages) {
+        final List<Tweet> tweets = tryListTweetsOfAccountNewerThanRaw(twitterAccount, sinceId, howManyPages);
+        return (tweets == null) ? null : tweetRecordDecoder.decode(tweets);
+    }
+
+    /**
+     * - note: will return null if the tweets could not be retrieved, or the read was shed
+     */
+    private final List<Tweet> tryListTweetsOfAccountNewerThanRaw(final String twitterAccount, final long sinceId, final int howManyPages) {
+        try {
+            return listTweetsOfAccountNewerThanRawInternal(twitterAccount, sinceId, howManyPages);
+        } catch (final TwitterQuotaExceededException quotaEx) {
+            shed(quotaEx);
+            return null;
+        } catch (final RuntimeException ex) {
+            metrics.counter(MetricsUtil.Meta.TWITTER_READ_ERR).inc();
+            if (ex instanceof NotAuthorizedException) {
+                // keep at warn or below - no need to know when this happens all the time
+                logger.warn("2 - Known reason - Unable to retrieve profile of user: " + twitterAccount, ex);
+                return null;
+            }
+            logger.error("6 - Unable to list tweets on twitterAccount= " + twitterAccount + " newer than sinceId= " + sinceId, ex);
+            return null;
+        }
+    }
+
+    private final List<Tweet> listTweetsOfAccountNewerThanRawInternal(final String twitterAccount, final long sinceId, final int howManyPages) {
+        Preconditions.checkState(howManyPages > 0);
+        Preconditions.checkState(sinceId > 0);
+        if (howManyPages > 30) {
+            throw new IllegalStateException();
+        }
+
+        final String readOnlyAccount = twitterRateLimitGovernor.acquire(TwitterEndpointFamily.TIMELINE);
+        final TimelineOperations timelineOperations = twitterCreator.createTwitterTemplate(readOnlyAccount).timelineOperations();
+
+        final List<Tweet> collector = Lists.newArrayList();
+        List<Tweet> currentPage = timelineOperations.getUserTimeline(twitterAccount, 200, sinceId, 0);
+        metrics.counter(MetricsUtil.Meta.TWITTER_READ_OK).inc();
+        collector.addAll(currentPage);
+
+        int pageIndex = howManyPages;
+        while (currentPage.size() >= 200 && pageIndex > 1) {
+            final long lastId = currentPage.get(currentPage.size() - 1).getId();
+            if (!twitterRateLimitGovernor.tryAcquireOn(readOnlyAccount, TwitterEndpointFamily.TIMELINE)) {
+                break;
+            }
+            currentPage = timelineOperations.getUserTimeline(twitterAccount, 200, sinceId, lastId - 1);
+            metrics.counter(MetricsUtil.Meta.TWITTER_READ_OK).inc();
+
+            collector.addAll(currentPage);
             pageIndex--;
         }
 
@@ -204,6 +446,8 @@ public class TwitterReadLiveService {
     public List<Tweet> listTweetsByHashtagMultiRequestRaw(final String hashtag, final int howManyPages) {
         try {
             return listTweetsByHashtagMultiRequestRawInternal(hashtag, howManyPages);
+        } catch (final TwitterQuotaExceededException quotaEx) {
+            return shed(quotaEx);
         } catch (final RuntimeException ex) {
             metrics.counter(MetricsUtil.Meta.TWITTER_READ_ERR).inc();
             logger.error("7 - Unable to list tweets by hashtag= " + hashtag, ex);
@@ -223,8 +467,8 @@ public class TwitterReadLiveService {
         final int reqCount = howManyPages;
         int pageIndex = reqCount;
 
-        final String randomAccount = GenericUtil.pickOneGeneric(TwitterAccountEnum.values()).name();
-        final Twitter readOnlyTwitterTemplate = twitterCreator.createTwitterTemplate(randomAccount);
+        final String readOnlyAccount = twitterRateLimitGovernor.acquire(TwitterEndpointFamily.SEARCH);
+        final Twitter readOnlyTwitterTemplate = twitterCreator.createTwitterTemplate(readOnlyAccount);
         final SearchOperations searchOperations = readOnlyTwitterTemplate.searchOperations();
 
         final List<Tweet> collector = Lists.newArrayList();
@@ -238,8 +482,16 @@ public class TwitterReadLiveService {
             // done - under 100 tweets (1 page)
             return collector;
         }
+        final long deadline = System.currentTimeMillis() + deadlineMillis();
         long lastId = currentPage.get(currentPage.size() - 1).getId();
         while (pageIndex > 1) {
+            if (System.currentTimeMillis() > deadline) {
+                logger.warn("Deadline passed while retrieving {} pages for hashtag= {} - returning {} tweets", howManyPages, hashtag, collector.size());
+                return collector;
+            }
+            if (!twitterRateLimitGovernor.tryAcquireOn(readOnlyAccount, TwitterEndpointFamily.SEARCH)) {
+                return collector;
+            }
             searchParameters = new SearchParameters(hashtag.trim()).lang("en").count(100).maxId(lastId).includeEntities(true).resultType(ResultType.MIXED);
             currentPage = searchOperations.search(searchParameters).getTweets(); // timelineOperations.getUserTimeline(twitterAccount, 200, 01, lastId);
             metrics.counter(MetricsUtil.Meta.TWITTER_READ_OK).inc();
@@ -249,6 +501,10 @@ public class TwitterReadLiveService {
                 logger.error("This should not happen but weirdly does when retrieving {} pages for hashtag= {}", howManyPages, hashtag);
                 return collector;
             }
+            if (currentPage.size() < 100) {
+                // done - nothing older
+                return collector;
+            }
             lastId = currentPage.get(currentPage.size() - 1).getId();
             pageIndex--;
         }
@@ -259,46 +515,85 @@ public class TwitterReadLiveService {
     // tweets - by hashtag
 
     public List<Tweet> listTweetsByHashtag(final String hashtag) {
-        final String randomAccount = GenericUtil.pickOneGeneric(TwitterAccountEnum.values()).name();
-        return listTweetsByHashtag(randomAccount, hashtag);
+        return listTweetsByHashtag(null, hashtag);
     }
 
+    /**
+     * - the read only account is only a preference - if it has no search budget left, another account is used
+     */
     public List<Tweet> listTweetsByHashtag(final String readOnlyAccountName, final String hashtag) {
-        final Twitter twitterTemplate = twitterCreator.createTwitterTemplate(readOnlyAccountName);
-
-        // ruby_rails
-        final StringBuilder param = new StringBuilder();
-        if (hashtag.contains("_")) {
-            final String[] hashtags = hashtag.split("_");
-            for (final String hashtagIndividual : hashtags) {
-                param.append("#").append(hashtagIndividual).append(" ");
-            }
-        } else {
-            param.append("#").append(hashtag);
-        }
+        return search(readOnlyAccountName, TwitterSearchQueries.hashtagQuery(hashtag));
+    }
 
-        final SearchParameters searchParameters = new SearchParameters(param.toString().trim()).lang("en").count(100).includeEntities(true).resultType(ResultType.MIXED);
-        final SearchResults search = twitterTemplate.searchOperations().search(searchParameters);
-        metrics.counter(MetricsUtil.Meta.TWITTER_READ_OK).inc();
+    /**
+     * - the read only account is only a preference - if it has no search budget left, another account is used
+     */
+    public List<Tweet> listTweetsByWord(final String readOnlyAccountName, final String word) {
+        return search(readOnlyAccountName, TwitterSearchQueries.wordQuery(word));
+    }
 
-        return search.getTweets();
+    /**
+     * - only the tweets newer than the since id are retrieved - sinceId = 0 means no since id (a full search) <br/>
+     * - the read only account is only a preference - if it has no search budget left, another account is used <br/>
+     * - note: throws {@link TwitterQuotaExceededException} when the search is shed - an empty result always means the search completed
+     */
+    public List<Tweet> listTweetsByHashtag(final String readOnlyAccountName, final String hashtag, final long sinceId) {
+        return search(readOnlyAccountName, TwitterSearchQueries.hashtagQuery(hashtag), sinceId);
     }
 
-    public List<Tweet> listTweetsByWord(final String readOnlyAccountName, final String word) {
-        final Twitter twitterTemplate = twitterCreator.createTwitterTemplate(readOnlyAccountName);
-
-        // ruby_rails
-        final StringBuilder param = new StringBuilder();
-        if (word.contains("_")) {
-            final String[] words = word.split("_");
-            for (final String wordIndividual : words) {
-                param.append(wordIndividual).append(" ");
+    /**
+     * - only the tweets newer than the since id are retrieved - sinceId = 0 means no since id (a full search) <br/>
+     * - the read only account is only a preference - if it has no search budget left, another account is used <br/>
+     * - note: throws {@link TwitterQuotaExceededException} when the search is shed - an empty result always means the search completed
+     */
+    public List<Tweet> listTweetsByWord(final String readOnlyAccountName, final String word, final long sinceId) {
+        return search(readOnlyAccountName, TwitterSearchQueries.wordQuery(word), sinceId);
+    }
+
+    private final List<Tweet> search(final String readOnlyAccountName, final String query) {
+        return search(readOnlyAccountName, query, 0);
+    }
+
+    /**
+     * - sinceId = 0 means no since id <br/>
+     * - the results do not depend on the account the search is made with - so the same search, made for different accounts within a short time, is only sent once <br/>
+     * - the result is remembered by query alone: a later caller with a higher since id (the candidate pool moved on in the meantime) gets the remembered tweets newer than its own since id <br/>
+     * - only a caller that needs older tweets than the remembered search found (a lower since id) sends the search again <br/>
+     * - concurrent identical searches wait for the one already in flight instead of sending their own
+     */
+    private final List<Tweet> search(final String readOnlyAccountName, final String query, final long sinceId) {
+        final boolean[] searched = new boolean[1];
+        try {
+            final SearchResult result = searchResults.get(query, new Callable<SearchResult>() {
+                @Override
+                public final SearchResult call() {
+                    searched[0] = true;
+                    return new SearchResult(sinceId, searchLive(readOnlyAccountName, query, sinceId));
+                }
+            });
+            if (result.covers(sinceId)) {
+                metrics.counter(searched[0] ? MetricsUtil.Meta.SEARCH_CACHE_MISS : MetricsUtil.Meta.SEARCH_CACHE_HIT).inc();
+                return result.newerThan(sinceId);
             }
-        } else {
-            param.append(word);
+        } catch (final ExecutionException | UncheckedExecutionException ex) {
+            throw Throwables.propagate(ex.getCause());
         }
 
-        final SearchParameters searchParameters = new SearchParameters(param.toString().trim()).lang("en").count(100).includeEntities(true).resultType(ResultType.MIXED);
+        // the remembered search started from a later tweet than this one needs - this wider search replaces it
+        metrics.counter(MetricsUtil.Meta.SEARCH_CACHE_MISS).inc();
+        final SearchResult widerResult = new SearchResult(sinceId, searchLive(readOnlyAccountName, query, sinceId));
+        searchResults.put(query, widerResult);
+        return widerResult.newerThan(sinceId);
+    }
+
+    private final List<Tweet> searchLive(final String readOnlyAccountName, final String query, final long sinceId) {
+        final String readOnlyAccount = twitterRateLimitGovernor.acquire(TwitterEndpointFamily.SEARCH, readOnlyAccountName);
+        final Twitter twitterTemplate = twitterCreator.createTwitterTemplate(readOnlyAccount);
+
+        final SearchParameters searchParameters = new SearchParameters(query).lang("en").count(100).includeEntities(true).resultType(ResultType.MIXED);
+        if (sinceId > 0) {
+            searchParameters.sinceId(sinceId);
+        }
         final SearchResults search = twitterTemplate.searchOperations().search(searchParameters);
         metrics.counter(MetricsUtil.Meta.TWITTER_READ_OK).inc();
 
@@ -308,7 +603,41 @@ public class TwitterReadLiveService {
     // tweets - single one
 
     public Tweet findOne(final long id) {
-        return readOnlyTwitterApi().timelineOperations().getStatus(id);
+        return readOnlyTwitterApi(TwitterEndpointFamily.STATUSES).timelineOperations().getStatus(id);
+    }
+
+    // tweets - multiple, by id
+
+    /**
+     * - the current state of each of these tweets (retweet count included), with one lookup request per 100 ids <br/>
+     * - the tweets that no longer exist are not in the result; if the quota runs out, only the tweets retrieved so far are <br/>
+     * - note: will NOT return null
+     */
+    public List<Tweet> findAll(final Collection<Long> ids) {
+        final List<Tweet> tweets = Lists.newArrayList();
+        for (final List<Long> batch : Lists.partition(Lists.newArrayList(ids), MAX_TWEETS_PER_LOOKUP)) {
+            try {
+                tweets.addAll(findAllInternal(batch));
+            } catch (final TwitterQuotaExceededException quotaEx) {
+                shed(quotaEx);
+                break;
+            } catch (final RuntimeException ex) {
+                metrics.counter(MetricsUtil.Meta.TWITTER_READ_ERR).inc();
+                logger.error("Unable to look up tweets: " + batch, ex);
+            }
+        }
+        return tweets;
+    }
+
+    private final List<Tweet> findAllInternal(final List<Long> ids) {
+        Preconditions.checkState(ids.size() <= MAX_TWEETS_PER_LOOKUP);
+        final Twitter readOnlyTwitterTemplate = readOnlyTwitterApi(TwitterEndpointFamily.STATUSES);
+
+        // the operations of the template do not cover statuses/lookup
+        final Tweet[] tweets = readOnlyTwitterTemplate.restOperations().getForObject("https://api.twitter.com/1.1/statuses/lookup.json?include_entities=true&id={ids}", Tweet[].class, Joiner.on(',').join(ids));
+        metrics.counter(MetricsUtil.Meta.TWITTER_READ_OK).inc();
+
+        return (tweets == null) ? Lists.<Tweet> newArrayList() : Arrays.asList(tweets);
     }
 
     // internal API
@@ -319,9 +648,73 @@ public class TwitterReadLiveService {
         return readOnlyTwitterTemplate;
     }
 
+    /**
+     * - takes one call out of the budget of the account with the most remaining budget for this endpoint family
+     */
+    public final Twitter readOnlyTwitterApi(final TwitterEndpointFamily family) {
+        final String readOnlyAccount = twitterRateLimitGovernor.acquire(family);
+        return twitterCreator.createTwitterTemplate(readOnlyAccount);
+    }
+
     public final Twitter readOnlyTwitterApi(final String twitterAccount) {
         final Twitter readOnlyTwitterTemplate = twitterCreator.createTwitterTemplate(twitterAccount);
         return readOnlyTwitterTemplate;
     }
 
+    // util
+
+    /**
+     * - twitter.read.deadline <br/>
+     * - the maximum time (in seconds) a multi-page request keeps retrieving pages - the pages retrieved so far are returned after that <br/>
+     * - default = 20
+     */
+    private final long deadlineMillis() {
+        return TimeUnit.SECONDS.toMillis(env.getProperty("twitter.read.deadline", Integer.class, 20));
+    }
+
+    private final <T> List<T> shed(final TwitterQuotaExceededException quotaEx) {
+        // keep at warn or below - shedding is the expected behavior when the quota runs out
+        logger.warn("Read shed - {}", quotaEx.getMessage());
+        return Lists.newArrayList();
+    }
+
+    // spring
+
+    /**
+     * - twitter.read.threads - the number of threads retrieving pages in parallel - default = 8 <br/>
+     * - when all threads are busy, the calling thread retrieves the page itself <br/>
+     * - twitter.search.cache.size - the maximum number of remembered search results - default = 500 <br/>
+     * - twitter.search.cache.ttl - minutes a search result is reused for (by any since id it covers) - default = 10 - short enough that a result is only shared within a scheduler slot
+     */
+    @Override
+    public final void afterPropertiesSet() {
+        final int threads = env.getProperty("twitter.read.threads", Integer.class, 8);
+        final ThreadFactoryBuilder threadFactory = new ThreadFactoryBuilder().setNameFormat("twitter-read-%d").setDaemon(true);
+        pageExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(threads * 4), threadFactory.build(), new ThreadPoolExecutor.CallerRunsPolicy());
+
+        final long maxSearchResults = env.getProperty("twitter.search.cache.size", Long.class, 500l);
+        final int searchTtlInMinutes = env.getProperty("twitter.search.cache.ttl", Integer.class, 10);
+        searchResults = CacheBuilder.newBuilder().maximumSize(maxSearchResults).expireAfterWrite(searchTtlInMinutes, TimeUnit.MINUTES).build();
+    }
+
+    @Override
+    public final void destroy() {
+        pageExecutor.shutdownNow();
+    }
+
+    /**
+     * The tweets retrieved from a range of ids - exhausted if the range holds no other tweets
+     */
+    private static final class TweetsInRange {
+        private final List<Tweet> tweets;
+        private final boolean exhausted;
+
+        TweetsInRange(final List<Tweet> tweets, final boolean exhausted) {
+            super();
+
+            this.tweets = tweets;
+            this.exhausted = exhausted;
+        }
+    }
+
 }
@@ -1,13 +1,18 @@
 package org.tweet.twitter.service.live;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.common.metrics.MetricsUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
 import org.springframework.social.InternalServerErrorException;
 import org.springframework.social.ResourceNotFoundException;
 import org.springframework.social.SocialException;
@@ -17,24 +22,45 @@ import org.springframework.social.twitter.api.Twitter;
 import org.springframework.social.twitter.api.TwitterProfile;
 import org.springframework.social.twitter.api.UserOperations;
 import org.springframework.stereotype.Service;
-import org.stackexchange.util.GenericUtil;
-import org.stackexchange.util.TwitterAccountEnum;
 import org.tweet.spring.util.SpringProfileUtil;
+import org.tweet.twitter.component.TwitterRateLimitGovernor;
 import org.tweet.twitter.service.TwitterTemplateCreator;
+import org.tweet.twitter.util.FriendIds;
+import org.tweet.twitter.util.TwitterEndpointFamily;
+import org.tweet.twitter.util.TwitterQuotaExceededException;
 
 import com.codahale.metrics.MetricRegistry;
 import com.google.api.client.util.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
 @Service
 @Profile(SpringProfileUtil.LIVE)
-public class UserLiveService {
+public class UserLiveService implements InitializingBean {
+    private static final int MAX_USERS_PER_LOOKUP = 100;
+
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
+    /** profiles by normalized handle */
+    private Cache<String, TwitterProfile> profilesByUser;
+    /** normalized handles of users that no longer exist (deleted or suspended) */
+    private Cache<String, Boolean> missingUsers;
+    /** friend ids by user id */
+    private Cache<Long, FriendIds> friendIdsByUser;
+
     @Autowired
     private TwitterTemplateCreator twitterCreator;
 
+    @Autowired
+    private Environment env;
+
+    @Autowired
+    private TwitterRateLimitGovernor twitterRateLimitGovernor;
+
     @Autowired
     private MetricRegistry metrics;
 
@@ -42,6 +68,9 @@ public class UserLiveService {
 
     // follow
 
+    /**
+     * - writes are not governed - the governor only keeps track of the read budgets
+     */
     public final void followUser(final String myAccount, final String screenName) {
         final Twitter readOnlyTwitterTemplate = twitterCreator.createTwitterTemplate(myAccount);
 
@@ -56,8 +85,26 @@ public class UserLiveService {
      * - note: will NOT return null
      */
     public TwitterProfile getProfileOfUser(final String userHandle) {
+        final String key = normalize(userHandle);
+        final TwitterProfile cachedProfile = profilesByUser.getIfPresent(key);
+        if (cachedProfile != null) {
+            metrics.counter(MetricsUtil.Meta.PROFILE_CACHE_HIT).inc();
+            return cachedProfile;
+        }
+        if (missingUsers.getIfPresent(key) != null) {
+            metrics.counter(MetricsUtil.Meta.PROFILE_CACHE_NEGATIVE_HIT).inc();
+            return null;
+        }
+        metrics.counter(MetricsUtil.Meta.PROFILE_CACHE_MISS).inc();
+
         try {
-            return getProfileOfUserInternal(userHandle);
+            final TwitterProfile userProfile = getProfileOfUserInternal(userHandle);
+            profilesByUser.put(key, userProfile);
+            return userProfile;
+        } catch (final TwitterQuotaExceededException quotaEx) {
+            // keep at warn or below - shedding is the expected behavior when the quota runs out
+            logger.warn("Read shed - unable to retrieve profile of user: " + userHandle);
+            return null;
         } catch (final SocialException socialEx) {
             metrics.counter(MetricsUtil.Meta.TWITTER_READ_ERR).inc();
 
@@ -70,6 +117,7 @@ public class UserLiveService {
             if (socialEx instanceof ResourceNotFoundException) {
                 // keep at warn or below - no need to know when this happens all the time
                 logger.warn("Known reason - User no longer exists: " + userHandle, socialEx);
+                missingUsers.put(key, Boolean.TRUE);
                 return null;
             }
 
@@ -83,8 +131,7 @@ public class UserLiveService {
     }
 
     private final TwitterProfile getProfileOfUserInternal(final String userHandle) {
-        final String randomAccount = GenericUtil.pickOneGeneric(TwitterAccountEnum.values()).name();
-        final Twitter readOnlyTwitterTemplate = twitterCreator.createTwitterTemplate(randomAccount);
+        final Twitter readOnlyTwitterTemplate = readOnlyTwitterApi(TwitterEndpointFamily.USERS);
 
         final TwitterProfile userProfile = readOnlyTwitterTemplate.userOperations().getUserProfile(userHandle);
         metrics.counter(MetricsUtil.Meta.TWITTER_READ_OK).inc();
@@ -92,6 +139,91 @@ public class UserLiveService {
         return Preconditions.checkNotNull(userProfile);
     }
 
+    // user profiles - multiple - lookup
+
+    /**
+     * - resolves the profiles of all these users - from the cache where possible, otherwise with one lookup request per 100 users <br/>
+     * - the keys of the result are the handles as passed in; users that no longer exist (deleted or suspended) are not in the result <br/>
+     * - note: will NOT return null
+     */
+    public Map<String, TwitterProfile> getProfilesOfUsers(final Collection<String> userHandles) {
+        final Map<String, TwitterProfile> profilesByKey = Maps.newHashMap();
+        final Set<String> keysToLookup = Sets.newLinkedHashSet();
+        for (final String userHandle : userHandles) {
+            final String key = normalize(userHandle);
+            if (profilesByKey.containsKey(key) || keysToLookup.contains(key)) {
+                continue;
+            }
+            final TwitterProfile cachedProfile = profilesByUser.getIfPresent(key);
+            if (cachedProfile != null) {
+                metrics.counter(MetricsUtil.Meta.PROFILE_CACHE_HIT).inc();
+                profilesByKey.put(key, cachedProfile);
+            } else if (missingUsers.getIfPresent(key) != null) {
+                metrics.counter(MetricsUtil.Meta.PROFILE_CACHE_NEGATIVE_HIT).inc();
+            } else {
+                metrics.counter(MetricsUtil.Meta.PROFILE_CACHE_MISS).inc();
+                keysToLookup.add(key);
+            }
+        }
+
+        for (final List<String> batch : Lists.partition(Lists.newArrayList(keysToLookup), MAX_USERS_PER_LOOKUP)) {
+            final Map<String, TwitterProfile> profilesOfBatch;
+            try {
+                profilesOfBatch = getProfilesOfUsersInternal(batch);
+            } catch (final TwitterQuotaExceededException quotaEx) {
+                // keep at warn or below - shedding is the expected behavior when the quota runs out
+                logger.warn("Read shed - unable to retrieve the profiles of {} users", keysToLookup.size());
+                break;
+            } catch (final RuntimeException ex) {
+                metrics.counter(MetricsUtil.Meta.TWITTER_READ_ERR).inc();
+                logger.error("Unable to retrieve the profiles of users: " + batch, ex);
+                continue;
+            }
+
+            profilesByKey.putAll(profilesOfBatch);
+            // the lookup succeeded - the users it left out no longer exist (deleted or suspended); a failed or shed lookup says nothing about them
+            for (final String key : batch) {
+                if (!profilesOfBatch.containsKey(key)) {
+                    missingUsers.put(key, Boolean.TRUE);
+                }
+            }
+        }
+
+        final Map<String, TwitterProfile> profilesByHandle = Maps.newHashMap();
+        for (final String userHandle : userHandles) {
+            final TwitterProfile profile = profilesByKey.get(normalize(userHandle));
+            if (profile != null) {
+                profilesByHandle.put(userHandle, profile);
+            }
+        }
+        return profilesByHandle;
+    }
+
+    /**
+     * - the profiles of the users the lookup found, by key - a single lookup request <br/>
+     * - note: throws if the lookup failed or was shed - the users it did not find are only known to be missing when it returns
+     */
+    private final Map<String, TwitterProfile> getProfilesOfUsersInternal(final List<String> keys) {
+        Preconditions.checkState(keys.size() <= MAX_USERS_PER_LOOKUP);
+        final Twitter readOnlyTwitterTemplate = readOnlyTwitterApi(TwitterEndpointFamily.USERS);
+
+        final Map<String, TwitterProfile> profilesByKey = Maps.newHashMap();
+        try {
+            final List<TwitterProfile> userProfiles = readOnlyTwitterTemplate.userOperations().getUsers(keys.toArray(new String[keys.size()]));
+            metrics.counter(MetricsUtil.Meta.TWITTER_READ_OK).inc();
+            for (final TwitterProfile userProfile : userProfiles) {
+                final String key = normalize(userProfile.getScreenName());
+                profilesByUser.put(key, userProfile);
+                profilesByKey.put(key, userProfile);
+            }
+        } catch (final ResourceNotFoundException notFoundEx) {
+            // none of the users exist anymore
+            metrics.counter(MetricsUtil.Meta.TWITTER_READ_OK).inc();
+        }
+
+        return profilesByKey;
+    }
+
     // user profiles - multi-request - search
 
     public final List<TwitterProfile> searchForUsers(final String keyword, final int howManyPages) {
@@ -102,8 +234,8 @@ public class UserLiveService {
             throw new IllegalStateException();
         }
 
-        final String randomAccount = GenericUtil.pickOneGeneric(TwitterAccountEnum.values()).name();
-        final Twitter readOnlyTwitterTemplate = twitterCreator.createTwitterTemplate(randomAccount);
+        final String readOnlyAccount = twitterRateLimitGovernor.acquire(TwitterEndpointFamily.USERS);
+        final Twitter readOnlyTwitterTemplate = twitterCreator.createTwitterTemplate(readOnlyAccount);
         final UserOperations userOperations = readOnlyTwitterTemplate.userOperations();
 
         final List<TwitterProfile> collector = Lists.newArrayList();
@@ -112,6 +244,9 @@ public class UserLiveService {
         boolean keepGoing = true;
 
         while (keepGoing) {
+            if (currentPageIndex > 0 && !twitterRateLimitGovernor.tryAcquireOn(readOnlyAccount, TwitterEndpointFamily.USERS)) {
+                break;
+            }
             currentPage = userOperations.searchForUsers(keyword, currentPageIndex, 20);
             collector.addAll(currentPage);
             currentPageIndex++;
@@ -130,8 +265,7 @@ public class UserLiveService {
     // user profiles - multiple - search
 
     public final List<TwitterProfile> searchForUsers(final String keyword) {
-        final String randomAccount = GenericUtil.pickOneGeneric(TwitterAccountEnum.values()).name();
-        final Twitter readOnlyTwitterTemplate = twitterCreator.createTwitterTemplate(randomAccount);
+        final Twitter readOnlyTwitterTemplate = readOnlyTwitterApi(TwitterEndpointFamily.USERS);
 
         final List<TwitterProfile> usersByKeyword = readOnlyTwitterTemplate.userOperations().searchForUsers(keyword);
         return usersByKeyword;
@@ -139,49 +273,135 @@ public class UserLiveService {
 
     // friends
 
-    public Set<Long> getIdsOfAccountsFollowedByMyAccount(final String myAccount) {
+    /**
+     * - only the first page - up to 5000 ids; the ids are incomplete if the account follows more accounts than that
+     */
+    public FriendIds getIdsOfAccountsFollowedByMyAccount(final String myAccount) {
+        twitterRateLimitGovernor.acquireOn(myAccount, TwitterEndpointFamily.FRIENDS);
         final Twitter readOnlyTwitterTemplate = twitterCreator.createTwitterTemplate(myAccount);
         final FriendOperations friendOperations = readOnlyTwitterTemplate.friendOperations();
 
         final CursoredList<Long> followedBy = friendOperations.getFriendIds(myAccount);
-        return Sets.newHashSet(followedBy);
+        return FriendIds.builder().addAll(followedBy).build(!followedBy.hasNext());
+    }
+
+    /**
+     * - cached per account, within a memory budget <br/>
+     * - the ids are incomplete if the account follows more than maxPages * 5000 accounts, or if the quota ran out before all the pages were retrieved - see {@link FriendIds#isComplete()} <br/>
+     * - note: will return null if the ids cannot be retrieved
+     */
+    public FriendIds getFriendIdsOfAccount(final TwitterProfile account, final int maxPages) {
+        final FriendIds cachedFriendIds = friendIdsByUser.getIfPresent(account.getId());
+        if (cachedFriendIds != null && (cachedFriendIds.isComplete() || cachedFriendIds.size() >= maxPages * 5000)) {
+            metrics.counter(MetricsUtil.Meta.FRIENDS_CACHE_HIT).inc();
+            return cachedFriendIds;
+        }
+        metrics.counter(MetricsUtil.Meta.FRIENDS_CACHE_MISS).inc();
+
+        try {
+            final FriendIds.Builder ids = FriendIds.builder();
+            final boolean allPagesRetrieved = collectIdsOfAccountsFollowedByThisAccount(account, maxPages, ids);
+            final FriendIds friendIds = ids.build(allPagesRetrieved && account.getFriendsCount() <= maxPages * 5000);
+            if (allPagesRetrieved) {
+                // the ids retrieved before the quota ran out are not worth remembering - the next request retrieves them all again anyway
+                friendIdsByUser.put(account.getId(), friendIds);
+            }
+            return friendIds;
+        } catch (final TwitterQuotaExceededException quotaEx) {
+            // keep at warn or below - shedding is the expected behavior when the quota runs out
+            logger.warn("Read shed - unable to retrieve the friends of user: " + account.getScreenName());
+            return null;
+        } catch (final RuntimeException ex) {
+            metrics.counter(MetricsUtil.Meta.TWITTER_READ_ERR).inc();
+            logger.error("Unable to retrieve the friends of user: " + account.getScreenName(), ex);
+            return null;
+        }
     }
 
-    public Set<Long> getIdsOfAccountsFollowedByThisAccount(final TwitterProfile account, final int maxPages) {
-        final Set<Long> fullListOfFriends = Sets.newHashSet();
-        final FriendOperations friendOperations = readOnlyTwitterApi().friendOperations();
+    /**
+     * - returns false if the quota ran out before all the pages were retrieved - the collector then holds the pages retrieved so far <br/>
+     * - throws if any of the pages cannot be retrieved
+     */
+    private final boolean collectIdsOfAccountsFollowedByThisAccount(final TwitterProfile account, final int maxPages, final FriendIds.Builder collector) {
+        final String readOnlyAccount = twitterRateLimitGovernor.acquire(TwitterEndpointFamily.FRIENDS);
+        final FriendOperations friendOperations = twitterCreator.createTwitterTemplate(readOnlyAccount).friendOperations();
         final String screenName = account.getScreenName();
 
         CursoredList<Long> currentPage = friendOperations.getFriendIds(screenName);
-        fullListOfFriends.addAll(currentPage);
+        collector.addAll(currentPage);
 
         final int maxNecessaryPages = (account.getFriendsCount() / 5000) + 1;
         final int maxActualPages = Math.min(maxNecessaryPages, maxPages) - 1;
-        for (int i = 0; i < maxActualPages; i++) {
+        for (int i = 0; i < maxActualPages && currentPage.hasNext(); i++) {
+            if (!twitterRateLimitGovernor.tryAcquireOn(readOnlyAccount, TwitterEndpointFamily.FRIENDS)) {
+                return false;
+            }
             final long nextCursor = currentPage.getNextCursor();
             currentPage = friendOperations.getFriendIdsInCursor(screenName, nextCursor);
-            fullListOfFriends.addAll(currentPage);
+            collector.addAll(currentPage);
         }
 
-        return fullListOfFriends;
+        return true;
     }
 
     // followers
 
-    public final Set<Long> getFollowerIdsOfMyAccount(final String myAccount) {
+    /**
+     * - only the first page - up to 5000 ids; the ids are incomplete if the account has more followers than that
+     */
+    public final FriendIds getFollowerIdsOfMyAccount(final String myAccount) {
+        twitterRateLimitGovernor.acquireOn(myAccount, TwitterEndpointFamily.FOLLOWERS);
         final Twitter readOnlyTwitterTemplate = twitterCreator.createTwitterTemplate(myAccount);
         final FriendOperations friendOperations = readOnlyTwitterTemplate.friendOperations();
 
         final CursoredList<Long> followerIds = friendOperations.getFollowerIds();
-        return Sets.newHashSet(followerIds);
+        return FriendIds.builder().addAll(followerIds).build(!followerIds.hasNext());
     }
 
     // internal API
 
-    private final Twitter readOnlyTwitterApi() {
-        final String randomAccount = GenericUtil.pickOneGeneric(TwitterAccountEnum.values()).name();
-        final Twitter readOnlyTwitterTemplate = twitterCreator.createTwitterTemplate(randomAccount);
+    private final Twitter readOnlyTwitterApi(final TwitterEndpointFamily family) {
+        final String readOnlyAccount = twitterRateLimitGovernor.acquire(family);
+        final Twitter readOnlyTwitterTemplate = twitterCreator.createTwitterTemplate(readOnlyAccount);
         return readOnlyTwitterTemplate;
     }
 
+    // util
+
+    /**
+     * - handles are case insensitive, and mentions come with the leading @
+     */
+    private static String normalize(final String userHandle) {
+        final String handle = userHandle.startsWith("@") ? userHandle.substring(1) : userHandle;
+        return handle.toLowerCase();
+    }
+
+    // spring
+
+    /**
+     * - twitter.profile.cache.size - the maximum number of cached profiles - default = 20000 <br/>
+     * - twitter.profile.cache.ttl - minutes a profile is cached for - default = 60 <br/>
+     * - twitter.profile.cache.negative.ttl - hours a user that no longer exists is remembered for - default = 24 <br/>
+     * - twitter.friends.cache.memory - megabytes of friend ids to cache, across all users - default = 64 <br/>
+     * - twitter.friends.cache.ttl - hours the friend ids of a user are cached for - default = 24
+     */
+    @Override
+    public final void afterPropertiesSet() {
+        final long maxProfiles = env.getProperty("twitter.profile.cache.size", Long.class, 20000l);
+        final int ttlInMinutes = env.getProperty("twitter.profile.cache.ttl", Integer.class, 60);
+        final int negativeTtlInHours = env.getProperty("twitter.profile.cache.negative.ttl", Integer.class, 24);
+
+        profilesByUser = CacheBuilder.newBuilder().maximumSize(maxProfiles).expireAfterWrite(ttlInMinutes, TimeUnit.MINUTES).build();
+        missingUsers = CacheBuilder.newBuilder().maximumSize(maxProfiles).expireAfterWrite(negativeTtlInHours, TimeUnit.HOURS).build();
+
+        final long friendsMemoryInMb = env.getProperty("twitter.friends.cache.memory", Long.class, 64l);
+        final int friendsTtlInHours = env.getProperty("twitter.friends.cache.ttl", Integer.class, 24);
+        friendIdsByUser = CacheBuilder.newBuilder().maximumWeight(friendsMemoryInMb * 1024 * 1024).weigher(new Weigher<Long, FriendIds>() {
+            @Override
+            public final int weigh(final Long key, final FriendIds friendIds) {
+                return friendIds.sizeInBytes();
+            }
+        }).expireAfterWrite(friendsTtlInHours, TimeUnit.HOURS).build();
+    }
+
 }
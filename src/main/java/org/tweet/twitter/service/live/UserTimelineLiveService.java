@@ -0,0 +1,123 @@
+package org.tweet.twitter.service.live;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.common.metrics.MetricsUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.tweet.spring.util.SpringProfileUtil;
+import org.tweet.twitter.util.TweetRecord;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+
+/**
+ * Cache of the recent timeline of users, for the analysis of their interactions <br/>
+ * - the first request for a user retrieves the full window; later requests only retrieve the tweets newer than the newest cached one <br/>
+ * - bounded by the total number of cached tweets; each window is retrieved in full again after a while (however often it is used), so that deleted tweets do not stick around forever <br/>
+ * - if the newer tweets cannot be retrieved (or the read is shed), the window is used as it is - and is checked again on the next request <br/>
+ * - the tweets are cached as (slim) records - see {@link TweetRecord} <br/>
+ */
+@Service
+@Profile(SpringProfileUtil.LIVE)
+public class UserTimelineLiveService implements InitializingBean {
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private Cache<String, UserTimelineWindow> windowsByUser;
+    private long freshForMillis;
+    private long ttlMillis;
+
+    @Autowired
+    private TwitterReadLiveService twitterReadLiveService;
+
+    @Autowired
+    private Environment env;
+
+    @Autowired
+    private MetricRegistry metrics;
+
+    public UserTimelineLiveService() {
+        super();
+    }
+
+    // API
+
+    /**
+     * - the most recent tweets of the user (up to howManyPages * 200) - newest first <br/>
+     * - note: will NOT return null
+     */
+    public List<TweetRecord> listTweetsOfAccount(final String twitterAccount, final int howManyPages) {
+        return listTweetsOfAccount(twitterAccount, howManyPages, System.currentTimeMillis());
+    }
+
+    final List<TweetRecord> listTweetsOfAccount(final String twitterAccount, final int howManyPages, final long now) {
+        final String key = twitterAccount.toLowerCase();
+
+        final UserTimelineWindow cachedWindow = windowsByUser.getIfPresent(key);
+        if (cachedWindow == null || !cachedWindow.covers(howManyPages) || cachedWindow.sinceId() == 0 || cachedWindow.isDueForFullFetch(now, ttlMillis)) {
+            metrics.counter(MetricsUtil.Meta.TIMELINE_CACHE_MISS).inc();
+            final List<TweetRecord> allTweets = twitterReadLiveService.listTweetRecordsOfAccountMultiRequest(twitterAccount, howManyPages);
+            final UserTimelineWindow newWindow = new UserTimelineWindow(allTweets, howManyPages, now);
+            windowsByUser.put(key, newWindow);
+            return newWindow.getTweets();
+        }
+
+        if (cachedWindow.isFresh(now, freshForMillis)) {
+            metrics.counter(MetricsUtil.Meta.TIMELINE_CACHE_HIT).inc();
+            return firstPages(cachedWindow, howManyPages);
+        }
+
+        metrics.counter(MetricsUtil.Meta.TIMELINE_CACHE_INCREMENTAL).inc();
+        final List<TweetRecord> newerTweets = twitterReadLiveService.listTweetRecordsOfAccountNewerThan(twitterAccount, cachedWindow.sinceId(), cachedWindow.getPages());
+        if (newerTweets == null) {
+            // not retrieved - the window stays as fresh as it was, so the next request tries again
+            return firstPages(cachedWindow, howManyPages);
+        }
+        final UserTimelineWindow mergedWindow = cachedWindow.merge(newerTweets, now);
+        windowsByUser.put(key, mergedWindow);
+        logger.debug("Merged {} new tweets into the cached timeline of twitterAccount= {}", newerTweets.size(), twitterAccount);
+        return firstPages(mergedWindow, howManyPages);
+    }
+
+    public final void invalidate(final String twitterAccount) {
+        windowsByUser.invalidate(twitterAccount.toLowerCase());
+    }
+
+    // util
+
+    private final List<TweetRecord> firstPages(final UserTimelineWindow window, final int howManyPages) {
+        final List<TweetRecord> tweets = window.getTweets();
+        return tweets.subList(0, Math.min(tweets.size(), UserTimelineWindow.maxSize(howManyPages)));
+    }
+
+    // spring
+
+    /**
+     * - twitter.timeline.cache.max.tweets - the maximum number of tweets cached across all users - default = 30000 <br/>
+     * - twitter.timeline.cache.ttl - hours after which the window of a user is retrieved again in full - default = 12; the windows not used for that long are dropped <br/>
+     * - twitter.timeline.cache.fresh - minutes during which the window of a user is used without checking for newer tweets - default = 30
+     */
+    @Override
+    public final void afterPropertiesSet() {
+        final long maxTweets = env.getProperty("twitter.timeline.cache.max.tweets", Long.class, 30000l);
+        final int ttlInHours = env.getProperty("twitter.timeline.cache.ttl", Integer.class, 12);
+        ttlMillis = TimeUnit.HOURS.toMillis(ttlInHours);
+        freshForMillis = TimeUnit.MINUTES.toMillis(env.getProperty("twitter.timeline.cache.fresh", Integer.class, 30));
+
+        windowsByUser = CacheBuilder.newBuilder().maximumWeight(maxTweets).weigher(new Weigher<String, UserTimelineWindow>() {
+            @Override
+            public final int weigh(final String key, final UserTimelineWindow window) {
+                return Math.max(1, window.size());
+            }
+        }).expireAfterAccess(ttlInHours, TimeUnit.HOURS).build();
+    }
+
+}
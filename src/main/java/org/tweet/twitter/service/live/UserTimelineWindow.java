@@ -0,0 +1,95 @@
+package org.tweet.twitter.service.live;
+
+import java.util.List;
+
+import org.tweet.twitter.util.TweetRecord;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Sliding window over the most recent tweets of a user - newest first <br/>
+ * - immutable - merging newer tweets creates a new window <br/>
+ * - remembers when it was last retrieved in full - merging newer tweets does not change that, so the window is still retrieved in full again after a while <br/>
+ */
+final class UserTimelineWindow {
+
+    private final List<TweetRecord> tweets;
+    private final int pages;
+    private final long fetchedAtMillis;
+    private final long fullFetchAtMillis;
+
+    /**
+     * - the window, as just retrieved in full
+     */
+    UserTimelineWindow(final List<TweetRecord> tweets, final int pages, final long fetchedAtMillis) {
+        this(tweets, pages, fetchedAtMillis, fetchedAtMillis);
+    }
+
+    private UserTimelineWindow(final List<TweetRecord> tweets, final int pages, final long fetchedAtMillis, final long fullFetchAtMillis) {
+        super();
+
+        this.tweets = ImmutableList.copyOf(tweets.subList(0, Math.min(tweets.size(), maxSize(pages))));
+        this.pages = pages;
+        this.fetchedAtMillis = fetchedAtMillis;
+        this.fullFetchAtMillis = fullFetchAtMillis;
+    }
+
+    // API
+
+    /**
+     * - the newer tweets go in front; the oldest tweets fall out of the window <br/>
+     * - tweets that are already in the window are ignored
+     */
+    final UserTimelineWindow merge(final List<TweetRecord> newerTweets, final long now) {
+        final long sinceId = sinceId();
+        final ImmutableList.Builder<TweetRecord> merged = ImmutableList.builder();
+        for (final TweetRecord newerTweet : newerTweets) {
+            if (newerTweet.getId() > sinceId) {
+                merged.add(newerTweet);
+            }
+        }
+        merged.addAll(tweets);
+        return new UserTimelineWindow(merged.build(), pages, now, fullFetchAtMillis);
+    }
+
+    /**
+     * - the id of the newest tweet in the window; 0 if the window is empty
+     */
+    final long sinceId() {
+        return tweets.isEmpty() ? 0 : tweets.get(0).getId();
+    }
+
+    final boolean isFresh(final long now, final long freshForMillis) {
+        return now - fetchedAtMillis < freshForMillis;
+    }
+
+    /**
+     * - the window was last retrieved in full too long ago - the tweets deleted since then are still in it, and there may be gaps
+     */
+    final boolean isDueForFullFetch(final long now, final long ttlMillis) {
+        return now - fullFetchAtMillis >= ttlMillis;
+    }
+
+    final boolean covers(final int requestedPages) {
+        return pages >= requestedPages;
+    }
+
+    final List<TweetRecord> getTweets() {
+        return tweets;
+    }
+
+    final int getPages() {
+        return pages;
+    }
+
+    final int size() {
+        return tweets.size();
+    }
+
+    // util
+
+    static int maxSize(final int pages) {
+        return pages * 200;
+    }
+
+}
@@ -0,0 +1,107 @@
+package org.tweet.twitter.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import com.google.common.primitives.Longs;
+
+/**
+ * The ids of the accounts followed by a user (or of its followers), as a sorted array of primitives <br/>
+ * - 8 bytes per id (vs ~50 for a HashSet of boxed Longs), and lookups are a binary search <br/>
+ * - incomplete if not all the ids were retrieved (too many of them, or the retrieval stopped early) - membership is then only known for the retrieved ids <br/>
+ */
+public final class FriendIds {
+    private final long[] sortedIds;
+    private final boolean complete;
+
+    private FriendIds(final long[] sortedIds, final boolean complete) {
+        super();
+
+        this.sortedIds = sortedIds;
+        this.complete = complete;
+    }
+
+    // API
+
+    public static FriendIds of(final Collection<Long> ids, final boolean complete) {
+        final long[] sortedIds = Longs.toArray(ids);
+        Arrays.sort(sortedIds);
+        return new FriendIds(dedupe(sortedIds), complete);
+    }
+
+    /**
+     * - collects the ids page by page, straight into primitives
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public final boolean contains(final long id) {
+        return Arrays.binarySearch(sortedIds, id) >= 0;
+    }
+
+    public final int size() {
+        return sortedIds.length;
+    }
+
+    public final boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * - approximate - the array plus the object headers
+     */
+    public final int sizeInBytes() {
+        return 8 * sortedIds.length + 32;
+    }
+
+    // util
+
+    private static long[] dedupe(final long[] sortedIds) {
+        if (sortedIds.length < 2) {
+            return sortedIds;
+        }
+        int uniqueCount = 1;
+        for (int i = 1; i < sortedIds.length; i++) {
+            if (sortedIds[i] != sortedIds[uniqueCount - 1]) {
+                sortedIds[uniqueCount++] = sortedIds[i];
+            }
+        }
+        return (uniqueCount == sortedIds.length) ? sortedIds : Arrays.copyOf(sortedIds, uniqueCount);
+    }
+
+    public static final class Builder {
+        private long[] ids = new long[5000];
+        private int size;
+
+        private Builder() {
+            super();
+        }
+
+        // API
+
+        public final Builder addAll(final Collection<Long> page) {
+            if (size + page.size() > ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(ids.length * 2, size + page.size()));
+            }
+            for (final Long id : page) {
+                ids[size++] = id;
+            }
+            return this;
+        }
+
+        public final FriendIds build(final boolean complete) {
+            final long[] sortedIds = Arrays.copyOf(ids, size);
+            Arrays.sort(sortedIds);
+            return new FriendIds(dedupe(sortedIds), complete);
+        }
+    }
+
+    @Override
+    public final String toString() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("FriendIds [size=").append(sortedIds.length).append(", complete=").append(complete).append("]");
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,92 @@
+package org.tweet.twitter.util;
+
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+/**
+ * A range of tweet ids - sinceId (exclusive) to maxId (inclusive), as used by the timeline and search API <br/>
+ * - tweet ids embed their creation time (the upper bits are milliseconds since the Twitter epoch), so a range of time maps directly to a range of ids <br/>
+ * - this is what allows the older pages of a timeline to be requested in parallel, instead of one after the other via maxId <br/>
+ */
+public final class TweetIdRange {
+    private static final long TWITTER_EPOCH = 1288834974657l;
+    private static final int TIMESTAMP_SHIFT = 22;
+    /** ids below this were not time based */
+    private static final long MIN_TIME_BASED_ID = 1l << 42;
+
+    private final long sinceId;
+    private final long maxId;
+
+    TweetIdRange(final long sinceId, final long maxId) {
+        super();
+
+        this.sinceId = sinceId;
+        this.maxId = maxId;
+    }
+
+    // API
+
+    /**
+     * - splits the time before the oldest tweet of a page into consecutive ranges (newest first), each spanning as much time as the page itself did <br/>
+     * - i.e. the expected time for the same number of tweets - some ranges will come back with fewer tweets, others with more <br/>
+     * - note: returns an empty list if the ids are not time based
+     */
+    public static List<TweetIdRange> rangesOlderThan(final long newestIdOfPage, final long oldestIdOfPage, final int howManyRanges) {
+        final List<TweetIdRange> ranges = Lists.newArrayList();
+        if (oldestIdOfPage < MIN_TIME_BASED_ID || newestIdOfPage < oldestIdOfPage) {
+            return ranges;
+        }
+
+        final long oldestTimestamp = timestampOf(oldestIdOfPage);
+        final long span = Math.max(timestampOf(newestIdOfPage) - oldestTimestamp, 1000);
+
+        long maxId = oldestIdOfPage - 1;
+        for (int i = 1; i <= howManyRanges; i++) {
+            final long lowerTimestamp = oldestTimestamp - i * span;
+            final long lowerId = minIdAt(lowerTimestamp);
+            if (lowerId <= 0) {
+                ranges.add(new TweetIdRange(0, maxId)); // all the way back
+                break;
+            }
+            ranges.add(new TweetIdRange(lowerId - 1, maxId));
+            maxId = lowerId - 1;
+        }
+        return ranges;
+    }
+
+    /**
+     * - 0 means there is no lower bound
+     */
+    public final long getSinceId() {
+        return sinceId;
+    }
+
+    public final long getMaxId() {
+        return maxId;
+    }
+
+    /**
+     * - the creation time of the tweet, in milliseconds - only meaningful for time based ids
+     */
+    public static long timestampOf(final long id) {
+        return (id >> TIMESTAMP_SHIFT) + TWITTER_EPOCH;
+    }
+
+    // util
+
+    static long minIdAt(final long timestamp) {
+        if (timestamp <= TWITTER_EPOCH) {
+            return 0;
+        }
+        return (timestamp - TWITTER_EPOCH) << TIMESTAMP_SHIFT;
+    }
+
+    @Override
+    public final String toString() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("TweetIdRange [sinceId=").append(sinceId).append(", maxId=").append(maxId).append("]");
+        return builder.toString();
+    }
+
+}
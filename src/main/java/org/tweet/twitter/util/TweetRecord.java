@@ -0,0 +1,178 @@
+package org.tweet.twitter.util;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.social.twitter.api.Tweet;
+import org.springframework.social.twitter.api.TwitterProfile;
+import org.springframework.social.twitter.api.UrlEntity;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * The fields of a tweet that the analysis of a timeline actually reads - immutable <br/>
+ * - a full {@link Tweet} carries its entities, the nested retweeted status and the nested profiles of both authors; this keeps a dozen fields instead <br/>
+ * - the verdict of the (expensive) content checks and the mentions are computed once, when the tweet is decoded - see TweetRecordDecoder <br/>
+ */
+public final class TweetRecord {
+    private final long id;
+    private final long createdAtMillis;
+    private final String fromUser;
+    private final long fromUserId;
+    private final String text;
+    private final String languageCode;
+    private final int retweetCount;
+    private final boolean favorited;
+    private final List<String> expandedUrls;
+    private final List<String> mentions;
+
+    private final boolean retweet;
+    private final long retweetedFromUserId;
+    private final int retweetedFromUserFollowersCount;
+    private final boolean goodRetweet;
+
+    private TweetRecord(final Tweet tweet, final boolean goodRetweet, final List<String> mentions) {
+        super();
+
+        id = tweet.getId();
+        createdAtMillis = (tweet.getCreatedAt() == null) ? 0 : tweet.getCreatedAt().getTime();
+        fromUser = tweet.getFromUser();
+        fromUserId = tweet.getFromUserId();
+        text = TweetUtil.getText(tweet);
+        languageCode = tweet.getLanguageCode();
+        retweetCount = (tweet.getRetweetCount() == null) ? 0 : tweet.getRetweetCount();
+        favorited = tweet.isFavorited();
+        expandedUrls = expandedUrlsOf(tweet);
+        this.mentions = ImmutableList.copyOf(mentions);
+
+        final Tweet retweetedStatus = tweet.getRetweetedStatus();
+        retweet = retweetedStatus != null;
+        retweetedFromUserId = retweet ? retweetedStatus.getFromUserId() : 0;
+        final TwitterProfile retweetedFromUser = retweet ? retweetedStatus.getUser() : null;
+        retweetedFromUserFollowersCount = (retweetedFromUser == null) ? 0 : retweetedFromUser.getFollowersCount();
+        this.goodRetweet = retweet && goodRetweet;
+    }
+
+    // API
+
+    /**
+     * - goodRetweet - whether the tweet is a retweet that passes the content checks for analysis <br/>
+     * - mentions - the mentions in the text of the tweet itself (for a retweet, that includes the mention of the original author)
+     */
+    public static TweetRecord of(final Tweet tweet, final boolean goodRetweet, final List<String> mentions) {
+        return new TweetRecord(tweet, goodRetweet, mentions);
+    }
+
+    public final long getId() {
+        return id;
+    }
+
+    /**
+     * - note: may return null
+     */
+    public final Date getCreatedAt() {
+        return (createdAtMillis == 0) ? null : new Date(createdAtMillis);
+    }
+
+    public final String getFromUser() {
+        return fromUser;
+    }
+
+    public final long getFromUserId() {
+        return fromUserId;
+    }
+
+    /**
+     * - for a retweet, the text of the original tweet - same as TweetUtil.getText
+     */
+    public final String getText() {
+        return text;
+    }
+
+    public final String getLanguageCode() {
+        return languageCode;
+    }
+
+    public final int getRetweetCount() {
+        return retweetCount;
+    }
+
+    public final boolean isFavorited() {
+        return favorited;
+    }
+
+    /**
+     * - note: will NOT return null
+     */
+    public final List<String> getExpandedUrls() {
+        return expandedUrls;
+    }
+
+    /**
+     * - note: will NOT return null
+     */
+    public final List<String> getMentions() {
+        return mentions;
+    }
+
+    public final boolean isRetweet() {
+        return retweet;
+    }
+
+    /**
+     * - 0 if this is not a retweet
+     */
+    public final long getRetweetedFromUserId() {
+        return retweetedFromUserId;
+    }
+
+    /**
+     * - 0 if this is not a retweet
+     */
+    public final int getRetweetedFromUserFollowersCount() {
+        return retweetedFromUserFollowersCount;
+    }
+
+    public final boolean isGoodRetweet() {
+        return goodRetweet;
+    }
+
+    // util
+
+    private static List<String> expandedUrlsOf(final Tweet tweet) {
+        if (tweet.getEntities() == null || tweet.getEntities().getUrls() == null || tweet.getEntities().getUrls().isEmpty()) {
+            return ImmutableList.of();
+        }
+        final ImmutableList.Builder<String> expandedUrls = ImmutableList.builder();
+        for (final UrlEntity url : tweet.getEntities().getUrls()) {
+            if (url.getExpandedUrl() != null) {
+                expandedUrls.add(url.getExpandedUrl());
+            }
+        }
+        return expandedUrls.build();
+    }
+
+    @Override
+    public final int hashCode() {
+        return (int) (id ^ (id >>> 32));
+    }
+
+    @Override
+    public final boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        return id == ((TweetRecord) obj).id;
+    }
+
+    @Override
+    public final String toString() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("TweetRecord [id=").append(id).append(", fromUser=").append(fromUser).append(", retweet=").append(retweet).append(", text=").append(text).append("]");
+        return builder.toString();
+    }
+
+}
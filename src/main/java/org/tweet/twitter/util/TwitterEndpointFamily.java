@@ -0,0 +1,71 @@
+package org.tweet.twitter.util;
+
+/**
+ * Families of Twitter API endpoints that share a rate limit window <br/>
+ * - the default limits are the per user, per 15 minutes window limits of the v1.1 API <br/>
+ * - they are only used until the first response carrying rate limit headers comes back <br/>
+ * - the endpoints of a family do not all have the same limit - the family follows the documented limit of the endpoint it is mostly used for (its seed endpoint) <br/>
+ */
+public enum TwitterEndpointFamily {// @formatter:off
+
+    SEARCH("/search/", "/search/tweets", 180),
+    TIMELINE("/statuses/user_timeline", "/statuses/user_timeline", 180),
+    STATUSES("/statuses/", "/statuses/show/:id", 180),
+    USERS("/users/", "/users/show/:id", 180),
+    FRIENDS("/friends/", "/friends/ids", 15),
+    FOLLOWERS("/followers/", "/followers/ids", 15),
+    OTHER(null, null, -1);
+
+    private final String pathFragment;
+    private final String seedEndpoint;
+    private final int defaultLimit;
+
+    private TwitterEndpointFamily(final String pathFragment, final String seedEndpoint, final int defaultLimit) {
+        this.pathFragment = pathFragment;
+        this.seedEndpoint = seedEndpoint;
+        this.defaultLimit = defaultLimit;
+    }
+
+    // API
+
+    /**
+     * - the endpoint (as listed by the rate limit status call) whose limit the family follows - see {@link #isSeedEndpoint(String)}
+     */
+    public final String getSeedEndpoint() {
+        return seedEndpoint;
+    }
+
+    /**
+     * - the rate limit status of this endpoint is the one to seed the family with - the other endpoints of the family have limits of their own
+     */
+    public final boolean isSeedEndpoint(final String endpoint) {
+        return seedEndpoint != null && seedEndpoint.equals(endpoint);
+    }
+
+    public final int getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    /**
+     * - endpoints that do not belong to any known family are not governed
+     */
+    public final boolean isGoverned() {
+        return defaultLimit > 0;
+    }
+
+    /**
+     * - note: will NOT return null - anything unknown is OTHER
+     */
+    public static TwitterEndpointFamily fromPath(final String path) {
+        if (path == null) {
+            return OTHER;
+        }
+        for (final TwitterEndpointFamily family : values()) {
+            if (family.pathFragment != null && path.contains(family.pathFragment)) {
+                return family;
+            }
+        }
+        return OTHER;
+    }
+
+}
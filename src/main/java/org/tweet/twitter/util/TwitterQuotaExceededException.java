@@ -0,0 +1,12 @@
+package org.tweet.twitter.util;
+
+/**
+ * The call was shed because no account had any budget left for it (within the maximum waiting time)
+ */
+public final class TwitterQuotaExceededException extends RuntimeException {
+
+    public TwitterQuotaExceededException(final TwitterEndpointFamily family) {
+        super("No Twitter API quota left for endpoint family= " + family);
+    }
+
+}
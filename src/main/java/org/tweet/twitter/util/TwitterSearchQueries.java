@@ -0,0 +1,41 @@
+package org.tweet.twitter.util;
+
+import com.google.common.base.Joiner;
+
+/**
+ * Builds search queries out of twitter tags <br/>
+ * - a compound tag (ruby_rails) means all of its parts <br/>
+ */
+public final class TwitterSearchQueries {
+
+    private TwitterSearchQueries() {
+        throw new AssertionError();
+    }
+
+    // API
+
+    /**
+     * - ruby_rails => #ruby #rails
+     */
+    public static String hashtagQuery(final String hashtag) {
+        final StringBuilder query = new StringBuilder();
+        for (final String part : parts(hashtag)) {
+            query.append("#").append(part).append(" ");
+        }
+        return query.toString().trim();
+    }
+
+    /**
+     * - ruby_rails => ruby rails
+     */
+    public static String wordQuery(final String word) {
+        return Joiner.on(" ").join(parts(word));
+    }
+
+    // util
+
+    private static String[] parts(final String tag) {
+        return tag.trim().split("_");
+    }
+
+}
@@ -23,6 +23,7 @@ import org.tweet.meta.spring.TwitterMetaPersistenceJPAConfig;
 import org.tweet.spring.TwitterConfig;
 import org.tweet.spring.TwitterLiveConfig;
 import org.tweet.spring.util.SpringProfileUtil;
+import org.tweet.twitter.component.TweetRecordDecoder;
 import org.tweet.twitter.service.live.TwitterReadLiveService;
 
 @RunWith(SpringJUnit4ClassRunner.class)
@@ -53,6 +54,9 @@ public class RecreateMissingQuestionTweetsUpgraderLiveManualTest {
     @Autowired
     private TwitterReadLiveService twitterReadLiveService;
 
+    @Autowired
+    private TweetRecordDecoder tweetRecordDecoder;
+
     // fixtures
 
     // tests
@@ -66,7 +70,7 @@ public class RecreateMissingQuestionTweetsUpgraderLiveManualTest {
     @Test
     public final void whenExtractingQuestionIdFromUri_thenOK() {
         final Tweet tweet = twitterReadLiveService.findOne(368009178063073280l);
-        final String extractedQid = recreateMissingQuestionTweetsUpgrader.extractQuestionIdFromTweet(tweet);
+        final String extractedQid = recreateMissingQuestionTweetsUpgrader.extractQuestionIdFromTweet(tweetRecordDecoder.decode(tweet));
         assertThat(extractedQid, equalTo("8937743"));
     }
 
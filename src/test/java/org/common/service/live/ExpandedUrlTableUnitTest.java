@@ -0,0 +1,99 @@
+package org.common.service.live;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+import com.google.common.base.Strings;
+
+public final class ExpandedUrlTableUnitTest {
+
+    // tests
+
+    @Test
+    public final void givenUrlWasStored_whenRetrieving_thenExpandedUrlIsReturned() {
+        final ExpandedUrlTable table = new ExpandedUrlTable(ByteBuffer.allocate(ExpandedUrlTable.sizeInBytes(16)));
+        table.put("http://t.co/abc", "http://www.baeldung.com/rest-with-spring-series/", 1000);
+
+        assertThat(table.get("http://t.co/abc", 0), equalTo("http://www.baeldung.com/rest-with-spring-series/"));
+    }
+
+    @Test
+    public final void givenNoUrlWasStored_whenRetrieving_thenNull() {
+        final ExpandedUrlTable table = new ExpandedUrlTable(ByteBuffer.allocate(ExpandedUrlTable.sizeInBytes(16)));
+        assertThat(table.get("http://t.co/abc", 0), nullValue());
+    }
+
+    @Test
+    public final void givenUrlCouldNotBeExpanded_whenRetrieving_thenUnresolved() {
+        final ExpandedUrlTable table = new ExpandedUrlTable(ByteBuffer.allocate(ExpandedUrlTable.sizeInBytes(16)));
+        table.put("http://t.co/abc", ExpandedUrlTable.UNRESOLVED, 1000);
+
+        assertThat(table.get("http://t.co/abc", 0), equalTo(ExpandedUrlTable.UNRESOLVED));
+    }
+
+    @Test
+    public final void givenUrlExpired_whenRetrieving_thenNull() {
+        final ExpandedUrlTable table = new ExpandedUrlTable(ByteBuffer.allocate(ExpandedUrlTable.sizeInBytes(16)));
+        table.put("http://t.co/abc", "http://www.baeldung.com/", 1000);
+
+        assertThat(table.get("http://t.co/abc", 1001), nullValue());
+    }
+
+    @Test
+    public final void givenUrlWasStoredAgain_whenRetrieving_thenNewestExpandedUrl() {
+        final ExpandedUrlTable table = new ExpandedUrlTable(ByteBuffer.allocate(ExpandedUrlTable.sizeInBytes(16)));
+        table.put("http://t.co/abc", ExpandedUrlTable.UNRESOLVED, 1000);
+        table.put("http://t.co/abc", "http://www.baeldung.com/", 2000);
+
+        assertThat(table.get("http://t.co/abc", 0), equalTo("http://www.baeldung.com/"));
+    }
+
+    @Test
+    public final void givenUrlsAreTooLong_whenStoring_thenNothingIsStored() {
+        final ExpandedUrlTable table = new ExpandedUrlTable(ByteBuffer.allocate(ExpandedUrlTable.sizeInBytes(16)));
+        final String longUrl = "http://www.baeldung.com/" + Strings.repeat("x", ExpandedUrlTable.RECORD_SIZE);
+
+        assertFalse(table.put("http://t.co/abc", longUrl, 1000));
+        assertThat(table.get("http://t.co/abc", 0), nullValue());
+    }
+
+    @Test
+    public final void givenTableIsFull_whenStoringMore_thenTheFirstToExpireAreEvicted() {
+        final ExpandedUrlTable table = new ExpandedUrlTable(ByteBuffer.allocate(ExpandedUrlTable.sizeInBytes(4)));
+        for (int i = 1; i <= 4; i++) {
+            table.put("http://t.co/" + i, "http://www.baeldung.com/" + i, i * 1000);
+        }
+        table.put("http://t.co/5", "http://www.baeldung.com/5", 5000);
+
+        assertThat(table.get("http://t.co/1", 0), nullValue());
+        assertThat(table.get("http://t.co/5", 0), notNullValue());
+        assertThat(table.get("http://t.co/4", 0), notNullValue());
+    }
+
+    @Test
+    public final void givenRecordIsCorrupted_whenRetrieving_thenNull() {
+        final ByteBuffer buffer = ByteBuffer.allocate(ExpandedUrlTable.sizeInBytes(1));
+        final ExpandedUrlTable table = new ExpandedUrlTable(buffer);
+        table.put("http://t.co/abc", "http://www.baeldung.com/", 1000);
+        buffer.putLong(ExpandedUrlTable.HEADER_SIZE + 8, 5000);
+
+        assertThat(table.get("http://t.co/abc", 0), nullValue());
+    }
+
+    @Test
+    public final void givenBufferAlreadyHoldsTable_whenReopening_thenUrlsSurvive() {
+        final ByteBuffer buffer = ByteBuffer.allocate(ExpandedUrlTable.sizeInBytes(16));
+        new ExpandedUrlTable(buffer).put("http://t.co/abc", "http://www.baeldung.com/", 1000);
+
+        final ExpandedUrlTable reopened = new ExpandedUrlTable(buffer);
+        assertThat(reopened.get("http://t.co/abc", 0), equalTo("http://www.baeldung.com/"));
+    }
+
+}
@@ -0,0 +1,92 @@
+package org.common.service.live;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import org.common.service.live.HostCircuit.State;
+import org.junit.Test;
+
+public final class HostCircuitUnitTest {
+
+    // tests
+
+    @Test
+    public final void givenFewerFailuresThanThreshold_whenRequesting_thenAllowed() {
+        final HostCircuit circuit = new HostCircuit(3, 1000);
+        circuit.failure(0);
+        circuit.failure(0);
+
+        assertTrue(circuit.allowRequest(0));
+        assertThat(circuit.getState(), equalTo(State.CLOSED));
+    }
+
+    @Test
+    public final void givenFailuresInARow_whenRequesting_thenRejected() {
+        final HostCircuit circuit = new HostCircuit(3, 1000);
+        circuit.failure(0);
+        circuit.failure(0);
+        assertTrue(circuit.failure(0));
+
+        assertFalse(circuit.allowRequest(500));
+        assertThat(circuit.getState(), equalTo(State.OPEN));
+    }
+
+    @Test
+    public final void givenSuccessBetweenFailures_whenRequesting_thenAllowed() {
+        final HostCircuit circuit = new HostCircuit(3, 1000);
+        circuit.failure(0);
+        circuit.failure(0);
+        circuit.success();
+        circuit.failure(0);
+
+        assertTrue(circuit.allowRequest(0));
+    }
+
+    @Test
+    public final void givenCircuitWasOpenLongEnough_whenRequesting_thenOnlyOneProbeIsAllowed() {
+        final HostCircuit circuit = openCircuit();
+
+        assertTrue(circuit.allowRequest(1000));
+        assertThat(circuit.getState(), equalTo(State.HALF_OPEN));
+        assertFalse(circuit.allowRequest(1001));
+    }
+
+    @Test
+    public final void givenProbeSucceeds_whenRequesting_thenAllowed() {
+        final HostCircuit circuit = openCircuit();
+        circuit.allowRequest(1000);
+        circuit.success();
+
+        assertTrue(circuit.allowRequest(1001));
+        assertThat(circuit.getState(), equalTo(State.CLOSED));
+    }
+
+    @Test
+    public final void givenProbeFails_whenRequesting_thenRejectedAgain() {
+        final HostCircuit circuit = openCircuit();
+        circuit.allowRequest(1000);
+        assertTrue(circuit.failure(1500));
+
+        assertFalse(circuit.allowRequest(2000));
+        assertTrue(circuit.allowRequest(2500));
+    }
+
+    @Test
+    public final void givenProbeNeverReportsBack_whenRequestingLater_thenAnotherProbeIsAllowed() {
+        final HostCircuit circuit = openCircuit();
+        circuit.allowRequest(1000);
+
+        assertTrue(circuit.allowRequest(2000));
+    }
+
+    // util
+
+    private static HostCircuit openCircuit() {
+        final HostCircuit circuit = new HostCircuit(1, 1000);
+        circuit.failure(0);
+        return circuit;
+    }
+
+}
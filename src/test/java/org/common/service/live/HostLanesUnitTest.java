@@ -0,0 +1,136 @@
+package org.common.service.live;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public final class HostLanesUnitTest {
+
+    private List<Runnable> handedOver;
+    private List<String> ran;
+    private HostLanes instance;
+
+    // fixtures
+
+    @Before
+    public final void before() {
+        handedOver = Lists.newArrayList();
+        ran = Lists.newArrayList();
+        instance = new HostLanes(new Executor() {
+            @Override
+            public final void execute(final Runnable command) {
+                handedOver.add(command);
+            }
+        }, 2, 3);
+    }
+
+    // tests
+
+    @Test
+    public final void givenMoreRequestsToHostThanItsSlots_whenSubmitting_thenOnlyAsManyAsSlotsAreHandedOver() {
+        instance.submit("www.baeldung.com", request("1"));
+        instance.submit("www.baeldung.com", request("2"));
+        instance.submit("www.baeldung.com", request("3"));
+
+        assertThat(handedOver.size(), equalTo(2));
+    }
+
+    @Test
+    public final void givenRequestsWaitingForHost_whenRunningRequestsAreDone_thenLaneIsDrainedInOrder() {
+        instance.submit("www.baeldung.com", request("1"));
+        instance.submit("www.baeldung.com", request("2"));
+        instance.submit("www.baeldung.com", request("3"));
+        instance.submit("www.baeldung.com", request("4"));
+
+        handedOver.get(0).run();
+        handedOver.get(1).run();
+        assertThat(handedOver.size(), equalTo(4));
+        handedOver.get(2).run();
+        handedOver.get(3).run();
+
+        assertThat(ran, contains("1", "2", "3", "4"));
+    }
+
+    @Test
+    public final void givenHostIsFull_whenSubmittingToAnotherHost_thenHandedOverRightAway() {
+        instance.submit("www.baeldung.com", request("1"));
+        instance.submit("www.baeldung.com", request("2"));
+        instance.submit("www.baeldung.com", request("3"));
+
+        instance.submit("github.com", request("4"));
+
+        assertThat(handedOver.size(), equalTo(3));
+        handedOver.get(2).run();
+        assertThat(ran, contains("4"));
+    }
+
+    @Test
+    public final void givenKnownShortener_whenSubmitting_thenShortenerSlotsApply() {
+        instance.submit("t.co", request("1"));
+        instance.submit("t.co", request("2"));
+        instance.submit("t.co", request("3"));
+        instance.submit("t.co", request("4"));
+
+        assertThat(handedOver.size(), equalTo(3));
+    }
+
+    @Test
+    public final void givenAllRequestsOfHostAreDone_whenDraining_thenLaneIsDropped() {
+        instance.submit("www.baeldung.com", request("1"));
+        instance.submit("www.baeldung.com", request("2"));
+        instance.submit("www.baeldung.com", request("3"));
+        assertThat(instance.size(), equalTo(1));
+
+        handedOver.get(0).run();
+        handedOver.get(1).run();
+        handedOver.get(2).run();
+
+        assertThat(instance.size(), equalTo(0));
+    }
+
+    @Test
+    public final void givenLaneOfHostWasDropped_whenSubmittingToHostAgain_thenHandedOverRightAway() {
+        instance.submit("www.baeldung.com", request("1"));
+        handedOver.get(0).run();
+
+        instance.submit("www.baeldung.com", request("2"));
+
+        assertThat(handedOver.size(), equalTo(2));
+        assertThat(instance.size(), equalTo(1));
+    }
+
+    @Test
+    public final void givenExecutorIsShutDown_whenSubmitting_thenRequestIsDroppedAndSoIsTheLane() {
+        instance = new HostLanes(new Executor() {
+            @Override
+            public final void execute(final Runnable command) {
+                throw new RejectedExecutionException();
+            }
+        }, 2, 3);
+
+        instance.submit("www.baeldung.com", request("1"));
+
+        assertThat(instance.size(), equalTo(0));
+    }
+
+    // util
+
+    private final Runnable request(final String name) {
+        return new Runnable() {
+            @Override
+            public final void run() {
+                ran.add(name);
+            }
+        };
+    }
+
+}
@@ -0,0 +1,54 @@
+package org.common.service.live;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.UnknownHostException;
+
+import org.junit.Test;
+
+public final class HttpLiveServiceUnitTest {
+
+    // tests
+
+    @Test
+    public final void givenResponseToHead_whenDeterminingBodySize_thenContentLengthIsUsed() {
+        assertThat(HttpLiveService.bodySizeOf(null, "48213"), equalTo(48213l));
+    }
+
+    @Test
+    public final void givenRangedResponse_whenDeterminingBodySize_thenCompleteLengthIsUsed() {
+        assertThat(HttpLiveService.bodySizeOf("bytes 0-0/48213", "1"), equalTo(48213l));
+    }
+
+    @Test
+    public final void givenRangedResponseWithUnknownCompleteLength_whenDeterminingBodySize_thenContentLengthIsUsed() {
+        assertThat(HttpLiveService.bodySizeOf("bytes 0-0/*", "1"), equalTo(1l));
+    }
+
+    @Test
+    public final void givenSizeIsNotAnnounced_whenDeterminingBodySize_thenZero() {
+        assertThat(HttpLiveService.bodySizeOf(null, null), equalTo(0l));
+    }
+
+    @Test
+    public final void givenSizeIsInvalid_whenDeterminingBodySize_thenZero() {
+        assertThat(HttpLiveService.bodySizeOf(null, "unknown"), equalTo(0l));
+        assertThat(HttpLiveService.bodySizeOf(null, "-1"), equalTo(0l));
+    }
+
+    @Test
+    public final void givenHostIsKnownToBeDown_whenExpansionFailsFast_thenNoNegativeEntry() {
+        assertFalse(HttpLiveService.isWorthNegativeEntry(new HostUnavailableException("www.baeldung.com", "its circuit is open")));
+    }
+
+    @Test
+    public final void givenExpansionFailedOnTheWire_whenCaching_thenNegativeEntry() {
+        assertTrue(HttpLiveService.isWorthNegativeEntry(new IOException(new UnknownHostException("www.baeldung.com"))));
+        assertTrue(HttpLiveService.isWorthNegativeEntry(new IllegalStateException("likely a redirect loop")));
+    }
+
+}
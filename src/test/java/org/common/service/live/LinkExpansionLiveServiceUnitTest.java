@@ -0,0 +1,80 @@
+package org.common.service.live;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.Future;
+
+import org.common.metrics.MetricsUtil;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
+
+public final class LinkExpansionLiveServiceUnitTest {
+
+    private LinkExpansionLiveService instance;
+    private MetricRegistry metrics;
+
+    // fixtures
+
+    @Before
+    public final void before() {
+        metrics = new MetricRegistry();
+
+        instance = new LinkExpansionLiveService();
+        ReflectionTestUtils.setField(instance, "metrics", metrics);
+    }
+
+    // tests
+
+    @Test
+    public final void givenExpansionNotDoneByTheDeadline_whenWaitingForTheBatch_thenItIsCancelledAndLeftOut() {
+        final SettableFuture<String> slowExpansion = SettableFuture.create();
+        final Map<String, Future<String>> futures = Maps.newLinkedHashMap();
+        futures.put("http://t.co/slow", slowExpansion);
+        futures.put("http://t.co/fast", Futures.immediateFuture("http://www.baeldung.com/"));
+
+        final Map<String, String> expandedUrls = instance.waitForAll(futures, System.currentTimeMillis() + 50);
+
+        assertThat(expandedUrls, equalTo((Map<String, String>) ImmutableMap.of("http://t.co/fast", "http://www.baeldung.com/")));
+        assertTrue(slowExpansion.isCancelled());
+        assertThat(metrics.counter(MetricsUtil.Meta.EXPAND_BATCH_DROPPED).getCount(), equalTo(1l));
+        assertThat(metrics.counter(MetricsUtil.Meta.EXPAND_BATCH_COMPLETED).getCount(), equalTo(1l));
+    }
+
+    @Test
+    public final void givenDeadlineAlreadyPassed_whenWaitingForExpansionsAlreadyDone_thenTheyAreStillReturned() {
+        final Map<String, Future<String>> futures = Maps.newLinkedHashMap();
+        futures.put("http://t.co/fast", Futures.immediateFuture("http://www.baeldung.com/"));
+
+        final Map<String, String> expandedUrls = instance.waitForAll(futures, System.currentTimeMillis() - 1000);
+
+        assertThat(expandedUrls.get("http://t.co/fast"), equalTo("http://www.baeldung.com/"));
+        assertThat(metrics.counter(MetricsUtil.Meta.EXPAND_BATCH_DROPPED).getCount(), equalTo(0l));
+    }
+
+    @Test
+    public final void givenExpansionFailed_whenWaitingForTheBatch_thenItIsLeftOutButNotDropped() {
+        final SettableFuture<String> failedExpansion = SettableFuture.create();
+        failedExpansion.set(null);
+        final Map<String, Future<String>> futures = Maps.newLinkedHashMap();
+        futures.put("http://t.co/dead", failedExpansion);
+
+        final Map<String, String> expandedUrls = instance.waitForAll(futures, System.currentTimeMillis() + 50);
+
+        assertTrue(expandedUrls.isEmpty());
+        assertFalse(failedExpansion.isCancelled());
+        assertThat(metrics.counter(MetricsUtil.Meta.EXPAND_BATCH_DROPPED).getCount(), equalTo(0l));
+        assertThat(metrics.counter(MetricsUtil.Meta.EXPAND_BATCH_COMPLETED).getCount(), equalTo(1l));
+    }
+
+}
@@ -0,0 +1,36 @@
+package org.common.service.live;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public final class RedirectChainUnitTest {
+
+    // tests
+
+    @Test
+    public final void givenRedirects_whenHopping_thenChainFollowsThemUntilTheUrlResolvesToItself() {
+        final RedirectChain chain = new RedirectChain("http://t.co/abc");
+
+        chain.hopped(301, "http://bit.ly/abc");
+        assertFalse(chain.isDone());
+        chain.hopped(301, "http://www.baeldung.com/");
+        assertFalse(chain.isDone());
+        chain.hopped(200, "http://www.baeldung.com/");
+
+        assertTrue(chain.isDone());
+        assertThat(chain.getUrl(), equalTo("http://www.baeldung.com/"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public final void givenRedirectBackToVisitedUrl_whenHopping_thenLikelyLoop() {
+        final RedirectChain chain = new RedirectChain("http://t.co/abc");
+        chain.hopped(301, "http://www.baeldung.com/a");
+
+        chain.hopped(302, "http://t.co/abc");
+    }
+
+}
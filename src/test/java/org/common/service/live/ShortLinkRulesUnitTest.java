@@ -0,0 +1,71 @@
+package org.common.service.live;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public final class ShortLinkRulesUnitTest {
+
+    // tests
+
+    // resolve locally
+
+    @Test
+    public final void givenYoutubeShortLink_whenResolvingLocally_thenRewrittenToWatchUrl() {
+        assertThat(ShortLinkRules.resolveLocally("http://youtu.be/dQw4w9WgXcQ"), equalTo("https://www.youtube.com/watch?v=dQw4w9WgXcQ"));
+    }
+
+    @Test
+    public final void givenRedditShortLink_whenResolvingLocally_thenRewrittenToCommentsUrl() {
+        assertThat(ShortLinkRules.resolveLocally("https://redd.it/2xq1ab"), equalTo("https://www.reddit.com/comments/2xq1ab"));
+    }
+
+    @Test
+    public final void givenLinkToFinalDomain_whenResolvingLocally_thenLinkIsUnchanged() {
+        final String url = "http://stackoverflow.com/questions/1234/how-to";
+        assertThat(ShortLinkRules.resolveLocally(url), equalTo(url));
+    }
+
+    @Test
+    public final void givenLinkToSubdomainOfFinalDomain_whenResolvingLocally_thenLinkIsUnchanged() {
+        final String url = "http://en.wikipedia.org/wiki/Java";
+        assertThat(ShortLinkRules.resolveLocally(url), equalTo(url));
+    }
+
+    @Test
+    public final void givenShortenedLink_whenResolvingLocally_thenNull() {
+        assertThat(ShortLinkRules.resolveLocally("http://t.co/abc"), nullValue());
+    }
+
+    @Test
+    public final void givenLinkToUnknownDomain_whenResolvingLocally_thenNull() {
+        assertThat(ShortLinkRules.resolveLocally("http://www.baeldung.com/"), nullValue());
+    }
+
+    @Test
+    public final void givenLinkToDomainOnlyEndingLikeFinalDomain_whenResolvingLocally_thenNull() {
+        assertThat(ShortLinkRules.resolveLocally("http://notgithub.com/"), nullValue());
+    }
+
+    @Test
+    public final void givenLinkCannotBeParsed_whenResolvingLocally_thenNull() {
+        assertThat(ShortLinkRules.resolveLocally("http://bad host/"), nullValue());
+    }
+
+    // is shortened
+
+    @Test
+    public final void givenLinkOfKnownShortener_whenCheckingIfShortened_thenYes() {
+        assertTrue(ShortLinkRules.isShortened("http://bit.ly/abc"));
+    }
+
+    @Test
+    public final void givenLinkToRegularSite_whenCheckingIfShortened_thenNo() {
+        assertFalse(ShortLinkRules.isShortened("http://www.baeldung.com/"));
+    }
+
+}
@@ -8,9 +8,7 @@ import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertThat;
 
 import java.io.IOException;
-import java.util.Collection;
 import java.util.List;
-import java.util.Set;
 
 import org.common.spring.CommonServiceConfig;
 import org.junit.Test;
@@ -27,6 +25,7 @@ import org.tweet.spring.TwitterConfig;
 import org.tweet.spring.TwitterLiveConfig;
 import org.tweet.spring.util.SpringProfileUtil;
 import org.tweet.twitter.service.live.UserLiveService;
+import org.tweet.twitter.util.FriendIds;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 
@@ -75,21 +74,21 @@ public class UserLiveServiceReadOnlyLiveTest {
     @Test
     public final void whenFriendIdsAreRetrievedFromAccount1_thenCorrect() {
         final TwitterProfile account = instance.getProfileOfUser("GreatestQuotes");
-        final Collection<Long> friendsOfHashtag = instance.getIdsOfAccountsFollowedByThisAccount(account, 2);
+        final FriendIds friendsOfHashtag = instance.getFriendIdsOfAccount(account, 2);
         assertThat(friendsOfHashtag.size(), equalTo(10000));
     }
 
     @Test
     public final void whenFriendIdsAreRetrievedFromAccount2_thenCorrect() {
         final TwitterProfile account = instance.getProfileOfUser("skillsmatter");
-        final Collection<Long> friendsOfHashtag = instance.getIdsOfAccountsFollowedByThisAccount(account, 2);
+        final FriendIds friendsOfHashtag = instance.getFriendIdsOfAccount(account, 2);
         assertThat(friendsOfHashtag.size(), greaterThan(3300));
     }
 
     @Test
     public final void whenFriendIdsAreRetrievedFromAccount3_thenCorrect() {
         final TwitterProfile account = instance.getProfileOfUser("davesbargains");
-        final Collection<Long> friendsOfHashtag = instance.getIdsOfAccountsFollowedByThisAccount(account, 2);
+        final FriendIds friendsOfHashtag = instance.getFriendIdsOfAccount(account, 2);
         assertThat(friendsOfHashtag.size(), greaterThan(8000));
     }
 
@@ -102,8 +101,8 @@ public class UserLiveServiceReadOnlyLiveTest {
 
     @Test
     public final void whenFriendIdsAreRetrievedForMyAccount_thenCorrectNumberOfIds() {
-        final Set<Long> followedByMyAccount = instance.getFollowerIdsOfMyAccount(TwitterAccountEnum.ScalaFact.name());
-        assertThat(followedByMyAccount, hasSize(greaterThan(200)));
+        final FriendIds followedByMyAccount = instance.getFollowerIdsOfMyAccount(TwitterAccountEnum.ScalaFact.name());
+        assertThat(followedByMyAccount.size(), greaterThan(200));
     }
 
     // follower ids - my accounts
@@ -115,8 +114,8 @@ public class UserLiveServiceReadOnlyLiveTest {
 
     @Test
     public final void whenFollowerIdsAreRetrievedForAccount_thenCorrectNumberOfIds() {
-        final Set<Long> followerIdsOfMyAccount = instance.getFollowerIdsOfMyAccount(TwitterAccountEnum.ScalaFact.name());
-        assertThat(followerIdsOfMyAccount, hasSize(greaterThan(50)));
+        final FriendIds followerIdsOfMyAccount = instance.getFollowerIdsOfMyAccount(TwitterAccountEnum.ScalaFact.name());
+        assertThat(followerIdsOfMyAccount.size(), greaterThan(50));
     }
 
 }
@@ -0,0 +1,82 @@
+package org.tweet.meta.analysis;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.social.twitter.api.Tweet;
+import org.springframework.social.twitter.api.TwitterProfile;
+import org.tweet.test.TweetFixture;
+import org.tweet.twitter.util.TweetRecord;
+
+import com.google.common.collect.Lists;
+
+public final class TimelineCountsUnitTest {
+
+    // tests
+
+    @Test
+    public final void givenEmptyTimeline_whenCounting_thenAllCountsAreZero() {
+        final TimelineCounts counts = TimelineCounts.of(Collections.<TweetRecord> emptyList(), "someone", 1000);
+
+        assertThat(counts.getGoodRetweets(), equalTo(0));
+        assertThat(counts.getGoodRetweetsOfNonLargeAccounts(), equalTo(0));
+        assertThat(counts.getRetweetsOfSelfMentions(), equalTo(0));
+        assertThat(counts.getMentionsOutsideOfRetweets(), equalTo(0));
+        assertThat(counts.getAuthorIdsOfGoodRetweets().length, equalTo(0));
+    }
+
+    @Test
+    public final void givenTweetsWithMentions_whenCounting_thenOnlyTheOnesOutsideOfRetweetsAreCounted() {
+        final List<TweetRecord> tweets = Lists.newArrayList(tweet("hello @other", Collections.<String> emptyList()), tweet("no mention", Collections.<String> emptyList()), retweet(false, 30, Lists.newArrayList("@other")));
+
+        final TimelineCounts counts = TimelineCounts.of(tweets, "someone", 1000);
+        assertThat(counts.getMentionsOutsideOfRetweets(), equalTo(1));
+    }
+
+    @Test
+    public final void givenRetweetsOfSelfMentions_whenCounting_thenHandleMatchesWithOrWithoutTheAt() {
+        final List<TweetRecord> tweets = Lists.newArrayList(retweet(false, 30, Lists.newArrayList("@someone")), retweet(true, 40, Lists.newArrayList("@someone", "@other")), retweet(true, 50, Lists.newArrayList("@other")));
+
+        assertThat(TimelineCounts.of(tweets, "someone", 1000).getRetweetsOfSelfMentions(), equalTo(2));
+        assertThat(TimelineCounts.of(tweets, "@someone", 1000).getRetweetsOfSelfMentions(), equalTo(2));
+    }
+
+    @Test
+    public final void givenGoodAndBadRetweets_whenCounting_thenOnlyGoodRetweetsAreCountedAndTheirAuthorsKept() {
+        final List<TweetRecord> tweets = Lists.newArrayList(retweet(true, 30, Collections.<String> emptyList()), retweet(false, 40, Collections.<String> emptyList()), retweet(true, 50, Collections.<String> emptyList()));
+
+        final TimelineCounts counts = TimelineCounts.of(tweets, "someone", 1000);
+        assertThat(counts.getGoodRetweets(), equalTo(2));
+        assertThat(counts.getAuthorIdsOfGoodRetweets(), equalTo(new long[] { 30, 50 }));
+    }
+
+    @Test
+    public final void givenGoodRetweets_whenCounting_thenOnlyTheOnesOfNonLargeAccountsAreCountedAsSuch() {
+        final int followersOfOriginalAuthor = TweetFixture.createTwitterProfile().getFollowersCount();
+        final List<TweetRecord> tweets = Lists.newArrayList(retweet(true, 30, Collections.<String> emptyList()), retweet(true, 40, Collections.<String> emptyList()));
+
+        assertThat(TimelineCounts.of(tweets, "someone", followersOfOriginalAuthor + 1).getGoodRetweetsOfNonLargeAccounts(), equalTo(2));
+        assertThat(TimelineCounts.of(tweets, "someone", followersOfOriginalAuthor).getGoodRetweetsOfNonLargeAccounts(), equalTo(0));
+    }
+
+    // util
+
+    private static TweetRecord tweet(final String text, final List<String> mentions) {
+        return TweetRecord.of(new Tweet(10, text, new Date(), "user", null, null, 20, "en", null), false, mentions);
+    }
+
+    private static TweetRecord retweet(final boolean goodRetweet, final long originalAuthorId, final List<String> mentions) {
+        final Tweet original = new Tweet(5, "original", new Date(), "author", null, null, originalAuthorId, "en", null);
+        final TwitterProfile originalAuthor = TweetFixture.createTwitterProfile();
+        original.setUser(originalAuthor);
+        final Tweet retweet = new Tweet(10, "RT original", new Date(), "user", null, null, 20, "en", null);
+        retweet.setRetweetedStatus(original);
+        return TweetRecord.of(retweet, goodRetweet, mentions);
+    }
+
+}
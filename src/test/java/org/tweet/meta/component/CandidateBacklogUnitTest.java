@@ -0,0 +1,123 @@
+package org.tweet.meta.component;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.env.Environment;
+import org.tweet.meta.persistence.dao.IBacklogCandidateJpaDAO;
+import org.tweet.meta.persistence.dao.IBacklogRefillJpaDAO;
+import org.tweet.meta.persistence.model.BacklogCandidate;
+import org.tweet.meta.persistence.model.BacklogRefill;
+import org.tweet.twitter.service.TweetType;
+import org.tweet.twitter.util.TwitterInteraction;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.Lists;
+
+public final class CandidateBacklogUnitTest {
+
+    private CandidateBacklog instance;
+
+    // fixtures
+
+    @Before
+    public final void before() {
+        instance = new CandidateBacklog();
+        instance.backlogCandidateApi = mock(IBacklogCandidateJpaDAO.class);
+        instance.backlogRefillApi = mock(IBacklogRefillJpaDAO.class);
+        instance.env = mock(Environment.class);
+        instance.metrics = new MetricRegistry();
+
+        when(instance.env.getProperty("twitter.backlog.size", Integer.class, 30)).thenReturn(2);
+        when(instance.env.getProperty("twitter.backlog.min", Integer.class, 5)).thenReturn(5);
+    }
+
+    // tests
+
+    @Test
+    public final void givenBacklogIsEmpty_whenPopping_thenNull() {
+        when(instance.backlogCandidateApi.findAllByTwitterAccountAndTweetTypeAndExpiresAfterOrderByValueDesc(eq("BestAWS"), eq(TweetType.Standard), any(Date.class))).thenReturn(Collections.<BacklogCandidate> emptyList());
+
+        assertThat(instance.pop("BestAWS", TweetType.Standard), nullValue());
+    }
+
+    @Test
+    public final void givenBacklogHasCandidates_whenPopping_thenTheBestIsReturnedAndRemoved() {
+        final BacklogCandidate best = candidate(1, 20);
+        final BacklogCandidate other = candidate(2, 10);
+        when(instance.backlogCandidateApi.findAllByTwitterAccountAndTweetTypeAndExpiresAfterOrderByValueDesc(eq("BestAWS"), eq(TweetType.Standard), any(Date.class))).thenReturn(Lists.newArrayList(best, other));
+
+        assertThat(instance.pop("BestAWS", TweetType.Standard), equalTo(best));
+        verify(instance.backlogCandidateApi).delete(best);
+        verify(instance.backlogCandidateApi, never()).delete(other);
+    }
+
+    @Test
+    public final void givenBacklogGrowsOverItsSize_whenOffering_thenTheWorstCandidatesAreDropped() {
+        final BacklogCandidate worst = candidate(3, 5);
+        final List<BacklogCandidate> afterOffer = Lists.newArrayList(candidate(1, 20), candidate(2, 10), worst);
+        when(instance.backlogCandidateApi.findAllByTwitterAccountAndTweetTypeAndExpiresAfterOrderByValueDesc(eq("BestAWS"), eq(TweetType.Standard), any(Date.class))).thenReturn(afterOffer);
+
+        instance.offer("BestAWS", TweetType.Standard, Lists.newArrayList(worst));
+
+        verify(instance.backlogCandidateApi).save(worst);
+        verify(instance.backlogCandidateApi).delete(Lists.newArrayList(worst));
+    }
+
+    @Test
+    public final void givenSeveralAccountsRunLow_whenCheckingRefills_thenTheLowestBacklogComesFirst() {
+        instance.registerRefill(new BacklogRefill("BestAWS", TweetType.Standard, false));
+        instance.registerRefill(new BacklogRefill("MathDaily", TweetType.Standard, false));
+        instance.registerRefill(new BacklogRefill("JavaFact", TweetType.Standard, false));
+        when(instance.backlogCandidateApi.countByTwitterAccountAndTweetTypeAndExpiresAfter(eq("BestAWS"), eq(TweetType.Standard), any(Date.class))).thenReturn(3l);
+        when(instance.backlogCandidateApi.countByTwitterAccountAndTweetTypeAndExpiresAfter(eq("MathDaily"), eq(TweetType.Standard), any(Date.class))).thenReturn(0l);
+        when(instance.backlogCandidateApi.countByTwitterAccountAndTweetTypeAndExpiresAfter(eq("JavaFact"), eq(TweetType.Standard), any(Date.class))).thenReturn(12l);
+
+        final List<BacklogRefill> refills = instance.refillsNeeded();
+
+        assertThat(refills.size(), equalTo(2));
+        assertThat(refills.get(0).getTwitterAccount(), equalTo("MathDaily"));
+        assertThat(refills.get(1).getTwitterAccount(), equalTo("BestAWS"));
+    }
+
+    @Test
+    public final void givenRefillsWereRegisteredBeforeARestart_whenCheckingRefills_thenTheyAreLoadedFromTheDatabase() {
+        when(instance.backlogRefillApi.findAll()).thenReturn(Lists.newArrayList(new BacklogRefill("MathDaily", TweetType.Standard, true)));
+        when(instance.backlogCandidateApi.countByTwitterAccountAndTweetTypeAndExpiresAfter(eq("MathDaily"), eq(TweetType.Standard), any(Date.class))).thenReturn(0l);
+
+        final List<BacklogRefill> refills = instance.refillsNeeded();
+
+        assertThat(refills.size(), equalTo(1));
+        assertThat(refills.get(0).isByWord(), equalTo(true));
+    }
+
+    @Test
+    public final void givenRefillIsAlreadyRegistered_whenRegisteringItAgain_thenItIsOnlySavedWhenItChanges() {
+        instance.registerRefill(new BacklogRefill("MathDaily", TweetType.Standard, false));
+        instance.registerRefill(new BacklogRefill("MathDaily", TweetType.Standard, false));
+        instance.registerRefill(new BacklogRefill("MathDaily", TweetType.Standard, true));
+
+        verify(instance.backlogRefillApi, times(2)).save(any(BacklogRefill.class));
+    }
+
+    // util
+
+    private final BacklogCandidate candidate(final long tweetId, final float value) {
+        return new BacklogCandidate(tweetId, "BestAWS", TweetType.Standard, "aws", TwitterInteraction.Retweet, value, new Date(System.currentTimeMillis() + 60000));
+    }
+
+}
@@ -0,0 +1,62 @@
+package org.tweet.meta.component;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+import org.keyval.persistence.model.KeyVal;
+
+import com.google.common.collect.Lists;
+
+public final class InteractionHistoryIndexUnitTest {
+
+    // tests
+
+    @Test
+    public final void givenInteractionEntriesWereLoaded_whenLookingUp_thenValuesAreFound() {
+        final InteractionHistoryIndex index = new InteractionHistoryIndex();
+        index.load(Lists.newArrayList(new KeyVal("interaction.account.author1", "3"), new KeyVal("interaction.account.author2", "-2")));
+
+        assertThat(index.getInteractionValue("account", "author1"), equalTo(3));
+        assertThat(index.getInteractionValue("account", "author2"), equalTo(-2));
+        assertThat(index.getInteractionValue("otherAccount", "author1"), nullValue());
+    }
+
+    @Test
+    public final void givenCursorOfThePollerIsLoaded_whenLoading_thenItIsNotAnInteraction() {
+        final InteractionHistoryIndex index = new InteractionHistoryIndex();
+        index.load(Lists.newArrayList(new KeyVal("interaction.account.lastId", "567012345678901234")));
+
+        assertThat(index.size(), equalTo(0));
+    }
+
+    @Test
+    public final void givenEntryHasInvalidValue_whenLoading_thenItIsSkipped() {
+        final InteractionHistoryIndex index = new InteractionHistoryIndex();
+        index.load(Lists.newArrayList(new KeyVal("interaction.account.author1", "abc"), new KeyVal("interaction.account.author2", "1")));
+
+        assertThat(index.getInteractionValue("account", "author1"), nullValue());
+        assertThat(index.size(), equalTo(1));
+    }
+
+    @Test
+    public final void givenInteractionWasUpdated_whenLookingUp_thenNewValueIsFound() {
+        final InteractionHistoryIndex index = new InteractionHistoryIndex();
+        index.load(Lists.newArrayList(new KeyVal("interaction.account.author", "3")));
+        index.update("account", "author", 4);
+
+        assertThat(index.getInteractionValue("account", "author"), equalTo(4));
+    }
+
+    @Test
+    public final void givenSameAuthorForTwoAccounts_whenLookingUp_thenEachAccountHasItsOwnValue() {
+        final InteractionHistoryIndex index = new InteractionHistoryIndex();
+        index.load(Lists.newArrayList(new KeyVal("interaction.account1.author", "3"), new KeyVal("interaction.account2.author", "-4")));
+
+        assertThat(index.getInteractionValue("account1", "author"), equalTo(3));
+        assertThat(index.getInteractionValue("account2", "author"), equalTo(-4));
+        assertThat(index.size(), equalTo(2));
+    }
+
+}
@@ -0,0 +1,44 @@
+package org.tweet.meta.component;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public final class InteractionValueTableUnitTest {
+
+    // tests
+
+    @Test
+    public final void givenNoValueForAuthor_whenLookingUp_thenNull() {
+        final InteractionValueTable table = new InteractionValueTable();
+        table.put("author1", 3);
+
+        assertThat(table.get("author2"), nullValue());
+    }
+
+    @Test
+    public final void givenValueForAuthorIsUpdated_whenLookingUp_thenNewValueIsFound() {
+        final InteractionValueTable table = new InteractionValueTable();
+        table.put("author", 3);
+        table.put("author", -1);
+
+        assertThat(table.get("author"), equalTo(-1));
+        assertThat(table.size(), equalTo(1));
+    }
+
+    @Test
+    public final void givenMoreAuthorsThanTheInitialCapacity_whenLookingUp_thenAllValuesAreFound() {
+        final InteractionValueTable table = new InteractionValueTable();
+        for (int i = 0; i < 1000; i++) {
+            table.put("author" + i, i - 500);
+        }
+
+        assertThat(table.size(), equalTo(1000));
+        for (int i = 0; i < 1000; i++) {
+            assertThat(table.get("author" + i), equalTo(i - 500));
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+package org.tweet.meta.component;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.keyval.persistence.dao.IKeyValJpaDAO;
+import org.keyval.persistence.model.KeyVal;
+import org.springframework.core.env.Environment;
+import org.springframework.social.twitter.api.Tweet;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.tweet.twitter.service.live.TwitterReadLiveService;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.Lists;
+
+public final class SearchCandidatePoolUnitTest {
+
+    private static final long TWITTER_EPOCH = 1288834974657l;
+
+    private SearchCandidatePool instance;
+    private long persistedSinceId;
+
+    // fixtures
+
+    @Before
+    public final void before() {
+        final Environment env = mock(Environment.class);
+        when(env.getProperty("twitter.search.pool.age", Integer.class, 24)).thenReturn(24);
+        when(env.getProperty("twitter.search.pool.full", Integer.class, 3)).thenReturn(3);
+        when(env.getProperty("twitter.search.pool.size", Integer.class, 200)).thenReturn(200);
+        persistedSinceId = idAt(System.currentTimeMillis() - 60 * 1000);
+        final IKeyValJpaDAO keyValApi = mock(IKeyValJpaDAO.class);
+        when(keyValApi.findByKey(anyString())).thenReturn(new KeyVal("search.cursor.hashtag.java", Long.toString(persistedSinceId)));
+
+        instance = new SearchCandidatePool();
+        ReflectionTestUtils.setField(instance, "env", env);
+        ReflectionTestUtils.setField(instance, "keyValApi", keyValApi);
+        ReflectionTestUtils.setField(instance, "twitterReadLiveService", mock(TwitterReadLiveService.class));
+        ReflectionTestUtils.setField(instance, "metrics", new MetricRegistry());
+    }
+
+    // tests
+
+    @Test
+    public final void givenTagWasNotSearchedInFullSinceTheStart_whenAskingForItsSinceId_thenItIsSearchedInFull() {
+        assertThat(instance.sinceId("java", true), equalTo(0l));
+    }
+
+    @Test
+    public final void givenTheFullSearchOfTheTagWasShed_whenAskingForItsSinceIdAgain_thenItIsStillSearchedInFull() {
+        instance.sinceId("java", true);
+        // shed - the search throws, so nothing is merged
+
+        assertThat(instance.sinceId("java", true), equalTo(0l));
+    }
+
+    @Test
+    public final void givenTheFullSearchOfTheTagCompleted_whenAskingForItsSinceIdAgain_thenItIsSearchedFromItsCursor() {
+        final long newestId = idAt(System.currentTimeMillis());
+        instance.merge("java", tweets(newestId), instance.sinceId("java", true), true);
+
+        assertThat(instance.sinceId("java", true), equalTo(newestId));
+    }
+
+    @Test
+    public final void givenTheFullSearchOfTheTagCompletedWithNoTweets_whenAskingForItsSinceIdAgain_thenItIsSearchedFromThePersistedCursor() {
+        instance.merge("java", tweets(), instance.sinceId("java", true), true);
+
+        assertThat(instance.sinceId("java", true), equalTo(persistedSinceId));
+    }
+
+    // util
+
+    private static long idAt(final long timestamp) {
+        return (timestamp - TWITTER_EPOCH) << 22;
+    }
+
+    private static List<Tweet> tweets(final long... ids) {
+        final List<Tweet> tweets = Lists.newArrayList();
+        for (final long id : ids) {
+            tweets.add(new Tweet(id, "text " + id, new Date(), null, null, null, 0l, "en", null));
+        }
+        return tweets;
+    }
+
+}
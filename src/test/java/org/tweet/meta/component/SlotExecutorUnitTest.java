@@ -0,0 +1,120 @@
+package org.tweet.meta.component;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.common.metrics.MetricsUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.env.Environment;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.Lists;
+
+public final class SlotExecutorUnitTest {
+
+    private SlotExecutor instance;
+
+    // fixtures
+
+    @Before
+    public final void before() {
+        instance = new SlotExecutor();
+        instance.env = mock(Environment.class);
+        instance.metrics = new MetricRegistry();
+
+        when(instance.env.getProperty("twitter.slot.threads", Integer.class, 4)).thenReturn(4);
+        when(instance.env.getProperty("twitter.slot.account.timeout", Integer.class, 600)).thenReturn(1);
+        instance.afterPropertiesSet();
+    }
+
+    @After
+    public final void after() {
+        instance.destroy();
+    }
+
+    // tests
+
+    @Test
+    public final void givenSeveralTasksOfTheSameAccount_whenRunningSlot_thenTheyRunOneAfterTheOtherInOrder() {
+        final List<Integer> order = Lists.newArrayList();
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        final List<SlotTask> tasks = Lists.newArrayList();
+        for (int i = 0; i < 3; i++) {
+            final int index = i;
+            tasks.add(new SlotTask("MathDaily") {
+                @Override
+                public final Boolean call() throws Exception {
+                    final int nowRunning = running.incrementAndGet();
+                    maxRunning.set(Math.max(maxRunning.get(), nowRunning));
+                    Thread.sleep(20);
+                    order.add(index);
+                    running.decrementAndGet();
+                    return true;
+                }
+            });
+        }
+        instance.run("test", tasks);
+
+        assertThat(order, equalTo((List<Integer>) Lists.newArrayList(0, 1, 2)));
+        assertThat(maxRunning.get(), equalTo(1));
+        assertThat(instance.metrics.counter(MetricsUtil.Meta.slotOutcome("MathDaily", SlotExecutor.Outcome.DONE)).getCount(), equalTo(3l));
+    }
+
+    @Test
+    public final void givenOneAccountHangs_whenRunningSlot_thenItTimesOutWithoutHoldingBackTheOthers() {
+        final CountDownLatch neverReleased = new CountDownLatch(1);
+        final List<SlotTask> tasks = Lists.newArrayList();
+        tasks.add(new SlotTask("Slow") {
+            @Override
+            public final Boolean call() throws Exception {
+                neverReleased.await();
+                return true;
+            }
+        });
+        tasks.add(new SlotTask("Fast") {
+            @Override
+            public final Boolean call() {
+                return false;
+            }
+        });
+
+        final long start = System.currentTimeMillis();
+        instance.run("test", tasks);
+
+        assertThat(System.currentTimeMillis() - start < 5000, equalTo(true));
+        assertThat(instance.metrics.counter(MetricsUtil.Meta.slotOutcome("Slow", SlotExecutor.Outcome.TIMEOUT)).getCount(), equalTo(1l));
+        assertThat(instance.metrics.counter(MetricsUtil.Meta.slotOutcome("Fast", SlotExecutor.Outcome.NOTHING_DONE)).getCount(), equalTo(1l));
+    }
+
+    @Test
+    public final void givenTaskFails_whenRunningSlot_thenErrorIsCountedAndTheNextTaskOfTheAccountStillRuns() {
+        final List<SlotTask> tasks = Lists.newArrayList();
+        tasks.add(new SlotTask("BestAWS") {
+            @Override
+            public final Boolean call() {
+                throw new IllegalStateException();
+            }
+        });
+        tasks.add(new SlotTask("BestAWS") {
+            @Override
+            public final Boolean call() {
+                return true;
+            }
+        });
+        instance.run("test", tasks);
+
+        assertThat(instance.metrics.counter(MetricsUtil.Meta.slotOutcome("BestAWS", SlotExecutor.Outcome.ERROR)).getCount(), equalTo(1l));
+        assertThat(instance.metrics.counter(MetricsUtil.Meta.slotOutcome("BestAWS", SlotExecutor.Outcome.DONE)).getCount(), equalTo(1l));
+    }
+
+}
@@ -0,0 +1,126 @@
+package org.tweet.meta.component;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.social.twitter.api.Tweet;
+
+import com.google.common.collect.Lists;
+
+public final class TagCandidatesUnitTest {
+
+    // tests
+
+    @Test
+    public final void givenNoCandidates_whenMergingNewTweets_thenSinceIdIsTheNewestId() {
+        final TagCandidates candidates = new TagCandidates(0);
+        candidates.merge(tweets(20, 30, 10), 0, 100);
+
+        assertThat(candidates.sinceId(), equalTo(30l));
+    }
+
+    @Test
+    public final void givenNoNewTweets_whenMerging_thenSinceIdIsUnchanged() {
+        final TagCandidates candidates = new TagCandidates(50);
+        candidates.merge(tweets(), 0, 100);
+
+        assertThat(candidates.sinceId(), equalTo(50l));
+    }
+
+    @Test
+    public final void givenCandidates_whenMergingNewTweets_thenTheRetainedAreReturnedNewestFirst() {
+        final TagCandidates candidates = new TagCandidates(0);
+        candidates.merge(tweets(20, 10), 0, 100);
+        final List<Long> retainedIds = candidates.merge(tweets(40, 30), 0, 100);
+
+        assertThat(retainedIds, equalTo((List<Long>) Lists.newArrayList(20l, 10l)));
+        assertThat(candidates.size(), equalTo(4));
+    }
+
+    @Test
+    public final void givenCandidates_whenMergingTheSameTweetAgain_thenItIsOnlyRetainedOnce() {
+        final TagCandidates candidates = new TagCandidates(0);
+        candidates.merge(tweets(20, 10), 0, 100);
+        final List<Long> retainedIds = candidates.merge(tweets(20), 0, 100);
+
+        assertThat(retainedIds, equalTo((List<Long>) Lists.newArrayList(10l)));
+        assertThat(candidates.size(), equalTo(2));
+    }
+
+    @Test
+    public final void givenTooManyCandidates_whenMerging_thenOnlyTheNewestAreRetained() {
+        final TagCandidates candidates = new TagCandidates(0);
+        candidates.merge(tweets(10, 20, 30, 40), 0, 2);
+        final List<Long> retainedIds = candidates.merge(tweets(), 0, 2);
+
+        assertThat(retainedIds, equalTo((List<Long>) Lists.newArrayList(40l, 30l)));
+        assertThat(candidates.size(), equalTo(2));
+    }
+
+    @Test
+    public final void givenOldCandidates_whenMerging_thenTheyAreDropped() {
+        final TagCandidates candidates = new TagCandidates(0);
+        candidates.merge(Lists.newArrayList(tweet(10, 1000), tweet(20, 5000)), 0, 100);
+        final List<Long> retainedIds = candidates.merge(tweets(), 2000, 100);
+
+        assertThat(retainedIds, equalTo((List<Long>) Lists.newArrayList(20l)));
+    }
+
+    @Test
+    public final void givenRetweet_whenMerging_thenTheOriginalTweetIsRetained() {
+        final TagCandidates candidates = new TagCandidates(0);
+        final Tweet retweet = tweet(50, System.currentTimeMillis());
+        retweet.setRetweetedStatus(tweet(10, System.currentTimeMillis()));
+        candidates.merge(Lists.newArrayList(retweet), 0, 100);
+
+        assertThat(candidates.merge(tweets(), 0, 100), equalTo((List<Long>) Lists.newArrayList(10l)));
+        assertThat(candidates.sinceId(), equalTo(50l));
+    }
+
+    @Test
+    public final void givenRetweetCountChanged_whenMergingAgain_thenTheTweetIsNotTouched() {
+        final TagCandidates candidates = new TagCandidates(0);
+        final Tweet tweet = tweet(10, System.currentTimeMillis());
+        tweet.setRetweetCount(7);
+        candidates.merge(Lists.newArrayList(tweet), 0, 100);
+
+        tweet.setRetweetCount(100);
+        candidates.merge(tweets(), 0, 100);
+
+        assertThat(tweet.getRetweetCount(), equalTo(100));
+    }
+
+    @Test
+    public final void givenTagWasNeverSearchedInFull_whenCheckingLastFullSearch_thenNever() {
+        assertThat(new TagCandidates(50).lastFullSearch(), equalTo(0l));
+    }
+
+    @Test
+    public final void givenTagWasSearchedInFull_whenCheckingLastFullSearch_thenThatTimeIsReturned() {
+        final TagCandidates candidates = new TagCandidates(50);
+        candidates.searchedInFull(1000);
+
+        assertThat(candidates.lastFullSearch(), equalTo(1000l));
+    }
+
+    // util
+
+    private static List<Tweet> tweets(final long... ids) {
+        final List<Tweet> tweets = Lists.newArrayList();
+        for (final long id : ids) {
+            tweets.add(tweet(id, System.currentTimeMillis()));
+        }
+        return tweets;
+    }
+
+    private static Tweet tweet(final long id, final long createdAt) {
+        final Tweet tweet = new Tweet(id, "text " + id, new Date(createdAt), null, null, null, 0l, "en", null);
+        tweet.setRetweetCount(0);
+        return tweet;
+    }
+
+}
@@ -0,0 +1,109 @@
+package org.tweet.meta.component;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.common.metrics.MetricsUtil;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.env.Environment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.tweet.twitter.util.TwitterInteraction;
+import org.tweet.twitter.util.TwitterInteractionWithValue;
+
+import com.codahale.metrics.MetricRegistry;
+
+public final class TweetVerdictCacheUnitTest {
+
+    private TweetVerdictCache instance;
+    private MetricRegistry metrics;
+
+    // fixtures
+
+    @Before
+    public final void before() {
+        final Environment env = mock(Environment.class);
+        when(env.getProperty("twitter.verdict.cache.size", Long.class, 50000l)).thenReturn(100l);
+        when(env.getProperty("twitter.verdict.cache.ttl", Integer.class, 6)).thenReturn(6);
+        metrics = new MetricRegistry();
+
+        instance = new TweetVerdictCache();
+        ReflectionTestUtils.setField(instance, "env", env);
+        ReflectionTestUtils.setField(instance, "metrics", metrics);
+        instance.afterPropertiesSet();
+    }
+
+    // tests
+
+    // keying
+
+    @Test
+    public final void givenTweetWasJudgedOnOneAccount_whenCheckingTheSameTweetOnAnotherAccount_thenNoVerdict() {
+        instance.rejected(1, "BestOfJava", "invalid");
+
+        assertThat(instance.get(1, "BestOfJava").isRejected(), is(true));
+        assertThat(instance.get(1, "BestOfScala"), nullValue());
+    }
+
+    @Test
+    public final void givenTweetWasJudgedOnAnAccount_whenCheckingAnotherTweetOnTheSameAccount_thenNoVerdict() {
+        instance.rejected(1, "BestOfJava", "invalid");
+
+        assertThat(instance.get(2, "BestOfJava"), nullValue());
+    }
+
+    @Test
+    public final void givenSameTweetWasJudgedDifferentlyOnTwoAccounts_whenCheckingVerdicts_thenEachAccountKeepsItsOwn() {
+        final TwitterInteractionWithValue interaction = new TwitterInteractionWithValue(TwitterInteraction.Retweet, 12);
+        instance.scored(1, "BestOfJava", interaction);
+        instance.rejected(1, "BestOfScala", "rejected by classifier");
+
+        assertThat(instance.get(1, "BestOfJava").getInteraction(), equalTo(interaction));
+        assertThat(instance.get(1, "BestOfScala").getRejectionReason(), equalTo("rejected by classifier"));
+    }
+
+    @Test
+    public final void givenTweetWasRejected_whenItIsScoredLater_thenTheLatestVerdictWins() {
+        instance.rejected(1, "BestOfJava", "invalid");
+        instance.scored(1, "BestOfJava", new TwitterInteractionWithValue(TwitterInteraction.None, 3));
+
+        assertThat(instance.get(1, "BestOfJava").isRejected(), is(false));
+    }
+
+    // pruning
+
+    @Test
+    public final void givenTweetWasRejected_whenPruningCandidates_thenItIsPruned() {
+        instance.rejected(1, "BestOfJava", "not pointing to something good");
+
+        assertThat(instance.isRejected(1, "BestOfJava"), is(true));
+    }
+
+    @Test
+    public final void givenTweetWasScored_whenPruningCandidates_thenItIsKept() {
+        instance.scored(1, "BestOfJava", new TwitterInteractionWithValue(TwitterInteraction.Retweet, 12));
+
+        assertThat(instance.isRejected(1, "BestOfJava"), is(false));
+    }
+
+    @Test
+    public final void givenTweetWasNeverJudged_whenPruningCandidates_thenItIsKept() {
+        assertThat(instance.isRejected(1, "BestOfJava"), is(false));
+    }
+
+    @Test
+    public final void givenVerdictsAreLookedUp_whenCounting_thenHitsAndMissesAreMeasured() {
+        instance.rejected(1, "BestOfJava", "invalid");
+        instance.isRejected(1, "BestOfJava");
+        instance.isRejected(2, "BestOfJava");
+        instance.isRejected(3, "BestOfJava");
+
+        assertThat(metrics.counter(MetricsUtil.Meta.VERDICT_CACHE_HIT).getCount(), equalTo(1l));
+        assertThat(metrics.counter(MetricsUtil.Meta.VERDICT_CACHE_MISS).getCount(), equalTo(2l));
+    }
+
+}
@@ -0,0 +1,35 @@
+package org.tweet.meta.component;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+import org.tweet.twitter.util.TwitterInteraction;
+import org.tweet.twitter.util.TwitterInteractionWithValue;
+
+public final class TweetVerdictUnitTest {
+
+    // tests
+
+    @Test
+    public final void givenTweetWasScored_whenCheckingVerdict_thenNotRejectedAndScoreIsKept() {
+        final TwitterInteractionWithValue interaction = new TwitterInteractionWithValue(TwitterInteraction.Retweet, 12);
+        final TweetVerdict verdict = TweetVerdict.scored(interaction);
+
+        assertThat(verdict.isRejected(), is(false));
+        assertThat(verdict.getInteraction(), equalTo(interaction));
+        assertThat(verdict.getRejectionReason(), nullValue());
+    }
+
+    @Test
+    public final void givenTweetWasRejected_whenCheckingVerdict_thenRejectedAndReasonIsKept() {
+        final TweetVerdict verdict = TweetVerdict.rejected("invalid");
+
+        assertThat(verdict.isRejected(), is(true));
+        assertThat(verdict.getRejectionReason(), equalTo("invalid"));
+        assertThat(verdict.getInteraction(), nullValue());
+    }
+
+}
@@ -0,0 +1,91 @@
+package org.tweet.meta.component;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+import org.tweet.meta.TwitterUserSnapshot;
+
+public final class TwitterUserSnapshotTableUnitTest {
+
+    // tests
+
+    @Test
+    public final void givenSnapshotWasStored_whenRetrieving_thenSameValues() {
+        final TwitterUserSnapshotTable table = new TwitterUserSnapshotTable(ByteBuffer.allocate(TwitterUserSnapshotTable.sizeInBytes(16)));
+        table.put(42, new TwitterUserSnapshot(1.5f, 2.5f, 3.5f, 4.5f, 5.5f), 1000);
+
+        final TwitterUserSnapshot snapshot = table.get(42, 0);
+        assertThat(snapshot.getGoodRetweetPercentage(), equalTo(1.5f));
+        assertThat(snapshot.getRetweetsOfSmallAccountsOutOfAllGoodRetweetsPercentage(), equalTo(2.5f));
+        assertThat(snapshot.getRetweetsOfSelfMentionsPercentage(), equalTo(3.5f));
+        assertThat(snapshot.getMentionsOutsideOfRetweetsPercentage(), equalTo(4.5f));
+        assertThat(snapshot.getRetweetsOfNonFollowedUsersOutOfGoodRetweetsPercentage(), equalTo(5.5f));
+    }
+
+    @Test
+    public final void givenNoSnapshotWasStored_whenRetrieving_thenNull() {
+        final TwitterUserSnapshotTable table = new TwitterUserSnapshotTable(ByteBuffer.allocate(TwitterUserSnapshotTable.sizeInBytes(16)));
+        assertThat(table.get(42, 0), nullValue());
+    }
+
+    @Test
+    public final void givenSnapshotIsStale_whenRetrieving_thenNull() {
+        final TwitterUserSnapshotTable table = new TwitterUserSnapshotTable(ByteBuffer.allocate(TwitterUserSnapshotTable.sizeInBytes(16)));
+        table.put(42, snapshot(1), 1000);
+
+        assertThat(table.get(42, 1001), nullValue());
+    }
+
+    @Test
+    public final void givenSnapshotWasStoredAgain_whenRetrieving_thenNewestValues() {
+        final TwitterUserSnapshotTable table = new TwitterUserSnapshotTable(ByteBuffer.allocate(TwitterUserSnapshotTable.sizeInBytes(16)));
+        table.put(42, snapshot(1), 1000);
+        table.put(42, snapshot(2), 2000);
+
+        assertThat(table.get(42, 0).getGoodRetweetPercentage(), equalTo(2f));
+    }
+
+    @Test
+    public final void givenTableIsFull_whenStoringMore_thenTheOldestAreEvicted() {
+        final TwitterUserSnapshotTable table = new TwitterUserSnapshotTable(ByteBuffer.allocate(TwitterUserSnapshotTable.sizeInBytes(4)));
+        for (long userId = 1; userId <= 4; userId++) {
+            table.put(userId, snapshot(userId), userId * 1000);
+        }
+        table.put(5, snapshot(5), 5000);
+
+        assertThat(table.get(1, 0), nullValue());
+        assertThat(table.get(5, 0), notNullValue());
+        assertThat(table.get(4, 0), notNullValue());
+    }
+
+    @Test
+    public final void givenRecordIsCorrupted_whenRetrieving_thenNull() {
+        final ByteBuffer buffer = ByteBuffer.allocate(TwitterUserSnapshotTable.sizeInBytes(1));
+        final TwitterUserSnapshotTable table = new TwitterUserSnapshotTable(buffer);
+        table.put(42, snapshot(1), 1000);
+        buffer.putFloat(TwitterUserSnapshotTable.HEADER_SIZE + 16, 99f);
+
+        assertThat(table.get(42, 0), nullValue());
+    }
+
+    @Test
+    public final void givenBufferAlreadyHoldsTable_whenReopening_thenSnapshotsSurvive() {
+        final ByteBuffer buffer = ByteBuffer.allocate(TwitterUserSnapshotTable.sizeInBytes(16));
+        new TwitterUserSnapshotTable(buffer).put(42, snapshot(7), 1000);
+
+        final TwitterUserSnapshotTable reopened = new TwitterUserSnapshotTable(buffer);
+        assertThat(reopened.get(42, 0).getGoodRetweetPercentage(), equalTo(7f));
+    }
+
+    // util
+
+    private static TwitterUserSnapshot snapshot(final float goodRetweetPercentage) {
+        return new TwitterUserSnapshot(goodRetweetPercentage, 0, 0, 0, 0);
+    }
+
+}
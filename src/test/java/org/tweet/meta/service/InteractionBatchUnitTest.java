@@ -0,0 +1,83 @@
+package org.tweet.meta.service;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.springframework.social.twitter.api.TwitterProfile;
+import org.tweet.meta.TwitterUserSnapshot;
+import org.tweet.test.TweetFixture;
+import org.tweet.twitter.util.TwitterInteraction;
+import org.tweet.twitter.util.TwitterInteractionWithValue;
+
+public final class InteractionBatchUnitTest {
+
+    // tests
+
+    @Test
+    public final void givenSameUserIsNeededSeveralTimes_whenAnalyzing_thenUserIsAnalyzedOnce() {
+        final InteractionBatch batch = new InteractionBatch("account", Collections.<String, TwitterProfile> emptyMap());
+        final AtomicInteger analyses = new AtomicInteger();
+
+        batch.snapshotOf("someone", countingAnalysis(analyses));
+        batch.snapshotOf("@Someone", countingAnalysis(analyses));
+
+        assertThat(analyses.get(), equalTo(1));
+    }
+
+    @Test
+    public final void givenDifferentUsers_whenScoring_thenEachUserIsScored() {
+        final InteractionBatch batch = new InteractionBatch("account", Collections.<String, TwitterProfile> emptyMap());
+
+        assertThat(batch.interactionWith("someone", scoring(1)).getVal(), equalTo(1f));
+        assertThat(batch.interactionWith("other", scoring(2)).getVal(), equalTo(2f));
+        assertThat(batch.interactionWith("someone", scoring(3)).getVal(), equalTo(1f));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public final void givenAnalysisFails_whenAnalyzing_thenTheFailureIsPropagated() {
+        final InteractionBatch batch = new InteractionBatch("account", Collections.<String, TwitterProfile> emptyMap());
+        batch.snapshotOf("someone", new Callable<TwitterUserSnapshot>() {
+            @Override
+            public final TwitterUserSnapshot call() {
+                throw new IllegalStateException();
+            }
+        });
+    }
+
+    @Test
+    public final void givenMentionedUsersWereResolved_whenRetrievingTheirProfiles_thenFound() {
+        final TwitterProfile profile = TweetFixture.createTwitterProfile();
+        final InteractionBatch batch = new InteractionBatch("account", Collections.singletonMap("@someone", profile));
+
+        assertThat(batch.getProfileOfMentionedUser("@someone"), equalTo(profile));
+        assertThat(batch.getProfileOfMentionedUser("@other"), nullValue());
+    }
+
+    // util
+
+    private static Callable<TwitterUserSnapshot> countingAnalysis(final AtomicInteger analyses) {
+        return new Callable<TwitterUserSnapshot>() {
+            @Override
+            public final TwitterUserSnapshot call() {
+                analyses.incrementAndGet();
+                return new TwitterUserSnapshot(0, 0, 0, 0, 0);
+            }
+        };
+    }
+
+    private static Callable<TwitterInteractionWithValue> scoring(final float value) {
+        return new Callable<TwitterInteractionWithValue>() {
+            @Override
+            public final TwitterInteractionWithValue call() {
+                return new TwitterInteractionWithValue(TwitterInteraction.Retweet, value);
+            }
+        };
+    }
+
+}
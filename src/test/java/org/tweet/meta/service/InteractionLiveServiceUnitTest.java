@@ -2,17 +2,36 @@ package org.tweet.meta.service;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
+import org.common.metrics.MetricsUtil;
 import org.junit.Before;
 import org.junit.Test;
-import org.keyval.persistence.dao.IKeyValJpaDAO;
+import org.springframework.social.twitter.api.TwitterProfile;
 import org.tweet.meta.TwitterUserSnapshot;
+import org.tweet.meta.component.InteractionHistoryIndex;
 import org.tweet.meta.component.TwitterInteractionValuesRetriever;
+import org.tweet.meta.component.TwitterUserSnapshotStore;
 import org.tweet.test.TweetFixture;
+import org.tweet.twitter.component.DiscouragedExpressionRetriever;
 import org.tweet.twitter.service.TweetMentionService;
+import org.tweet.twitter.service.TweetService;
+import org.tweet.twitter.service.live.UserLiveService;
+import org.tweet.twitter.service.live.UserTimelineLiveService;
 import org.tweet.twitter.util.TwitterInteraction;
+import org.tweet.twitter.util.TwitterInteractionWithValue;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 
 public final class InteractionLiveServiceUnitTest {
 
@@ -26,7 +45,7 @@ public final class InteractionLiveServiceUnitTest {
         instance.tweetMentionService = mock(TweetMentionService.class);
 
         instance.twitterInteractionValuesRetriever = mock(TwitterInteractionValuesRetriever.class);
-        instance.keyValApi = mock(IKeyValJpaDAO.class);
+        instance.interactionHistoryIndex = new InteractionHistoryIndex();
 
         when(instance.twitterInteractionValuesRetriever.getMinSmallAccountRetweetsPercentage()).thenReturn(90);
         when(instance.twitterInteractionValuesRetriever.getMaxRetweetsForTweet()).thenReturn(15);
@@ -82,6 +101,28 @@ public final class InteractionLiveServiceUnitTest {
 
     // best interaction - tweet
 
+    @Test
+    public final void givenAuthorFailsTheProfileChecks_whenDecidingInteractionWithTweet_thenOnlyTheMentionsAreAnalyzedLive() {
+        instance.tweetService = mock(TweetService.class);
+        instance.discouragedExpressionRetriever = mock(DiscouragedExpressionRetriever.class);
+        instance.userLiveService = mock(UserLiveService.class);
+        instance.userTimelineLiveService = mock(UserTimelineLiveService.class);
+        instance.twitterUserSnapshotStore = mock(TwitterUserSnapshotStore.class);
+        instance.metrics = new MetricRegistry();
+        when(instance.tweetService.passesUserLanguageChecksForAnalysis(any(TwitterProfile.class), anyString(), anyString())).thenReturn(false);
+        when(instance.tweetMentionService.extractMentions(anyString())).thenReturn(Lists.newArrayList("@mentioned"));
+        when(instance.userLiveService.getProfilesOfUsers(anyCollectionOf(String.class))).thenReturn(ImmutableMap.of("@mentioned", TweetFixture.createTwitterProfile()));
+
+        final TwitterInteractionWithValue interaction = instance.determineBestInteraction(TweetFixture.createTweet(0), "account");
+
+        assertThat(interaction.getTwitterInteraction(), equalTo(TwitterInteraction.None));
+        assertThat(instance.metrics.counter(MetricsUtil.Meta.SCORING_ELIMINATED_BY_AUTHOR_PROFILE).getCount(), equalTo(1l));
+        // the mentioned users are resolved in bulk - the mentioned user fails the same local checks, so neither timeline is analyzed
+        verify(instance.userLiveService).getProfilesOfUsers(Sets.newHashSet("@mentioned"));
+        verifyNoMoreInteractions(instance.userLiveService);
+        verifyZeroInteractions(instance.userTimelineLiveService, instance.twitterUserSnapshotStore);
+    }
+
     // public final void givenTweetHasNoValuableMentions_whenDecidingInteractionWithTweet_thenRetweet() {
 
 }
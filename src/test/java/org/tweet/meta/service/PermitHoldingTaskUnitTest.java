@@ -0,0 +1,105 @@
+package org.tweet.meta.service;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class PermitHoldingTaskUnitTest {
+
+    private ThreadPoolExecutor executor;
+    private Semaphore permits;
+
+    // fixtures
+
+    @Before
+    public final void before() {
+        executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(4));
+        permits = new Semaphore(2);
+    }
+
+    @After
+    public final void after() {
+        executor.shutdownNow();
+    }
+
+    // tests
+
+    @Test
+    public final void givenTaskRuns_whenItIsDone_thenPermitIsGivenBack() throws InterruptedException, ExecutionException {
+        final PermitHoldingTask<Integer> task = submit(new Callable<Integer>() {
+            @Override
+            public final Integer call() {
+                return 1;
+            }
+        });
+
+        assertThat(task.get(), equalTo(1));
+        assertThat(permits.availablePermits(), equalTo(2));
+    }
+
+    @Test(expected = ExecutionException.class)
+    public final void givenTaskFails_whenItIsDone_thenPermitIsGivenBack() throws InterruptedException, ExecutionException {
+        final PermitHoldingTask<Integer> task = submit(new Callable<Integer>() {
+            @Override
+            public final Integer call() {
+                throw new IllegalStateException();
+            }
+        });
+
+        try {
+            task.get();
+        } finally {
+            assertThat(permits.availablePermits(), equalTo(2));
+        }
+    }
+
+    @Test
+    public final void givenTaskIsQueued_whenItIsCancelled_thenPermitIsGivenBackAlthoughItNeverRan() throws InterruptedException, ExecutionException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final PermitHoldingTask<Integer> running = submit(new Callable<Integer>() {
+            @Override
+            public final Integer call() throws InterruptedException {
+                started.countDown();
+                release.await();
+                return 1;
+            }
+        });
+        final PermitHoldingTask<Integer> queued = submit(new Callable<Integer>() {
+            @Override
+            public final Integer call() {
+                return 2;
+            }
+        });
+        started.await();
+        assertThat(permits.availablePermits(), equalTo(0));
+
+        queued.cancel(true);
+        assertThat(permits.availablePermits(), equalTo(1));
+
+        release.countDown();
+        assertThat(running.get(), equalTo(1));
+        assertThat(permits.availablePermits(), equalTo(2));
+    }
+
+    // util
+
+    private final PermitHoldingTask<Integer> submit(final Callable<Integer> callable) {
+        permits.acquireUninterruptibly();
+        final PermitHoldingTask<Integer> task = new PermitHoldingTask<Integer>(callable, permits);
+        executor.execute(task);
+        return task;
+    }
+
+}
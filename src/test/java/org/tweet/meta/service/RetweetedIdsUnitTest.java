@@ -0,0 +1,63 @@
+package org.tweet.meta.service;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public final class RetweetedIdsUnitTest {
+
+    // tests
+
+    @Test
+    public final void givenIdsWereLoaded_whenChecking_thenAllOfThemMightBeContained() {
+        final List<Long> tweetIds = Lists.newArrayList();
+        for (long tweetId = 1; tweetId <= 1000; tweetId++) {
+            tweetIds.add(tweetId * 7919);
+        }
+        final RetweetedIds retweetedIds = RetweetedIds.of(tweetIds);
+
+        for (final Long tweetId : tweetIds) {
+            assertThat(retweetedIds.mightContain(tweetId), is(true));
+        }
+    }
+
+    @Test
+    public final void givenIdWasAdded_whenChecking_thenItMightBeContained() {
+        final RetweetedIds retweetedIds = RetweetedIds.of(Collections.<Long> emptyList());
+        retweetedIds.add(42);
+
+        assertThat(retweetedIds.mightContain(42), is(true));
+    }
+
+    @Test
+    public final void givenIdsWereNotAdded_whenChecking_thenAlmostAllAreDefinitelyNotContained() {
+        final RetweetedIds retweetedIds = RetweetedIds.of(Lists.newArrayList(1l, 2l, 3l));
+
+        int falsePositives = 0;
+        for (long tweetId = 1000; tweetId < 11000; tweetId++) {
+            if (retweetedIds.mightContain(tweetId)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives, lessThan(200));
+    }
+
+    @Test
+    public final void givenMoreIdsThanCapacityWereAdded_whenChecking_thenFull() {
+        final RetweetedIds retweetedIds = RetweetedIds.of(Collections.<Long> emptyList());
+        assertThat(retweetedIds.isFull(), is(false));
+
+        for (long tweetId = 0; tweetId <= 10000; tweetId++) {
+            retweetedIds.add(tweetId);
+        }
+        assertThat(retweetedIds.isFull(), is(true));
+    }
+
+}
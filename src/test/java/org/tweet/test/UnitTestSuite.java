@@ -1,18 +1,47 @@
 package org.tweet.test;
 
 import org.classification.service.ClassificationUnitTest;
+import org.common.service.live.ExpandedUrlTableUnitTest;
+import org.common.service.live.HostCircuitUnitTest;
+import org.common.service.live.HostLanesUnitTest;
+import org.common.service.live.HttpLiveServiceUnitTest;
+import org.common.service.live.LinkExpansionLiveServiceUnitTest;
+import org.common.service.live.RedirectChainUnitTest;
+import org.common.service.live.ShortLinkRulesUnitTest;
 import org.common.text.LinkUtilUnitTest;
 import org.common.text.TextUtilsUnitTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 import org.stackexchange.component.StackExchangePageStrategyUnitTest;
+import org.tweet.meta.analysis.TimelineCountsUnitTest;
+import org.tweet.meta.component.CandidateBacklogUnitTest;
+import org.tweet.meta.component.InteractionHistoryIndexUnitTest;
+import org.tweet.meta.component.InteractionValueTableUnitTest;
+import org.tweet.meta.component.SlotExecutorUnitTest;
+import org.tweet.meta.component.SearchCandidatePoolUnitTest;
+import org.tweet.meta.component.TagCandidatesUnitTest;
+import org.tweet.meta.component.TweetVerdictCacheUnitTest;
+import org.tweet.meta.component.TweetVerdictUnitTest;
+import org.tweet.meta.component.TwitterUserSnapshotTableUnitTest;
+import org.tweet.meta.service.InteractionBatchUnitTest;
 import org.tweet.meta.service.InteractionLiveServiceMockUnitTest;
 import org.tweet.meta.service.InteractionLiveServiceUnitTest;
+import org.tweet.meta.service.PermitHoldingTaskUnitTest;
+import org.tweet.meta.service.RetweetedIdsUnitTest;
 import org.tweet.meta.service.TweetContainsWordPredicateUnitTest;
+import org.tweet.twitter.component.RateLimitBucketUnitTest;
 import org.tweet.twitter.service.TweetMentionServiceUnitTest;
 import org.tweet.twitter.service.TweetServiceUnitTest;
+import org.tweet.twitter.service.live.SearchResultUnitTest;
+import org.tweet.twitter.service.live.UserTimelineLiveServiceUnitTest;
+import org.tweet.twitter.service.live.UserTimelineWindowUnitTest;
+import org.tweet.twitter.util.FriendIdsUnitTest;
 import org.tweet.twitter.util.HashtagUnitTest;
+import org.tweet.twitter.util.TweetIdRangeUnitTest;
+import org.tweet.twitter.util.TweetRecordUnitTest;
+import org.tweet.twitter.util.TwitterEndpointFamilyUnitTest;
+import org.tweet.twitter.util.TwitterSearchQueriesUnitTest;
 import org.tweet.twitter.util.TwitterUtilUnitTest;
 
 @RunWith(Suite.class)
@@ -27,6 +56,15 @@ import org.tweet.twitter.util.TwitterUtilUnitTest;
     TwitterUtilUnitTest.class,
     TweetServiceUnitTest.class, 
     TweetMentionServiceUnitTest.class,
+    RateLimitBucketUnitTest.class,
+    UserTimelineWindowUnitTest.class,
+    UserTimelineLiveServiceUnitTest.class,
+    SearchResultUnitTest.class,
+    FriendIdsUnitTest.class,
+    TweetIdRangeUnitTest.class,
+    TwitterSearchQueriesUnitTest.class,
+    TweetRecordUnitTest.class,
+    TwitterEndpointFamilyUnitTest.class,
     
     // stack
     StackExchangePageStrategyUnitTest.class,
@@ -37,7 +75,27 @@ import org.tweet.twitter.util.TwitterUtilUnitTest;
     // meta
     InteractionLiveServiceMockUnitTest.class,
     InteractionLiveServiceUnitTest.class,
-    TweetContainsWordPredicateUnitTest.class
+    TweetContainsWordPredicateUnitTest.class,
+    TagCandidatesUnitTest.class,
+    SearchCandidatePoolUnitTest.class,
+    TwitterUserSnapshotTableUnitTest.class,
+    TimelineCountsUnitTest.class,
+    InteractionHistoryIndexUnitTest.class,
+    InteractionValueTableUnitTest.class,
+    InteractionBatchUnitTest.class,
+    PermitHoldingTaskUnitTest.class,
+    TweetVerdictUnitTest.class,
+    TweetVerdictCacheUnitTest.class,
+    RetweetedIdsUnitTest.class,
+    SlotExecutorUnitTest.class,
+    CandidateBacklogUnitTest.class,
+    ExpandedUrlTableUnitTest.class,
+    HttpLiveServiceUnitTest.class,
+    HostCircuitUnitTest.class,
+    ShortLinkRulesUnitTest.class,
+    HostLanesUnitTest.class,
+    LinkExpansionLiveServiceUnitTest.class,
+    RedirectChainUnitTest.class
     
 }) //@formatter:off
 public final class UnitTestSuite {
@@ -0,0 +1,85 @@
+package org.tweet.twitter.component;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public final class RateLimitBucketUnitTest {
+
+    private RateLimitBucket instance;
+
+    @Before
+    public final void before() {
+        instance = new RateLimitBucket(2);
+    }
+
+    // tests
+
+    @Test
+    public final void givenBucketHasBudget_whenAcquiring_thenAcquired() {
+        assertThat(instance.tryAcquire(1000), is(true));
+        assertThat(instance.remaining(1000), equalTo(1));
+    }
+
+    @Test
+    public final void givenBucketIsEmpty_whenAcquiring_thenNotAcquired() {
+        instance.tryAcquire(1000);
+        instance.tryAcquire(1000);
+        assertThat(instance.tryAcquire(1000), is(false));
+    }
+
+    @Test
+    public final void givenBucketIsEmpty_whenWindowResets_thenBudgetIsRefilled() {
+        instance.tryAcquire(1000);
+        instance.tryAcquire(1000);
+        assertThat(instance.tryAcquire(1000 + RateLimitBucket.WINDOW_MILLIS), is(true));
+    }
+
+    @Test
+    public final void givenResponsesInTheSameWindow_whenUpdating_thenLowestRemainingWins() {
+        instance.update(180, 100, 5000);
+        instance.update(180, 120, 5000);
+        assertThat(instance.remaining(1000), equalTo(100));
+    }
+
+    @Test
+    public final void givenResponseFromAPreviousWindow_whenUpdating_thenIgnored() {
+        instance.update(180, 100, 5000);
+        instance.update(180, 10, 4000);
+        assertThat(instance.remaining(1000), equalTo(100));
+    }
+
+    @Test
+    public final void givenWindowWasStartedLocally_whenUpdatingWithEarlierReset_thenHeaderValuesAreUsed() {
+        instance = new RateLimitBucket(180);
+        instance.tryAcquire(1000);
+
+        instance.update(150, 42, 1000 + RateLimitBucket.WINDOW_MILLIS - 60000);
+
+        assertThat(instance.remaining(2000), equalTo(42));
+        assertThat(instance.resetAtMillis(), equalTo(1000 + RateLimitBucket.WINDOW_MILLIS - 60000));
+        instance.tryAcquire(1000 + RateLimitBucket.WINDOW_MILLIS - 60000);
+        assertThat(instance.remaining(1000 + RateLimitBucket.WINDOW_MILLIS - 60000), equalTo(149));
+    }
+
+    @Test
+    public final void givenWindowWasStartedLocally_whenExhaustedWithEarlierReset_thenHeaderResetIsUsed() {
+        instance.tryAcquire(1000);
+
+        instance.exhaust(5000);
+
+        assertThat(instance.tryAcquire(4000), is(false));
+        assertThat(instance.tryAcquire(5000), is(true));
+    }
+
+    @Test
+    public final void givenBucketIsExhausted_whenAcquiringBeforeReset_thenNotAcquired() {
+        instance.exhaust(5000);
+        assertThat(instance.tryAcquire(1000), is(false));
+        assertThat(instance.tryAcquire(5000), is(true));
+    }
+
+}
@@ -0,0 +1,72 @@
+package org.tweet.twitter.service.live;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.social.twitter.api.Tweet;
+
+import com.google.common.collect.Lists;
+
+public final class SearchResultUnitTest {
+
+    // tests
+
+    @Test
+    public final void givenIncrementalSearch_whenCheckingIfItCoversALaterSinceId_thenYes() {
+        final SearchResult result = new SearchResult(10, tweets(30, 20));
+
+        assertTrue(result.covers(10));
+        assertTrue(result.covers(25));
+    }
+
+    @Test
+    public final void givenIncrementalSearch_whenCheckingIfItCoversAnEarlierSinceIdOrAFullSearch_thenNo() {
+        final SearchResult result = new SearchResult(10, tweets(30, 20));
+
+        assertFalse(result.covers(5));
+        assertFalse(result.covers(0));
+    }
+
+    @Test
+    public final void givenFullSearch_whenCheckingIfItCoversAnySinceId_thenYes() {
+        final SearchResult result = new SearchResult(0, tweets(30, 20));
+
+        assertTrue(result.covers(0));
+        assertTrue(result.covers(25));
+    }
+
+    @Test
+    public final void givenSearchResult_whenFilteringByALaterSinceId_thenOnlyTheNewerTweetsAreKept() {
+        final SearchResult result = new SearchResult(10, tweets(30, 20));
+
+        assertThat(ids(result.newerThan(25)), contains(30l));
+        assertThat(ids(result.newerThan(10)), contains(30l, 20l));
+        assertThat(result.newerThan(30), empty());
+    }
+
+    // util
+
+    private static List<Tweet> tweets(final long... ids) {
+        final List<Tweet> tweets = Lists.newArrayList();
+        for (final long id : ids) {
+            tweets.add(new Tweet(id, "text " + id, new Date(), null, null, null, 0l, "en", null));
+        }
+        return tweets;
+    }
+
+    private static List<Long> ids(final List<Tweet> tweets) {
+        final List<Long> ids = Lists.newArrayList();
+        for (final Tweet tweet : tweets) {
+            ids.add(tweet.getId());
+        }
+        return ids;
+    }
+
+}
@@ -0,0 +1,106 @@
+package org.tweet.twitter.service.live;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.env.Environment;
+import org.springframework.social.twitter.api.Tweet;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.tweet.twitter.util.TweetRecord;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.Lists;
+
+public final class UserTimelineLiveServiceUnitTest {
+
+    private static final String USER = "someUser";
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    private UserTimelineLiveService instance;
+    private TwitterReadLiveService twitterReadLiveService;
+
+    // fixtures
+
+    @Before
+    public final void before() {
+        final Environment env = mock(Environment.class);
+        when(env.getProperty("twitter.timeline.cache.max.tweets", Long.class, 30000l)).thenReturn(30000l);
+        when(env.getProperty("twitter.timeline.cache.ttl", Integer.class, 12)).thenReturn(12);
+        when(env.getProperty("twitter.timeline.cache.fresh", Integer.class, 30)).thenReturn(30);
+        twitterReadLiveService = mock(TwitterReadLiveService.class);
+        when(twitterReadLiveService.listTweetRecordsOfAccountMultiRequest(USER, 1)).thenReturn(tweets(10));
+        when(twitterReadLiveService.listTweetRecordsOfAccountNewerThan(eq(USER), anyLong(), anyInt())).thenReturn(tweets());
+
+        instance = new UserTimelineLiveService();
+        ReflectionTestUtils.setField(instance, "env", env);
+        ReflectionTestUtils.setField(instance, "metrics", new MetricRegistry());
+        ReflectionTestUtils.setField(instance, "twitterReadLiveService", twitterReadLiveService);
+        instance.afterPropertiesSet();
+    }
+
+    // tests
+
+    @Test
+    public final void givenWindowIsReadIncrementally_whenTheTtlPasses_thenTheWindowIsRetrievedInFullAgain() {
+        for (long hour = 0; hour < 12; hour++) {
+            instance.listTweetsOfAccount(USER, 1, hour * HOUR);
+        }
+        verify(twitterReadLiveService, times(1)).listTweetRecordsOfAccountMultiRequest(USER, 1);
+        verify(twitterReadLiveService, times(11)).listTweetRecordsOfAccountNewerThan(eq(USER), anyLong(), anyInt());
+
+        instance.listTweetsOfAccount(USER, 1, 12 * HOUR);
+
+        verify(twitterReadLiveService, times(2)).listTweetRecordsOfAccountMultiRequest(USER, 1);
+    }
+
+    @Test
+    public final void givenNewerTweetsCouldNotBeRetrieved_whenReadingAgain_thenTheyAreRetrievedAgain() {
+        instance.listTweetsOfAccount(USER, 1, 0);
+        when(twitterReadLiveService.listTweetRecordsOfAccountNewerThan(eq(USER), anyLong(), anyInt())).thenReturn(null);
+
+        final List<TweetRecord> tweets = instance.listTweetsOfAccount(USER, 1, HOUR);
+        instance.listTweetsOfAccount(USER, 1, HOUR + 1);
+
+        assertThat(tweets.size(), equalTo(1));
+        verify(twitterReadLiveService, times(2)).listTweetRecordsOfAccountNewerThan(eq(USER), anyLong(), anyInt());
+        verify(twitterReadLiveService, times(1)).listTweetRecordsOfAccountMultiRequest(USER, 1);
+    }
+
+    @Test
+    public final void givenNewerTweetsWereRetrieved_whenReadingAgainWhileFresh_thenTheWindowIsUsedAsItIs() {
+        instance.listTweetsOfAccount(USER, 1, 0);
+        when(twitterReadLiveService.listTweetRecordsOfAccountNewerThan(eq(USER), anyLong(), anyInt())).thenReturn(tweets(20));
+
+        instance.listTweetsOfAccount(USER, 1, HOUR);
+        final List<TweetRecord> tweets = instance.listTweetsOfAccount(USER, 1, HOUR + 1);
+
+        assertThat(tweets.size(), equalTo(2));
+        verify(twitterReadLiveService, times(1)).listTweetRecordsOfAccountNewerThan(eq(USER), anyLong(), anyInt());
+    }
+
+    // util
+
+    private static List<TweetRecord> tweets(final long... ids) {
+        final List<TweetRecord> tweets = Lists.newArrayList();
+        for (final long id : ids) {
+            final Tweet tweet = new Tweet(id, "text " + id, new Date(), null, null, null, 0l, "en", null);
+            tweets.add(TweetRecord.of(tweet, false, Collections.<String> emptyList()));
+        }
+        return tweets;
+    }
+
+}
@@ -0,0 +1,104 @@
+package org.tweet.twitter.service.live;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.social.twitter.api.Tweet;
+import org.tweet.twitter.util.TweetRecord;
+
+import com.google.common.collect.Lists;
+
+public final class UserTimelineWindowUnitTest {
+
+    // tests
+
+    @Test
+    public final void givenWindowHasTweets_whenRetrievingSinceId_thenNewestTweetIdIsReturned() {
+        final UserTimelineWindow window = new UserTimelineWindow(tweets(30, 20, 10), 1, 0);
+        assertThat(window.sinceId(), equalTo(30l));
+    }
+
+    @Test
+    public final void givenWindowIsEmpty_whenRetrievingSinceId_thenZero() {
+        final UserTimelineWindow window = new UserTimelineWindow(tweets(), 1, 0);
+        assertThat(window.sinceId(), equalTo(0l));
+    }
+
+    @Test
+    public final void givenWindowHasTweets_whenMergingNewerTweets_thenNewerTweetsAreFirst() {
+        final UserTimelineWindow window = new UserTimelineWindow(tweets(30, 20, 10), 1, 0);
+        final UserTimelineWindow merged = window.merge(tweets(50, 40), 0);
+
+        assertThat(merged.size(), equalTo(5));
+        assertThat(merged.getTweets().get(0).getId(), equalTo(50l));
+        assertThat(merged.getTweets().get(4).getId(), equalTo(10l));
+    }
+
+    @Test
+    public final void givenWindowHasTweets_whenMergingTweetsAlreadyInTheWindow_thenTheyAreIgnored() {
+        final UserTimelineWindow window = new UserTimelineWindow(tweets(30, 20, 10), 1, 0);
+        final UserTimelineWindow merged = window.merge(tweets(40, 30), 0);
+
+        assertThat(merged.size(), equalTo(4));
+    }
+
+    @Test
+    public final void givenWindowIsFull_whenMergingNewerTweets_thenOldestTweetsFallOut() {
+        final List<TweetRecord> fullPage = Lists.newArrayList();
+        for (int i = 200; i > 0; i--) {
+            fullPage.add(tweet(i));
+        }
+        final UserTimelineWindow window = new UserTimelineWindow(fullPage, 1, 0);
+        final UserTimelineWindow merged = window.merge(tweets(202, 201), 0);
+
+        assertThat(merged.size(), equalTo(200));
+        assertThat(merged.getTweets().get(0).getId(), equalTo(202l));
+        assertThat(merged.getTweets().get(199).getId(), equalTo(3l));
+    }
+
+    @Test
+    public final void givenWindowWasJustFetched_whenCheckingFreshness_thenFresh() {
+        final UserTimelineWindow window = new UserTimelineWindow(tweets(10), 1, 1000);
+        assertThat(window.isFresh(1500, 1000), is(true));
+        assertThat(window.isFresh(2000, 1000), is(false));
+    }
+
+    @Test
+    public final void givenWindowWasMergedWithNewerTweets_whenCheckingIfDueForFullFetch_thenTheFullFetchTimeIsKept() {
+        final UserTimelineWindow window = new UserTimelineWindow(tweets(10), 1, 1000);
+        final UserTimelineWindow merged = window.merge(tweets(20), 1900);
+
+        assertThat(merged.isFresh(2500, 1000), is(true));
+        assertThat(merged.isDueForFullFetch(1999, 1000), is(false));
+        assertThat(merged.isDueForFullFetch(2000, 1000), is(true));
+    }
+
+    @Test
+    public final void givenWindowWasBuiltForOnePage_whenCheckingIfItCoversMorePages_thenNot() {
+        final UserTimelineWindow window = new UserTimelineWindow(tweets(10), 1, 0);
+        assertThat(window.covers(1), is(true));
+        assertThat(window.covers(3), is(false));
+    }
+
+    // util
+
+    private static List<TweetRecord> tweets(final long... ids) {
+        final List<TweetRecord> tweets = Lists.newArrayList();
+        for (final long id : ids) {
+            tweets.add(tweet(id));
+        }
+        return tweets;
+    }
+
+    private static TweetRecord tweet(final long id) {
+        final Tweet tweet = new Tweet(id, "text " + id, new Date(), null, null, null, 0l, "en", null);
+        return TweetRecord.of(tweet, false, Collections.<String> emptyList());
+    }
+
+}
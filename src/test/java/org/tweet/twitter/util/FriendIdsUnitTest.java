@@ -0,0 +1,75 @@
+package org.tweet.twitter.util;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public final class FriendIdsUnitTest {
+
+    // tests
+
+    @Test
+    public final void givenIdsAreUnsorted_whenCheckingMembership_thenFound() {
+        final FriendIds friendIds = FriendIds.of(Arrays.asList(30l, 10l, 20l), true);
+
+        assertThat(friendIds.contains(10l), is(true));
+        assertThat(friendIds.contains(20l), is(true));
+        assertThat(friendIds.contains(30l), is(true));
+    }
+
+    @Test
+    public final void givenIdIsNotAFriend_whenCheckingMembership_thenNotFound() {
+        final FriendIds friendIds = FriendIds.of(Arrays.asList(30l, 10l, 20l), true);
+
+        assertThat(friendIds.contains(15l), is(false));
+        assertThat(friendIds.contains(40l), is(false));
+    }
+
+    @Test
+    public final void givenIdsHaveDuplicates_whenCreating_thenDuplicatesAreRemoved() {
+        final FriendIds friendIds = FriendIds.of(Arrays.asList(10l, 20l, 10l, 20l, 30l), true);
+
+        assertThat(friendIds.size(), equalTo(3));
+    }
+
+    @Test
+    public final void givenNoIds_whenCheckingMembership_thenNotFound() {
+        final FriendIds friendIds = FriendIds.of(Collections.<Long> emptyList(), true);
+
+        assertThat(friendIds.size(), equalTo(0));
+        assertThat(friendIds.contains(10l), is(false));
+    }
+
+    @Test
+    public final void givenIdsAreCollectedPageByPage_whenBuilding_thenAllPagesAreFound() {
+        final FriendIds.Builder builder = FriendIds.builder();
+        final List<Long> firstPage = Lists.newArrayList();
+        for (long id = 10000; id > 0; id--) {
+            firstPage.add(id);
+        }
+        builder.addAll(firstPage).addAll(Arrays.asList(20000l, 10l));
+
+        final FriendIds friendIds = builder.build(true);
+
+        assertThat(friendIds.size(), equalTo(10001));
+        assertThat(friendIds.contains(1l), is(true));
+        assertThat(friendIds.contains(20000l), is(true));
+        assertThat(friendIds.contains(15000l), is(false));
+    }
+
+    @Test
+    public final void givenNotAllPagesWereCollected_whenBuilding_thenTheIdsAreMarkedIncomplete() {
+        final FriendIds friendIds = FriendIds.builder().addAll(Arrays.asList(10l, 20l)).build(false);
+
+        assertThat(friendIds.isComplete(), is(false));
+    }
+
+}
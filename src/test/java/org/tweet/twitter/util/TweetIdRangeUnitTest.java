@@ -0,0 +1,69 @@
+package org.tweet.twitter.util;
+
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public final class TweetIdRangeUnitTest {
+
+    private static final long NEWEST_ID = 580000000000000000l;
+    private static final long OLDEST_ID = 570000000000000000l;
+
+    // tests
+
+    @Test
+    public final void givenTimeBasedIds_whenSplittingOlderRanges_thenTheRequestedNumberOfRangesIsCreated() {
+        final List<TweetIdRange> ranges = TweetIdRange.rangesOlderThan(NEWEST_ID, OLDEST_ID, 3);
+
+        assertThat(ranges, hasSize(3));
+    }
+
+    @Test
+    public final void givenTimeBasedIds_whenSplittingOlderRanges_thenFirstRangeStartsRightBeforeTheOldestTweetOfThePage() {
+        final List<TweetIdRange> ranges = TweetIdRange.rangesOlderThan(NEWEST_ID, OLDEST_ID, 3);
+
+        assertThat(ranges.get(0).getMaxId(), equalTo(OLDEST_ID - 1));
+    }
+
+    @Test
+    public final void givenTimeBasedIds_whenSplittingOlderRanges_thenRangesAreContiguous() {
+        final List<TweetIdRange> ranges = TweetIdRange.rangesOlderThan(NEWEST_ID, OLDEST_ID, 3);
+
+        for (int i = 1; i < ranges.size(); i++) {
+            assertThat(ranges.get(i).getMaxId(), equalTo(ranges.get(i - 1).getSinceId()));
+            assertThat(ranges.get(i).getSinceId(), lessThan(ranges.get(i).getMaxId()));
+        }
+    }
+
+    @Test
+    public final void givenTimeBasedIds_whenSplittingOlderRanges_thenEachRangeSpansAsMuchTimeAsThePage() {
+        final List<TweetIdRange> ranges = TweetIdRange.rangesOlderThan(NEWEST_ID, OLDEST_ID, 1);
+        final long pageSpan = TweetIdRange.timestampOf(NEWEST_ID) - TweetIdRange.timestampOf(OLDEST_ID);
+        final long rangeSpan = TweetIdRange.timestampOf(ranges.get(0).getMaxId()) - TweetIdRange.timestampOf(ranges.get(0).getSinceId());
+
+        assertThat(Math.abs(rangeSpan - pageSpan), lessThan(2l));
+    }
+
+    @Test
+    public final void givenIdsAreNotTimeBased_whenSplittingOlderRanges_thenNoRanges() {
+        final List<TweetIdRange> ranges = TweetIdRange.rangesOlderThan(20000000l, 10000000l, 3);
+
+        assertThat(ranges, empty());
+    }
+
+    @Test
+    public final void givenTimestamp_whenConvertingToIdAndBack_thenSameTimestamp() {
+        final long timestamp = TweetIdRange.timestampOf(OLDEST_ID);
+
+        assertThat(TweetIdRange.minIdAt(timestamp), greaterThan(0l));
+        assertThat(TweetIdRange.timestampOf(TweetIdRange.minIdAt(timestamp)), equalTo(timestamp));
+    }
+
+}
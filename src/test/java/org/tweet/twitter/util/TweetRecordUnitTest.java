@@ -0,0 +1,77 @@
+package org.tweet.twitter.util;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.Collections;
+import java.util.Date;
+
+import org.junit.Test;
+import org.springframework.social.twitter.api.Tweet;
+import org.springframework.social.twitter.api.TwitterProfile;
+import org.tweet.test.TweetFixture;
+
+import com.google.common.collect.Lists;
+
+public final class TweetRecordUnitTest {
+
+    // tests
+
+    @Test
+    public final void givenTweetIsNotRetweet_whenDecoding_thenRetweetFieldsAreEmpty() {
+        final TweetRecord record = TweetRecord.of(tweet(10, 20), true, Collections.<String> emptyList());
+
+        assertThat(record.isRetweet(), is(false));
+        assertThat(record.isGoodRetweet(), is(false));
+        assertThat(record.getRetweetedFromUserId(), equalTo(0l));
+        assertThat(record.getRetweetedFromUserFollowersCount(), equalTo(0));
+    }
+
+    @Test
+    public final void givenTweetIsRetweet_whenDecoding_thenTheOriginalAuthorIsKept() {
+        final Tweet original = tweet(5, 30);
+        final TwitterProfile originalAuthor = TweetFixture.createTwitterProfile();
+        original.setUser(originalAuthor);
+        final Tweet retweet = tweet(10, 20);
+        retweet.setRetweetedStatus(original);
+
+        final TweetRecord record = TweetRecord.of(retweet, true, Collections.<String> emptyList());
+
+        assertThat(record.isRetweet(), is(true));
+        assertThat(record.isGoodRetweet(), is(true));
+        assertThat(record.getRetweetedFromUserId(), equalTo(30l));
+        assertThat(record.getRetweetedFromUserFollowersCount(), equalTo(originalAuthor.getFollowersCount()));
+    }
+
+    @Test
+    public final void givenTweetHasNoEntities_whenDecoding_thenNoExpandedUrls() {
+        final TweetRecord record = TweetRecord.of(tweet(10, 20), false, Collections.<String> emptyList());
+
+        assertThat(record.getExpandedUrls().isEmpty(), is(true));
+    }
+
+    @Test
+    public final void givenTweetHasMentions_whenDecoding_thenMentionsAreKept() {
+        final TweetRecord record = TweetRecord.of(tweet(10, 20), false, Lists.newArrayList("@someone"));
+
+        assertThat(record.getMentions().contains("@someone"), is(true));
+    }
+
+    @Test
+    public final void givenTweetHasNoDate_whenDecoding_thenDateIsNull() {
+        final Tweet tweet = new Tweet(10, "text", null, "user", null, null, 20, "en", null);
+        final TweetRecord record = TweetRecord.of(tweet, false, Collections.<String> emptyList());
+
+        assertThat(record.getCreatedAt(), nullValue());
+        assertThat(record.getRetweetCount(), equalTo(0));
+    }
+
+    // util
+
+    private static Tweet tweet(final long id, final long fromUserId) {
+        return new Tweet(id, "text " + id, new Date(), "user", null, null, fromUserId, "en", null);
+    }
+
+}
@@ -0,0 +1,35 @@
+package org.tweet.twitter.util;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public final class TwitterEndpointFamilyUnitTest {
+
+    // tests
+
+    @Test
+    public final void givenEachFamily_whenResolvingItsSeedEndpoint_thenTheEndpointBelongsToThatFamily() {
+        for (final TwitterEndpointFamily family : TwitterEndpointFamily.values()) {
+            if (family.isGoverned()) {
+                assertThat(TwitterEndpointFamily.fromPath(family.getSeedEndpoint()), equalTo(family));
+            }
+        }
+    }
+
+    @Test
+    public final void givenOtherEndpointOfTheSameFamily_whenCheckingIfSeedEndpoint_thenNo() {
+        assertThat(TwitterEndpointFamily.fromPath("/statuses/retweets/:id"), equalTo(TwitterEndpointFamily.STATUSES));
+        assertFalse(TwitterEndpointFamily.STATUSES.isSeedEndpoint("/statuses/retweets/:id"));
+        assertTrue(TwitterEndpointFamily.STATUSES.isSeedEndpoint("/statuses/show/:id"));
+    }
+
+    @Test
+    public final void givenUngovernedFamily_whenCheckingIfSeedEndpoint_thenNo() {
+        assertFalse(TwitterEndpointFamily.OTHER.isSeedEndpoint("/account/settings"));
+    }
+
+}
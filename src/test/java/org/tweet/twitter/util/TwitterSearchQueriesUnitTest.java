@@ -0,0 +1,22 @@
+package org.tweet.twitter.util;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public final class TwitterSearchQueriesUnitTest {
+
+    // tests
+
+    @Test
+    public final void givenCompoundHashtag_whenBuildingQuery_thenAllPartsAreHashtags() {
+        assertThat(TwitterSearchQueries.hashtagQuery("ruby_rails"), equalTo("#ruby #rails"));
+    }
+
+    @Test
+    public final void givenCompoundWord_whenBuildingQuery_thenAllPartsAreWords() {
+        assertThat(TwitterSearchQueries.wordQuery("ruby_rails"), equalTo("ruby rails"));
+    }
+
+}